@@ -0,0 +1,103 @@
+package com.example.ticketreservationapp;
+
+import android.content.Context;
+
+import androidx.test.core.app.ApplicationProvider;
+import androidx.test.ext.junit.runners.AndroidJUnit4;
+
+import com.example.ticketreservationapp.model.EventDates;
+import com.example.ticketreservationapp.repository.EventRepository;
+import com.example.ticketreservationapp.repository.FirestoreEventRepository;
+import com.google.android.gms.tasks.Tasks;
+import com.google.firebase.FirebaseApp;
+import com.google.firebase.firestore.DocumentReference;
+import com.google.firebase.firestore.DocumentSnapshot;
+import com.google.firebase.firestore.FirebaseFirestore;
+
+import org.junit.BeforeClass;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assume.assumeTrue;
+
+/**
+ * Checks that the backfill gives events written before server-side filtering the fields
+ * those filters need. Runs only against the local Firestore emulator
+ * ({@code firebase emulators:start --only firestore}) and is skipped when it is not
+ * reachable.
+ */
+@RunWith(AndroidJUnit4.class)
+public class BackfillQueryFieldsTest {
+
+    private static final String EMULATOR_HOST = "10.0.2.2";
+    private static final int FIRESTORE_PORT = 8080;
+
+    private static FirebaseFirestore firestore;
+
+    @BeforeClass
+    public static void connectToEmulator() {
+        Context context = ApplicationProvider.getApplicationContext();
+        // A separate app instance so the emulator settings don't leak into other tests.
+        FirebaseApp app = FirebaseApp.initializeApp(context,
+                FirebaseApp.getInstance().getOptions(), "backfill-query-fields-test");
+        firestore = FirebaseFirestore.getInstance(app);
+        firestore.useEmulator(EMULATOR_HOST, FIRESTORE_PORT);
+        boolean reachable;
+        try {
+            Tasks.await(firestore.collection("loadtest").document("ping")
+                    .set(Collections.singletonMap("ok", true)), 5, TimeUnit.SECONDS);
+            reachable = true;
+        } catch (Exception e) {
+            reachable = false;
+        }
+        assumeTrue("Firestore emulator not reachable", reachable);
+    }
+
+    @Test
+    public void backfill_writesMissingFieldsOnLegacyEvents() throws Exception {
+        DocumentReference legacy = firestore.collection("events").document();
+        Map<String, Object> fields = new HashMap<>();
+        fields.put("title", "Legacy");
+        fields.put("date", "2030-1-15");
+        fields.put("category", "Live Music");
+        fields.put("availableSeats", 10);
+        Tasks.await(legacy.set(fields), 30, TimeUnit.SECONDS);
+
+        backfill();
+
+        DocumentSnapshot doc = Tasks.await(legacy.get(), 30, TimeUnit.SECONDS);
+        assertEquals("live music", doc.getString("categoryKey"));
+        assertEquals(Long.valueOf(EventDates.parseEpochDay("2030-01-15")),
+                doc.getLong("dateEpochDay"));
+        // Derived fields only: nothing for syncing clients to pick up.
+        assertNull(doc.get("updatedAt"));
+    }
+
+    private void backfill() throws Exception {
+        AtomicReference<String> error = new AtomicReference<>();
+        CountDownLatch done = new CountDownLatch(1);
+        new FirestoreEventRepository(firestore).backfillQueryFields(
+                new EventRepository.EventCallback() {
+                    @Override
+                    public void onSuccess() { done.countDown(); }
+
+                    @Override
+                    public void onError(String message) {
+                        error.set(message);
+                        done.countDown();
+                    }
+                });
+        assertTrue(done.await(1, TimeUnit.MINUTES));
+        assertNull(error.get());
+    }
+}
@@ -0,0 +1,209 @@
+package com.example.ticketreservationapp;
+
+import android.content.Context;
+
+import androidx.test.core.app.ApplicationProvider;
+import androidx.test.ext.junit.runners.AndroidJUnit4;
+
+import com.example.ticketreservationapp.model.Event;
+import com.example.ticketreservationapp.model.Reservation;
+import com.example.ticketreservationapp.model.SeatHold;
+import com.example.ticketreservationapp.repository.Confirmation;
+import com.example.ticketreservationapp.repository.ConfirmationOutbox;
+import com.example.ticketreservationapp.repository.EventRepository;
+import com.example.ticketreservationapp.repository.FirestoreEventRepository;
+import com.example.ticketreservationapp.repository.FirestoreReservationRepository;
+import com.example.ticketreservationapp.repository.ReservationRepository;
+import com.example.ticketreservationapp.repository.TransactionStats;
+import com.google.android.gms.tasks.Tasks;
+import com.google.firebase.FirebaseApp;
+import com.google.firebase.auth.FirebaseAuth;
+import com.google.firebase.firestore.DocumentSnapshot;
+import com.google.firebase.firestore.FirebaseFirestore;
+import com.google.firebase.firestore.QuerySnapshot;
+
+import org.junit.Before;
+import org.junit.BeforeClass;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+
+import java.util.Collections;
+import java.util.UUID;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assume.assumeTrue;
+
+/**
+ * Checks that confirming a hold writes the confirmation's mail document in the confirm
+ * transaction and nowhere else. Runs only against the local Firestore and Auth emulators
+ * ({@code firebase emulators:start --only firestore,auth}) and is skipped when they are
+ * not reachable.
+ */
+@RunWith(AndroidJUnit4.class)
+public class HoldConfirmationTest {
+
+    private static final String EMULATOR_HOST = "10.0.2.2";
+    private static final int FIRESTORE_PORT = 8080;
+    private static final int AUTH_PORT = 9099;
+    private static final int CONCURRENT_CONFIRMS = 8;
+
+    private static FirebaseFirestore firestore;
+    private static FirebaseAuth auth;
+
+    /** Counts confirmations handed over for sending after commit. */
+    private static class CountingOutbox extends ConfirmationOutbox {
+        final AtomicInteger enqueued = new AtomicInteger();
+
+        CountingOutbox() {
+            super(new InMemoryStore(), (batch, callback) -> callback.onSuccess(),
+                    Executors.newSingleThreadScheduledExecutor(), 1);
+        }
+
+        @Override
+        public void enqueue(Confirmation confirmation) {
+            enqueued.incrementAndGet();
+        }
+    }
+
+    private CountingOutbox outbox;
+    private ReservationRepository repository;
+    private String email;
+
+    @BeforeClass
+    public static void connectToEmulators() {
+        Context context = ApplicationProvider.getApplicationContext();
+        // A separate app instance so the emulator settings don't leak into other tests.
+        FirebaseApp app = FirebaseApp.initializeApp(context,
+                FirebaseApp.getInstance().getOptions(), "hold-confirmation-test");
+        firestore = FirebaseFirestore.getInstance(app);
+        firestore.useEmulator(EMULATOR_HOST, FIRESTORE_PORT);
+        auth = FirebaseAuth.getInstance(app);
+        auth.useEmulator(EMULATOR_HOST, AUTH_PORT);
+        boolean reachable;
+        try {
+            Tasks.await(firestore.collection("loadtest").document("ping")
+                    .set(Collections.singletonMap("ok", true)), 5, TimeUnit.SECONDS);
+            reachable = true;
+        } catch (Exception e) {
+            reachable = false;
+        }
+        assumeTrue("Firestore emulator not reachable", reachable);
+    }
+
+    @Before
+    public void signIn() throws Exception {
+        email = "buyer-" + UUID.randomUUID() + "@example.com";
+        boolean reachable;
+        try {
+            Tasks.await(auth.createUserWithEmailAndPassword(email, "password123"),
+                    5, TimeUnit.SECONDS);
+            reachable = true;
+        } catch (Exception e) {
+            reachable = false;
+        }
+        assumeTrue("Auth emulator not reachable", reachable);
+        outbox = new CountingOutbox();
+        repository = new FirestoreReservationRepository(firestore, new TransactionStats(),
+                auth, outbox);
+    }
+
+    @Test
+    public void confirmHold_writesMailInTheSameCommit() throws Exception {
+        SeatHold hold = createHold(createEvent());
+
+        Reservation reservation = confirm(hold.getId());
+
+        assertNotNull(reservation);
+        DocumentSnapshot mail = Tasks.await(
+                firestore.collection("mail").document(reservation.getId()).get());
+        assertTrue(mail.exists());
+        assertEquals(email, mail.getString("to"));
+        assertEquals(0, outbox.enqueued.get());
+    }
+
+    @Test
+    public void concurrentConfirms_writeOneMailDocument() throws Exception {
+        SeatHold hold = createHold(createEvent());
+
+        AtomicInteger successes = new AtomicInteger();
+        CountDownLatch done = new CountDownLatch(CONCURRENT_CONFIRMS);
+        for (int i = 0; i < CONCURRENT_CONFIRMS; i++) {
+            repository.confirmHold(hold.getId(), new ReservationRepository.ReservationCallback() {
+                @Override
+                public void onSuccess(Reservation reservation) {
+                    successes.incrementAndGet();
+                    done.countDown();
+                }
+
+                @Override
+                public void onError(String message) { done.countDown(); }
+            });
+        }
+        assertTrue(done.await(1, TimeUnit.MINUTES));
+
+        // The losers re-run their transaction, find the hold gone and write nothing.
+        assertEquals(1, successes.get());
+        QuerySnapshot mail = Tasks.await(
+                firestore.collection("mail").whereEqualTo("to", email).get());
+        assertEquals(1, mail.size());
+        assertEquals(0, outbox.enqueued.get());
+    }
+
+    private String createEvent() throws Exception {
+        Event event = new Event(null, "Hold confirmation", "Synthetic", "2030-01-01",
+                "Emulator", "Concerts", 10.0, 10, 10, "loadtest", "Load Test");
+        CountDownLatch created = new CountDownLatch(1);
+        new FirestoreEventRepository(firestore).createEvent(event, new EventRepository.EventCallback() {
+            @Override
+            public void onSuccess() { created.countDown(); }
+
+            @Override
+            public void onError(String message) { created.countDown(); }
+        });
+        assertTrue(created.await(30, TimeUnit.SECONDS));
+        return event.getId();
+    }
+
+    private SeatHold createHold(String eventId) throws Exception {
+        AtomicReference<SeatHold> result = new AtomicReference<>();
+        CountDownLatch done = new CountDownLatch(1);
+        repository.createHold(auth.getCurrentUser().getUid(), eventId, 2,
+                new ReservationRepository.HoldCallback() {
+                    @Override
+                    public void onSuccess(SeatHold hold) {
+                        result.set(hold);
+                        done.countDown();
+                    }
+
+                    @Override
+                    public void onError(String message) { done.countDown(); }
+                });
+        assertTrue(done.await(30, TimeUnit.SECONDS));
+        assertNotNull(result.get());
+        return result.get();
+    }
+
+    private Reservation confirm(String holdId) throws Exception {
+        AtomicReference<Reservation> result = new AtomicReference<>();
+        CountDownLatch done = new CountDownLatch(1);
+        repository.confirmHold(holdId, new ReservationRepository.ReservationCallback() {
+            @Override
+            public void onSuccess(Reservation reservation) {
+                result.set(reservation);
+                done.countDown();
+            }
+
+            @Override
+            public void onError(String message) { done.countDown(); }
+        });
+        assertTrue(done.await(30, TimeUnit.SECONDS));
+        return result.get();
+    }
+}
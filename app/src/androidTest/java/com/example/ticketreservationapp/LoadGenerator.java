@@ -0,0 +1,433 @@
+package com.example.ticketreservationapp;
+
+import android.os.Bundle;
+
+import androidx.annotation.Nullable;
+
+import com.example.ticketreservationapp.model.Event;
+import com.example.ticketreservationapp.model.EventDates;
+import com.example.ticketreservationapp.model.Reservation;
+import com.example.ticketreservationapp.model.User;
+import com.example.ticketreservationapp.repository.EventRepository;
+import com.example.ticketreservationapp.repository.FirestoreEventRepository;
+import com.example.ticketreservationapp.repository.FirestoreReservationRepository;
+import com.example.ticketreservationapp.repository.InstrumentedEventRepository;
+import com.example.ticketreservationapp.repository.InstrumentedReservationRepository;
+import com.example.ticketreservationapp.repository.ReservationRepository;
+import com.example.ticketreservationapp.repository.TransactionStats;
+import com.google.android.gms.tasks.Tasks;
+import com.google.firebase.firestore.FirebaseFirestore;
+import com.google.firebase.firestore.WriteBatch;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.function.IntFunction;
+
+/**
+ * Seeds a Firestore instance (meant to be the local emulator) with a synthetic catalog and
+ * drives reserve, cancel and browse traffic through {@link ReservationRepository} and
+ * {@link EventRepository}, keeping at most {@link Config#concurrency} calls in flight.
+ * Every call's latency and outcome is recorded and summarised in a {@link Report}.
+ *
+ * <p>The Firestore client retries an aborted transaction a few times on its own, so a
+ * contention failure here is a call that lost on every attempt, not a single abort. The
+ * individual retries are in {@link #transactionStats}, which covers only {@link #run}.
+ *
+ * <p>Not thread-safe: {@link #seed} and {@link #run} are called from one test thread, and
+ * the repositories' callbacks arrive on the main thread.
+ */
+final class LoadGenerator {
+
+    /** What to seed and how much traffic to drive; see {@link #fromArguments}. */
+    static final class Config {
+        int events = 50;
+        int users = 200;
+        int reservations = 200;
+        int seatsPerEvent = 200;
+        int seatShards = FirestoreEventRepository.HIGH_DEMAND_SEAT_SHARDS;
+        int operations = 1000;
+        int concurrency = 32;
+        int maxTicketsPerReservation = 2;
+        double cancelRatio = 0.3;
+        double browseRatio = 0.02;
+        // Share of reservations aimed at the first event, as in an on-sale.
+        double hotEventShare = 0.5;
+        long seed = 42;
+
+        /**
+         * Defaults overridden by instrumentation arguments named {@code load} plus the
+         * capitalised field, e.g. {@code -e loadOperations 5000 -e loadHotEventShare 0.9}.
+         */
+        static Config fromArguments(Bundle arguments) {
+            Config config = new Config();
+            config.events = intArg(arguments, "loadEvents", config.events);
+            config.users = intArg(arguments, "loadUsers", config.users);
+            config.reservations = intArg(arguments, "loadReservations", config.reservations);
+            config.seatsPerEvent = intArg(arguments, "loadSeatsPerEvent", config.seatsPerEvent);
+            config.seatShards = intArg(arguments, "loadSeatShards", config.seatShards);
+            config.operations = intArg(arguments, "loadOperations", config.operations);
+            config.concurrency = intArg(arguments, "loadConcurrency", config.concurrency);
+            config.maxTicketsPerReservation = intArg(arguments, "loadMaxTicketsPerReservation",
+                    config.maxTicketsPerReservation);
+            config.cancelRatio = doubleArg(arguments, "loadCancelRatio", config.cancelRatio);
+            config.browseRatio = doubleArg(arguments, "loadBrowseRatio", config.browseRatio);
+            config.hotEventShare = doubleArg(arguments, "loadHotEventShare", config.hotEventShare);
+            config.seed = intArg(arguments, "loadSeed", (int) config.seed);
+            return config;
+        }
+
+        private static int intArg(Bundle arguments, String key, int fallback) {
+            String value = arguments.getString(key);
+            return value == null ? fallback : Integer.parseInt(value);
+        }
+
+        private static double doubleArg(Bundle arguments, String key, double fallback) {
+            String value = arguments.getString(key);
+            return value == null ? fallback : Double.parseDouble(value);
+        }
+
+        @Override
+        public String toString() {
+            return String.format(Locale.US,
+                    "%d events x %d seats (%d shards), %d users, %d seeded reservations; "
+                            + "%d operations, %d in flight, cancel %.2f, browse %.2f, hot %.2f",
+                    events, seatsPerEvent, seatShards, users, reservations,
+                    operations, concurrency, cancelRatio, browseRatio, hotEventShare);
+        }
+    }
+
+    enum Operation { CREATE_EVENT, RESERVE, CANCEL, BROWSE }
+
+    /** How a call ended, told apart by the repositories' error messages. */
+    enum Outcome { OK, SOLD_OUT, CONTENTION, MISSING, OTHER }
+
+    static Outcome classify(@Nullable String error) {
+        if (error == null) return Outcome.OK;
+        String message = error.toLowerCase(Locale.ROOT);
+        if (message.contains("not enough seats")) return Outcome.SOLD_OUT;
+        if (message.contains("no longer exists") || message.contains("not found")) {
+            return Outcome.MISSING;
+        }
+        if (message.contains("aborted") || message.contains("contention")
+                || message.contains("retries")) {
+            return Outcome.CONTENTION;
+        }
+        return Outcome.OTHER;
+    }
+
+    /** Latencies and outcomes of one kind of call. */
+    static final class Stats {
+        private long[] latencies = new long[64];
+        private int count;
+        private final int[] outcomes = new int[Outcome.values().length];
+
+        synchronized void record(long nanos, Outcome outcome) {
+            if (count == latencies.length) latencies = Arrays.copyOf(latencies, count * 2);
+            latencies[count++] = nanos;
+            outcomes[outcome.ordinal()]++;
+        }
+
+        synchronized int count() { return count; }
+
+        synchronized int count(Outcome outcome) { return outcomes[outcome.ordinal()]; }
+
+        /** Nearest-rank percentile in milliseconds; 0 when nothing was recorded. */
+        synchronized double percentileMillis(double percentile) {
+            if (count == 0) return 0;
+            long[] sorted = Arrays.copyOf(latencies, count);
+            Arrays.sort(sorted);
+            int rank = (int) Math.ceil(percentile / 100.0 * count);
+            return sorted[Math.max(0, rank - 1)] / 1_000_000.0;
+        }
+
+        /** Share of calls that failed on transaction contention. */
+        synchronized double abortRate() {
+            return count == 0 ? 0 : (double) count(Outcome.CONTENTION) / count;
+        }
+    }
+
+    /** Per-operation stats for one timed phase. */
+    static final class Report {
+        final String phase;
+        final Map<Operation, Stats> stats = new EnumMap<>(Operation.class);
+        long elapsedNanos;
+
+        Report(String phase) {
+            this.phase = phase;
+            for (Operation operation : Operation.values()) stats.put(operation, new Stats());
+        }
+
+        /** Completed calls per second, successful or not. */
+        double throughput() {
+            int total = 0;
+            for (Stats s : stats.values()) total += s.count();
+            return total * 1e9 / Math.max(1, elapsedNanos);
+        }
+
+        List<String> lines() {
+            List<String> lines = new ArrayList<>();
+            lines.add(String.format(Locale.US, "%s: %.1f s, %.1f ops/s", phase,
+                    elapsedNanos / 1e9, throughput()));
+            for (Map.Entry<Operation, Stats> entry : stats.entrySet()) {
+                Stats s = entry.getValue();
+                if (s.count() == 0) continue;
+                lines.add(String.format(Locale.US,
+                        "  %-12s n=%d ok=%d soldOut=%d contention=%d missing=%d other=%d "
+                                + "abort=%.1f%% %.1f ok/s p50=%.0fms p99=%.0fms",
+                        entry.getKey(), s.count(), s.count(Outcome.OK), s.count(Outcome.SOLD_OUT),
+                        s.count(Outcome.CONTENTION), s.count(Outcome.MISSING),
+                        s.count(Outcome.OTHER), s.abortRate() * 100,
+                        s.count(Outcome.OK) * 1e9 / Math.max(1, elapsedNanos),
+                        s.percentileMillis(50), s.percentileMillis(99)));
+            }
+            return lines;
+        }
+    }
+
+    private interface Call {
+        void start(Done done);
+    }
+
+    private interface Done {
+        void finish(@Nullable String error);
+    }
+
+    private static final class Step {
+        final Operation operation;
+        final Call call;
+
+        Step(Operation operation, Call call) {
+            this.operation = operation;
+            this.call = call;
+        }
+    }
+
+    // Firestore batches take at most 500 writes.
+    private static final int USER_BATCH_SIZE = 500;
+
+    private final FirebaseFirestore firestore;
+    private final EventRepository eventRepository;
+    private final ReservationRepository reservationRepository;
+    private final TransactionStats transactionStats = new TransactionStats();
+    private final Config config;
+    private final Random random;
+    // Tags seeded documents so runs against the same emulator don't mix.
+    private final String runId;
+
+    private final List<String> eventIds = new ArrayList<>();
+    private final List<String> userIds = new ArrayList<>();
+    // Guarded by itself: filled from callbacks, drawn from by the test thread.
+    private final List<Reservation> liveReservations = new ArrayList<>();
+    private final Map<String, Integer> heldTickets = new HashMap<>();
+
+    LoadGenerator(FirebaseFirestore firestore, Config config) {
+        this.firestore = firestore;
+        this.config = config;
+        this.eventRepository =
+                new InstrumentedEventRepository(new FirestoreEventRepository(firestore));
+        this.reservationRepository = new InstrumentedReservationRepository(
+                new FirestoreReservationRepository(firestore, transactionStats));
+        this.random = new Random(config.seed);
+        this.runId = Long.toString(System.currentTimeMillis(), 36);
+    }
+
+    /**
+     * Writes the users in batches, then creates the events and books the initial
+     * reservations through the repositories. Only the latter two are in the report.
+     */
+    Report seed() throws InterruptedException {
+        Report report = new Report("seed");
+        long start = System.nanoTime();
+
+        for (int from = 0; from < config.users; from += USER_BATCH_SIZE) {
+            WriteBatch batch = firestore.batch();
+            for (int i = from; i < Math.min(config.users, from + USER_BATCH_SIZE); i++) {
+                String uid = "load-" + runId + "-u" + i;
+                userIds.add(uid);
+                batch.set(firestore.collection("users").document(uid), new User(uid,
+                        "Load User " + i, uid + "@example.com", "", "customer"));
+            }
+            try {
+                Tasks.await(batch.commit(), 1, TimeUnit.MINUTES);
+            } catch (Exception e) {
+                throw new IllegalStateException("Seeding users failed: " + e.getMessage(), e);
+            }
+        }
+
+        Event[] events = new Event[config.events];
+        drive(report, config.events, i -> {
+            Event event = syntheticEvent(i);
+            events[i] = event;
+            return new Step(Operation.CREATE_EVENT, done ->
+                    eventRepository.createEvent(event, new EventRepository.EventCallback() {
+                        @Override
+                        public void onSuccess() { done.finish(null); }
+
+                        @Override
+                        public void onError(String message) { done.finish(message); }
+                    }));
+        });
+        for (Event event : events) {
+            if (event.getId() != null) eventIds.add(event.getId());
+        }
+        if (eventIds.isEmpty() || userIds.isEmpty()) {
+            throw new IllegalStateException("Nothing seeded; is the emulator running?");
+        }
+
+        drive(report, config.reservations, i -> reserveStep());
+        report.elapsedNanos = System.nanoTime() - start;
+        return report;
+    }
+
+    /** Mixed traffic: reserves, cancels of earlier reservations and full catalog reads. */
+    Report run() throws InterruptedException {
+        Report report = new Report("run");
+        transactionStats.reset();
+        long start = System.nanoTime();
+        drive(report, config.operations, i -> {
+            double roll = random.nextDouble();
+            if (roll < config.browseRatio) return browseStep();
+            if (roll < config.browseRatio + config.cancelRatio) {
+                Step cancel = cancelStep();
+                if (cancel != null) return cancel;
+            }
+            return reserveStep();
+        });
+        report.elapsedNanos = System.nanoTime() - start;
+        return report;
+    }
+
+    /** Attempts, retries and failure reasons of the reserve and cancel transactions. */
+    TransactionStats transactionStats() {
+        return transactionStats;
+    }
+
+    List<String> eventIds() {
+        return eventIds;
+    }
+
+    /** Tickets this generator holds for an event: booked and not cancelled. */
+    int heldTickets(String eventId) {
+        synchronized (liveReservations) {
+            Integer held = heldTickets.get(eventId);
+            return held == null ? 0 : held;
+        }
+    }
+
+    private Step reserveStep() {
+        String eventId = random.nextDouble() < config.hotEventShare
+                ? eventIds.get(0) : eventIds.get(random.nextInt(eventIds.size()));
+        String userId = userIds.get(random.nextInt(userIds.size()));
+        int tickets = 1 + random.nextInt(config.maxTicketsPerReservation);
+        return new Step(Operation.RESERVE, done ->
+                reservationRepository.reserveTicket(userId, eventId, tickets,
+                        new ReservationRepository.ReservationCallback() {
+                            @Override
+                            public void onSuccess(Reservation reservation) {
+                                synchronized (liveReservations) {
+                                    liveReservations.add(reservation);
+                                    adjustHeld(eventId, tickets);
+                                }
+                                done.finish(null);
+                            }
+
+                            @Override
+                            public void onError(String message) { done.finish(message); }
+                        }));
+    }
+
+    @Nullable
+    private Step cancelStep() {
+        Reservation reservation;
+        synchronized (liveReservations) {
+            if (liveReservations.isEmpty()) return null;
+            int index = random.nextInt(liveReservations.size());
+            // Swap-remove; order doesn't matter.
+            int last = liveReservations.size() - 1;
+            reservation = liveReservations.get(index);
+            liveReservations.set(index, liveReservations.get(last));
+            liveReservations.remove(last);
+        }
+        return new Step(Operation.CANCEL, done ->
+                reservationRepository.cancelReservation(reservation.getId(),
+                        new ReservationRepository.SimpleCallback() {
+                            @Override
+                            public void onSuccess() {
+                                synchronized (liveReservations) {
+                                    adjustHeld(reservation.getEventId(),
+                                            -reservation.getNumberOfTickets());
+                                }
+                                done.finish(null);
+                            }
+
+                            @Override
+                            public void onError(String message) {
+                                // Still booked; put it back so the seat accounting holds.
+                                synchronized (liveReservations) {
+                                    liveReservations.add(reservation);
+                                }
+                                done.finish(message);
+                            }
+                        }));
+    }
+
+    private Step browseStep() {
+        return new Step(Operation.BROWSE, done ->
+                eventRepository.getAllEvents(new EventRepository.EventListCallback() {
+                    @Override
+                    public void onSuccess(List<Event> events) { done.finish(null); }
+
+                    @Override
+                    public void onError(String message) { done.finish(message); }
+                }));
+    }
+
+    // Caller holds liveReservations.
+    private void adjustHeld(String eventId, int delta) {
+        Integer held = heldTickets.get(eventId);
+        heldTickets.put(eventId, (held == null ? 0 : held) + delta);
+    }
+
+    /** Issues {@code count} steps, at most {@link Config#concurrency} at a time, and waits. */
+    private void drive(Report report, int count, IntFunction<Step> next)
+            throws InterruptedException {
+        Semaphore inFlight = new Semaphore(config.concurrency);
+        CountDownLatch finished = new CountDownLatch(count);
+        for (int i = 0; i < count; i++) {
+            inFlight.acquire();
+            Step step = next.apply(i);
+            Stats stats = report.stats.get(step.operation);
+            long started = System.nanoTime();
+            step.call.start(error -> {
+                stats.record(System.nanoTime() - started, classify(error));
+                inFlight.release();
+                finished.countDown();
+            });
+        }
+        if (!finished.await(10, TimeUnit.MINUTES)) {
+            throw new IllegalStateException("Load phase timed out with "
+                    + finished.getCount() + " calls outstanding");
+        }
+    }
+
+    private Event syntheticEvent(int i) {
+        String[] categories = { "Movies", "Concerts", "Travel", "Sports", "Workshops" };
+        // Spread over the year after 2030-01-01 so the events stay in the future.
+        String date = EventDates.formatEpochDay(21915 + random.nextInt(365));
+        Event event = new Event(null, "Load " + runId + " #" + i, "Synthetic load-test event",
+                date, "Emulator", categories[i % categories.length],
+                10 + random.nextInt(90), config.seatsPerEvent, config.seatsPerEvent,
+                "load-" + runId, "Load Test");
+        event.setSeatShards(config.seatShards);
+        return event;
+    }
+}
@@ -0,0 +1,130 @@
+package com.example.ticketreservationapp;
+
+import android.content.Context;
+import android.util.Log;
+
+import androidx.test.core.app.ApplicationProvider;
+import androidx.test.ext.junit.runners.AndroidJUnit4;
+import androidx.test.platform.app.InstrumentationRegistry;
+
+import com.example.ticketreservationapp.repository.RepositoryMetrics;
+import com.example.ticketreservationapp.repository.RepositoryStats;
+import com.example.ticketreservationapp.repository.TransactionMetrics;
+import com.example.ticketreservationapp.repository.TransactionStats;
+import com.google.android.gms.tasks.Tasks;
+import com.google.firebase.FirebaseApp;
+import com.google.firebase.firestore.DocumentSnapshot;
+import com.google.firebase.firestore.FirebaseFirestore;
+import com.google.firebase.firestore.QueryDocumentSnapshot;
+import com.google.firebase.firestore.QuerySnapshot;
+
+import org.junit.BeforeClass;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+
+import java.util.Collections;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assume.assumeTrue;
+
+/**
+ * Pre-on-sale load run: seeds the local Firestore emulator through {@link LoadGenerator}
+ * and drives mixed reserve/cancel/browse traffic, then checks that no event's seat count
+ * drifted from the reservations that were booked. Skipped when the emulator is not
+ * reachable. The report (throughput, p50/p99 latency, abort rate per operation) goes to
+ * logcat under this class's name, followed by per-operation repository metrics (documents,
+ * estimated bytes, latency) and the reserve and cancel transactions' retries.
+ *
+ * <p>Sizes come from instrumentation arguments, for example:
+ * <pre>
+ * ./gradlew connectedAndroidTest \
+ *     -Pandroid.testInstrumentationRunnerArguments.class=com.example.ticketreservationapp.ReservationLoadTest \
+ *     -Pandroid.testInstrumentationRunnerArguments.loadOperations=5000 \
+ *     -Pandroid.testInstrumentationRunnerArguments.loadConcurrency=64
+ * </pre>
+ */
+@RunWith(AndroidJUnit4.class)
+public class ReservationLoadTest {
+
+    private static final String TAG = "ReservationLoadTest";
+    private static final String EMULATOR_HOST = "10.0.2.2";
+    private static final int EMULATOR_PORT = 8080;
+
+    private static FirebaseFirestore firestore;
+
+    @BeforeClass
+    public static void connectToEmulator() {
+        Context context = ApplicationProvider.getApplicationContext();
+        // A separate app instance so the emulator setting doesn't leak into other tests.
+        FirebaseApp app = FirebaseApp.initializeApp(context,
+                FirebaseApp.getInstance().getOptions(), "reservation-load-test");
+        firestore = FirebaseFirestore.getInstance(app);
+        firestore.useEmulator(EMULATOR_HOST, EMULATOR_PORT);
+        boolean reachable;
+        try {
+            Tasks.await(firestore.collection("loadtest").document("ping")
+                    .set(Collections.singletonMap("ok", true)), 5, TimeUnit.SECONDS);
+            reachable = true;
+        } catch (Exception e) {
+            reachable = false;
+        }
+        assumeTrue("Firestore emulator not reachable", reachable);
+    }
+
+    @Test
+    public void mixedTraffic_reportsAndKeepsSeatCountsConsistent() throws Exception {
+        LoadGenerator.Config config = LoadGenerator.Config.fromArguments(
+                InstrumentationRegistry.getArguments());
+        LoadGenerator generator = new LoadGenerator(firestore, config);
+        Log.i(TAG, config.toString());
+
+        LoadGenerator.Report seed = generator.seed();
+        for (String line : seed.lines()) Log.i(TAG, line);
+        RepositoryStats repositoryStats = new RepositoryStats();
+        RepositoryMetrics.setSink(repositoryStats);
+        LoadGenerator.Report run;
+        try {
+            run = generator.run();
+        } finally {
+            RepositoryMetrics.setSink(RepositoryMetrics.NONE);
+        }
+        for (String line : run.lines()) Log.i(TAG, line);
+        for (RepositoryStats.Summary summary : repositoryStats.summaries()) {
+            Log.i(TAG, summary.toString());
+        }
+        assertEquals(run.stats.get(LoadGenerator.Operation.BROWSE).count(),
+                repositoryStats.summary("EventRepository.getAllEvents").getCalls());
+        TransactionStats.Summary reserves = generator.transactionStats()
+                .summary(TransactionMetrics.Operation.RESERVE);
+        Log.i(TAG, reserves.toString());
+        Log.i(TAG, generator.transactionStats().summary(TransactionMetrics.Operation.CANCEL).toString());
+        assertEquals(run.stats.get(LoadGenerator.Operation.RESERVE).count(), reserves.getCalls());
+        assertTrue(reserves.getAttempts() >= reserves.getCalls());
+
+        for (String eventId : generator.eventIds()) {
+            int remaining = remainingSeats(eventId);
+            assertTrue(remaining >= 0);
+            assertEquals(eventId, config.seatsPerEvent - generator.heldTickets(eventId), remaining);
+        }
+        assertTrue(run.stats.get(LoadGenerator.Operation.RESERVE)
+                .count(LoadGenerator.Outcome.OK) > 0);
+    }
+
+    private int remainingSeats(String eventId) throws Exception {
+        DocumentSnapshot eventSnap = Tasks.await(
+                firestore.collection("events").document(eventId).get());
+        Long shards = eventSnap.getLong("seatShards");
+        if (shards == null || shards == 0) {
+            return eventSnap.getLong("availableSeats").intValue();
+        }
+        QuerySnapshot shardDocs = Tasks.await(firestore.collection("events").document(eventId)
+                .collection("seatShards").get());
+        int total = 0;
+        for (QueryDocumentSnapshot shard : shardDocs) {
+            total += shard.getLong("availableSeats").intValue();
+        }
+        return total;
+    }
+}
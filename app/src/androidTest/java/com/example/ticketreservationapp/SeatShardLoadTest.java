@@ -0,0 +1,158 @@
+package com.example.ticketreservationapp;
+
+import android.content.Context;
+import android.util.Log;
+
+import androidx.test.core.app.ApplicationProvider;
+import androidx.test.ext.junit.runners.AndroidJUnit4;
+
+import com.example.ticketreservationapp.model.Event;
+import com.example.ticketreservationapp.model.Reservation;
+import com.example.ticketreservationapp.repository.EventRepository;
+import com.example.ticketreservationapp.repository.FirestoreEventRepository;
+import com.example.ticketreservationapp.repository.FirestoreReservationRepository;
+import com.example.ticketreservationapp.repository.ReservationRepository;
+import com.google.android.gms.tasks.Tasks;
+import com.google.firebase.FirebaseApp;
+import com.google.firebase.firestore.DocumentSnapshot;
+import com.google.firebase.firestore.FirebaseFirestore;
+import com.google.firebase.firestore.QueryDocumentSnapshot;
+import com.google.firebase.firestore.QuerySnapshot;
+
+import org.junit.BeforeClass;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+
+import java.util.Collections;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assume.assumeTrue;
+
+/**
+ * Load test comparing a single seat counter with a sharded one under concurrent
+ * reservations. Runs only against the local Firestore emulator
+ * ({@code firebase emulators:start --only firestore}) and is skipped when it is not
+ * reachable. Throughput and abort counts are written to logcat under this class's name.
+ */
+@RunWith(AndroidJUnit4.class)
+public class SeatShardLoadTest {
+
+    private static final String TAG = "SeatShardLoadTest";
+    private static final String EMULATOR_HOST = "10.0.2.2";
+    private static final int EMULATOR_PORT = 8080;
+    private static final int SEATS = 500;
+    private static final int BUYERS = 200;
+    private static final int TICKETS_PER_BUYER = 1;
+
+    private static FirebaseFirestore firestore;
+
+    private static class RunResult {
+        String eventId;
+        int successes;
+        int failures;
+        long elapsedMs;
+
+        double throughput() { return successes * 1000.0 / Math.max(1, elapsedMs); }
+    }
+
+    @BeforeClass
+    public static void connectToEmulator() {
+        Context context = ApplicationProvider.getApplicationContext();
+        // A separate app instance so the emulator setting doesn't leak into other tests.
+        FirebaseApp app = FirebaseApp.initializeApp(context,
+                FirebaseApp.getInstance().getOptions(), "seat-shard-load-test");
+        firestore = FirebaseFirestore.getInstance(app);
+        firestore.useEmulator(EMULATOR_HOST, EMULATOR_PORT);
+        boolean reachable;
+        try {
+            Tasks.await(firestore.collection("loadtest").document("ping")
+                    .set(Collections.singletonMap("ok", true)), 5, TimeUnit.SECONDS);
+            reachable = true;
+        } catch (Exception e) {
+            reachable = false;
+        }
+        assumeTrue("Firestore emulator not reachable", reachable);
+    }
+
+    @Test
+    public void shardedCounter_neverOversellsAndReportsThroughput() throws Exception {
+        RunResult single = runBuyers(0);
+        RunResult sharded = runBuyers(FirestoreEventRepository.HIGH_DEMAND_SEAT_SHARDS);
+
+        Log.i(TAG, String.format("single counter:  %d ok, %d failed, %.1f reservations/s",
+                single.successes, single.failures, single.throughput()));
+        Log.i(TAG, String.format("%d shards:       %d ok, %d failed, %.1f reservations/s",
+                FirestoreEventRepository.HIGH_DEMAND_SEAT_SHARDS,
+                sharded.successes, sharded.failures, sharded.throughput()));
+
+        assertEquals(SEATS - single.successes * TICKETS_PER_BUYER, remainingSeats(single.eventId));
+        assertEquals(SEATS - sharded.successes * TICKETS_PER_BUYER, remainingSeats(sharded.eventId));
+        assertTrue(sharded.successes > 0);
+    }
+
+    private RunResult runBuyers(int shards) throws Exception {
+        EventRepository eventRepository = new FirestoreEventRepository(firestore);
+        ReservationRepository reservationRepository = new FirestoreReservationRepository(firestore);
+
+        Event event = new Event(null, "Load test " + shards, "Synthetic", "2030-01-01",
+                "Emulator", "Concerts", 10.0, SEATS, SEATS, "loadtest", "Load Test");
+        event.setSeatShards(shards);
+        CountDownLatch created = new CountDownLatch(1);
+        eventRepository.createEvent(event, new EventRepository.EventCallback() {
+            @Override
+            public void onSuccess() { created.countDown(); }
+
+            @Override
+            public void onError(String message) { created.countDown(); }
+        });
+        assertTrue(created.await(30, TimeUnit.SECONDS));
+
+        RunResult result = new RunResult();
+        result.eventId = event.getId();
+        AtomicInteger successes = new AtomicInteger();
+        AtomicInteger failures = new AtomicInteger();
+        CountDownLatch done = new CountDownLatch(BUYERS);
+        long start = System.nanoTime();
+        for (int i = 0; i < BUYERS; i++) {
+            reservationRepository.reserveTicket("buyer" + i, event.getId(), TICKETS_PER_BUYER,
+                    new ReservationRepository.ReservationCallback() {
+                        @Override
+                        public void onSuccess(Reservation reservation) {
+                            successes.incrementAndGet();
+                            done.countDown();
+                        }
+
+                        @Override
+                        public void onError(String message) {
+                            failures.incrementAndGet();
+                            done.countDown();
+                        }
+                    });
+        }
+        assertTrue(done.await(5, TimeUnit.MINUTES));
+        result.elapsedMs = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+        result.successes = successes.get();
+        result.failures = failures.get();
+        return result;
+    }
+
+    private int remainingSeats(String eventId) throws Exception {
+        DocumentSnapshot eventSnap = Tasks.await(
+                firestore.collection("events").document(eventId).get());
+        Long shards = eventSnap.getLong("seatShards");
+        if (shards == null || shards == 0) {
+            return eventSnap.getLong("availableSeats").intValue();
+        }
+        QuerySnapshot shardDocs = Tasks.await(firestore.collection("events").document(eventId)
+                .collection("seatShards").get());
+        int total = 0;
+        for (QueryDocumentSnapshot shard : shardDocs) {
+            total += shard.getLong("availableSeats").intValue();
+        }
+        return total;
+    }
+}
@@ -0,0 +1,100 @@
+package com.example.ticketreservationapp;
+
+import android.app.Application;
+import android.util.Log;
+
+import com.example.ticketreservationapp.repository.ConfirmationOutbox;
+import com.example.ticketreservationapp.repository.EventRepository;
+import com.example.ticketreservationapp.repository.FileEventStore;
+import com.example.ticketreservationapp.repository.FirestoreEventRepository;
+import com.example.ticketreservationapp.repository.FirestoreReservationRepository;
+import com.example.ticketreservationapp.repository.HoldReclaimer;
+import com.example.ticketreservationapp.repository.InstrumentedReservationRepository;
+import com.example.ticketreservationapp.repository.RepositoryMetrics;
+import com.example.ticketreservationapp.repository.RepositoryStats;
+import com.google.firebase.auth.FirebaseAuth;
+
+import java.io.File;
+import java.io.IOException;
+
+/** Process-wide setup that must be in place whichever screen the process starts on. */
+public class TicketReservationApplication extends Application {
+
+    private static final String TAG = "TicketReservationApp";
+    // Present once this install has seen the backfill through.
+    private static final String BACKFILL_DONE_FILE = "query-fields-backfilled";
+
+    // What the instrumented repositories have measured since the process started.
+    private final RepositoryStats repositoryStats = new RepositoryStats();
+    private boolean backfillStarted;
+
+    @Override
+    public void onCreate() {
+        super.onCreate();
+
+        RepositoryMetrics.setSink(repositoryStats);
+
+        // Keep unsent confirmations on disk so they survive a restart.
+        ConfirmationOutbox.getInstance().useStore(new ConfirmationOutbox.FileStore(
+                new File(getFilesDir(), "confirmation-outbox")));
+        // Lets the event list open from disk before the network answers.
+        FirestoreEventRepository.setCacheStore(
+                new FileEventStore(new File(getFilesDir(), "events-cache")));
+
+        // Hands back seats from holds nobody confirmed. Reclaiming writes other buyers'
+        // holds, so it starts once someone is signed in.
+        HoldReclaimer reclaimer = new HoldReclaimer(
+                new InstrumentedReservationRepository(new FirestoreReservationRepository()),
+                new HoldReclaimer.Listener() {
+                    @Override
+                    public void onReclaimed(int holds) {
+                        Log.i(TAG, "Reclaimed " + holds + " expired holds");
+                    }
+
+                    @Override
+                    public void onError(String message) {
+                        Log.w(TAG, "Reclaiming expired holds failed: " + message);
+                    }
+                });
+        FirebaseAuth.getInstance().addAuthStateListener(auth -> {
+            if (auth.getCurrentUser() == null) return;
+            reclaimer.start();
+            backfillQueryFields();
+        });
+    }
+
+    /** Logs where repository calls went whenever the app leaves the screen. */
+    @Override
+    public void onTrimMemory(int level) {
+        super.onTrimMemory(level);
+        if (level != TRIM_MEMORY_UI_HIDDEN) return;
+        for (RepositoryStats.Summary summary : repositoryStats.summaries()) {
+            Log.i(TAG, summary.toString());
+        }
+    }
+
+    /**
+     * Gives events written before server-side filtering their query fields, so they
+     * show up in filtered and paged results. Retried on the next launch until it succeeds.
+     */
+    private void backfillQueryFields() {
+        File done = new File(getFilesDir(), BACKFILL_DONE_FILE);
+        if (backfillStarted || done.exists()) return;
+        backfillStarted = true;
+        new FirestoreEventRepository().backfillQueryFields(new EventRepository.EventCallback() {
+            @Override
+            public void onSuccess() {
+                try {
+                    done.createNewFile();
+                } catch (IOException e) {
+                    Log.w(TAG, "Couldn't record the finished backfill: " + e.getMessage());
+                }
+            }
+
+            @Override
+            public void onError(String message) {
+                Log.w(TAG, "Backfilling event query fields failed: " + message);
+            }
+        });
+    }
+}
@@ -0,0 +1,45 @@
+package com.example.ticketreservationapp.model;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/** One event and ticket count in a multi-event purchase. */
+public class CartLine {
+    private final String eventId;
+    private final int numberOfTickets;
+
+    public CartLine(String eventId, int numberOfTickets) {
+        this.eventId = eventId;
+        this.numberOfTickets = numberOfTickets;
+    }
+
+    public String getEventId() { return eventId; }
+    public int getNumberOfTickets() { return numberOfTickets; }
+
+    /**
+     * Folds lines for the same event into one, keeping first-seen order, so each event is
+     * read and written once per purchase.
+     *
+     * @throws IllegalArgumentException if a line has no event or a non-positive count
+     */
+    public static List<CartLine> merge(List<CartLine> lines) {
+        Map<String, Integer> totals = new LinkedHashMap<>();
+        for (CartLine line : lines) {
+            if (line.eventId == null || line.eventId.isEmpty()) {
+                throw new IllegalArgumentException("Cart line is missing an event");
+            }
+            if (line.numberOfTickets <= 0) {
+                throw new IllegalArgumentException("Number of tickets must be greater than zero");
+            }
+            Integer total = totals.get(line.eventId);
+            totals.put(line.eventId, (total == null ? 0 : total) + line.numberOfTickets);
+        }
+        List<CartLine> merged = new ArrayList<>(totals.size());
+        for (Map.Entry<String, Integer> entry : totals.entrySet()) {
+            merged.add(new CartLine(entry.getKey(), entry.getValue()));
+        }
+        return merged;
+    }
+}
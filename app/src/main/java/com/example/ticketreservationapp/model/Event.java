@@ -1,17 +1,38 @@
 package com.example.ticketreservationapp.model;
 
+import java.util.Date;
+
 public class Event {
     private String id;
     private String title;
     private String description;
     private String date;
+    // The date as days since 1970-01-01 ({@link EventDates#NO_DATE} if unparseable), kept
+    // in step with date and stored alongside it for range queries and sorting.
+    private int dateEpochDay = EventDates.NO_DATE;
     private String location;
     private String category; // "Movies", "Concerts", "Travel", "Sports"
+    // The category lowercased ({@link EventCategory#keyOf}), kept in step with category and
+    // stored alongside it for case-insensitive category queries.
+    private String categoryKey = "";
     private double price;
     private int availableSeats;
     private int totalSeats;
     private String organizerId;
     private String organizerName;
+    // Number of seat-counter shards under events/{id}/seatShards; 0 (the default) means
+    // the availableSeats field on this document is the counter. Set before creating an
+    // event that expects heavy concurrent demand.
+    private int seatShards;
+    // Set by the server when the event is created and never written again.
+    private Date createdAt;
+    // Set by the server on every write; clients sync changes newer than what they hold.
+    private Date updatedAt;
+    // Deleted events stay behind as tombstones so syncing clients learn of the deletion.
+    private boolean deleted;
+
+    // Derived from the fields above on first use; cleared by the setters that feed it.
+    private transient Normalized normalized;
 
     // Required by Firestore deserialization
     public Event() {}
@@ -24,8 +45,10 @@ public class Event {
         this.title = title;
         this.description = description;
         this.date = date;
+        this.dateEpochDay = EventDates.parseEpochDay(date);
         this.location = location;
         this.category = category;
+        this.categoryKey = EventCategory.keyOf(category);
         this.price = price;
         this.availableSeats = availableSeats;
         this.totalSeats = totalSeats;
@@ -37,19 +60,33 @@ public class Event {
     public void setId(String id) { this.id = id; }
 
     public String getTitle() { return title; }
-    public void setTitle(String title) { this.title = title; }
+    public void setTitle(String title) { this.title = title; normalized = null; }
 
     public String getDescription() { return description; }
-    public void setDescription(String description) { this.description = description; }
+    public void setDescription(String description) { this.description = description; normalized = null; }
 
     public String getDate() { return date; }
-    public void setDate(String date) { this.date = date; }
+    public void setDate(String date) {
+        this.date = date;
+        this.dateEpochDay = EventDates.parseEpochDay(date);
+        normalized = null;
+    }
+
+    public int getDateEpochDay() { return dateEpochDay; }
+    public void setDateEpochDay(int dateEpochDay) { this.dateEpochDay = dateEpochDay; normalized = null; }
 
     public String getLocation() { return location; }
-    public void setLocation(String location) { this.location = location; }
+    public void setLocation(String location) { this.location = location; normalized = null; }
 
     public String getCategory() { return category; }
-    public void setCategory(String category) { this.category = category; }
+    public void setCategory(String category) {
+        this.category = category;
+        this.categoryKey = EventCategory.keyOf(category);
+        normalized = null;
+    }
+
+    public String getCategoryKey() { return categoryKey; }
+    public void setCategoryKey(String categoryKey) { this.categoryKey = categoryKey; }
 
     public double getPrice() { return price; }
     public void setPrice(double price) { this.price = price; }
@@ -65,4 +102,52 @@ public class Event {
 
     public String getOrganizerName() { return organizerName; }
     public void setOrganizerName(String organizerName) { this.organizerName = organizerName; }
+
+    public int getSeatShards() { return seatShards; }
+    public void setSeatShards(int seatShards) { this.seatShards = seatShards; }
+
+    public Date getCreatedAt() { return createdAt; }
+    public void setCreatedAt(Date createdAt) { this.createdAt = createdAt; }
+
+    public Date getUpdatedAt() { return updatedAt; }
+    public void setUpdatedAt(Date updatedAt) { this.updatedAt = updatedAt; }
+
+    public boolean isDeleted() { return deleted; }
+    public void setDeleted(boolean deleted) { this.deleted = deleted; }
+
+    /**
+     * Lowercased text fields, parsed category and epoch day, computed once so filter
+     * passes compare fields instead of re-normalizing every event. Not named as a getter,
+     * so Firestore doesn't store it with the event.
+     */
+    public Normalized normalized() {
+        Normalized n = normalized;
+        if (n == null) {
+            n = new Normalized(this);
+            normalized = n;
+        }
+        return n;
+    }
+
+    /** Immutable, so it can be shared with filter passes running on other threads. */
+    public static final class Normalized {
+        public final String title;
+        public final String description;
+        public final String location;
+        public final EventCategory category;
+        /** Days since 1970-01-01, or {@link EventDates#NO_DATE}. */
+        public final int epochDay;
+
+        Normalized(Event event) {
+            this.title = lower(event.title);
+            this.description = lower(event.description);
+            this.location = lower(event.location);
+            this.category = EventCategory.fromLabel(event.category);
+            this.epochDay = event.dateEpochDay;
+        }
+
+        private static String lower(String value) {
+            return value != null ? value.toLowerCase() : "";
+        }
+    }
 }
@@ -0,0 +1,40 @@
+package com.example.ticketreservationapp.model;
+
+import java.util.Locale;
+
+/**
+ * The fixed set of categories offered by the filter dropdown. Anything else an organizer
+ * typed is {@link #OTHER}.
+ */
+public enum EventCategory {
+    MOVIES("Movies"),
+    CONCERTS("Concerts"),
+    TRAVEL("Travel"),
+    SPORTS("Sports"),
+    OTHER("");
+
+    private final String label;
+
+    EventCategory(String label) {
+        this.label = label;
+    }
+
+    public String getLabel() { return label; }
+
+    /**
+     * The label lowercased, as stored in an event's {@code categoryKey} so the server can
+     * match categories the way {@link #fromLabel} does; empty for null.
+     */
+    public static String keyOf(String label) {
+        return label == null ? "" : label.toLowerCase(Locale.ROOT);
+    }
+
+    /** Case-insensitive lookup by label; null, empty and unknown labels map to OTHER. */
+    public static EventCategory fromLabel(String label) {
+        if (label == null || label.isEmpty()) return OTHER;
+        for (EventCategory category : values()) {
+            if (category != OTHER && category.label.equalsIgnoreCase(label)) return category;
+        }
+        return OTHER;
+    }
+}
@@ -0,0 +1,83 @@
+package com.example.ticketreservationapp.model;
+
+import java.util.Locale;
+
+/**
+ * Converts the "yyyy-MM-dd" strings stored on events to epoch days (days since
+ * 1970-01-01). Done by hand because java.time is unavailable below API 26.
+ */
+public final class EventDates {
+
+    /** Returned for null or unparseable dates. */
+    public static final int NO_DATE = Integer.MIN_VALUE;
+
+    private EventDates() {}
+
+    /**
+     * Parses "yyyy-M-d" (month and day may omit the leading zero). Returns {@link #NO_DATE}
+     * for anything else, including impossible dates such as 2026-02-30.
+     */
+    public static int parseEpochDay(String date) {
+        if (date == null) return NO_DATE;
+        int firstDash = date.indexOf('-');
+        int secondDash = date.indexOf('-', firstDash + 1);
+        if (firstDash != 4 || secondDash < 0) return NO_DATE;
+        int year = parseDigits(date, 0, firstDash);
+        int month = parseDigits(date, firstDash + 1, secondDash);
+        int day = parseDigits(date, secondDash + 1, date.length());
+        if (year < 0 || month < 1 || month > 12 || day < 1 || day > daysInMonth(year, month)) {
+            return NO_DATE;
+        }
+        return toEpochDay(year, month, day);
+    }
+
+    private static int parseDigits(String s, int from, int to) {
+        if (to - from < 1 || to - from > 4) return -1;
+        int value = 0;
+        for (int i = from; i < to; i++) {
+            char c = s.charAt(i);
+            if (c < '0' || c > '9') return -1;
+            value = value * 10 + (c - '0');
+        }
+        return value;
+    }
+
+    private static int daysInMonth(int year, int month) {
+        switch (month) {
+            case 2:
+                boolean leap = (year % 4 == 0 && year % 100 != 0) || year % 400 == 0;
+                return leap ? 29 : 28;
+            case 4: case 6: case 9: case 11:
+                return 30;
+            default:
+                return 31;
+        }
+    }
+
+    /** Proleptic Gregorian date to days since 1970-01-01 (Hinnant's days_from_civil). */
+    public static int toEpochDay(int year, int month, int day) {
+        int y = month <= 2 ? year - 1 : year;
+        int era = (y >= 0 ? y : y - 399) / 400;
+        int yearOfEra = y - era * 400;
+        int dayOfYear = (153 * (month + (month > 2 ? -3 : 9)) + 2) / 5 + day - 1;
+        int dayOfEra = yearOfEra * 365 + yearOfEra / 4 - yearOfEra / 100 + dayOfYear;
+        return era * 146097 + dayOfEra - 719468;
+    }
+
+    /**
+     * Days since 1970-01-01 to the zero-padded "yyyy-MM-dd" form the app stores, which
+     * sorts as a string in date order (Hinnant's civil_from_days).
+     */
+    public static String formatEpochDay(int epochDay) {
+        int z = epochDay + 719468;
+        int era = (z >= 0 ? z : z - 146096) / 146097;
+        int dayOfEra = z - era * 146097;
+        int yearOfEra = (dayOfEra - dayOfEra / 1460 + dayOfEra / 36524 - dayOfEra / 146096) / 365;
+        int dayOfYear = dayOfEra - (365 * yearOfEra + yearOfEra / 4 - yearOfEra / 100);
+        int mp = (5 * dayOfYear + 2) / 153;
+        int day = dayOfYear - (153 * mp + 2) / 5 + 1;
+        int month = mp < 10 ? mp + 3 : mp - 9;
+        int year = yearOfEra + era * 400 + (month <= 2 ? 1 : 0);
+        return String.format(Locale.US, "%04d-%02d-%02d", year, month, day);
+    }
+}
@@ -0,0 +1,83 @@
+package com.example.ticketreservationapp.model;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+
+/** What changed between two versions of the event feed, matched by document id. */
+public final class EventDelta {
+    private final List<Event> added;
+    private final List<Event> changed;
+    private final List<String> removedIds;
+    private final boolean reordered;
+
+    private EventDelta(List<Event> added, List<Event> changed, List<String> removedIds,
+                       boolean reordered) {
+        this.added = Collections.unmodifiableList(added);
+        this.changed = Collections.unmodifiableList(changed);
+        this.removedIds = Collections.unmodifiableList(removedIds);
+        this.reordered = reordered;
+    }
+
+    public static EventDelta between(List<Event> before, List<Event> after) {
+        Map<String, Event> previous = new HashMap<>(before.size() * 2);
+        for (Event event : before) previous.put(event.getId(), event);
+
+        List<Event> added = new ArrayList<>();
+        List<Event> changed = new ArrayList<>();
+        Set<String> seen = new HashSet<>(after.size() * 2);
+        for (Event event : after) {
+            seen.add(event.getId());
+            Event old = previous.get(event.getId());
+            if (old == null) {
+                added.add(event);
+            } else if (!sameContent(old, event)) {
+                changed.add(event);
+            }
+        }
+        List<String> removedIds = new ArrayList<>();
+        for (Event event : before) {
+            if (!seen.contains(event.getId())) removedIds.add(event.getId());
+        }
+
+        // Also catches duplicate ids, which the id matching above cannot see.
+        boolean reordered = before.size() != after.size();
+        if (!reordered && added.isEmpty() && removedIds.isEmpty()) {
+            for (int i = 0; i < after.size() && !reordered; i++) {
+                reordered = !Objects.equals(before.get(i).getId(), after.get(i).getId());
+            }
+        }
+        return new EventDelta(added, changed, removedIds, reordered);
+    }
+
+    public List<Event> getAdded() { return added; }
+    public List<Event> getChanged() { return changed; }
+    public List<String> getRemovedIds() { return removedIds; }
+
+    /** True when both versions hold the same events, in the same order, with the same fields. */
+    public boolean isEmpty() {
+        return added.isEmpty() && changed.isEmpty() && removedIds.isEmpty() && !reordered;
+    }
+
+    private static boolean sameContent(Event a, Event b) {
+        return Objects.equals(a.getTitle(), b.getTitle())
+                && Objects.equals(a.getDescription(), b.getDescription())
+                && Objects.equals(a.getDate(), b.getDate())
+                && Objects.equals(a.getLocation(), b.getLocation())
+                && Objects.equals(a.getCategory(), b.getCategory())
+                && Double.compare(a.getPrice(), b.getPrice()) == 0
+                && a.getAvailableSeats() == b.getAvailableSeats()
+                && a.getTotalSeats() == b.getTotalSeats()
+                && Objects.equals(a.getOrganizerId(), b.getOrganizerId())
+                && Objects.equals(a.getOrganizerName(), b.getOrganizerName())
+                && a.getSeatShards() == b.getSeatShards()
+                && Objects.equals(a.getCreatedAt(), b.getCreatedAt())
+                && Objects.equals(a.getUpdatedAt(), b.getUpdatedAt())
+                && a.isDeleted() == b.isDeleted();
+    }
+}
@@ -0,0 +1,77 @@
+package com.example.ticketreservationapp.model;
+
+import androidx.annotation.Nullable;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/** Helpers for the event feed, a list of events kept in the server's date order. */
+public final class EventFeed {
+
+    /**
+     * The feed's server order: by parsed date, then by document id. Dates that don't parse
+     * come first.
+     */
+    public static final Comparator<Event> ORDER = (a, b) -> {
+        int byDate = Integer.compare(a.getDateEpochDay(), b.getDateEpochDay());
+        return byDate != 0 ? byDate : compareNullable(a.getId(), b.getId());
+    };
+
+    private EventFeed() {}
+
+    /** The newest {@code updatedAt} in the feed, or null when no event carries one. */
+    @Nullable
+    public static Date watermark(List<Event> feed) {
+        Date newest = null;
+        for (Event event : feed) {
+            Date updatedAt = event.getUpdatedAt();
+            if (updatedAt != null && (newest == null || updatedAt.after(newest))) newest = updatedAt;
+        }
+        return newest;
+    }
+
+    /**
+     * Applies synced changes to a loaded feed: changed events replace their old copy,
+     * deleted ones are dropped, and new ones are added. The feed only covers events up
+     * to its last one, so changes ordered after that are left for paging to load.
+     */
+    public static List<Event> applyChanges(List<Event> feed, List<Event> changes) {
+        if (feed.isEmpty()) return new ArrayList<>();
+        Event last = feed.get(feed.size() - 1);
+
+        Map<String, Event> byId = new HashMap<>(changes.size() * 2);
+        for (Event change : changes) {
+            Event seen = byId.get(change.getId());
+            if (seen == null || isNewer(change, seen)) byId.put(change.getId(), change);
+        }
+
+        List<Event> merged = new ArrayList<>(feed.size() + byId.size());
+        for (Event event : feed) {
+            Event change = byId.remove(event.getId());
+            Event current = change == null ? event : change;
+            if (!current.isDeleted() && (change == null || ORDER.compare(current, last) <= 0)) {
+                merged.add(current);
+            }
+        }
+        for (Event added : byId.values()) {
+            if (!added.isDeleted() && ORDER.compare(added, last) <= 0) merged.add(added);
+        }
+        Collections.sort(merged, ORDER);
+        return merged;
+    }
+
+    private static boolean isNewer(Event a, Event b) {
+        if (a.getUpdatedAt() == null) return false;
+        return b.getUpdatedAt() == null || a.getUpdatedAt().after(b.getUpdatedAt());
+    }
+
+    private static int compareNullable(String a, String b) {
+        if (a == null || b == null) return a == null ? (b == null ? 0 : -1) : 1;
+        return a.compareTo(b);
+    }
+}
@@ -0,0 +1,13 @@
+package com.example.ticketreservationapp.model;
+
+import java.util.Locale;
+
+/** Formats amounts the way every screen shows them, e.g. "$12.50". */
+public final class Prices {
+
+    private Prices() {}
+
+    public static String format(double amount) {
+        return String.format(Locale.US, "$%.2f", amount);
+    }
+}
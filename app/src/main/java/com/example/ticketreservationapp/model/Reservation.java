@@ -1,5 +1,7 @@
 package com.example.ticketreservationapp.model;
 
+import java.util.UUID;
+
 public class Reservation {
     private String id;
     private String userId;
@@ -28,6 +30,24 @@ public class Reservation {
         this.confirmationCode = confirmationCode;
     }
 
+    /**
+     * A new reservation of {@code numberOfTickets} at {@code unitPrice}, stamped now and
+     * given a fresh confirmation code. Missing event details are stored as "".
+     */
+    public static Reservation forTickets(String userId, String eventId, String eventTitle,
+                                         String eventDate, String eventLocation,
+                                         double unitPrice, int numberOfTickets) {
+        return new Reservation(
+                userId, eventId,
+                eventTitle == null ? "" : eventTitle,
+                eventDate == null ? "" : eventDate,
+                eventLocation == null ? "" : eventLocation,
+                numberOfTickets,
+                unitPrice * numberOfTickets,
+                System.currentTimeMillis(),
+                UUID.randomUUID().toString().substring(0, 8).toUpperCase());
+    }
+
     public String getId() { return id; }
     public void setId(String id) { this.id = id; }
     public String getUserId() { return userId; }
@@ -0,0 +1,41 @@
+package com.example.ticketreservationapp.model;
+
+/**
+ * Seats taken off an event's counter while the buyer confirms. A hold either becomes a
+ * {@link Reservation} or, once {@code expiresAt} passes, its seats are returned.
+ */
+public class SeatHold {
+    private String id;
+    private String userId;
+    private String eventId;
+    private int numberOfTickets;
+    private long createdAt;
+    private long expiresAt;
+
+    // Required by Firestore deserialization
+    public SeatHold() {}
+
+    public SeatHold(String userId, String eventId, int numberOfTickets,
+                    long createdAt, long expiresAt) {
+        this.userId = userId;
+        this.eventId = eventId;
+        this.numberOfTickets = numberOfTickets;
+        this.createdAt = createdAt;
+        this.expiresAt = expiresAt;
+    }
+
+    public String getId() { return id; }
+    public void setId(String id) { this.id = id; }
+    public String getUserId() { return userId; }
+    public void setUserId(String userId) { this.userId = userId; }
+    public String getEventId() { return eventId; }
+    public void setEventId(String eventId) { this.eventId = eventId; }
+    public int getNumberOfTickets() { return numberOfTickets; }
+    public void setNumberOfTickets(int numberOfTickets) { this.numberOfTickets = numberOfTickets; }
+    public long getCreatedAt() { return createdAt; }
+    public void setCreatedAt(long createdAt) { this.createdAt = createdAt; }
+    public long getExpiresAt() { return expiresAt; }
+    public void setExpiresAt(long expiresAt) { this.expiresAt = expiresAt; }
+
+    public boolean isExpiredAt(long nowMillis) { return nowMillis >= expiresAt; }
+}
@@ -1,98 +1,32 @@
 package com.example.ticketreservationapp.repository;
 
-import com.example.ticketreservationapp.model.User;
-import com.google.firebase.auth.FirebaseAuth;
-import com.google.firebase.firestore.FirebaseFirestore;
+import com.google.firebase.auth.PhoneAuthCredential;
 
-public class AuthRepository {
-    public interface AuthCallback {
+/**
+ * Sign-up and sign-in, plus the user profile written at registration.
+ * {@link FirebaseAuthRepository} is the app's; {@link InMemoryAuthRepository} keeps
+ * accounts in the process for JVM tests.
+ */
+public interface AuthRepository {
+
+    interface AuthCallback {
         void onSuccess();
         void onError(String message);
     }
 
-    private final FirebaseAuth firebaseAuth;
-    private final FirebaseFirestore firestore;
-
-    public AuthRepository() {
-        this.firebaseAuth = FirebaseAuth.getInstance();
-        this.firestore = FirebaseFirestore.getInstance();
-    }
-
-    // Visible for unit testing — allows injecting null to avoid Firebase initialization
-    public AuthRepository(FirebaseAuth firebaseAuth, FirebaseFirestore firestore) {
-        this.firebaseAuth = firebaseAuth;
-        this.firestore = firestore;
-    }
-
-    public void registerWithEmail(String fullName, String email, String password,
-                                  String phone, String role, AuthCallback callback) {
-        firebaseAuth.createUserWithEmailAndPassword(email, password)
-            .addOnCompleteListener(task -> {
-                if (task.isSuccessful() && firebaseAuth.getCurrentUser() != null) {
-                    String uid = firebaseAuth.getCurrentUser().getUid();
-                    User user = new User(uid, fullName, email, phone, role);
-                    firestore.collection("users").document(uid)
-                        .set(user)
-                        .addOnSuccessListener(aVoid -> callback.onSuccess())
-                        .addOnFailureListener(e -> callback.onError(e.getMessage()));
-                } else {
-                    String msg = task.getException() != null
-                        ? task.getException().getMessage()
-                        : "Registration failed. Please try again.";
-                    callback.onError(msg);
-                }
-            });
-    }
-
-
+    /** Creates the account and stores the user's profile with the given role. */
+    void registerWithEmail(String fullName, String email, String password,
+                           String phone, String role, AuthCallback callback);
 
-    public void loginWithEmail(String email, String password, AuthCallback callback) {
-        firebaseAuth.signInWithEmailAndPassword(email, password)
-            .addOnCompleteListener(task -> {
-                if (task.isSuccessful()) {
-                    callback.onSuccess();
-                } else {
-                    String msg = task.getException() != null
-                        ? task.getException().getMessage()
-                        : "Login failed. Please try again.";
-                    callback.onError(msg);
-                }
-            });
-    }
+    void loginWithEmail(String email, String password, AuthCallback callback);
 
-    public void signInWithPhoneCredential(com.google.firebase.auth.PhoneAuthCredential credential,
-            String fullName, String phone, String role, String mode, AuthCallback callback) {
-        firebaseAuth.signInWithCredential(credential).addOnCompleteListener(task -> {
-            if (task.isSuccessful() && firebaseAuth.getCurrentUser() != null) {
-                if ("register".equals(mode)) {
-                    String uid = firebaseAuth.getCurrentUser().getUid();
-                    User user = new User(uid, fullName, "", phone, role);
-                    firestore.collection("users").document(uid).set(user)
-                        .addOnSuccessListener(v -> callback.onSuccess())
-                        .addOnFailureListener(e -> callback.onError(e.getMessage()));
-                } else {
-                    callback.onSuccess();
-                }
-            } else {
-                String msg = task.getException() != null
-                    ? task.getException().getMessage()
-                    : "Verification failed.";
-                callback.onError(msg);
-            }
-        });
-    }
+    /**
+     * Signs in with a verified phone credential. With {@code mode} "register" the user's
+     * profile is stored as well.
+     */
+    void signInWithPhoneCredential(PhoneAuthCredential credential, String fullName,
+                                   String phone, String role, String mode,
+                                   AuthCallback callback);
 
-    public void sendPasswordReset(String email, AuthCallback callback) {
-        firebaseAuth.sendPasswordResetEmail(email)
-            .addOnCompleteListener(task -> {
-                if (task.isSuccessful()) {
-                    callback.onSuccess();
-                } else {
-                    String msg = task.getException() != null
-                        ? task.getException().getMessage()
-                        : "Failed to send reset email.";
-                    callback.onError(msg);
-                }
-            });
-    }
+    void sendPasswordReset(String email, AuthCallback callback);
 }
@@ -0,0 +1,51 @@
+package com.example.ticketreservationapp.repository;
+
+import androidx.lifecycle.LiveData;
+import androidx.lifecycle.MutableLiveData;
+
+import com.google.firebase.firestore.ListenerRegistration;
+
+/**
+ * Holds an event's remaining seats, attaching the Firestore snapshot listener when the
+ * first observer becomes active and detaching it when the last one stops. Listener
+ * errors keep the last known value and are published on {@link #getError()}; the
+ * listener is attached again the next time an observer becomes active.
+ */
+public class AvailableSeatsLiveData extends LiveData<Integer> {
+
+    private final EventRepository repository;
+    private final String eventId;
+    private final MutableLiveData<String> error = new MutableLiveData<>();
+    private ListenerRegistration registration;
+
+    AvailableSeatsLiveData(EventRepository repository, String eventId) {
+        this.repository = repository;
+        this.eventId = eventId;
+    }
+
+    /** The last listener error, or null. */
+    public LiveData<String> getError() { return error; }
+
+    @Override
+    protected void onActive() {
+        registration = repository.listenToAvailableSeats(eventId, new EventRepository.SeatsListener() {
+            @Override
+            public void onSeatsChanged(int availableSeats) {
+                setValue(availableSeats);
+            }
+
+            @Override
+            public void onError(String message) {
+                error.setValue(message);
+            }
+        });
+    }
+
+    @Override
+    protected void onInactive() {
+        if (registration != null) {
+            registration.remove();
+            registration = null;
+        }
+    }
+}
@@ -0,0 +1,82 @@
+package com.example.ticketreservationapp.repository;
+
+import androidx.annotation.Nullable;
+
+import com.example.ticketreservationapp.model.Reservation;
+
+import java.util.HashMap;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * A reservation confirmation addressed to the buyer. It turns into a {@code mail/} document
+ * for the Trigger Email extension and a {@code messages/} document for the Send SMS
+ * extension, both keyed by the reservation id so that writing them twice is harmless.
+ */
+public final class Confirmation {
+    private final String reservationId;
+    @Nullable private final String email;
+    @Nullable private final String phone;
+    private final String subject;
+    private final String text;
+
+    public Confirmation(String reservationId, @Nullable String email, @Nullable String phone,
+                        String subject, String text) {
+        this.reservationId = reservationId;
+        this.email = email == null || email.isEmpty() ? null : email;
+        this.phone = phone == null || phone.isEmpty() ? null : phone;
+        this.subject = subject;
+        this.text = text;
+    }
+
+    public static Confirmation forReservation(Reservation reservation,
+                                              @Nullable String email, @Nullable String phone) {
+        String subject = "Reservation confirmed: " + reservation.getEventTitle();
+        String text = String.format(Locale.US,
+                "Your reservation is confirmed.%n%n" +
+                        "Event: %s%nDate: %s%nLocation: %s%n" +
+                        "Tickets: %d%nTotal: $%.2f%n%n" +
+                        "Confirmation code: %s",
+                reservation.getEventTitle(),
+                reservation.getEventDate(),
+                reservation.getEventLocation(),
+                reservation.getNumberOfTickets(),
+                reservation.getTotalPrice(),
+                reservation.getConfirmationCode());
+        return new Confirmation(reservation.getId(), email, phone, subject, text);
+    }
+
+    public String getReservationId() { return reservationId; }
+    @Nullable public String getEmail() { return email; }
+    @Nullable public String getPhone() { return phone; }
+    public String getSubject() { return subject; }
+    public String getText() { return text; }
+
+    public boolean hasRecipient() { return email != null || phone != null; }
+
+    /** The {@code mail/{reservationId}} document, or null without an email address. */
+    @Nullable
+    public Map<String, Object> mailDocument() {
+        if (email == null) return null;
+        Map<String, Object> message = new HashMap<>();
+        message.put("subject", subject);
+        message.put("text", text);
+
+        Map<String, Object> mail = new HashMap<>();
+        mail.put("to", email);
+        mail.put("message", message);
+        mail.put("reservationId", reservationId);
+        return mail;
+    }
+
+    /** The {@code messages/{reservationId}} document, or null without a phone number. */
+    @Nullable
+    public Map<String, Object> smsDocument() {
+        if (phone == null) return null;
+        Map<String, Object> sms = new HashMap<>();
+        sms.put("to", phone);
+        sms.put("body", text);
+        sms.put("reservationId", reservationId);
+        return sms;
+    }
+}
@@ -0,0 +1,325 @@
+package com.example.ticketreservationapp.repository;
+
+import androidx.annotation.NonNull;
+
+import com.google.firebase.firestore.FirebaseFirestore;
+import com.google.firebase.firestore.FirebaseFirestoreException;
+import com.google.firebase.firestore.SetOptions;
+import com.google.firebase.firestore.WriteBatch;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Delivers reservation confirmations off the reservation callback path. Confirmations are
+ * saved to a {@link Store} before they are sent, go out in batches of up to
+ * {@value #MAX_BATCH} per {@link WriteBatch}, and are retried with exponential backoff
+ * while the failure is retryable. A batch that fails for good is resent one confirmation
+ * at a time, and a confirmation that fails for good alone is dropped, so one bad
+ * confirmation can't hold up the rest. All state is confined to a single background thread.
+ */
+public class ConfirmationOutbox {
+
+    public interface Store {
+        List<Confirmation> load() throws IOException;
+        void save(List<Confirmation> pending) throws IOException;
+    }
+
+    public interface Transport {
+        void send(List<Confirmation> batch, SendCallback callback);
+    }
+
+    public interface SendCallback {
+        void onSuccess();
+        /** {@code retryable} is false when sending the same batch again would fail the same way. */
+        void onError(String message, boolean retryable);
+    }
+
+    // Each confirmation is up to two writes and a WriteBatch holds 500.
+    static final int MAX_BATCH = 250;
+    private static final long DEFAULT_BASE_BACKOFF_MILLIS = 1000;
+    private static final long MAX_BACKOFF_MILLIS = 60 * 1000;
+
+    private static ConfirmationOutbox instance;
+
+    private final Transport transport;
+    private final ScheduledExecutorService executor;
+    private final long baseBackoffMillis;
+
+    // Only touched on the executor thread.
+    private Store store;
+    private final Map<String, Confirmation> pending = new LinkedHashMap<>();
+    // From a batch that failed for good; sent one at a time until each is sent or dropped.
+    private final Set<String> suspects = new LinkedHashSet<>();
+    private boolean sending;
+    private boolean retryScheduled;
+    private int failures;
+
+    /** The process-wide outbox; holds confirmations in memory until {@link #useStore}. */
+    public static synchronized ConfirmationOutbox getInstance() {
+        if (instance == null) {
+            instance = new ConfirmationOutbox(new InMemoryStore(),
+                    new FirestoreTransport(FirebaseFirestore.getInstance()),
+                    Executors.newSingleThreadScheduledExecutor(r -> {
+                        Thread thread = new Thread(r, "confirmation-outbox");
+                        thread.setDaemon(true);
+                        return thread;
+                    }),
+                    DEFAULT_BASE_BACKOFF_MILLIS);
+        }
+        return instance;
+    }
+
+    // Visible for unit testing
+    public ConfirmationOutbox(Store store, Transport transport,
+                              ScheduledExecutorService executor, long baseBackoffMillis) {
+        this.store = store;
+        this.transport = transport;
+        this.executor = executor;
+        this.baseBackoffMillis = baseBackoffMillis;
+        executor.execute(this::restore);
+    }
+
+    /**
+     * Moves the outbox onto {@code store}, keeping what is already queued and replaying
+     * whatever an earlier process left there.
+     */
+    public void useStore(Store store) {
+        executor.execute(() -> {
+            this.store = store;
+            restore();
+            persist();
+        });
+    }
+
+    public void enqueue(Confirmation confirmation) {
+        executor.execute(() -> add(confirmation));
+    }
+
+    private void add(Confirmation confirmation) {
+        if (!confirmation.hasRecipient()) return;
+        pending.put(confirmation.getReservationId(), confirmation);
+        persist();
+        flush();
+    }
+
+    private void restore() {
+        try {
+            for (Confirmation confirmation : store.load()) {
+                if (!pending.containsKey(confirmation.getReservationId())) {
+                    pending.put(confirmation.getReservationId(), confirmation);
+                }
+            }
+        } catch (IOException e) {
+            // An unreadable store holds nothing we can send; carry on with memory.
+        }
+        flush();
+    }
+
+    private void persist() {
+        try {
+            store.save(new ArrayList<>(pending.values()));
+        } catch (IOException e) {
+            // Still queued in memory; the next successful save includes it.
+        }
+    }
+
+    private void flush() {
+        if (sending || retryScheduled || pending.isEmpty()) return;
+        List<Confirmation> batch = nextBatch();
+        sending = true;
+        transport.send(batch, new SendCallback() {
+            @Override
+            public void onSuccess() {
+                executor.execute(() -> {
+                    sending = false;
+                    failures = 0;
+                    for (Confirmation confirmation : batch) {
+                        pending.remove(confirmation.getReservationId(), confirmation);
+                        suspects.remove(confirmation.getReservationId());
+                    }
+                    persist();
+                    flush();
+                });
+            }
+
+            @Override
+            public void onError(String message, boolean retryable) {
+                executor.execute(() -> {
+                    sending = false;
+                    if (!retryable) {
+                        giveUp(batch);
+                        return;
+                    }
+                    failures++;
+                    retryScheduled = true;
+                    executor.schedule(() -> {
+                        retryScheduled = false;
+                        flush();
+                    }, backoffMillis(failures), TimeUnit.MILLISECONDS);
+                });
+            }
+        });
+    }
+
+    /** The suspects one at a time while there are any, otherwise the oldest confirmations. */
+    private List<Confirmation> nextBatch() {
+        for (String id : suspects) {
+            Confirmation suspect = pending.get(id);
+            if (suspect != null) return Collections.singletonList(suspect);
+        }
+        suspects.clear();
+        List<Confirmation> batch = new ArrayList<>(Math.min(pending.size(), MAX_BATCH));
+        for (Confirmation confirmation : pending.values()) {
+            if (batch.size() == MAX_BATCH) break;
+            batch.add(confirmation);
+        }
+        return batch;
+    }
+
+    /**
+     * Handles a batch that can never be written as it is. A single confirmation is dropped;
+     * a larger batch becomes suspects, so the confirmations that can be written still are.
+     */
+    private void giveUp(List<Confirmation> batch) {
+        if (batch.size() == 1) {
+            Confirmation confirmation = batch.get(0);
+            pending.remove(confirmation.getReservationId(), confirmation);
+            suspects.remove(confirmation.getReservationId());
+            persist();
+        } else {
+            for (Confirmation confirmation : batch) suspects.add(confirmation.getReservationId());
+        }
+        flush();
+    }
+
+    private long backoffMillis(int failures) {
+        long delay = baseBackoffMillis << Math.min(failures - 1, 16);
+        return Math.min(delay, MAX_BACKOFF_MILLIS);
+    }
+
+    /** Writes each batch as {@code mail/{reservationId}} and {@code messages/{reservationId}}. */
+    static final class FirestoreTransport implements Transport {
+        private final FirebaseFirestore firestore;
+
+        FirestoreTransport(FirebaseFirestore firestore) {
+            this.firestore = firestore;
+        }
+
+        @Override
+        public void send(List<Confirmation> confirmations, SendCallback callback) {
+            WriteBatch batch = firestore.batch();
+            for (Confirmation confirmation : confirmations) {
+                Map<String, Object> mail = confirmation.mailDocument();
+                if (mail != null) {
+                    // Merge so a retry doesn't wipe the extension's delivery state.
+                    batch.set(firestore.collection("mail").document(confirmation.getReservationId()),
+                            mail, SetOptions.merge());
+                }
+                Map<String, Object> sms = confirmation.smsDocument();
+                if (sms != null) {
+                    batch.set(firestore.collection("messages").document(confirmation.getReservationId()),
+                            sms, SetOptions.merge());
+                }
+            }
+            batch.commit()
+                    .addOnSuccessListener(aVoid -> callback.onSuccess())
+                    .addOnFailureListener(e -> callback.onError(e.getMessage(), isRetryable(e)));
+        }
+
+        /** Rejections of the writes themselves come back the same on every attempt. */
+        static boolean isRetryable(Exception e) {
+            if (!(e instanceof FirebaseFirestoreException)) return true;
+            switch (((FirebaseFirestoreException) e).getCode()) {
+                case INVALID_ARGUMENT:
+                case PERMISSION_DENIED:
+                case OUT_OF_RANGE:
+                case UNIMPLEMENTED:
+                    return false;
+                default:
+                    return true;
+            }
+        }
+    }
+
+    public static class InMemoryStore implements Store {
+        private List<Confirmation> saved = Collections.emptyList();
+
+        @Override
+        public List<Confirmation> load() {
+            return new ArrayList<>(saved);
+        }
+
+        @Override
+        public void save(List<Confirmation> pending) {
+            saved = new ArrayList<>(pending);
+        }
+    }
+
+    /** Keeps pending confirmations in one file, replaced atomically on every save. */
+    public static final class FileStore implements Store {
+        private static final int VERSION = 1;
+
+        private final File file;
+
+        public FileStore(@NonNull File file) {
+            this.file = file;
+        }
+
+        @Override
+        public List<Confirmation> load() throws IOException {
+            if (!file.exists()) return new ArrayList<>();
+            try (DataInputStream in = new DataInputStream(
+                    new BufferedInputStream(new FileInputStream(file)))) {
+                if (in.readInt() != VERSION) return new ArrayList<>();
+                int count = in.readInt();
+                List<Confirmation> confirmations = new ArrayList<>(count);
+                for (int i = 0; i < count; i++) {
+                    confirmations.add(new Confirmation(in.readUTF(), in.readUTF(), in.readUTF(),
+                            in.readUTF(), in.readUTF()));
+                }
+                return confirmations;
+            }
+        }
+
+        @Override
+        public void save(List<Confirmation> pending) throws IOException {
+            File tmp = new File(file.getPath() + ".tmp");
+            try (DataOutputStream out = new DataOutputStream(
+                    new BufferedOutputStream(new FileOutputStream(tmp)))) {
+                out.writeInt(VERSION);
+                out.writeInt(pending.size());
+                for (Confirmation confirmation : pending) {
+                    out.writeUTF(confirmation.getReservationId());
+                    out.writeUTF(orEmpty(confirmation.getEmail()));
+                    out.writeUTF(orEmpty(confirmation.getPhone()));
+                    out.writeUTF(confirmation.getSubject());
+                    out.writeUTF(confirmation.getText());
+                }
+            }
+            if (!tmp.renameTo(file)) {
+                throw new IOException("Could not replace " + file);
+            }
+        }
+
+        private static String orEmpty(String value) {
+            return value == null ? "" : value;
+        }
+    }
+}
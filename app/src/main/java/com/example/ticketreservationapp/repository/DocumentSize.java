@@ -0,0 +1,111 @@
+package com.example.ticketreservationapp.repository;
+
+import androidx.annotation.Nullable;
+
+import com.google.firebase.Timestamp;
+import com.google.firebase.firestore.DocumentReference;
+
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Estimates a document's stored size with Firestore's published rules: the document
+ * name, each field name and value, and 32 bytes of overhead. Close to what the server
+ * sends for a read, which is what {@link RepositoryMetrics} reports as bytes.
+ */
+public final class DocumentSize {
+
+    private static final int DOCUMENT_OVERHEAD = 32;
+    private static final int NAME_OVERHEAD = 16;
+
+    // Each model class's getters, looked up once.
+    private static final Map<Class<?>, List<Method>> GETTERS = new ConcurrentHashMap<>();
+
+    private DocumentSize() {}
+
+    /**
+     * Size of a model object stored as {@code collection/id}, with the fields Firestore
+     * maps it to: one per public getter.
+     */
+    static long of(String collection, @Nullable String id, Object model) {
+        Map<String, Object> data = new HashMap<>();
+        for (Method getter : GETTERS.computeIfAbsent(model.getClass(), DocumentSize::getters)) {
+            try {
+                data.put(property(getter), getter.invoke(model));
+            } catch (ReflectiveOperationException e) {
+                // Not a field Firestore could read either.
+            }
+        }
+        return of(collection + "/" + id, data);
+    }
+
+    /** Size of a document at {@code path} (e.g. {@code "events/abc"}) holding {@code data}. */
+    public static long of(String path, Map<String, ?> data) {
+        return name(path) + fields(data) + DOCUMENT_OVERHEAD;
+    }
+
+    private static long name(String path) {
+        long size = NAME_OVERHEAD;
+        for (String segment : path.split("/")) size += string(segment);
+        return size;
+    }
+
+    private static long fields(Map<?, ?> data) {
+        long size = 0;
+        for (Map.Entry<?, ?> entry : data.entrySet()) {
+            size += string(String.valueOf(entry.getKey())) + value(entry.getValue());
+        }
+        return size;
+    }
+
+    private static long value(@Nullable Object value) {
+        if (value == null || value instanceof Boolean) return 1;
+        if (value instanceof String) return string((String) value);
+        if (value instanceof Number || value instanceof Date || value instanceof Timestamp) {
+            return 8;
+        }
+        if (value instanceof Map) return fields((Map<?, ?>) value);
+        if (value instanceof Collection) {
+            long size = 0;
+            for (Object element : (Collection<?>) value) size += value(element);
+            return size;
+        }
+        if (value instanceof DocumentReference) return name(((DocumentReference) value).getPath());
+        // Geo points and anything else the app doesn't store.
+        return 16;
+    }
+
+    private static List<Method> getters(Class<?> type) {
+        List<Method> getters = new ArrayList<>();
+        for (Method method : type.getMethods()) {
+            if (Modifier.isStatic(method.getModifiers()) || method.getParameterCount() > 0
+                    || method.getDeclaringClass() == Object.class) continue;
+            String name = method.getName();
+            if ((name.startsWith("get") && name.length() > 3)
+                    || (name.startsWith("is") && name.length() > 2
+                        && method.getReturnType() == boolean.class)) {
+                getters.add(method);
+            }
+        }
+        return getters;
+    }
+
+    private static String property(Method getter) {
+        String name = getter.getName();
+        String bare = name.substring(name.startsWith("is") ? 2 : 3);
+        return bare.substring(0, 1).toLowerCase(Locale.ROOT) + bare.substring(1);
+    }
+
+    private static long string(String value) {
+        return value.getBytes(StandardCharsets.UTF_8).length + 1;
+    }
+}
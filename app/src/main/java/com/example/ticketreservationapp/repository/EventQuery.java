@@ -0,0 +1,121 @@
+package com.example.ticketreservationapp.repository;
+
+import androidx.annotation.Nullable;
+
+import com.example.ticketreservationapp.model.Event;
+import com.example.ticketreservationapp.model.EventCategory;
+import com.example.ticketreservationapp.model.EventDates;
+import com.google.firebase.firestore.DocumentSnapshot;
+import com.google.firebase.firestore.FieldPath;
+import com.google.firebase.firestore.Query;
+
+import java.util.Objects;
+
+/**
+ * Predicates evaluated by Firestore rather than on the device: equality on the lowercased
+ * {@code categoryKey} and an inclusive range on {@code dateEpochDay}, so they agree with
+ * {@link com.example.ticketreservationapp.search.FilterCriteria}'s case-insensitive
+ * category and parsed-date checks. Every combination is served by the indexes in
+ * firestore.indexes.json together with the ordering {@link #applyTo} adds.
+ */
+public final class EventQuery {
+
+    public static final EventQuery ALL =
+            new EventQuery(null, EventDates.NO_DATE, EventDates.NO_DATE);
+
+    static final String CATEGORY_KEY_FIELD = "categoryKey";
+    static final String EPOCH_DAY_FIELD = "dateEpochDay";
+
+    @Nullable private final String categoryKey;
+    private final int fromDay;
+    private final int toDay;
+
+    private EventQuery(@Nullable String categoryKey, int fromDay, int toDay) {
+        this.categoryKey = categoryKey;
+        this.fromDay = fromDay;
+        this.toDay = toDay;
+    }
+
+    /** Case-insensitive match on the category label; null or empty removes it. */
+    public EventQuery withCategory(@Nullable String category) {
+        String key = EventCategory.keyOf(category);
+        return new EventQuery(key.isEmpty() ? null : key, fromDay, toDay);
+    }
+
+    /**
+     * Inclusive bounds in epoch days; either may be {@link EventDates#NO_DATE} for an open
+     * end. Any bound leaves out events whose date doesn't parse.
+     */
+    public EventQuery withDateRange(int fromDay, int toDay) {
+        return new EventQuery(categoryKey, fromDay, toDay);
+    }
+
+    /** The lowercased category to match, or null. */
+    @Nullable public String getCategoryKey() { return categoryKey; }
+    public int getFromDay() { return fromDay; }
+    public int getToDay() { return toDay; }
+
+    public boolean isAll() {
+        return categoryKey == null && !hasDateRange();
+    }
+
+    private boolean hasDateRange() {
+        return fromDay != EventDates.NO_DATE || toDay != EventDates.NO_DATE;
+    }
+
+    /**
+     * Adds the predicates and the page order, by epoch day and then id like
+     * {@link com.example.ticketreservationapp.model.EventFeed#ORDER}. A date range filters
+     * that same field, which Firestore requires of a range.
+     */
+    Query applyTo(Query query) {
+        if (categoryKey != null) query = query.whereEqualTo(CATEGORY_KEY_FIELD, categoryKey);
+        if (hasDateRange()) query = applyDateRange(query);
+        return query.orderBy(EPOCH_DAY_FIELD).orderBy(FieldPath.documentId());
+    }
+
+    private Query applyDateRange(Query query) {
+        query = fromDay != EventDates.NO_DATE
+                ? query.whereGreaterThanOrEqualTo(EPOCH_DAY_FIELD, fromDay)
+                : query.whereGreaterThan(EPOCH_DAY_FIELD, EventDates.NO_DATE);
+        if (toDay != EventDates.NO_DATE) query = query.whereLessThanOrEqualTo(EPOCH_DAY_FIELD, toDay);
+        return query;
+    }
+
+    /** Cursor values for the order {@link #applyTo} sets, positioned at {@code event}. */
+    Object[] cursorAt(Event event) {
+        return new Object[] {event.getDateEpochDay(), event.getId()};
+    }
+
+    /** Like {@link #cursorAt(Event)}, for a document that may not deserialize. */
+    Object[] cursorAt(DocumentSnapshot doc) {
+        return new Object[] {doc.getLong(EPOCH_DAY_FIELD), doc.getId()};
+    }
+
+    /** The same predicates as {@link #applyTo}, evaluated on one event. */
+    public boolean matches(Event event) {
+        if (categoryKey != null && !categoryKey.equals(EventCategory.keyOf(event.getCategory()))) {
+            return false;
+        }
+        if (!hasDateRange()) return true;
+        int day = event.getDateEpochDay();
+        if (day == EventDates.NO_DATE) return false;
+        if (fromDay != EventDates.NO_DATE && day < fromDay) return false;
+        return toDay == EventDates.NO_DATE || day <= toDay;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (!(o instanceof EventQuery)) return false;
+        EventQuery other = (EventQuery) o;
+        return Objects.equals(categoryKey, other.categoryKey)
+                && fromDay == other.fromDay
+                && toDay == other.toDay;
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(categoryKey, fromDay, toDay);
+    }
+}
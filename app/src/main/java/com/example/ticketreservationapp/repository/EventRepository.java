@@ -1,98 +1,89 @@
 package com.example.ticketreservationapp.repository;
 
+import androidx.annotation.Nullable;
+
 import com.example.ticketreservationapp.model.Event;
-import com.google.firebase.firestore.FirebaseFirestore;
-import com.google.firebase.firestore.QueryDocumentSnapshot;
+import com.google.firebase.firestore.ListenerRegistration;
 
-import java.util.ArrayList;
-import java.util.HashMap;
+import java.util.Date;
 import java.util.List;
-import java.util.Map;
 
-public class EventRepository {
+/**
+ * The event catalog. {@link FirestoreEventRepository} is the app's; {@link
+ * InMemoryEventRepository} keeps everything in the process for JVM tests and benchmarks.
+ */
+public interface EventRepository {
 
-    public interface EventListCallback {
+    interface EventListCallback {
         void onSuccess(List<Event> events);
         void onError(String message);
     }
 
-    public interface EventCallback {
+    interface EventCallback {
         void onSuccess();
         void onError(String message);
     }
 
-    private final FirebaseFirestore firestore;
-
-    public EventRepository() {
-        this.firestore = FirebaseFirestore.getInstance();
+    interface EventPageCallback {
+        void onSuccess(List<Event> events, boolean hasMore);
+        void onError(String message);
     }
 
-    public EventRepository(FirebaseFirestore firestore) {
-        this.firestore = firestore;
+    interface SeatsListener {
+        void onSeatsChanged(int availableSeats);
+        void onError(String message);
     }
 
-    public void getAllEvents(EventListCallback callback) {
-        firestore.collection("events")
-            .get()
-            .addOnSuccessListener(querySnapshot -> {
-                List<Event> events = new ArrayList<>();
-                for (QueryDocumentSnapshot doc : querySnapshot) {
-                    Event event = doc.toObject(Event.class);
-                    event.setId(doc.getId());
-                    events.add(event);
-                }
-                callback.onSuccess(events);
-            })
-            .addOnFailureListener(e -> callback.onError(e.getMessage()));
-    }
+    int DEFAULT_PAGE_SIZE = 25;
 
-    public void getEventsByOrganizer(String organizerId, EventListCallback callback) {
-        firestore.collection("events")
-            .whereEqualTo("organizerId", organizerId)
-            .get()
-            .addOnSuccessListener(querySnapshot -> {
-                List<Event> events = new ArrayList<>();
-                for (QueryDocumentSnapshot doc : querySnapshot) {
-                    Event event = doc.toObject(Event.class);
-                    event.setId(doc.getId());
-                    events.add(event);
-                }
-                callback.onSuccess(events);
-            })
-            .addOnFailureListener(e -> callback.onError(e.getMessage()));
-    }
+    /** Error from {@link #updateEvent} when the new capacity is below the seats already sold. */
+    String SEATS_ALREADY_SOLD = "More seats have been sold than the new capacity allows";
 
-    public void createEvent(Event event, EventCallback callback) {
-        firestore.collection("events")
-            .add(event)
-            .addOnSuccessListener(docRef -> {
-                event.setId(docRef.getId());
-                callback.onSuccess();
-            })
-            .addOnFailureListener(e -> callback.onError(e.getMessage()));
-    }
+    /** Delivers the locally cached feed, possibly empty. */
+    void getCachedEvents(EventListCallback callback);
 
-    public void updateEvent(Event event, EventCallback callback) {
-        Map<String, Object> updates = new HashMap<>();
-        updates.put("title", event.getTitle());
-        updates.put("description", event.getDescription());
-        updates.put("date", event.getDate());
-        updates.put("location", event.getLocation());
-        updates.put("category", event.getCategory());
-        updates.put("price", event.getPrice());
-        updates.put("availableSeats", event.getAvailableSeats());
-        updates.put("totalSeats", event.getTotalSeats());
-
-        firestore.collection("events").document(event.getId())
-            .update(updates)
-            .addOnSuccessListener(aVoid -> callback.onSuccess())
-            .addOnFailureListener(e -> callback.onError(e.getMessage()));
-    }
+    /** Replaces the locally cached feed. */
+    void cacheEvents(List<Event> events);
+
+    /** Every event that isn't deleted. */
+    void getAllEvents(EventListCallback callback);
 
-    public void deleteEvent(String eventId, EventCallback callback) {
-        firestore.collection("events").document(eventId)
-            .delete()
-            .addOnSuccessListener(aVoid -> callback.onSuccess())
-            .addOnFailureListener(e -> callback.onError(e.getMessage()));
+    /**
+     * One page of events ordered by parsed date ({@code dateEpochDay}) and then id, as in
+     * {@link com.example.ticketreservationapp.model.EventFeed#ORDER}. Pass the last event
+     * of the previous page as {@code after}, or null for the first page.
+     */
+    void getEventsPage(int pageSize, @Nullable Event after, EventPageCallback callback);
+
+    /** Like {@link #getEventsPage(int, Event, EventPageCallback)}, filtered. */
+    void getEventsPage(EventQuery filter, int pageSize, @Nullable Event after,
+                       EventPageCallback callback);
+
+    /** Every event written after {@code since}, deleted ones included. */
+    void syncEvents(Date since, EventListCallback callback);
+
+    /** Streams the event's remaining seats until the registration is removed. */
+    ListenerRegistration listenToAvailableSeats(String eventId, SeatsListener listener);
+
+    /** Live seat count that listens only while it has active observers. */
+    default AvailableSeatsLiveData observeAvailableSeats(String eventId) {
+        return new AvailableSeatsLiveData(this, eventId);
     }
+
+    void getEventsByOrganizer(String organizerId, EventListCallback callback);
+
+    /**
+     * Stores a new event and sets its id. {@link Event#getSeatShards} asks for the seat
+     * counter to be sharded; implementations may ignore it.
+     */
+    void createEvent(Event event, EventCallback callback);
+
+    /**
+     * Rewrites the event's details. A change to {@code totalSeats} adds or removes the
+     * difference from the seats still for sale.
+     */
+    void updateEvent(Event event, EventCallback callback);
+
+    /** Marks the event deleted; it stays visible to {@link #syncEvents}. */
+    void deleteEvent(String eventId, EventCallback callback);
 }
@@ -0,0 +1,12 @@
+package com.example.ticketreservationapp.repository;
+
+import com.example.ticketreservationapp.model.Event;
+
+import java.io.IOException;
+import java.util.List;
+
+/** Local copy of the event feed, read before the network answers. */
+public interface EventStore {
+    List<Event> load() throws IOException;
+    void save(List<Event> events) throws IOException;
+}
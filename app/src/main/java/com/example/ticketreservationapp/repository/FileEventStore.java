@@ -0,0 +1,113 @@
+package com.example.ticketreservationapp.repository;
+
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+
+import com.example.ticketreservationapp.model.Event;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+
+/**
+ * Keeps the event feed in one binary file, replaced atomically on every save. A file
+ * written in another format version reads as empty, so the next load refetches.
+ */
+public class FileEventStore implements EventStore {
+    private static final int VERSION = 3;
+
+    private final File file;
+
+    public FileEventStore(@NonNull File file) {
+        this.file = file;
+    }
+
+    @Override
+    public synchronized List<Event> load() throws IOException {
+        if (!file.exists()) return new ArrayList<>();
+        try (DataInputStream in = new DataInputStream(
+                new BufferedInputStream(new FileInputStream(file)))) {
+            if (in.readInt() != VERSION) return new ArrayList<>();
+            int count = in.readInt();
+            List<Event> events = new ArrayList<>(count);
+            for (int i = 0; i < count; i++) {
+                events.add(readEvent(in));
+            }
+            return events;
+        }
+    }
+
+    @Override
+    public synchronized void save(List<Event> events) throws IOException {
+        File tmp = new File(file.getPath() + ".tmp");
+        try (DataOutputStream out = new DataOutputStream(
+                new BufferedOutputStream(new FileOutputStream(tmp)))) {
+            out.writeInt(VERSION);
+            out.writeInt(events.size());
+            for (Event event : events) {
+                writeEvent(out, event);
+            }
+        }
+        if (!tmp.renameTo(file)) {
+            throw new IOException("Could not replace " + file);
+        }
+    }
+
+    private static void writeEvent(DataOutputStream out, Event event) throws IOException {
+        writeString(out, event.getId());
+        writeString(out, event.getTitle());
+        writeString(out, event.getDescription());
+        writeString(out, event.getDate());
+        writeString(out, event.getLocation());
+        writeString(out, event.getCategory());
+        out.writeDouble(event.getPrice());
+        out.writeInt(event.getAvailableSeats());
+        out.writeInt(event.getTotalSeats());
+        writeString(out, event.getOrganizerId());
+        writeString(out, event.getOrganizerName());
+        out.writeInt(event.getSeatShards());
+        out.writeLong(event.getCreatedAt() == null ? -1 : event.getCreatedAt().getTime());
+        out.writeLong(event.getUpdatedAt() == null ? -1 : event.getUpdatedAt().getTime());
+        out.writeBoolean(event.isDeleted());
+    }
+
+    private static Event readEvent(DataInputStream in) throws IOException {
+        Event event = new Event();
+        event.setId(readString(in));
+        event.setTitle(readString(in));
+        event.setDescription(readString(in));
+        event.setDate(readString(in));
+        event.setLocation(readString(in));
+        event.setCategory(readString(in));
+        event.setPrice(in.readDouble());
+        event.setAvailableSeats(in.readInt());
+        event.setTotalSeats(in.readInt());
+        event.setOrganizerId(readString(in));
+        event.setOrganizerName(readString(in));
+        event.setSeatShards(in.readInt());
+        long createdAt = in.readLong();
+        event.setCreatedAt(createdAt < 0 ? null : new Date(createdAt));
+        long updatedAt = in.readLong();
+        event.setUpdatedAt(updatedAt < 0 ? null : new Date(updatedAt));
+        event.setDeleted(in.readBoolean());
+        return event;
+    }
+
+    private static void writeString(DataOutputStream out, @Nullable String value) throws IOException {
+        out.writeBoolean(value != null);
+        if (value != null) out.writeUTF(value);
+    }
+
+    @Nullable
+    private static String readString(DataInputStream in) throws IOException {
+        return in.readBoolean() ? in.readUTF() : null;
+    }
+}
@@ -0,0 +1,446 @@
+package com.example.ticketreservationapp.repository;
+
+import androidx.annotation.Nullable;
+
+import com.example.ticketreservationapp.model.Event;
+import com.example.ticketreservationapp.model.EventCategory;
+import com.example.ticketreservationapp.model.EventDates;
+import com.google.android.gms.tasks.Task;
+import com.google.android.gms.tasks.TaskCompletionSource;
+import com.google.android.gms.tasks.Tasks;
+import com.google.firebase.firestore.DocumentReference;
+import com.google.firebase.firestore.DocumentSnapshot;
+import com.google.firebase.firestore.FieldPath;
+import com.google.firebase.firestore.FieldValue;
+import com.google.firebase.firestore.FirebaseFirestore;
+import com.google.firebase.firestore.ListenerRegistration;
+import com.google.firebase.firestore.Query;
+import com.google.firebase.firestore.QueryDocumentSnapshot;
+import com.google.firebase.firestore.QuerySnapshot;
+import com.google.firebase.firestore.WriteBatch;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * {@link EventRepository} backed by the "events" collection in Firestore, with the seat
+ * counter of events that ask for it split into shard documents, and a local cache of
+ * the feed.
+ */
+public class FirestoreEventRepository implements EventRepository {
+
+    /**
+     * A sensible {@link Event#setSeatShards} for an event expected to sell out under heavy
+     * concurrent demand; {@code CreateEventViewModel} asks for it for large events. Events
+     * that don't ask keep the counter on the event document.
+     */
+    public static final int HIGH_DEMAND_SEAT_SHARDS = 10;
+
+    static final String CREATED_AT_FIELD = "createdAt";
+    static final String UPDATED_AT_FIELD = "updatedAt";
+    static final String DELETED_FIELD = "deleted";
+    // Sync re-reads this much before the watermark, so a write whose server timestamp
+    // lands just before one the client already saw is still picked up.
+    static final long SYNC_OVERLAP_MILLIS = 60 * 1000;
+    private static final int SYNC_BATCH_SIZE = 500;
+    // A write batch holds at most 500 writes.
+    private static final int BACKFILL_BATCH_SIZE = 500;
+
+    // One thread for all cache reads and writes, so saves land in order.
+    private static final ExecutorService CACHE_EXECUTOR = Executors.newSingleThreadExecutor(r -> {
+        Thread thread = new Thread(r, "event-cache");
+        thread.setDaemon(true);
+        return thread;
+    });
+    private static volatile EventStore cacheStore = new InMemoryEventStore();
+
+    private final FirebaseFirestore firestore;
+
+    public FirestoreEventRepository() {
+        this(FirebaseFirestore.getInstance());
+    }
+
+    public FirestoreEventRepository(FirebaseFirestore firestore) {
+        this.firestore = firestore;
+    }
+
+    /** Replaces the process-wide event cache, e.g. with a {@link FileEventStore} at startup. */
+    public static void setCacheStore(EventStore store) {
+        cacheStore = store;
+    }
+
+    /**
+     * Delivers the locally cached feed (possibly empty) on the main thread. Callers show
+     * it straight away and revalidate against {@link #getEventsPage}.
+     */
+    @Override
+    public void getCachedEvents(EventListCallback callback) {
+        EventStore store = cacheStore;
+        TaskCompletionSource<List<Event>> source = new TaskCompletionSource<>();
+        CACHE_EXECUTOR.execute(() -> {
+            try {
+                source.setResult(store.load());
+            } catch (IOException e) {
+                source.setException(e);
+            }
+        });
+        source.getTask()
+            .addOnSuccessListener(callback::onSuccess)
+            .addOnFailureListener(e -> callback.onError(e.getMessage()));
+    }
+
+    /** Saves the feed in the background; a failed save only costs the next cold open. */
+    @Override
+    public void cacheEvents(List<Event> events) {
+        EventStore store = cacheStore;
+        List<Event> snapshot = new ArrayList<>(events);
+        CACHE_EXECUTOR.execute(() -> {
+            try {
+                store.save(snapshot);
+            } catch (IOException e) {
+                // Keep the previous cache.
+            }
+        });
+    }
+
+    @Override
+    public void getAllEvents(EventListCallback callback) {
+        firestore.collection("events").get()
+            .continueWithTask(task -> withSeatTotals(toEvents(task.getResult())))
+            .addOnSuccessListener(callback::onSuccess)
+            .addOnFailureListener(e -> callback.onError(e.getMessage()));
+    }
+
+    /**
+     * Fetches one page of events ordered by parsed date ({@code dateEpochDay}), using the
+     * document id as a tie-breaker so the cursor is stable; this is
+     * {@link com.example.ticketreservationapp.model.EventFeed#ORDER}, so cached and fetched
+     * events interleave correctly. Pass the last event of the previous page as
+     * {@code after}, or null for the first page. Events whose date doesn't parse come
+     * first; documents without a {@code dateEpochDay} are not returned by this query.
+     * Deleted events are skipped, so a page may be short; while {@code hasMore} is true it
+     * always holds at least one event.
+     */
+    @Override
+    public void getEventsPage(int pageSize, @Nullable Event after, EventPageCallback callback) {
+        getEventsPage(EventQuery.ALL, pageSize, after, callback);
+    }
+
+    /**
+     * Like {@link #getEventsPage(int, Event, EventPageCallback)}, filtered by the server.
+     * With a date range, events whose date doesn't parse are left out, as the local
+     * filter does.
+     */
+    @Override
+    public void getEventsPage(EventQuery filter, int pageSize, @Nullable Event after,
+                              EventPageCallback callback) {
+        fetchPage(filter, pageSize, after == null ? null : filter.cursorAt(after), callback);
+    }
+
+    private void fetchPage(EventQuery filter, int pageSize, @Nullable Object[] cursor,
+                           EventPageCallback callback) {
+        Query query = filter.applyTo(firestore.collection("events"))
+            .limit(pageSize);
+        if (cursor != null) {
+            query = query.startAfter(cursor);
+        }
+        query.get()
+            .addOnSuccessListener(querySnapshot -> {
+                List<Event> events = toEvents(querySnapshot);
+                boolean hasMore = querySnapshot.size() == pageSize;
+                if (events.isEmpty() && hasMore) {
+                    // A page of nothing but tombstones; step past it.
+                    DocumentSnapshot last = querySnapshot.getDocuments().get(pageSize - 1);
+                    fetchPage(filter, pageSize, filter.cursorAt(last), callback);
+                    return;
+                }
+                withSeatTotals(events).addOnSuccessListener(
+                        totalled -> callback.onSuccess(totalled, hasMore));
+            })
+            .addOnFailureListener(e -> callback.onError(e.getMessage()));
+    }
+
+    /**
+     * Fetches every event written after {@code since} (less {@link #SYNC_OVERLAP_MILLIS}),
+     * deleted ones included so the caller can drop them. Costs one read per changed
+     * event instead of one per event in the catalog. Sharded events are always included,
+     * as their seats change without a write to the event document.
+     */
+    @Override
+    public void syncEvents(Date since, EventListCallback callback) {
+        Date from = new Date(since.getTime() - SYNC_OVERLAP_MILLIS);
+        fetchChanges(from, null, new ArrayList<>(), callback);
+    }
+
+    private void fetchChanges(Date from, @Nullable DocumentSnapshot after,
+                              List<Event> changed, EventListCallback callback) {
+        Query query = firestore.collection("events")
+            .whereGreaterThan(UPDATED_AT_FIELD, from)
+            .orderBy(UPDATED_AT_FIELD)
+            .orderBy(FieldPath.documentId())
+            .limit(SYNC_BATCH_SIZE);
+        if (after != null) {
+            query = query.startAfter(after);
+        }
+        query.get()
+            .addOnSuccessListener(querySnapshot -> {
+                changed.addAll(toEvents(querySnapshot, true));
+                if (querySnapshot.size() == SYNC_BATCH_SIZE) {
+                    List<DocumentSnapshot> docs = querySnapshot.getDocuments();
+                    fetchChanges(from, docs.get(docs.size() - 1), changed, callback);
+                } else {
+                    addShardedEvents(changed, callback);
+                }
+            })
+            .addOnFailureListener(e -> callback.onError(e.getMessage()));
+    }
+
+    private void addShardedEvents(List<Event> changed, EventListCallback callback) {
+        firestore.collection("events")
+            .whereGreaterThan(SeatCounter.SHARD_COUNT_FIELD, 0)
+            .get()
+            .continueWithTask(task -> {
+                Set<String> ids = new HashSet<>();
+                for (Event event : changed) ids.add(event.getId());
+                for (Event event : toEvents(task.getResult())) {
+                    if (ids.add(event.getId())) changed.add(event);
+                }
+                return withSeatTotals(changed);
+            })
+            .addOnSuccessListener(callback::onSuccess)
+            .addOnFailureListener(e -> callback.onError(e.getMessage()));
+    }
+
+    /**
+     * Sets the seats of sharded events, whose document doesn't track them, to the sum of
+     * their shards, so lists show and sort by the real count. Costs one read per shard of
+     * each sharded event; a shard read that fails leaves that event's document value.
+     */
+    private Task<List<Event>> withSeatTotals(List<Event> events) {
+        List<Task<QuerySnapshot>> reads = new ArrayList<>();
+        for (Event event : events) {
+            if (event.getSeatShards() == 0 || event.isDeleted()) continue;
+            reads.add(firestore.collection("events").document(event.getId())
+                .collection(SeatCounter.SHARDS_COLLECTION).get()
+                .addOnSuccessListener(shards -> {
+                    int total = 0;
+                    for (QueryDocumentSnapshot shard : shards) {
+                        Long seats = shard.getLong(SeatCounter.SEATS_FIELD);
+                        total += seats == null ? 0 : seats.intValue();
+                    }
+                    event.setAvailableSeats(total);
+                }));
+        }
+        if (reads.isEmpty()) return Tasks.forResult(events);
+        return Tasks.whenAll(reads).continueWith(task -> events);
+    }
+
+    /**
+     * Streams the event's remaining seats until the returned registration is removed.
+     * For sharded events this sums the shard documents. A deleted event reports zero seats.
+     */
+    @Override
+    public ListenerRegistration listenToAvailableSeats(String eventId, SeatsListener listener) {
+        DocumentReference eventRef = firestore.collection("events").document(eventId);
+        ListenerRegistration[] shardRegistration = new ListenerRegistration[1];
+        ListenerRegistration eventRegistration = eventRef.addSnapshotListener((snapshot, e) -> {
+            if (e != null) {
+                listener.onError(e.getMessage());
+                return;
+            }
+            boolean exists = snapshot != null && isLive(snapshot);
+            if (exists && SeatCounter.shardCount(snapshot) > 0) {
+                // The shard count never changes after creation, so attach once.
+                if (shardRegistration[0] == null) {
+                    shardRegistration[0] = listenToShards(eventRef, listener);
+                }
+                return;
+            }
+            Long seats = exists ? snapshot.getLong(SeatCounter.SEATS_FIELD) : null;
+            listener.onSeatsChanged(seats == null ? 0 : seats.intValue());
+        });
+        return () -> {
+            eventRegistration.remove();
+            if (shardRegistration[0] != null) shardRegistration[0].remove();
+        };
+    }
+
+    private static ListenerRegistration listenToShards(DocumentReference eventRef,
+                                                       SeatsListener listener) {
+        return eventRef.collection(SeatCounter.SHARDS_COLLECTION)
+            .addSnapshotListener((shards, e) -> {
+                if (e != null) {
+                    listener.onError(e.getMessage());
+                    return;
+                }
+                if (shards == null) return;
+                int total = 0;
+                for (QueryDocumentSnapshot shard : shards) {
+                    Long seats = shard.getLong(SeatCounter.SEATS_FIELD);
+                    total += seats == null ? 0 : seats.intValue();
+                }
+                listener.onSeatsChanged(total);
+            });
+    }
+
+    @Override
+    public void getEventsByOrganizer(String organizerId, EventListCallback callback) {
+        firestore.collection("events").whereEqualTo("organizerId", organizerId).get()
+            .continueWithTask(task -> withSeatTotals(toEvents(task.getResult())))
+            .addOnSuccessListener(callback::onSuccess)
+            .addOnFailureListener(e -> callback.onError(e.getMessage()));
+    }
+
+    /**
+     * Writes the event, stamped with the server's time, and, if it asks for
+     * {@link Event#getSeatShards} shards, its seat-counter shards in one batch. Events
+     * that don't ask keep a single counter.
+     */
+    @Override
+    public void createEvent(Event event, EventCallback callback) {
+        DocumentReference eventRef = firestore.collection("events").document();
+        int shards = SeatCounter.shardCountFor(event.getAvailableSeats(), event.getSeatShards());
+        event.setSeatShards(shards);
+
+        WriteBatch batch = firestore.batch();
+        batch.set(eventRef, event);
+        batch.update(eventRef, CREATED_AT_FIELD, FieldValue.serverTimestamp(),
+                UPDATED_AT_FIELD, FieldValue.serverTimestamp());
+        int[] split = SeatCounter.split(event.getAvailableSeats(), shards);
+        for (int i = 0; i < shards; i++) {
+            batch.set(SeatCounter.shard(eventRef, i), SeatCounter.shardData(split[i]));
+        }
+        batch.commit()
+            .addOnSuccessListener(aVoid -> {
+                event.setId(eventRef.getId());
+                callback.onSuccess();
+            })
+            .addOnFailureListener(e -> callback.onError(e.getMessage()));
+    }
+
+    /**
+     * Rewrites the editable fields. A change to {@code totalSeats} is applied to the seats
+     * still for sale, spread over the shards of a sharded event, in the same transaction;
+     * it fails if it would remove more seats than remain unsold.
+     */
+    @Override
+    public void updateEvent(Event event, EventCallback callback) {
+        DocumentReference eventRef = firestore.collection("events").document(event.getId());
+        Map<String, Object> updates = new HashMap<>();
+        updates.put("title", event.getTitle());
+        updates.put("description", event.getDescription());
+        updates.put("date", event.getDate());
+        updates.put("dateEpochDay", event.getDateEpochDay());
+        updates.put("location", event.getLocation());
+        updates.put("category", event.getCategory());
+        updates.put(EventQuery.CATEGORY_KEY_FIELD, event.getCategoryKey());
+        updates.put("price", event.getPrice());
+        updates.put("totalSeats", event.getTotalSeats());
+        updates.put(UPDATED_AT_FIELD, FieldValue.serverTimestamp());
+
+        firestore.runTransaction(transaction -> {
+            DocumentSnapshot eventSnap = transaction.get(eventRef);
+            if (!isLive(eventSnap)) {
+                throw new IllegalStateException(ReservationRepository.EVENT_GONE);
+            }
+            Long oldTotal = eventSnap.getLong("totalSeats");
+            int added = event.getTotalSeats() - (oldTotal == null ? 0 : oldTotal.intValue());
+            SeatCounter.Allocation seats =
+                    SeatCounter.resize(transaction, eventRef, eventSnap, added);
+            transaction.update(eventRef, updates);
+            seats.apply(transaction);
+            return null;
+        }).addOnSuccessListener(aVoid -> callback.onSuccess())
+          .addOnFailureListener(e -> callback.onError(e.getMessage()));
+    }
+
+    /**
+     * Marks the event deleted rather than removing the document, so clients syncing by
+     * {@code updatedAt} see the deletion. Queries here never return deleted events.
+     */
+    @Override
+    public void deleteEvent(String eventId, EventCallback callback) {
+        firestore.collection("events").document(eventId)
+            .update(DELETED_FIELD, true, UPDATED_AT_FIELD, FieldValue.serverTimestamp())
+            .addOnSuccessListener(aVoid -> callback.onSuccess())
+            .addOnFailureListener(e -> callback.onError(e.getMessage()));
+    }
+
+    /**
+     * One-off migration for events written before {@code categoryKey} and
+     * {@code dateEpochDay} existed. Without them a document matches no server-side filter
+     * and drops out of the pages, which order by {@code dateEpochDay}. Walks the collection
+     * by id and writes both fields, derived from {@code category} and {@code date}, to
+     * every document missing either. Documents that have them are only read, so running it
+     * again is safe. {@code updatedAt} is left alone: clients derive the same values
+     * locally, so there is nothing for them to sync.
+     */
+    public void backfillQueryFields(EventCallback callback) {
+        backfillQueryFields(null, callback);
+    }
+
+    private void backfillQueryFields(@Nullable DocumentSnapshot after, EventCallback callback) {
+        Query query = firestore.collection("events")
+            .orderBy(FieldPath.documentId())
+            .limit(BACKFILL_BATCH_SIZE);
+        if (after != null) {
+            query = query.startAfter(after);
+        }
+        query.get()
+            .continueWithTask(task -> {
+                QuerySnapshot page = task.getResult();
+                WriteBatch batch = firestore.batch();
+                int writes = 0;
+                for (QueryDocumentSnapshot doc : page) {
+                    if (doc.contains(EventQuery.CATEGORY_KEY_FIELD)
+                            && doc.contains(EventQuery.EPOCH_DAY_FIELD)) continue;
+                    batch.update(doc.getReference(),
+                            EventQuery.CATEGORY_KEY_FIELD, EventCategory.keyOf(doc.getString("category")),
+                            EventQuery.EPOCH_DAY_FIELD, EventDates.parseEpochDay(doc.getString("date")));
+                    writes++;
+                }
+                Task<Void> written = writes == 0 ? Tasks.forResult(null) : batch.commit();
+                return written.continueWith(commit -> {
+                    commit.getResult();
+                    return page;
+                });
+            })
+            .addOnSuccessListener(page -> {
+                if (page.size() < BACKFILL_BATCH_SIZE) {
+                    callback.onSuccess();
+                    return;
+                }
+                List<DocumentSnapshot> docs = page.getDocuments();
+                backfillQueryFields(docs.get(docs.size() - 1), callback);
+            })
+            .addOnFailureListener(e -> callback.onError(e.getMessage()));
+    }
+
+    /** True for an event document that exists and is not a deletion tombstone. */
+    static boolean isLive(DocumentSnapshot eventSnap) {
+        return eventSnap.exists() && !Boolean.TRUE.equals(eventSnap.getBoolean(DELETED_FIELD));
+    }
+
+    private static List<Event> toEvents(QuerySnapshot querySnapshot) {
+        return toEvents(querySnapshot, false);
+    }
+
+    private static List<Event> toEvents(QuerySnapshot querySnapshot, boolean includeDeleted) {
+        List<Event> events = new ArrayList<>();
+        for (QueryDocumentSnapshot doc : querySnapshot) {
+            Event event = doc.toObject(Event.class);
+            if (event.isDeleted() && !includeDeleted) continue;
+            event.setId(doc.getId());
+            events.add(event);
+        }
+        return events;
+    }
+}
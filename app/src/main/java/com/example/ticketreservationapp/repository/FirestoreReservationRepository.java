@@ -0,0 +1,444 @@
+package com.example.ticketreservationapp.repository;
+
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+
+import com.example.ticketreservationapp.model.CartLine;
+import com.example.ticketreservationapp.model.Reservation;
+import com.example.ticketreservationapp.model.SeatHold;
+import com.google.android.gms.tasks.Task;
+import com.google.android.gms.tasks.Tasks;
+import com.google.firebase.auth.FirebaseAuth;
+import com.google.firebase.auth.FirebaseUser;
+import com.google.firebase.firestore.DocumentReference;
+import com.google.firebase.firestore.DocumentSnapshot;
+import com.google.firebase.firestore.FirebaseFirestore;
+import com.google.firebase.firestore.QueryDocumentSnapshot;
+import com.google.firebase.firestore.Transaction;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * {@link ReservationRepository} on Firestore transactions. Seats come off the event's
+ * counter (see {@link SeatCounter}) in the same transaction that writes the reservation
+ * or hold, and each reserve and cancel is reported to a {@link TransactionMetrics}.
+ */
+public class FirestoreReservationRepository implements ReservationRepository {
+
+    // Holds are reclaimed only this long after expiry, so a buyer whose clock runs a
+    // little behind can't confirm a hold that is being reclaimed.
+    private static final long HOLD_RECLAIM_GRACE_MILLIS = 30 * 1000;
+
+    private final FirebaseFirestore firestore;
+    private final TransactionMetrics metrics;
+    private final FirebaseAuth auth;
+    private final ConfirmationOutbox outbox;
+    private final Random random = new Random();
+
+    public FirestoreReservationRepository() {
+        this(FirebaseFirestore.getInstance());
+    }
+
+    public FirestoreReservationRepository(FirebaseFirestore firestore) {
+        this(firestore, TransactionStats.getInstance());
+    }
+
+    public FirestoreReservationRepository(FirebaseFirestore firestore, TransactionMetrics metrics) {
+        this(firestore, metrics, FirebaseAuth.getInstance(), ConfirmationOutbox.getInstance());
+    }
+
+    /** Confirmations go to {@code auth}'s signed-in user, through {@code outbox} when sent later. */
+    public FirestoreReservationRepository(FirebaseFirestore firestore, TransactionMetrics metrics,
+                                          FirebaseAuth auth, ConfirmationOutbox outbox) {
+        this.firestore = firestore;
+        this.metrics = metrics;
+        this.auth = auth;
+        this.outbox = outbox;
+    }
+
+    /**
+     * Atomically reserves tickets: checks seat availability and creates a reservation.
+     * For sharded events only the shards that supply the seats are read and written.
+     * With {@code confirmInTransaction} the confirmation's mail/messages documents are
+     * written by the same commit as the reservation, so there is no follow-up write and
+     * no reservation can exist without its confirmation.
+     */
+    @Override
+    public void reserveTicket(String userId, String eventId, int numberOfTickets,
+                              boolean confirmInTransaction, ReservationCallback callback) {
+        if (numberOfTickets <= 0) {
+            callback.onError(INVALID_TICKET_COUNT);
+            return;
+        }
+        DocumentReference eventRef = firestore.collection("events").document(eventId);
+        DocumentReference reservationRef = firestore.collection("reservations").document();
+        // The buyer, read now: the confirmation goes to whoever made the purchase.
+        FirebaseUser user = auth.getCurrentUser();
+        Trace trace = new Trace(TransactionMetrics.Operation.RESERVE);
+
+        firestore.runTransaction(transaction -> {
+            trace.attempt();
+            DocumentSnapshot eventSnap = transaction.get(eventRef);
+            if (!FirestoreEventRepository.isLive(eventSnap)) {
+                throw new IllegalStateException(EVENT_GONE);
+            }
+            SeatCounter.Allocation seats = SeatCounter.allocate(transaction, eventRef,
+                    eventSnap, numberOfTickets, random);
+
+            Reservation reservation = buildReservation(
+                    userId, eventId, eventSnap, numberOfTickets, reservationRef.getId());
+
+            seats.apply(transaction);
+            transaction.set(reservationRef, reservation);
+            if (confirmInTransaction && user != null) {
+                writeConfirmation(transaction, Confirmation.forReservation(
+                        reservation, user.getEmail(), user.getPhoneNumber()));
+            }
+            return reservation;
+        }).addOnSuccessListener(reservation -> {
+            trace.committed();
+            if (!confirmInTransaction) {
+                sendConfirmation(user, reservation);
+            }
+            callback.onSuccess(reservation);
+        }).addOnFailureListener(e -> {
+            trace.failed(e);
+            callback.onError(e.getMessage());
+        });
+    }
+
+    /**
+     * Reserves every line of a cart in one transaction: either all events get their
+     * reservation or none do. Lines for the same event are merged first. All event and
+     * shard reads happen before any write, as Firestore transactions require.
+     */
+    @Override
+    public void reserveTickets(String userId, List<CartLine> cart,
+                               ReservationListCallback callback) {
+        List<CartLine> lines;
+        try {
+            lines = CartLine.merge(cart);
+        } catch (IllegalArgumentException e) {
+            callback.onError(e.getMessage());
+            return;
+        }
+        if (lines.isEmpty()) {
+            callback.onError(EMPTY_CART);
+            return;
+        }
+        FirebaseUser user = auth.getCurrentUser();
+
+        firestore.runTransaction(transaction -> {
+            List<SeatCounter.Allocation> allocations = new ArrayList<>(lines.size());
+            List<Reservation> reservations = new ArrayList<>(lines.size());
+            List<DocumentReference> reservationRefs = new ArrayList<>(lines.size());
+            for (CartLine line : lines) {
+                String eventId = line.getEventId();
+                DocumentReference eventRef = firestore.collection("events").document(eventId);
+                DocumentSnapshot eventSnap = transaction.get(eventRef);
+                if (!FirestoreEventRepository.isLive(eventSnap)) {
+                    throw new IllegalStateException(EVENT_GONE);
+                }
+                allocations.add(SeatCounter.allocate(transaction, eventRef, eventSnap,
+                        line.getNumberOfTickets(), random));
+
+                DocumentReference reservationRef = firestore.collection("reservations").document();
+                reservationRefs.add(reservationRef);
+                reservations.add(buildReservation(userId, eventId, eventSnap,
+                        line.getNumberOfTickets(), reservationRef.getId()));
+            }
+
+            for (int i = 0; i < lines.size(); i++) {
+                allocations.get(i).apply(transaction);
+                transaction.set(reservationRefs.get(i), reservations.get(i));
+            }
+            return reservations;
+        }).addOnSuccessListener(reservations -> {
+            for (Reservation reservation : reservations) {
+                sendConfirmation(user, reservation);
+            }
+            callback.onSuccess(reservations);
+        }).addOnFailureListener(e -> callback.onError(e.getMessage()));
+    }
+
+    private static Reservation buildReservation(String userId, String eventId,
+                                                DocumentSnapshot eventSnap, int numberOfTickets,
+                                                String reservationId) {
+        Double price = eventSnap.getDouble("price");
+        Reservation reservation = Reservation.forTickets(userId, eventId,
+                eventSnap.getString("title"), eventSnap.getString("date"),
+                eventSnap.getString("location"), price == null ? 0 : price, numberOfTickets);
+        reservation.setId(reservationId);
+        return reservation;
+    }
+
+    /**
+     * Takes seats off the counter and records a hold that expires after
+     * {@link #DEFAULT_HOLD_MILLIS}. Confirming the hold later writes only the reservation,
+     * so the contended seat write happens once, before the buyer's final tap.
+     */
+    @Override
+    public void createHold(String userId, String eventId, int numberOfTickets,
+                           HoldCallback callback) {
+        if (numberOfTickets <= 0) {
+            callback.onError(INVALID_TICKET_COUNT);
+            return;
+        }
+        DocumentReference eventRef = firestore.collection("events").document(eventId);
+        DocumentReference holdRef = firestore.collection("holds").document();
+
+        firestore.runTransaction(transaction -> {
+            DocumentSnapshot eventSnap = transaction.get(eventRef);
+            if (!FirestoreEventRepository.isLive(eventSnap)) {
+                throw new IllegalStateException(EVENT_GONE);
+            }
+            SeatCounter.Allocation seats = SeatCounter.allocate(transaction, eventRef,
+                    eventSnap, numberOfTickets, random);
+
+            long now = System.currentTimeMillis();
+            SeatHold hold = new SeatHold(userId, eventId, numberOfTickets,
+                    now, now + DEFAULT_HOLD_MILLIS);
+            hold.setId(holdRef.getId());
+
+            seats.apply(transaction);
+            transaction.set(holdRef, hold);
+            return hold;
+        }).addOnSuccessListener(callback::onSuccess)
+          .addOnFailureListener(e -> callback.onError(e.getMessage()));
+    }
+
+    /**
+     * Turns an unexpired hold into a reservation. The seats were already taken, so this
+     * touches only the hold, the event (read), the new reservation and, when the buyer is
+     * signed in, the confirmation's mail/messages documents: they are keyed by the
+     * reservation id, which stays the same when the transaction is retried, and written by
+     * the same commit, so nothing is queued for sending afterwards.
+     */
+    @Override
+    public void confirmHold(@NonNull String holdId, ReservationCallback callback) {
+        DocumentReference holdRef = firestore.collection("holds").document(holdId);
+        DocumentReference reservationRef = firestore.collection("reservations").document();
+        FirebaseUser user = auth.getCurrentUser();
+
+        firestore.runTransaction(transaction -> {
+            DocumentSnapshot holdSnap = transaction.get(holdRef);
+            SeatHold hold = holdSnap.exists() ? holdSnap.toObject(SeatHold.class) : null;
+            if (hold == null) {
+                throw new IllegalStateException(HOLD_NOT_FOUND);
+            }
+            if (hold.isExpiredAt(System.currentTimeMillis())) {
+                throw new IllegalStateException(HOLD_EXPIRED);
+            }
+            DocumentSnapshot eventSnap = transaction.get(
+                    firestore.collection("events").document(hold.getEventId()));
+            if (!FirestoreEventRepository.isLive(eventSnap)) {
+                throw new IllegalStateException(EVENT_GONE);
+            }
+
+            Reservation reservation = buildReservation(hold.getUserId(), hold.getEventId(),
+                    eventSnap, hold.getNumberOfTickets(), reservationRef.getId());
+            transaction.set(reservationRef, reservation);
+            transaction.delete(holdRef);
+            if (user != null) {
+                writeConfirmation(transaction, Confirmation.forReservation(
+                        reservation, user.getEmail(), user.getPhoneNumber()));
+            }
+            return reservation;
+        }).addOnSuccessListener(callback::onSuccess)
+          .addOnFailureListener(e -> callback.onError(e.getMessage()));
+    }
+
+    /**
+     * Gives an unexpired hold's seats back right away. Expired holds are left to
+     * {@link #reclaimExpiredHolds} so the two can never both return the same seats.
+     */
+    @Override
+    public void releaseHold(@NonNull String holdId, SimpleCallback callback) {
+        DocumentReference holdRef = firestore.collection("holds").document(holdId);
+
+        firestore.runTransaction(transaction -> {
+            DocumentSnapshot holdSnap = transaction.get(holdRef);
+            SeatHold hold = holdSnap.exists() ? holdSnap.toObject(SeatHold.class) : null;
+            if (hold == null || hold.isExpiredAt(System.currentTimeMillis())) {
+                return null;
+            }
+            DocumentReference eventRef = firestore.collection("events").document(hold.getEventId());
+            DocumentSnapshot eventSnap = transaction.get(eventRef);
+            if (eventSnap.exists()) {
+                SeatCounter.release(transaction, eventRef, eventSnap, hold.getNumberOfTickets(), random);
+            }
+            transaction.delete(holdRef);
+            return null;
+        }).addOnSuccessListener(aVoid -> callback.onSuccess())
+          .addOnFailureListener(e -> callback.onError(e.getMessage()));
+    }
+
+    /**
+     * Finds the {@value #RECLAIM_BATCH_SIZE} longest-expired holds, across events, that
+     * expired more than {@link #HOLD_RECLAIM_GRACE_MILLIS} ago, and reclaims each event's
+     * share in one transaction of its own: every hold is re-read (so one reclaimed
+     * concurrently elsewhere is skipped), all are deleted, and their seats go back in one
+     * counter write. Fails if any event's transaction does; the others still commit.
+     */
+    @Override
+    public void reclaimExpiredHolds(ReclaimCallback callback) {
+        long cutoff = System.currentTimeMillis() - HOLD_RECLAIM_GRACE_MILLIS;
+        firestore.collection("holds")
+                .whereLessThan("expiresAt", cutoff)
+                .orderBy("expiresAt")
+                .limit(RECLAIM_BATCH_SIZE)
+                .get()
+                .continueWithTask(found -> {
+                    Map<String, List<DocumentReference>> byEvent = new LinkedHashMap<>();
+                    for (QueryDocumentSnapshot doc : found.getResult()) {
+                        String eventId = doc.getString("eventId");
+                        if (eventId == null) continue;
+                        byEvent.computeIfAbsent(eventId, id -> new ArrayList<>())
+                                .add(doc.getReference());
+                    }
+                    List<Task<Integer>> reclaims = new ArrayList<>(byEvent.size());
+                    for (Map.Entry<String, List<DocumentReference>> entry : byEvent.entrySet()) {
+                        reclaims.add(reclaimHolds(entry.getKey(), entry.getValue()));
+                    }
+                    return Tasks.whenAll(reclaims).continueWith(done -> {
+                        int reclaimed = 0;
+                        for (Task<Integer> reclaim : reclaims) {
+                            if (!reclaim.isSuccessful()) throw reclaim.getException();
+                            reclaimed += reclaim.getResult();
+                        }
+                        return reclaimed;
+                    });
+                })
+                .addOnSuccessListener(callback::onSuccess)
+                .addOnFailureListener(e -> callback.onError(e.getMessage()));
+    }
+
+    /** Reclaims expired holds on one event; returns how many were still there to reclaim. */
+    private Task<Integer> reclaimHolds(String eventId, List<DocumentReference> expired) {
+        DocumentReference eventRef = firestore.collection("events").document(eventId);
+        return firestore.runTransaction(transaction -> {
+            List<DocumentReference> holdRefs = new ArrayList<>(expired.size());
+            int seats = 0;
+            for (DocumentReference holdRef : expired) {
+                DocumentSnapshot holdSnap = transaction.get(holdRef);
+                if (!holdSnap.exists()) continue;
+                Long tickets = holdSnap.getLong("numberOfTickets");
+                seats += tickets == null ? 0 : tickets.intValue();
+                holdRefs.add(holdRef);
+            }
+            DocumentSnapshot eventSnap = transaction.get(eventRef);
+            if (eventSnap.exists() && seats > 0) {
+                SeatCounter.release(transaction, eventRef, eventSnap, seats, random);
+            }
+            for (DocumentReference holdRef : holdRefs) {
+                transaction.delete(holdRef);
+            }
+            return holdRefs.size();
+        });
+    }
+
+    /** Writes the confirmation documents the outbox would otherwise send after commit. */
+    private void writeConfirmation(Transaction transaction, Confirmation confirmation) {
+        Map<String, Object> mail = confirmation.mailDocument();
+        if (mail != null) {
+            transaction.set(firestore.collection("mail")
+                    .document(confirmation.getReservationId()), mail);
+        }
+        Map<String, Object> sms = confirmation.smsDocument();
+        if (sms != null) {
+            transaction.set(firestore.collection("messages")
+                    .document(confirmation.getReservationId()), sms);
+        }
+    }
+
+    /**
+     * Hands {@code user}'s confirmation to the outbox, which sends it in the background.
+     * Built here, as the outbox may run after the user has signed out.
+     */
+    private void sendConfirmation(@Nullable FirebaseUser user, Reservation reservation) {
+        if (user == null) return;
+        outbox.enqueue(Confirmation.forReservation(
+                reservation, user.getEmail(), user.getPhoneNumber()));
+    }
+
+    /**
+     * Cancels a reservation and restores seat availability atomically.
+     */
+    @Override
+    public void cancelReservation(@NonNull String reservationId, SimpleCallback callback) {
+        DocumentReference reservationRef = firestore.collection("reservations").document(reservationId);
+        Trace trace = new Trace(TransactionMetrics.Operation.CANCEL);
+
+        firestore.runTransaction(transaction -> {
+            trace.attempt();
+            DocumentSnapshot reservationSnap = transaction.get(reservationRef);
+            if (!reservationSnap.exists()) {
+                throw new IllegalStateException(RESERVATION_NOT_FOUND);
+            }
+            String eventId = reservationSnap.getString("eventId");
+            Long ticketsLong = reservationSnap.getLong("numberOfTickets");
+            int tickets = ticketsLong == null ? 0 : ticketsLong.intValue();
+
+            if (eventId != null) {
+                DocumentReference eventRef = firestore.collection("events").document(eventId);
+                DocumentSnapshot eventSnap = transaction.get(eventRef);
+                if (eventSnap.exists()) {
+                    SeatCounter.release(transaction, eventRef, eventSnap, tickets, random);
+                }
+            }
+            transaction.delete(reservationRef);
+            return null;
+        }).addOnSuccessListener(aVoid -> {
+            trace.committed();
+            callback.onSuccess();
+        }).addOnFailureListener(e -> {
+            trace.failed(e);
+            callback.onError(e.getMessage());
+        });
+    }
+
+    @Override
+    public void getReservationsByUser(String userId, ReservationListCallback callback) {
+        firestore.collection("reservations").whereEqualTo("userId", userId).get()
+                .addOnSuccessListener(querySnapshot -> {
+                    List<Reservation> reservations = new ArrayList<>();
+                    for (QueryDocumentSnapshot doc : querySnapshot) {
+                        Reservation reservation = doc.toObject(Reservation.class);
+                        reservation.setId(doc.getId());
+                        reservations.add(reservation);
+                    }
+                    callback.onSuccess(reservations);
+                })
+                .addOnFailureListener(e -> callback.onError(e.getMessage()));
+    }
+
+    /** Counts one call's transaction runs and reports the call to {@link #metrics} once it settles. */
+    private final class Trace {
+        private final TransactionMetrics.Operation operation;
+        private final long started = System.nanoTime();
+        // The transaction function runs on a Firestore thread, the listeners on the main one.
+        private final AtomicInteger attempts = new AtomicInteger();
+
+        Trace(TransactionMetrics.Operation operation) {
+            this.operation = operation;
+        }
+
+        void attempt() {
+            attempts.incrementAndGet();
+        }
+
+        void committed() {
+            metrics.record(operation, attempts.get(), System.nanoTime() - started, null);
+        }
+
+        void failed(Exception e) {
+            metrics.record(operation, attempts.get(), System.nanoTime() - started,
+                    TransactionMetrics.classify(e));
+        }
+    }
+}
@@ -0,0 +1,83 @@
+package com.example.ticketreservationapp.repository;
+
+import java.util.Random;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Hands back the seats of expired holds in the background, so no purchase or screen has
+ * to. Calls {@link ReservationRepository#reclaimExpiredHolds} every interval; a full batch
+ * is followed straight away by the next one, and a failure is reported to the
+ * {@link Listener} and tried again at the next interval. Runs never overlap.
+ */
+public class HoldReclaimer {
+
+    public interface Listener {
+        void onReclaimed(int holds);
+        void onError(String message);
+    }
+
+    private static final long DEFAULT_INTERVAL_MILLIS = 60 * 1000;
+
+    private final ReservationRepository repository;
+    private final Listener listener;
+    private final ScheduledExecutorService executor;
+    private final long startDelayMillis;
+    private final long intervalMillis;
+
+    private boolean started;
+
+    /**
+     * The first run comes after a random part of the interval, so devices started
+     * together don't all reclaim at once.
+     */
+    public HoldReclaimer(ReservationRepository repository, Listener listener) {
+        this(repository, listener,
+                Executors.newSingleThreadScheduledExecutor(r -> {
+                    Thread thread = new Thread(r, "hold-reclaimer");
+                    thread.setDaemon(true);
+                    return thread;
+                }),
+                (long) (new Random().nextDouble() * DEFAULT_INTERVAL_MILLIS),
+                DEFAULT_INTERVAL_MILLIS);
+    }
+
+    // Visible for unit testing
+    public HoldReclaimer(ReservationRepository repository, Listener listener,
+                         ScheduledExecutorService executor, long startDelayMillis,
+                         long intervalMillis) {
+        this.repository = repository;
+        this.listener = listener;
+        this.executor = executor;
+        this.startDelayMillis = startDelayMillis;
+        this.intervalMillis = intervalMillis;
+    }
+
+    /** Schedules the first run; later calls do nothing. */
+    public synchronized void start() {
+        if (started) return;
+        started = true;
+        schedule(startDelayMillis);
+    }
+
+    private void schedule(long delayMillis) {
+        executor.schedule(this::run, delayMillis, TimeUnit.MILLISECONDS);
+    }
+
+    private void run() {
+        repository.reclaimExpiredHolds(new ReservationRepository.ReclaimCallback() {
+            @Override
+            public void onSuccess(int reclaimed) {
+                if (reclaimed > 0) listener.onReclaimed(reclaimed);
+                schedule(reclaimed >= ReservationRepository.RECLAIM_BATCH_SIZE ? 0 : intervalMillis);
+            }
+
+            @Override
+            public void onError(String message) {
+                listener.onError(message);
+                schedule(intervalMillis);
+            }
+        });
+    }
+}
@@ -0,0 +1,97 @@
+package com.example.ticketreservationapp.repository;
+
+import androidx.annotation.Nullable;
+
+import com.example.ticketreservationapp.model.User;
+import com.google.firebase.auth.PhoneAuthCredential;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * {@link AuthRepository} that keeps accounts in memory. Callbacks run on the calling
+ * thread before the method returns. Phone credentials are taken as already verified.
+ */
+public class InMemoryAuthRepository implements AuthRepository {
+
+    static final String EMAIL_IN_USE = "The email address is already in use by another account.";
+    static final String WRONG_CREDENTIALS = "The email or password is incorrect.";
+    static final String NO_ACCOUNT = "There is no account for this email address.";
+
+    private final Map<String, Account> accountsByEmail = new ConcurrentHashMap<>();
+    private final Map<String, User> usersByUid = new ConcurrentHashMap<>();
+    private final AtomicLong nextUid = new AtomicLong();
+    private volatile User currentUser;
+
+    @Override
+    public void registerWithEmail(String fullName, String email, String password,
+                                  String phone, String role, AuthCallback callback) {
+        User user = new User(newUid(), fullName, email, phone, role);
+        if (accountsByEmail.putIfAbsent(email, new Account(password, user)) != null) {
+            callback.onError(EMAIL_IN_USE);
+            return;
+        }
+        usersByUid.put(user.getUid(), user);
+        currentUser = user;
+        callback.onSuccess();
+    }
+
+    @Override
+    public void loginWithEmail(String email, String password, AuthCallback callback) {
+        Account account = accountsByEmail.get(email);
+        if (account == null || !account.password.equals(password)) {
+            callback.onError(WRONG_CREDENTIALS);
+            return;
+        }
+        currentUser = account.user;
+        callback.onSuccess();
+    }
+
+    @Override
+    public void signInWithPhoneCredential(PhoneAuthCredential credential, String fullName,
+                                          String phone, String role, String mode,
+                                          AuthCallback callback) {
+        User user = new User(newUid(), fullName, "", phone, role);
+        if ("register".equals(mode)) {
+            usersByUid.put(user.getUid(), user);
+        }
+        currentUser = user;
+        callback.onSuccess();
+    }
+
+    @Override
+    public void sendPasswordReset(String email, AuthCallback callback) {
+        if (accountsByEmail.containsKey(email)) {
+            callback.onSuccess();
+        } else {
+            callback.onError(NO_ACCOUNT);
+        }
+    }
+
+    /** The user signed in last, or null before anyone has. */
+    @Nullable
+    public User getCurrentUser() {
+        return currentUser;
+    }
+
+    /** The stored profile, or null if no user registered with this uid. */
+    @Nullable
+    public User getUser(String uid) {
+        return usersByUid.get(uid);
+    }
+
+    private String newUid() {
+        return "user-" + nextUid.incrementAndGet();
+    }
+
+    private static final class Account {
+        final String password;
+        final User user;
+
+        Account(String password, User user) {
+            this.password = password;
+            this.user = user;
+        }
+    }
+}
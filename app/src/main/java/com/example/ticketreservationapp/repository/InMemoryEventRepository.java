@@ -0,0 +1,318 @@
+package com.example.ticketreservationapp.repository;
+
+import androidx.annotation.Nullable;
+
+import com.example.ticketreservationapp.model.Event;
+import com.example.ticketreservationapp.model.EventFeed;
+import com.google.firebase.firestore.ListenerRegistration;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Date;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Function;
+
+/**
+ * {@link EventRepository} that keeps the catalog in memory, for JVM tests and load runs
+ * that need no emulator. Callbacks run on the calling thread before the method returns.
+ * Each event's seat count is guarded by its own lock, which
+ * {@link InMemoryReservationRepository} takes to reserve and return seats; events handed
+ * out are copies, so callers can't change the stored ones.
+ */
+public class InMemoryEventRepository implements EventRepository {
+
+    static final String EVENT_NOT_FOUND = "Event not found";
+
+    private final Map<String, Stored> events = new ConcurrentHashMap<>();
+    // Keyed by each event's current copy in EventFeed.ORDER, the epoch day/id order
+    // EventQuery pages in, so iteration and cursors match Firestore's.
+    private final NavigableMap<Event, Stored> byDate = new ConcurrentSkipListMap<>(EventFeed.ORDER);
+    private final Map<String, List<SeatsListener>> seatListeners = new ConcurrentHashMap<>();
+    private final AtomicLong nextId = new AtomicLong();
+    private volatile List<Event> cachedEvents = Collections.emptyList();
+
+    @Override
+    public void getCachedEvents(EventListCallback callback) {
+        callback.onSuccess(new ArrayList<>(cachedEvents));
+    }
+
+    @Override
+    public void cacheEvents(List<Event> events) {
+        cachedEvents = new ArrayList<>(events);
+    }
+
+    @Override
+    public void getAllEvents(EventListCallback callback) {
+        List<Event> result = new ArrayList<>();
+        for (Stored stored : events.values()) {
+            if (!stored.isDeleted()) result.add(stored.copy());
+        }
+        callback.onSuccess(result);
+    }
+
+    @Override
+    public void getEventsPage(int pageSize, @Nullable Event after, EventPageCallback callback) {
+        getEventsPage(EventQuery.ALL, pageSize, after, callback);
+    }
+
+    /**
+     * Walks the epoch day/id index from the cursor, so a page costs its own size rather than
+     * the catalog's. {@code hasMore} is exact: it is true only if another match follows.
+     */
+    @Override
+    public void getEventsPage(EventQuery filter, int pageSize, @Nullable Event after,
+                              EventPageCallback callback) {
+        NavigableMap<Event, Stored> rest = after == null
+                ? byDate
+                : byDate.tailMap(after, false);
+        List<Event> page = new ArrayList<>(pageSize);
+        for (Stored stored : rest.values()) {
+            Event event = stored.event;
+            if (stored.isDeleted() || !filter.matches(event)) continue;
+            if (page.size() == pageSize) {
+                callback.onSuccess(page, true);
+                return;
+            }
+            page.add(stored.copy());
+        }
+        callback.onSuccess(page, false);
+    }
+
+    @Override
+    public void syncEvents(Date since, EventListCallback callback) {
+        List<Event> changed = new ArrayList<>();
+        for (Stored stored : events.values()) {
+            Date updatedAt = stored.event.getUpdatedAt();
+            if (updatedAt != null && !updatedAt.before(since)) changed.add(stored.copy());
+        }
+        callback.onSuccess(changed);
+    }
+
+    /** Reports the current count straight away and again after every change. */
+    @Override
+    public ListenerRegistration listenToAvailableSeats(String eventId, SeatsListener listener) {
+        List<SeatsListener> listeners =
+                seatListeners.computeIfAbsent(eventId, id -> new CopyOnWriteArrayList<>());
+        listeners.add(listener);
+        listener.onSeatsChanged(availableSeats(eventId));
+        return () -> listeners.remove(listener);
+    }
+
+    @Override
+    public void getEventsByOrganizer(String organizerId, EventListCallback callback) {
+        List<Event> result = new ArrayList<>();
+        for (Stored stored : events.values()) {
+            Event event = stored.event;
+            if (!stored.isDeleted() && organizerId != null
+                    && organizerId.equals(event.getOrganizerId())) {
+                result.add(stored.copy());
+            }
+        }
+        callback.onSuccess(result);
+    }
+
+    @Override
+    public void createEvent(Event event, EventCallback callback) {
+        String id = "event-" + nextId.incrementAndGet();
+        Event copy = copyOf(event);
+        copy.setId(id);
+        copy.setSeatShards(0);
+        Date now = new Date();
+        copy.setCreatedAt(now);
+        copy.setUpdatedAt(now);
+        Stored stored = new Stored(copy);
+        events.put(id, stored);
+        index(stored);
+        event.setId(id);
+        callback.onSuccess();
+        notifySeats(id);
+    }
+
+    /**
+     * Writes the same fields the Firestore update does; organizer and flags are kept, and
+     * a capacity change moves the remaining seats by the same amount.
+     */
+    @Override
+    public void updateEvent(Event event, EventCallback callback) {
+        Stored stored = event.getId() == null ? null : events.get(event.getId());
+        if (stored == null) {
+            callback.onError(EVENT_NOT_FOUND);
+            return;
+        }
+        String error = null;
+        stored.lock.lock();
+        try {
+            int available = stored.availableSeats
+                    + event.getTotalSeats() - stored.event.getTotalSeats();
+            if (stored.isDeleted()) {
+                error = ReservationRepository.EVENT_GONE;
+            } else if (available < 0) {
+                error = SEATS_ALREADY_SOLD;
+            } else {
+                update(stored, event, available);
+            }
+        } finally {
+            stored.lock.unlock();
+        }
+        if (error != null) {
+            callback.onError(error);
+            return;
+        }
+        callback.onSuccess();
+        notifySeats(stored.id);
+    }
+
+    // The caller holds stored.lock.
+    private void update(Stored stored, Event event, int available) {
+        Event updated = copyOf(stored.event);
+        updated.setTitle(event.getTitle());
+        updated.setDescription(event.getDescription());
+        updated.setDate(event.getDate());
+        updated.setDateEpochDay(event.getDateEpochDay());
+        updated.setLocation(event.getLocation());
+        updated.setCategory(event.getCategory());
+        updated.setPrice(event.getPrice());
+        updated.setTotalSeats(event.getTotalSeats());
+        updated.setUpdatedAt(new Date());
+        unindex(stored);
+        stored.event = updated;
+        stored.availableSeats = available;
+        index(stored);
+    }
+
+    @Override
+    public void deleteEvent(String eventId, EventCallback callback) {
+        Stored stored = events.get(eventId);
+        if (stored == null) {
+            callback.onError(EVENT_NOT_FOUND);
+            return;
+        }
+        stored.lock.lock();
+        try {
+            Event deleted = copyOf(stored.event);
+            deleted.setDeleted(true);
+            deleted.setUpdatedAt(new Date());
+            stored.event = deleted;
+        } finally {
+            stored.lock.unlock();
+        }
+        callback.onSuccess();
+        notifySeats(eventId);
+    }
+
+    /** Remaining seats of the event; zero if it doesn't exist or was deleted. */
+    public int availableSeats(String eventId) {
+        Stored stored = events.get(eventId);
+        return stored == null || stored.isDeleted() ? 0 : stored.availableSeats;
+    }
+
+    /**
+     * Runs {@code body} holding the locks of the given events, taken in id order so two
+     * callers can never wait on each other. The body gets one entry per id, null where
+     * there is no event, and may change their seats; anything it throws is passed on
+     * after the locks are released. Seat listeners of all the events are told afterwards.
+     */
+    <T> T withEvents(List<String> eventIds, Function<List<Stored>, T> body) {
+        List<String> lockOrder = new ArrayList<>(eventIds);
+        Collections.sort(lockOrder);
+        List<Stored> locked = new ArrayList<>(lockOrder.size());
+        try {
+            for (String id : lockOrder) {
+                Stored stored = events.get(id);
+                if (stored != null) {
+                    stored.lock.lock();
+                    locked.add(stored);
+                }
+            }
+            List<Stored> stored = new ArrayList<>(eventIds.size());
+            for (String id : eventIds) {
+                stored.add(events.get(id));
+            }
+            return body.apply(stored);
+        } finally {
+            for (int i = locked.size() - 1; i >= 0; i--) {
+                locked.get(i).lock.unlock();
+            }
+            for (Stored stored : locked) {
+                notifySeats(stored.id);
+            }
+        }
+    }
+
+    private void notifySeats(String eventId) {
+        List<SeatsListener> listeners = seatListeners.get(eventId);
+        if (listeners == null) return;
+        for (SeatsListener listener : listeners) {
+            // Read per delivery, so whichever delivery comes last carries the latest count.
+            listener.onSeatsChanged(availableSeats(eventId));
+        }
+    }
+
+    private void index(Stored stored) {
+        byDate.put(stored.event, stored);
+    }
+
+    private void unindex(Stored stored) {
+        byDate.remove(stored.event);
+    }
+
+    private static Event copyOf(Event event) {
+        Event copy = new Event(event.getId(), event.getTitle(), event.getDescription(),
+                event.getDate(), event.getLocation(), event.getCategory(), event.getPrice(),
+                event.getAvailableSeats(), event.getTotalSeats(),
+                event.getOrganizerId(), event.getOrganizerName());
+        copy.setDateEpochDay(event.getDateEpochDay());
+        copy.setSeatShards(event.getSeatShards());
+        copy.setCreatedAt(event.getCreatedAt());
+        copy.setUpdatedAt(event.getUpdatedAt());
+        copy.setDeleted(event.isDeleted());
+        return copy;
+    }
+
+    /**
+     * One event. {@link #event} is replaced, never changed in place, and its seat field
+     * is ignored in favour of {@link #availableSeats}; both are written under {@link #lock}.
+     */
+    static final class Stored {
+        final String id;
+        final ReentrantLock lock = new ReentrantLock();
+        volatile Event event;
+        volatile int availableSeats;
+
+        Stored(Event event) {
+            this.id = event.getId();
+            this.event = event;
+            this.availableSeats = event.getAvailableSeats();
+        }
+
+        boolean isDeleted() {
+            return event.isDeleted();
+        }
+
+        /** Takes seats; the caller holds {@link #lock}. */
+        void take(int seats) {
+            if (availableSeats < seats) {
+                throw new IllegalStateException(ReservationRepository.NOT_ENOUGH_SEATS);
+            }
+            availableSeats -= seats;
+        }
+
+        /** Gives seats back; the caller holds {@link #lock}. */
+        void release(int seats) {
+            availableSeats += seats;
+        }
+
+        Event copy() {
+            Event copy = copyOf(event);
+            copy.setAvailableSeats(availableSeats);
+            return copy;
+        }
+    }
+}
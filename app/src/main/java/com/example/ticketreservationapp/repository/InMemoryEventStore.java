@@ -0,0 +1,22 @@
+package com.example.ticketreservationapp.repository;
+
+import com.example.ticketreservationapp.model.Event;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/** Lives as long as the process; used until a persistent store is installed. */
+public class InMemoryEventStore implements EventStore {
+    private List<Event> saved = Collections.emptyList();
+
+    @Override
+    public synchronized List<Event> load() {
+        return new ArrayList<>(saved);
+    }
+
+    @Override
+    public synchronized void save(List<Event> events) {
+        saved = new ArrayList<>(events);
+    }
+}
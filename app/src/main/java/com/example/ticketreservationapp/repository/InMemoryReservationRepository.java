@@ -0,0 +1,316 @@
+package com.example.ticketreservationapp.repository;
+
+import androidx.annotation.NonNull;
+
+import com.example.ticketreservationapp.model.CartLine;
+import com.example.ticketreservationapp.model.Event;
+import com.example.ticketreservationapp.model.Reservation;
+import com.example.ticketreservationapp.model.SeatHold;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * {@link ReservationRepository} over an {@link InMemoryEventRepository}'s seat counts.
+ * Each operation holds the locks of the events it touches while it checks and changes
+ * their seats and writes its reservation or hold, so it is all-or-nothing like the
+ * Firestore transactions and never oversells. Callbacks run on the calling thread before
+ * the method returns. No confirmations are sent.
+ */
+public class InMemoryReservationRepository implements ReservationRepository {
+
+    private final InMemoryEventRepository events;
+    private final TransactionMetrics metrics;
+    private final long holdMillis;
+    private final Map<String, Reservation> reservations = new ConcurrentHashMap<>();
+    private final Map<String, Set<String>> reservationIdsByUser = new ConcurrentHashMap<>();
+    private final Map<String, SeatHold> holds = new ConcurrentHashMap<>();
+    // Changed only under the event's lock; events without holds are dropped.
+    private final Map<String, Set<String>> holdIdsByEvent = new ConcurrentHashMap<>();
+    private final AtomicLong nextId = new AtomicLong();
+
+    public InMemoryReservationRepository(InMemoryEventRepository events) {
+        this(events, TransactionMetrics.NONE);
+    }
+
+    public InMemoryReservationRepository(InMemoryEventRepository events,
+                                         TransactionMetrics metrics) {
+        this(events, metrics, DEFAULT_HOLD_MILLIS);
+    }
+
+    /** Holds last {@code holdMillis} instead of {@link #DEFAULT_HOLD_MILLIS}. */
+    public InMemoryReservationRepository(InMemoryEventRepository events,
+                                         TransactionMetrics metrics, long holdMillis) {
+        this.events = events;
+        this.metrics = metrics;
+        this.holdMillis = holdMillis;
+    }
+
+    /** {@code confirmInTransaction} makes no difference, as nothing is sent. */
+    @Override
+    public void reserveTicket(String userId, String eventId, int numberOfTickets,
+                              boolean confirmInTransaction, ReservationCallback callback) {
+        if (numberOfTickets <= 0) {
+            callback.onError(INVALID_TICKET_COUNT);
+            return;
+        }
+        long started = System.nanoTime();
+        Reservation reservation;
+        try {
+            reservation = events.withEvents(Collections.singletonList(eventId), stored -> {
+                InMemoryEventRepository.Stored event = live(stored.get(0));
+                event.take(numberOfTickets);
+                return store(buildReservation(userId, event.event, numberOfTickets));
+            });
+        } catch (IllegalStateException e) {
+            metrics.record(TransactionMetrics.Operation.RESERVE, 1,
+                    System.nanoTime() - started, TransactionMetrics.classify(e));
+            callback.onError(e.getMessage());
+            return;
+        }
+        metrics.record(TransactionMetrics.Operation.RESERVE, 1,
+                System.nanoTime() - started, null);
+        callback.onSuccess(reservation);
+    }
+
+    @Override
+    public void reserveTickets(String userId, List<CartLine> cart,
+                               ReservationListCallback callback) {
+        List<CartLine> lines;
+        try {
+            lines = CartLine.merge(cart);
+        } catch (IllegalArgumentException e) {
+            callback.onError(e.getMessage());
+            return;
+        }
+        if (lines.isEmpty()) {
+            callback.onError(EMPTY_CART);
+            return;
+        }
+        List<String> eventIds = new ArrayList<>(lines.size());
+        for (CartLine line : lines) {
+            eventIds.add(line.getEventId());
+        }
+
+        List<Reservation> result;
+        try {
+            result = events.withEvents(eventIds, stored -> {
+                // Check every line before taking any seats, so a failure changes nothing.
+                for (int i = 0; i < lines.size(); i++) {
+                    if (live(stored.get(i)).availableSeats < lines.get(i).getNumberOfTickets()) {
+                        throw new IllegalStateException(NOT_ENOUGH_SEATS);
+                    }
+                }
+                List<Reservation> created = new ArrayList<>(lines.size());
+                for (int i = 0; i < lines.size(); i++) {
+                    InMemoryEventRepository.Stored event = stored.get(i);
+                    int tickets = lines.get(i).getNumberOfTickets();
+                    event.take(tickets);
+                    created.add(store(buildReservation(userId, event.event, tickets)));
+                }
+                return created;
+            });
+        } catch (IllegalStateException e) {
+            callback.onError(e.getMessage());
+            return;
+        }
+        callback.onSuccess(result);
+    }
+
+    @Override
+    public void createHold(String userId, String eventId, int numberOfTickets,
+                           HoldCallback callback) {
+        if (numberOfTickets <= 0) {
+            callback.onError(INVALID_TICKET_COUNT);
+            return;
+        }
+        SeatHold hold;
+        try {
+            hold = events.withEvents(Collections.singletonList(eventId), stored -> {
+                live(stored.get(0)).take(numberOfTickets);
+                long now = System.currentTimeMillis();
+                SeatHold created = new SeatHold(userId, eventId, numberOfTickets,
+                        now, now + holdMillis);
+                created.setId(newId("hold-"));
+                holds.put(created.getId(), created);
+                holdIdsByEvent.computeIfAbsent(eventId, id -> ConcurrentHashMap.newKeySet())
+                        .add(created.getId());
+                return created;
+            });
+        } catch (IllegalStateException e) {
+            callback.onError(e.getMessage());
+            return;
+        }
+        callback.onSuccess(hold);
+    }
+
+    @Override
+    public void confirmHold(@NonNull String holdId, ReservationCallback callback) {
+        SeatHold hold = holds.get(holdId);
+        if (hold == null) {
+            callback.onError(HOLD_NOT_FOUND);
+            return;
+        }
+        if (hold.isExpiredAt(System.currentTimeMillis())) {
+            callback.onError(HOLD_EXPIRED);
+            return;
+        }
+        Reservation reservation;
+        try {
+            reservation = events.withEvents(
+                    Collections.singletonList(hold.getEventId()), stored -> {
+                        InMemoryEventRepository.Stored event = live(stored.get(0));
+                        // Lost to a concurrent confirm, release or reclaim.
+                        if (!removeHold(hold)) {
+                            throw new IllegalStateException(HOLD_NOT_FOUND);
+                        }
+                        return store(buildReservation(hold.getUserId(), event.event,
+                                hold.getNumberOfTickets()));
+                    });
+        } catch (IllegalStateException e) {
+            callback.onError(e.getMessage());
+            return;
+        }
+        callback.onSuccess(reservation);
+    }
+
+    @Override
+    public void releaseHold(@NonNull String holdId, SimpleCallback callback) {
+        SeatHold hold = holds.get(holdId);
+        if (hold != null && !hold.isExpiredAt(System.currentTimeMillis())) {
+            events.withEvents(Collections.singletonList(hold.getEventId()), stored -> {
+                if (removeHold(hold) && stored.get(0) != null) {
+                    stored.get(0).release(hold.getNumberOfTickets());
+                }
+                return null;
+            });
+        }
+        callback.onSuccess();
+    }
+
+    /**
+     * Reclaims up to {@link #RECLAIM_BATCH_SIZE} holds past their expiry, visiting only
+     * events that have holds, each under its lock; with one clock there is no grace period.
+     */
+    @Override
+    public void reclaimExpiredHolds(ReclaimCallback callback) {
+        long now = System.currentTimeMillis();
+        int reclaimed = 0;
+        for (Map.Entry<String, Set<String>> entry : holdIdsByEvent.entrySet()) {
+            int limit = RECLAIM_BATCH_SIZE - reclaimed;
+            if (limit == 0) break;
+            reclaimed += events.withEvents(Collections.singletonList(entry.getKey()), stored -> {
+                int holdsRemoved = 0;
+                int seats = 0;
+                for (String holdId : new ArrayList<>(entry.getValue())) {
+                    if (holdsRemoved == limit) break;
+                    SeatHold hold = holds.get(holdId);
+                    if (hold == null || !hold.isExpiredAt(now) || !removeHold(hold)) continue;
+                    holdsRemoved++;
+                    seats += hold.getNumberOfTickets();
+                }
+                if (seats > 0 && stored.get(0) != null) stored.get(0).release(seats);
+                return holdsRemoved;
+            });
+        }
+        callback.onSuccess(reclaimed);
+    }
+
+    @Override
+    public void cancelReservation(@NonNull String reservationId, SimpleCallback callback) {
+        long started = System.nanoTime();
+        Reservation reservation = reservations.get(reservationId);
+        if (reservation == null) {
+            metrics.record(TransactionMetrics.Operation.CANCEL, 1,
+                    System.nanoTime() - started, TransactionMetrics.Failure.MISSING);
+            callback.onError(RESERVATION_NOT_FOUND);
+            return;
+        }
+        boolean cancelled = events.withEvents(
+                Collections.singletonList(reservation.getEventId()), stored -> {
+                    if (!reservations.remove(reservationId, reservation)) return false;
+                    Set<String> ids = reservationIdsByUser.get(reservation.getUserId());
+                    if (ids != null) ids.remove(reservationId);
+                    if (stored.get(0) != null) {
+                        stored.get(0).release(reservation.getNumberOfTickets());
+                    }
+                    return true;
+                });
+        if (!cancelled) {
+            metrics.record(TransactionMetrics.Operation.CANCEL, 1,
+                    System.nanoTime() - started, TransactionMetrics.Failure.MISSING);
+            callback.onError(RESERVATION_NOT_FOUND);
+            return;
+        }
+        metrics.record(TransactionMetrics.Operation.CANCEL, 1,
+                System.nanoTime() - started, null);
+        callback.onSuccess();
+    }
+
+    @Override
+    public void getReservationsByUser(String userId, ReservationListCallback callback) {
+        List<Reservation> result = new ArrayList<>();
+        Set<String> ids = reservationIdsByUser.get(userId);
+        if (ids != null) {
+            for (String id : ids) {
+                Reservation reservation = reservations.get(id);
+                if (reservation != null) result.add(copyOf(reservation));
+            }
+        }
+        callback.onSuccess(result);
+    }
+
+    /** Removes the hold unless something else did first. The caller holds its event's lock. */
+    private boolean removeHold(SeatHold hold) {
+        if (!holds.remove(hold.getId(), hold)) return false;
+        Set<String> ids = holdIdsByEvent.get(hold.getEventId());
+        if (ids != null) {
+            ids.remove(hold.getId());
+            if (ids.isEmpty()) holdIdsByEvent.remove(hold.getEventId());
+        }
+        return true;
+    }
+
+    private static InMemoryEventRepository.Stored live(InMemoryEventRepository.Stored event) {
+        if (event == null || event.isDeleted()) {
+            throw new IllegalStateException(EVENT_GONE);
+        }
+        return event;
+    }
+
+    /** Stores the reservation and returns a copy for the caller. */
+    private Reservation store(Reservation reservation) {
+        reservations.put(reservation.getId(), reservation);
+        reservationIdsByUser
+                .computeIfAbsent(reservation.getUserId(), id -> ConcurrentHashMap.newKeySet())
+                .add(reservation.getId());
+        return copyOf(reservation);
+    }
+
+    private Reservation buildReservation(String userId, Event event, int numberOfTickets) {
+        Reservation reservation = Reservation.forTickets(userId, event.getId(),
+                event.getTitle(), event.getDate(), event.getLocation(),
+                event.getPrice(), numberOfTickets);
+        reservation.setId(newId("reservation-"));
+        return reservation;
+    }
+
+    private String newId(String prefix) {
+        return prefix + nextId.incrementAndGet();
+    }
+
+    private static Reservation copyOf(Reservation reservation) {
+        Reservation copy = new Reservation(reservation.getUserId(), reservation.getEventId(),
+                reservation.getEventTitle(), reservation.getEventDate(),
+                reservation.getEventLocation(), reservation.getNumberOfTickets(),
+                reservation.getTotalPrice(), reservation.getCreatedAt(),
+                reservation.getConfirmationCode());
+        copy.setId(reservation.getId());
+        return copy;
+    }
+}
@@ -0,0 +1,60 @@
+package com.example.ticketreservationapp.repository;
+
+import com.google.firebase.auth.PhoneAuthCredential;
+
+/**
+ * {@link AuthRepository} that reports the latency and outcome of every call of the one
+ * it wraps to {@link RepositoryMetrics}. A registration's profile write is part of its
+ * call.
+ */
+public class InstrumentedAuthRepository implements AuthRepository {
+
+    private final AuthRepository delegate;
+
+    public InstrumentedAuthRepository(AuthRepository delegate) {
+        this.delegate = delegate;
+    }
+
+    @Override
+    public void registerWithEmail(String fullName, String email, String password,
+                                  String phone, String role, AuthCallback callback) {
+        delegate.registerWithEmail(fullName, email, password, phone, role,
+                measured("AuthRepository.registerWithEmail", callback));
+    }
+
+    @Override
+    public void loginWithEmail(String email, String password, AuthCallback callback) {
+        delegate.loginWithEmail(email, password,
+                measured("AuthRepository.loginWithEmail", callback));
+    }
+
+    @Override
+    public void signInWithPhoneCredential(PhoneAuthCredential credential, String fullName,
+                                          String phone, String role, String mode,
+                                          AuthCallback callback) {
+        delegate.signInWithPhoneCredential(credential, fullName, phone, role, mode,
+                measured("AuthRepository.signInWithPhoneCredential", callback));
+    }
+
+    @Override
+    public void sendPasswordReset(String email, AuthCallback callback) {
+        delegate.sendPasswordReset(email, measured("AuthRepository.sendPasswordReset", callback));
+    }
+
+    private static AuthCallback measured(String operation, AuthCallback callback) {
+        RepositoryMetrics.Call call = RepositoryMetrics.start(operation);
+        return new AuthCallback() {
+            @Override
+            public void onSuccess() {
+                call.succeeded();
+                callback.onSuccess();
+            }
+
+            @Override
+            public void onError(String message) {
+                call.failed();
+                callback.onError(message);
+            }
+        };
+    }
+}
@@ -0,0 +1,178 @@
+package com.example.ticketreservationapp.repository;
+
+import androidx.annotation.Nullable;
+
+import com.example.ticketreservationapp.model.Event;
+import com.google.firebase.firestore.ListenerRegistration;
+
+import java.util.Date;
+import java.util.List;
+
+/**
+ * {@link EventRepository} that reports every call of the one it wraps to
+ * {@link RepositoryMetrics}. Reads count the events they return, sized with
+ * {@link DocumentSize}; the local cache is passed through unmeasured. A seats listener
+ * reports each delivery as one document, without bytes, as only the count comes back.
+ */
+public class InstrumentedEventRepository implements EventRepository {
+
+    private static final String COLLECTION = "events";
+
+    private final EventRepository delegate;
+
+    public InstrumentedEventRepository(EventRepository delegate) {
+        this.delegate = delegate;
+    }
+
+    @Override
+    public void getCachedEvents(EventListCallback callback) {
+        delegate.getCachedEvents(callback);
+    }
+
+    @Override
+    public void cacheEvents(List<Event> events) {
+        delegate.cacheEvents(events);
+    }
+
+    @Override
+    public void getAllEvents(EventListCallback callback) {
+        delegate.getAllEvents(measured("EventRepository.getAllEvents", callback));
+    }
+
+    @Override
+    public void getEventsPage(int pageSize, @Nullable Event after, EventPageCallback callback) {
+        delegate.getEventsPage(pageSize, after, measured(callback));
+    }
+
+    @Override
+    public void getEventsPage(EventQuery filter, int pageSize, @Nullable Event after,
+                              EventPageCallback callback) {
+        delegate.getEventsPage(filter, pageSize, after, measured(callback));
+    }
+
+    @Override
+    public void syncEvents(Date since, EventListCallback callback) {
+        delegate.syncEvents(since, measured("EventRepository.syncEvents", callback));
+    }
+
+    @Override
+    public ListenerRegistration listenToAvailableSeats(String eventId, SeatsListener listener) {
+        return delegate.listenToAvailableSeats(eventId, new SeatsListener() {
+            @Override
+            public void onSeatsChanged(int availableSeats) {
+                RepositoryMetrics.snapshot("EventRepository.listenToAvailableSeats", 1, 0);
+                listener.onSeatsChanged(availableSeats);
+            }
+
+            @Override
+            public void onError(String message) {
+                listener.onError(message);
+            }
+        });
+    }
+
+    @Override
+    public void getEventsByOrganizer(String organizerId, EventListCallback callback) {
+        delegate.getEventsByOrganizer(organizerId,
+                measured("EventRepository.getEventsByOrganizer", callback));
+    }
+
+    /** Counts the event and its seat-counter shards as written. */
+    @Override
+    public void createEvent(Event event, EventCallback callback) {
+        RepositoryMetrics.Call call = RepositoryMetrics.start("EventRepository.createEvent");
+        delegate.createEvent(event, new EventCallback() {
+            @Override
+            public void onSuccess() {
+                call.wrote(1 + event.getSeatShards());
+                callback.onSuccess();
+            }
+
+            @Override
+            public void onError(String message) {
+                call.failed();
+                callback.onError(message);
+            }
+        });
+    }
+
+    @Override
+    public void updateEvent(Event event, EventCallback callback) {
+        delegate.updateEvent(event, transaction("EventRepository.updateEvent", callback));
+    }
+
+    @Override
+    public void deleteEvent(String eventId, EventCallback callback) {
+        RepositoryMetrics.Call call = RepositoryMetrics.start("EventRepository.deleteEvent");
+        delegate.deleteEvent(eventId, new EventCallback() {
+            @Override
+            public void onSuccess() {
+                call.wrote(1);
+                callback.onSuccess();
+            }
+
+            @Override
+            public void onError(String message) {
+                call.failed();
+                callback.onError(message);
+            }
+        });
+    }
+
+    private static EventListCallback measured(String operation, EventListCallback callback) {
+        RepositoryMetrics.Call call = RepositoryMetrics.start(operation);
+        return new EventListCallback() {
+            @Override
+            public void onSuccess(List<Event> events) {
+                call.read(events.size(), () -> sizeOf(events));
+                callback.onSuccess(events);
+            }
+
+            @Override
+            public void onError(String message) {
+                call.failed();
+                callback.onError(message);
+            }
+        };
+    }
+
+    private static EventPageCallback measured(EventPageCallback callback) {
+        RepositoryMetrics.Call call = RepositoryMetrics.start("EventRepository.getEventsPage");
+        return new EventPageCallback() {
+            @Override
+            public void onSuccess(List<Event> events, boolean hasMore) {
+                call.read(events.size(), () -> sizeOf(events));
+                callback.onSuccess(events, hasMore);
+            }
+
+            @Override
+            public void onError(String message) {
+                call.failed();
+                callback.onError(message);
+            }
+        };
+    }
+
+    private static EventCallback transaction(String operation, EventCallback callback) {
+        RepositoryMetrics.Call call = RepositoryMetrics.start(operation);
+        return new EventCallback() {
+            @Override
+            public void onSuccess() {
+                call.succeeded();
+                callback.onSuccess();
+            }
+
+            @Override
+            public void onError(String message) {
+                call.failed();
+                callback.onError(message);
+            }
+        };
+    }
+
+    private static long sizeOf(List<Event> events) {
+        long bytes = 0;
+        for (Event event : events) bytes += DocumentSize.of(COLLECTION, event.getId(), event);
+        return bytes;
+    }
+}
@@ -0,0 +1,168 @@
+package com.example.ticketreservationapp.repository;
+
+import androidx.annotation.NonNull;
+
+import com.example.ticketreservationapp.model.CartLine;
+import com.example.ticketreservationapp.model.Reservation;
+import com.example.ticketreservationapp.model.SeatHold;
+
+import java.util.List;
+
+/**
+ * {@link ReservationRepository} that reports every call of the one it wraps to
+ * {@link RepositoryMetrics}. Everything but {@link #getReservationsByUser} is a
+ * transaction and reports latency only; the listing counts the reservations it returns,
+ * sized with {@link DocumentSize}.
+ */
+public class InstrumentedReservationRepository implements ReservationRepository {
+
+    private static final String COLLECTION = "reservations";
+
+    private final ReservationRepository delegate;
+
+    public InstrumentedReservationRepository(ReservationRepository delegate) {
+        this.delegate = delegate;
+    }
+
+    @Override
+    public void reserveTicket(String userId, String eventId, int numberOfTickets,
+                              boolean confirmInTransaction, ReservationCallback callback) {
+        RepositoryMetrics.Call call = RepositoryMetrics.start("ReservationRepository.reserveTicket");
+        delegate.reserveTicket(userId, eventId, numberOfTickets, confirmInTransaction,
+                measured(call, callback));
+    }
+
+    @Override
+    public void reserveTickets(String userId, List<CartLine> cart,
+                               ReservationListCallback callback) {
+        RepositoryMetrics.Call call = RepositoryMetrics.start("ReservationRepository.reserveTickets");
+        delegate.reserveTickets(userId, cart, new ReservationListCallback() {
+            @Override
+            public void onSuccess(List<Reservation> reservations) {
+                call.succeeded();
+                callback.onSuccess(reservations);
+            }
+
+            @Override
+            public void onError(String message) {
+                call.failed();
+                callback.onError(message);
+            }
+        });
+    }
+
+    @Override
+    public void createHold(String userId, String eventId, int numberOfTickets,
+                           HoldCallback callback) {
+        RepositoryMetrics.Call call = RepositoryMetrics.start("ReservationRepository.createHold");
+        delegate.createHold(userId, eventId, numberOfTickets, new HoldCallback() {
+            @Override
+            public void onSuccess(SeatHold hold) {
+                call.succeeded();
+                callback.onSuccess(hold);
+            }
+
+            @Override
+            public void onError(String message) {
+                call.failed();
+                callback.onError(message);
+            }
+        });
+    }
+
+    @Override
+    public void confirmHold(@NonNull String holdId, ReservationCallback callback) {
+        RepositoryMetrics.Call call = RepositoryMetrics.start("ReservationRepository.confirmHold");
+        delegate.confirmHold(holdId, measured(call, callback));
+    }
+
+    @Override
+    public void releaseHold(@NonNull String holdId, SimpleCallback callback) {
+        RepositoryMetrics.Call call = RepositoryMetrics.start("ReservationRepository.releaseHold");
+        delegate.releaseHold(holdId, measured(call, callback));
+    }
+
+    @Override
+    public void reclaimExpiredHolds(ReclaimCallback callback) {
+        RepositoryMetrics.Call call =
+                RepositoryMetrics.start("ReservationRepository.reclaimExpiredHolds");
+        delegate.reclaimExpiredHolds(new ReclaimCallback() {
+            @Override
+            public void onSuccess(int reclaimed) {
+                call.succeeded();
+                callback.onSuccess(reclaimed);
+            }
+
+            @Override
+            public void onError(String message) {
+                call.failed();
+                callback.onError(message);
+            }
+        });
+    }
+
+    @Override
+    public void cancelReservation(@NonNull String reservationId, SimpleCallback callback) {
+        RepositoryMetrics.Call call =
+                RepositoryMetrics.start("ReservationRepository.cancelReservation");
+        delegate.cancelReservation(reservationId, measured(call, callback));
+    }
+
+    @Override
+    public void getReservationsByUser(String userId, ReservationListCallback callback) {
+        RepositoryMetrics.Call call =
+                RepositoryMetrics.start("ReservationRepository.getReservationsByUser");
+        delegate.getReservationsByUser(userId, new ReservationListCallback() {
+            @Override
+            public void onSuccess(List<Reservation> reservations) {
+                call.read(reservations.size(), () -> {
+                    long bytes = 0;
+                    for (Reservation reservation : reservations) {
+                        bytes += DocumentSize.of(COLLECTION, reservation.getId(), reservation);
+                    }
+                    return bytes;
+                });
+                callback.onSuccess(reservations);
+            }
+
+            @Override
+            public void onError(String message) {
+                call.failed();
+                callback.onError(message);
+            }
+        });
+    }
+
+    private static ReservationCallback measured(RepositoryMetrics.Call call,
+                                                ReservationCallback callback) {
+        return new ReservationCallback() {
+            @Override
+            public void onSuccess(Reservation reservation) {
+                call.succeeded();
+                callback.onSuccess(reservation);
+            }
+
+            @Override
+            public void onError(String message) {
+                call.failed();
+                callback.onError(message);
+            }
+        };
+    }
+
+    private static SimpleCallback measured(RepositoryMetrics.Call call, SimpleCallback callback) {
+        return new SimpleCallback() {
+            @Override
+            public void onSuccess() {
+                call.succeeded();
+                callback.onSuccess();
+            }
+
+            @Override
+            public void onError(String message) {
+                call.failed();
+                callback.onError(message);
+            }
+        };
+    }
+}
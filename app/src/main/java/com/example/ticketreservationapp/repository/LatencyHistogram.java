@@ -0,0 +1,70 @@
+package com.example.ticketreservationapp.repository;
+
+import java.util.Arrays;
+
+/**
+ * Fixed-size latency histogram with log-scale buckets, four per power of two of
+ * microseconds, so a percentile is exact to within a quarter of its value. Not
+ * thread-safe; owners synchronize around it and hand out {@link #copy}s.
+ */
+final class LatencyHistogram {
+
+    // Buckets 0-3 hold 0-3 µs exactly; after that four per power of two up to 2^63.
+    private static final int BUCKETS = 4 * 63;
+
+    private final long[] counts;
+    private long total;
+
+    LatencyHistogram() {
+        counts = new long[BUCKETS];
+    }
+
+    private LatencyHistogram(long[] counts, long total) {
+        this.counts = counts;
+        this.total = total;
+    }
+
+    void record(long nanos) {
+        counts[bucket(Math.max(0, nanos) / 1000)]++;
+        total++;
+    }
+
+    void clear() {
+        Arrays.fill(counts, 0);
+        total = 0;
+    }
+
+    LatencyHistogram copy() {
+        return new LatencyHistogram(counts.clone(), total);
+    }
+
+    /**
+     * Upper bound of the bucket holding the given percentile (0-100), in milliseconds;
+     * 0 when nothing was recorded.
+     */
+    double percentileMillis(double percentile) {
+        if (total == 0) return 0;
+        long rank = Math.max(1, (long) Math.ceil(percentile / 100.0 * total));
+        long seen = 0;
+        for (int i = 0; i < counts.length; i++) {
+            seen += counts[i];
+            if (seen >= rank) return upperBound(i) / 1000.0;
+        }
+        return upperBound(counts.length - 1) / 1000.0;
+    }
+
+    static int bucket(long micros) {
+        if (micros < 4) return (int) micros;
+        int exponent = 63 - Long.numberOfLeadingZeros(micros);
+        int sub = (int) (micros >>> (exponent - 2)) & 3;
+        return 4 * (exponent - 1) + sub;
+    }
+
+    /** The largest value in {@code bucket}, in microseconds. */
+    static long upperBound(int bucket) {
+        if (bucket < 4) return bucket;
+        int exponent = bucket / 4 + 1;
+        int sub = bucket % 4;
+        return ((5L + sub) << (exponent - 2)) - 1;
+    }
+}
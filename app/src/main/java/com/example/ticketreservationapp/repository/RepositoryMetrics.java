@@ -0,0 +1,104 @@
+package com.example.ticketreservationapp.repository;
+
+import java.util.function.LongSupplier;
+
+/**
+ * The process-wide {@link Sink} that the instrumented repositories
+ * ({@link InstrumentedEventRepository}, {@link InstrumentedReservationRepository},
+ * {@link InstrumentedAuthRepository}) report every call to, with its latency and the
+ * documents and estimated bytes it read. Operations are named {@code Repository.method},
+ * so a sink can tell which screen's calls cost the most.
+ *
+ * <p>Reads are measured from their results; writes report the documents written and no
+ * bytes; transactions and sign-ins report latency only (see {@link TransactionMetrics}
+ * for transaction retries). Listeners report each delivery through {@link Sink#onSnapshot}.
+ * With the default {@link #NONE} sink nothing is timed or measured.
+ */
+public final class RepositoryMetrics {
+
+    /** Receives measurements on the thread the repository calls back on; must be quick. */
+    public interface Sink {
+        /**
+         * @param latencyNanos from issuing the call to its result
+         * @param documents    documents read or written; 0 when the call failed
+         * @param bytes        estimated size of the documents read, see {@link DocumentSize}
+         */
+        void onCall(String operation, long latencyNanos, int documents, long bytes, boolean failed);
+
+        /** A listener delivered {@code documents} new or changed documents. */
+        void onSnapshot(String operation, int documents, long bytes);
+    }
+
+    public static final Sink NONE = new Sink() {
+        @Override
+        public void onCall(String operation, long latencyNanos, int documents, long bytes,
+                           boolean failed) {}
+
+        @Override
+        public void onSnapshot(String operation, int documents, long bytes) {}
+    };
+
+    private static final Call UNTRACKED = new Call(NONE, "");
+
+    private static volatile Sink sink = NONE;
+
+    private RepositoryMetrics() {}
+
+    /** Replaces the process-wide sink, e.g. with a {@link RepositoryStats} at startup. */
+    public static void setSink(Sink newSink) {
+        sink = newSink;
+    }
+
+    /** Starts timing a call; report its outcome through the returned {@link Call}. */
+    static Call start(String operation) {
+        Sink current = sink;
+        return current == NONE ? UNTRACKED : new Call(current, operation);
+    }
+
+    static void snapshot(String operation, int documents, long bytes) {
+        Sink current = sink;
+        if (current == NONE) return;
+        current.onSnapshot(operation, documents, bytes);
+    }
+
+    /** One in-flight call; report it once, from its callback. */
+    static final class Call {
+        private final Sink sink;
+        private final String operation;
+        private final long started;
+
+        private Call(Sink sink, String operation) {
+            this.sink = sink;
+            this.operation = operation;
+            this.started = sink == NONE ? 0 : System.nanoTime();
+        }
+
+        /**
+         * A read that returned {@code documents} documents of {@code bytes} in total,
+         * worked out only if something is listening.
+         */
+        void read(int documents, LongSupplier bytes) {
+            if (sink == NONE) return;
+            report(documents, bytes.getAsLong(), false);
+        }
+
+        /** A write of {@code documents} documents. */
+        void wrote(int documents) {
+            report(documents, 0, false);
+        }
+
+        /** A call that succeeded without a document count, e.g. a transaction or sign-in. */
+        void succeeded() {
+            report(0, 0, false);
+        }
+
+        void failed() {
+            report(0, 0, true);
+        }
+
+        private void report(int documents, long bytes, boolean failed) {
+            if (sink == NONE) return;
+            sink.onCall(operation, System.nanoTime() - started, documents, bytes, failed);
+        }
+    }
+}
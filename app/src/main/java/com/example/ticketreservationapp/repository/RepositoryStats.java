@@ -0,0 +1,130 @@
+package com.example.ticketreservationapp.repository;
+
+import androidx.annotation.NonNull;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * {@link RepositoryMetrics.Sink} that keeps running totals per operation: calls, failures,
+ * documents and bytes from calls and from listeners, and a {@link LatencyHistogram}.
+ * {@link #summaries} lists them with the most documents first, which is where reads
+ * are going.
+ */
+public class RepositoryStats implements RepositoryMetrics.Sink {
+
+    private final Map<String, Totals> totals = new TreeMap<>();
+
+    @Override
+    public synchronized void onCall(String operation, long latencyNanos, int documents,
+                                    long bytes, boolean failed) {
+        Totals t = totals(operation);
+        t.calls++;
+        if (failed) t.failures++;
+        t.documents += documents;
+        t.bytes += bytes;
+        t.latency.record(latencyNanos);
+    }
+
+    @Override
+    public synchronized void onSnapshot(String operation, int documents, long bytes) {
+        Totals t = totals(operation);
+        t.snapshots++;
+        t.documents += documents;
+        t.bytes += bytes;
+    }
+
+    /** Totals for one operation; all zero if it was never seen. */
+    public synchronized Summary summary(String operation) {
+        Totals t = totals.get(operation);
+        return t == null ? new Summary(operation, new Totals()) : new Summary(operation, t);
+    }
+
+    /** Every operation seen so far, most documents first. */
+    public synchronized List<Summary> summaries() {
+        List<Summary> summaries = new ArrayList<>(totals.size());
+        for (Map.Entry<String, Totals> entry : totals.entrySet()) {
+            summaries.add(new Summary(entry.getKey(), entry.getValue()));
+        }
+        Collections.sort(summaries, (a, b) -> Long.compare(b.documents, a.documents));
+        return summaries;
+    }
+
+    public synchronized void reset() {
+        totals.clear();
+    }
+
+    private Totals totals(String operation) {
+        Totals t = totals.get(operation);
+        if (t == null) {
+            t = new Totals();
+            totals.put(operation, t);
+        }
+        return t;
+    }
+
+    private static final class Totals {
+        long calls;
+        long failures;
+        long snapshots;
+        long documents;
+        long bytes;
+        final LatencyHistogram latency = new LatencyHistogram();
+    }
+
+    /** Totals for one operation at the time they were asked for. */
+    public static final class Summary {
+        private final String operation;
+        private final long calls;
+        private final long failures;
+        private final long snapshots;
+        private final long documents;
+        private final long bytes;
+        private final LatencyHistogram latency;
+
+        Summary(String operation, Totals t) {
+            this.operation = operation;
+            this.calls = t.calls;
+            this.failures = t.failures;
+            this.snapshots = t.snapshots;
+            this.documents = t.documents;
+            this.bytes = t.bytes;
+            this.latency = t.latency.copy();
+        }
+
+        public String getOperation() { return operation; }
+
+        public long getCalls() { return calls; }
+
+        public long getFailures() { return failures; }
+
+        /** Listener deliveries. */
+        public long getSnapshots() { return snapshots; }
+
+        /** Documents read or written by calls, plus documents delivered to listeners. */
+        public long getDocuments() { return documents; }
+
+        public long getBytes() { return bytes; }
+
+        /**
+         * Upper bound of the latency bucket holding the given percentile (0-100) of calls,
+         * in milliseconds; listeners have no latency.
+         */
+        public double latencyMillis(double percentile) {
+            return latency.percentileMillis(percentile);
+        }
+
+        @NonNull
+        @Override
+        public String toString() {
+            return String.format(Locale.US,
+                    "%s calls=%d failed=%d snapshots=%d docs=%d bytes=%d p50=%.1fms p99=%.1fms",
+                    operation, calls, failures, snapshots, documents, bytes,
+                    latencyMillis(50), latencyMillis(99));
+        }
+    }
+}
@@ -0,0 +1,178 @@
+package com.example.ticketreservationapp.repository;
+
+import com.google.firebase.firestore.DocumentReference;
+import com.google.firebase.firestore.DocumentSnapshot;
+import com.google.firebase.firestore.FieldValue;
+import com.google.firebase.firestore.FirebaseFirestoreException;
+import com.google.firebase.firestore.Transaction;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+/**
+ * An event's remaining-seat counter. Legacy events keep it in the event document's
+ * {@code availableSeats} field. Sharded events ({@code seatShards > 0}) split it across
+ * documents events/{id}/seatShards/{0..n-1}, so concurrent buyers usually write
+ * different documents instead of contending on one.
+ */
+final class SeatCounter {
+
+    static final String SHARDS_COLLECTION = "seatShards";
+    static final String SEATS_FIELD = "availableSeats";
+    static final String SHARD_COUNT_FIELD = "seatShards";
+
+    private SeatCounter() {}
+
+    /** One shard per seat at most, so no shard starts empty. */
+    static int shardCountFor(int seats, int maxShards) {
+        return Math.max(0, Math.min(maxShards, seats));
+    }
+
+    /** Spreads seats as evenly as possible; the first shards take the remainder. */
+    static int[] split(int seats, int shards) {
+        int[] result = new int[shards];
+        for (int i = 0; i < shards; i++) {
+            result[i] = seats / shards + (i < seats % shards ? 1 : 0);
+        }
+        return result;
+    }
+
+    static DocumentReference shard(DocumentReference eventRef, int index) {
+        return eventRef.collection(SHARDS_COLLECTION).document(String.valueOf(index));
+    }
+
+    static Map<String, Object> shardData(int seats) {
+        return Collections.singletonMap(SEATS_FIELD, (Object) seats);
+    }
+
+    static int shardCount(DocumentSnapshot eventSnap) {
+        Long shards = eventSnap.getLong(SHARD_COUNT_FIELD);
+        return shards == null ? 0 : shards.intValue();
+    }
+
+    private static int seats(DocumentSnapshot snap) {
+        Long seats = snap.getLong(SEATS_FIELD);
+        return seats == null ? 0 : seats.intValue();
+    }
+
+    /**
+     * Reads enough of the counter to cover {@code seats}, starting at a random shard and
+     * falling back to the following ones when it runs short. Only reads, so the caller
+     * may do further reads before calling {@link Allocation#apply}.
+     *
+     * @throws IllegalStateException if fewer than {@code seats} remain in total
+     */
+    static Allocation allocate(Transaction transaction, DocumentReference eventRef,
+                               DocumentSnapshot eventSnap, int seats, Random random)
+            throws FirebaseFirestoreException {
+        Allocation allocation = new Allocation();
+        int shards = shardCount(eventSnap);
+        if (shards == 0) {
+            int available = seats(eventSnap);
+            if (available < seats) {
+                throw new IllegalStateException(ReservationRepository.NOT_ENOUGH_SEATS);
+            }
+            allocation.add(eventRef, available - seats, true);
+            return allocation;
+        }
+
+        int remaining = seats;
+        int start = random.nextInt(shards);
+        for (int i = 0; i < shards && remaining > 0; i++) {
+            DocumentReference shardRef = shard(eventRef, (start + i) % shards);
+            int available = seats(transaction.get(shardRef));
+            int taken = Math.min(available, remaining);
+            if (taken > 0) {
+                allocation.add(shardRef, available - taken, false);
+                remaining -= taken;
+            }
+        }
+        if (remaining > 0) {
+            throw new IllegalStateException(ReservationRepository.NOT_ENOUGH_SEATS);
+        }
+        return allocation;
+    }
+
+    /**
+     * Adds {@code seats} to the counter, or removes them if negative, spreading the change
+     * over every shard so they stay about even. Reads the whole counter, so the caller
+     * may do further reads before calling {@link Allocation#apply}.
+     *
+     * @throws IllegalStateException if more seats would be removed than remain
+     */
+    static Allocation resize(Transaction transaction, DocumentReference eventRef,
+                             DocumentSnapshot eventSnap, int seats)
+            throws FirebaseFirestoreException {
+        Allocation allocation = new Allocation();
+        int shards = shardCount(eventSnap);
+        if (shards == 0) {
+            int available = seats(eventSnap) + seats;
+            if (available < 0) {
+                throw new IllegalStateException(EventRepository.SEATS_ALREADY_SOLD);
+            }
+            allocation.add(eventRef, available, true);
+            return allocation;
+        }
+
+        int[] available = new int[shards];
+        int total = 0;
+        for (int i = 0; i < shards; i++) {
+            available[i] = seats(transaction.get(shard(eventRef, i)));
+            total += available[i];
+        }
+        if (total + seats < 0) {
+            throw new IllegalStateException(EventRepository.SEATS_ALREADY_SOLD);
+        }
+        int[] target = split(total + seats, shards);
+        for (int i = 0; i < shards; i++) {
+            if (target[i] != available[i]) {
+                allocation.add(shard(eventRef, i), target[i], false);
+            }
+        }
+        return allocation;
+    }
+
+    /**
+     * Returns seats to the counter. Shards are interchangeable, so a random one takes
+     * them all; the increment needs no prior read of the shard.
+     */
+    static void release(Transaction transaction, DocumentReference eventRef,
+                        DocumentSnapshot eventSnap, int seats, Random random) {
+        int shards = shardCount(eventSnap);
+        if (shards == 0) {
+            transaction.update(eventRef, SEATS_FIELD, seats(eventSnap) + seats,
+                    FirestoreEventRepository.UPDATED_AT_FIELD, FieldValue.serverTimestamp());
+        } else {
+            transaction.update(shard(eventRef, random.nextInt(shards)),
+                    SEATS_FIELD, FieldValue.increment(seats));
+        }
+    }
+
+    /** Pending counter writes produced by {@link #allocate}. */
+    static final class Allocation {
+        private final List<DocumentReference> refs = new ArrayList<>();
+        private final List<Integer> newValues = new ArrayList<>();
+        // Writes to the event document itself also advance its sync watermark.
+        private final List<Boolean> eventDocs = new ArrayList<>();
+
+        private void add(DocumentReference ref, int newValue, boolean eventDoc) {
+            refs.add(ref);
+            newValues.add(newValue);
+            eventDocs.add(eventDoc);
+        }
+
+        void apply(Transaction transaction) {
+            for (int i = 0; i < refs.size(); i++) {
+                if (eventDocs.get(i)) {
+                    transaction.update(refs.get(i), SEATS_FIELD, newValues.get(i),
+                            FirestoreEventRepository.UPDATED_AT_FIELD, FieldValue.serverTimestamp());
+                } else {
+                    transaction.update(refs.get(i), SEATS_FIELD, newValues.get(i));
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,55 @@
+package com.example.ticketreservationapp.repository;
+
+import androidx.annotation.Nullable;
+
+import com.google.firebase.firestore.FirebaseFirestoreException;
+
+/**
+ * Receives one record per finished {@link FirestoreReservationRepository} transaction:
+ * how many times Firestore ran it, how long the call took from start to commit or
+ * failure, and why it failed. Called on the thread that delivers the Firestore result,
+ * so implementations must be thread-safe and quick.
+ */
+public interface TransactionMetrics {
+
+    enum Operation { RESERVE, CANCEL }
+
+    enum Failure {
+        /** Fewer seats left than were asked for. */
+        SOLD_OUT,
+        /** Firestore gave up retrying because other writers kept changing the documents. */
+        CONTENTION,
+        /** The event or reservation was gone. */
+        MISSING,
+        OTHER
+    }
+
+    /** Records nothing. */
+    TransactionMetrics NONE = (operation, attempts, latencyNanos, failure) -> {};
+
+    /**
+     * @param attempts     times the transaction function ran; a retry is any run past the first
+     * @param latencyNanos from {@code runTransaction} to its result
+     * @param failure      why the call failed, or null if it committed
+     */
+    void record(Operation operation, int attempts, long latencyNanos, @Nullable Failure failure);
+
+    /** Maps a transaction's exception onto a {@link Failure}. */
+    static Failure classify(Exception e) {
+        if (e instanceof FirebaseFirestoreException) {
+            FirebaseFirestoreException.Code code = ((FirebaseFirestoreException) e).getCode();
+            if (code == FirebaseFirestoreException.Code.ABORTED
+                    || code == FirebaseFirestoreException.Code.FAILED_PRECONDITION) {
+                return Failure.CONTENTION;
+            }
+            return Failure.OTHER;
+        }
+        String message = e.getMessage();
+        if (ReservationRepository.NOT_ENOUGH_SEATS.equals(message)) return Failure.SOLD_OUT;
+        if (ReservationRepository.EVENT_GONE.equals(message)
+                || ReservationRepository.RESERVATION_NOT_FOUND.equals(message)) {
+            return Failure.MISSING;
+        }
+        return Failure.OTHER;
+    }
+}
@@ -0,0 +1,128 @@
+package com.example.ticketreservationapp.repository;
+
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+
+import java.util.Arrays;
+import java.util.EnumMap;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * {@link TransactionMetrics} that keeps running totals per operation: calls, attempts,
+ * failures by reason and a latency histogram. {@link #summary} takes a consistent copy
+ * for reporting or for assertions in tests. Latency percentiles come from a
+ * {@link LatencyHistogram}, so they are exact to within a quarter of their value.
+ */
+public class TransactionStats implements TransactionMetrics {
+
+    private static TransactionStats instance;
+
+    private final Map<Operation, Totals> totals = new EnumMap<>(Operation.class);
+
+    /** The process-wide registry that repositories report to unless given another. */
+    public static synchronized TransactionStats getInstance() {
+        if (instance == null) instance = new TransactionStats();
+        return instance;
+    }
+
+    public TransactionStats() {
+        for (Operation operation : Operation.values()) totals.put(operation, new Totals());
+    }
+
+    @Override
+    public void record(Operation operation, int attempts, long latencyNanos,
+                       @Nullable Failure failure) {
+        Totals t = totals.get(operation);
+        synchronized (t) {
+            t.calls++;
+            t.attempts += attempts;
+            if (failure != null) t.failures[failure.ordinal()]++;
+            t.latency.record(latencyNanos);
+        }
+    }
+
+    public Summary summary(Operation operation) {
+        Totals t = totals.get(operation);
+        synchronized (t) {
+            return new Summary(operation, t.calls, t.attempts, t.failures.clone(), t.latency.copy());
+        }
+    }
+
+    public void reset() {
+        for (Operation operation : Operation.values()) {
+            Totals t = totals.get(operation);
+            synchronized (t) {
+                t.calls = 0;
+                t.attempts = 0;
+                Arrays.fill(t.failures, 0);
+                t.latency.clear();
+            }
+        }
+    }
+
+    private static final class Totals {
+        long calls;
+        long attempts;
+        final long[] failures = new long[Failure.values().length];
+        final LatencyHistogram latency = new LatencyHistogram();
+    }
+
+    /** Totals for one operation at the time {@link #summary} was called. */
+    public static final class Summary {
+        private final Operation operation;
+        private final long calls;
+        private final long attempts;
+        private final long[] failures;
+        private final LatencyHistogram latency;
+
+        Summary(Operation operation, long calls, long attempts, long[] failures,
+                LatencyHistogram latency) {
+            this.operation = operation;
+            this.calls = calls;
+            this.attempts = attempts;
+            this.failures = failures;
+            this.latency = latency;
+        }
+
+        public long getCalls() { return calls; }
+
+        public long getAttempts() { return attempts; }
+
+        /** Attempts beyond each call's first. */
+        public long getRetries() { return attempts - calls; }
+
+        public long getCommits() {
+            long failed = 0;
+            for (long count : failures) failed += count;
+            return calls - failed;
+        }
+
+        public long getFailures(Failure failure) { return failures[failure.ordinal()]; }
+
+        /** Share of calls that failed on contention after Firestore's own retries. */
+        public double getAbortRate() {
+            return calls == 0 ? 0 : (double) getFailures(Failure.CONTENTION) / calls;
+        }
+
+        /**
+         * Upper bound of the latency bucket holding the given percentile (0-100), in
+         * milliseconds; 0 when there were no calls.
+         */
+        public double latencyMillis(double percentile) {
+            return latency.percentileMillis(percentile);
+        }
+
+        @NonNull
+        @Override
+        public String toString() {
+            return String.format(Locale.US,
+                    "%s calls=%d commits=%d retries=%d soldOut=%d contention=%d missing=%d "
+                            + "other=%d p50=%.1fms p99=%.1fms",
+                    operation, calls, getCommits(), getRetries(),
+                    getFailures(Failure.SOLD_OUT), getFailures(Failure.CONTENTION),
+                    getFailures(Failure.MISSING), getFailures(Failure.OTHER),
+                    latencyMillis(50), latencyMillis(99));
+        }
+    }
+}
@@ -0,0 +1,172 @@
+package com.example.ticketreservationapp.search;
+
+import com.example.ticketreservationapp.model.Event;
+import com.example.ticketreservationapp.model.EventCategory;
+import com.example.ticketreservationapp.model.EventDates;
+
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * The filterable fields of one loaded catalog, copied once into parallel primitive
+ * columns indexed by catalog position. A filter pass then reads a few contiguous arrays
+ * instead of following a pointer to each event and on to its normalized fields, and a
+ * location filter tests each distinct location once rather than once per event.
+ *
+ * Immutable; safe to share between threads once built.
+ */
+public final class EventCatalogSnapshot {
+
+    private static final EventCategory[] CATEGORIES = EventCategory.values();
+
+    private final List<Event> events;
+    private final double[] price;
+    private final int[] availableSeats;
+    private final int[] epochDay;
+    private final byte[] categoryOrdinal;
+    // Each event's index into locations, which holds every distinct lowercased location once.
+    private final int[] locationCode;
+    private final String[] locations;
+
+    private EventCatalogSnapshot(List<Event> events, double[] price, int[] availableSeats,
+                                 int[] epochDay, byte[] categoryOrdinal, int[] locationCode,
+                                 String[] locations) {
+        this.events = events;
+        this.price = price;
+        this.availableSeats = availableSeats;
+        this.epochDay = epochDay;
+        this.categoryOrdinal = categoryOrdinal;
+        this.locationCode = locationCode;
+        this.locations = locations;
+    }
+
+    /** Copies the columns out of {@code events}, which must not change afterwards. */
+    public static EventCatalogSnapshot build(List<Event> events) {
+        int n = events.size();
+        double[] price = new double[n];
+        int[] availableSeats = new int[n];
+        int[] epochDay = new int[n];
+        byte[] categoryOrdinal = new byte[n];
+        int[] locationCode = new int[n];
+        Map<String, Integer> codes = new HashMap<>();
+        List<String> locations = new ArrayList<>();
+        for (int i = 0; i < n; i++) {
+            Event event = events.get(i);
+            Event.Normalized normalized = event.normalized();
+            price[i] = event.getPrice();
+            availableSeats[i] = event.getAvailableSeats();
+            epochDay[i] = normalized.epochDay;
+            categoryOrdinal[i] = (byte) normalized.category.ordinal();
+            Integer code = codes.get(normalized.location);
+            if (code == null) {
+                code = locations.size();
+                codes.put(normalized.location, code);
+                locations.add(normalized.location);
+            }
+            locationCode[i] = code;
+        }
+        return new EventCatalogSnapshot(events, price, availableSeats, epochDay, categoryOrdinal,
+                locationCode, locations.toArray(new String[0]));
+    }
+
+    public int size() { return price.length; }
+    public Event event(int position) { return events.get(position); }
+    public double price(int position) { return price[position]; }
+    public int availableSeats(int position) { return availableSeats[position]; }
+    public int epochDay(int position) { return epochDay[position]; }
+    public EventCategory category(int position) { return CATEGORIES[categoryOrdinal[position]]; }
+    public int distinctLocations() { return locations.length; }
+
+    /** Index of the event's lowercased location in {@link #location(int)}'s dictionary. */
+    public int locationCode(int position) { return locationCode[position]; }
+    public String location(int code) { return locations[code]; }
+
+    /** Ascending positions among {@code candidates} whose fields match the criteria. */
+    public int[] select(FilterCriteria criteria, BitSet candidates) {
+        Predicate predicate = new Predicate(criteria);
+        int[] result = new int[candidates.cardinality()];
+        int count = 0;
+        for (int i = candidates.nextSetBit(0); i >= 0; i = candidates.nextSetBit(i + 1)) {
+            if (predicate.matches(i)) result[count++] = i;
+        }
+        return trim(result, count);
+    }
+
+    /** The positions in {@code positions} whose fields match the criteria, in the same order. */
+    public int[] select(FilterCriteria criteria, int[] positions) {
+        Predicate predicate = new Predicate(criteria);
+        int[] result = new int[positions.length];
+        int count = 0;
+        for (int position : positions) {
+            if (predicate.matches(position)) result[count++] = position;
+        }
+        return trim(result, count);
+    }
+
+    private static int[] trim(int[] result, int count) {
+        if (count == result.length) return result;
+        int[] trimmed = new int[count];
+        System.arraycopy(result, 0, trimmed, 0, count);
+        return trimmed;
+    }
+
+    /**
+     * {@link FilterCriteria#matchesFields} rewritten against the columns. Whatever the
+     * columns can't answer (a custom category, a date that isn't yyyy-MM-dd) falls back to
+     * the event itself, exactly as matchesFields would.
+     */
+    private final class Predicate {
+        private final String category;
+        private final int categoryOrdinal;
+        // Null when there's no location filter; else whether each distinct location matches.
+        private final boolean[] locationMatches;
+        private final int fromDay;
+        private final int toDay;
+        private final boolean dateRange;
+        private final String date;
+        private final int dateDay;
+
+        Predicate(FilterCriteria criteria) {
+            category = criteria.getCategory();
+            EventCategory value = criteria.getCategoryValue();
+            categoryOrdinal = category.isEmpty() ? -1 : value.ordinal();
+            String location = criteria.getLocation();
+            if (location.isEmpty()) {
+                locationMatches = null;
+            } else {
+                locationMatches = new boolean[locations.length];
+                for (int i = 0; i < locations.length; i++) {
+                    locationMatches[i] = locations[i].contains(location);
+                }
+            }
+            fromDay = criteria.getFromDay();
+            toDay = criteria.getToDay();
+            dateRange = criteria.hasDateRange();
+            date = criteria.getDate();
+            dateDay = criteria.getEpochDay();
+        }
+
+        boolean matches(int i) {
+            if (categoryOrdinal >= 0) {
+                if (categoryOrdinal != EventCategory.OTHER.ordinal()) {
+                    if (EventCatalogSnapshot.this.categoryOrdinal[i] != categoryOrdinal) return false;
+                } else if (!category.equalsIgnoreCase(events.get(i).getCategory())) {
+                    return false;
+                }
+            }
+            if (locationMatches != null && !locationMatches[locationCode[i]]) return false;
+            int day = epochDay[i];
+            if (dateRange && (day == EventDates.NO_DATE
+                    || (fromDay != EventDates.NO_DATE && day < fromDay)
+                    || (toDay != EventDates.NO_DATE && day > toDay))) {
+                return false;
+            }
+            if (date.isEmpty()) return true;
+            if (dateDay != EventDates.NO_DATE) return day == dateDay;
+            return date.equals(events.get(i).getDate());
+        }
+    }
+}
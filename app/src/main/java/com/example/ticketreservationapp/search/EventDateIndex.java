@@ -0,0 +1,90 @@
+package com.example.ticketreservationapp.search;
+
+import com.example.ticketreservationapp.model.Event;
+import com.example.ticketreservationapp.model.EventDates;
+
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.List;
+
+/**
+ * Catalog positions sorted by epoch day, so a date range is two binary searches and a
+ * contiguous slice instead of a pass over every event. Events without a parseable date
+ * are left out; no range contains them.
+ */
+public final class EventDateIndex {
+
+    private final int[] days;
+    private final int[] positions;
+    private final int size;
+
+    private EventDateIndex(int[] days, int[] positions, int size) {
+        this.days = days;
+        this.positions = positions;
+        this.size = size;
+    }
+
+    public static EventDateIndex build(List<Event> events) {
+        return build(EventCatalogSnapshot.build(events));
+    }
+
+    public static EventDateIndex build(EventCatalogSnapshot snapshot) {
+        int n = snapshot.size();
+        // Pack (day, position) into one long so a primitive sort orders by day, then position.
+        long[] packed = new long[n];
+        int dated = 0;
+        for (int i = 0; i < n; i++) {
+            int day = snapshot.epochDay(i);
+            if (day == EventDates.NO_DATE) continue;
+            packed[dated++] = ((long) day << 32) | i;
+        }
+        Arrays.sort(packed, 0, dated);
+        int[] days = new int[dated];
+        int[] positions = new int[dated];
+        for (int i = 0; i < dated; i++) {
+            days[i] = (int) (packed[i] >> 32);
+            positions[i] = (int) packed[i];
+        }
+        return new EventDateIndex(days, positions, n);
+    }
+
+    /** Number of dated events whose day lies in [fromDay, toDay]. */
+    public int count(int fromDay, int toDay) {
+        return Math.max(0, upperBound(toDay) - lowerBound(fromDay));
+    }
+
+    /**
+     * Positions of events dated within [fromDay, toDay], inclusive; pass
+     * {@link EventDates#NO_DATE} for an open end.
+     */
+    public BitSet range(int fromDay, int toDay) {
+        BitSet result = new BitSet(size);
+        int end = upperBound(toDay);
+        for (int i = lowerBound(fromDay); i < end; i++) {
+            result.set(positions[i]);
+        }
+        return result;
+    }
+
+    /** First index whose day is >= fromDay. */
+    private int lowerBound(int fromDay) {
+        if (fromDay == EventDates.NO_DATE) return 0;
+        int lo = 0, hi = days.length;
+        while (lo < hi) {
+            int mid = (lo + hi) >>> 1;
+            if (days[mid] < fromDay) lo = mid + 1; else hi = mid;
+        }
+        return lo;
+    }
+
+    /** First index whose day is > toDay. */
+    private int upperBound(int toDay) {
+        if (toDay == EventDates.NO_DATE) return days.length;
+        int lo = 0, hi = days.length;
+        while (lo < hi) {
+            int mid = (lo + hi) >>> 1;
+            if (days[mid] <= toDay) lo = mid + 1; else hi = mid;
+        }
+        return lo;
+    }
+}
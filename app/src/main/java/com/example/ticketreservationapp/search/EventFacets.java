@@ -0,0 +1,108 @@
+package com.example.ticketreservationapp.search;
+
+import com.example.ticketreservationapp.model.EventCategory;
+
+import java.util.BitSet;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * One bit set of catalog positions per category and per distinct location, built once per
+ * catalog. Category and location filters become AND/OR over machine words, and the same
+ * sets answer how many events each facet value would leave.
+ */
+public final class EventFacets {
+
+    private final EventCatalogSnapshot snapshot;
+    private final BitSet[] byCategory;
+    private final BitSet[] byLocation;
+
+    private EventFacets(EventCatalogSnapshot snapshot, BitSet[] byCategory, BitSet[] byLocation) {
+        this.snapshot = snapshot;
+        this.byCategory = byCategory;
+        this.byLocation = byLocation;
+    }
+
+    public static EventFacets build(EventCatalogSnapshot snapshot) {
+        int n = snapshot.size();
+        BitSet[] byCategory = new BitSet[EventCategory.values().length];
+        for (int i = 0; i < byCategory.length; i++) byCategory[i] = new BitSet(n);
+        BitSet[] byLocation = new BitSet[snapshot.distinctLocations()];
+        for (int i = 0; i < byLocation.length; i++) byLocation[i] = new BitSet(n);
+        for (int i = 0; i < n; i++) {
+            byCategory[snapshot.category(i).ordinal()].set(i);
+            byLocation[snapshot.locationCode(i)].set(i);
+        }
+        return new EventFacets(snapshot, byCategory, byLocation);
+    }
+
+    /** Events in the criteria's category, or null when no category is chosen. */
+    public BitSet categorySet(FilterCriteria criteria) {
+        String category = criteria.getCategory();
+        if (category.isEmpty()) return null;
+        EventCategory value = criteria.getCategoryValue();
+        BitSet result = (BitSet) byCategory[value.ordinal()].clone();
+        if (value == EventCategory.OTHER) {
+            // Custom categories share one set; keep the ones with this name.
+            for (int i = result.nextSetBit(0); i >= 0; i = result.nextSetBit(i + 1)) {
+                if (!category.equalsIgnoreCase(snapshot.event(i).getCategory())) result.clear(i);
+            }
+        }
+        return result;
+    }
+
+    /** Events whose location contains the lowercased {@code location}, or null for none. */
+    public BitSet locationSet(String location) {
+        if (location.isEmpty()) return null;
+        BitSet result = new BitSet(snapshot.size());
+        for (int code = 0; code < byLocation.length; code++) {
+            if (snapshot.location(code).contains(location)) result.or(byLocation[code]);
+        }
+        return result;
+    }
+
+    /**
+     * Counts per category within {@code categoryBase} and per location within
+     * {@code locationBase}. Each base should be the current result with that facet's own
+     * filter left out, so a count says how many events choosing the value would show.
+     */
+    public Counts count(BitSet categoryBase, BitSet locationBase) {
+        int[] categories = new int[byCategory.length];
+        for (int i = 0; i < categories.length; i++) {
+            BitSet both = (BitSet) categoryBase.clone();
+            both.and(byCategory[i]);
+            categories[i] = both.cardinality();
+        }
+        int[] locations = new int[byLocation.length];
+        for (int i = locationBase.nextSetBit(0); i >= 0; i = locationBase.nextSetBit(i + 1)) {
+            locations[snapshot.locationCode(i)]++;
+        }
+        Map<String, Integer> byName = new HashMap<>();
+        for (int code = 0; code < locations.length; code++) {
+            if (locations[code] > 0) byName.put(snapshot.location(code), locations[code]);
+        }
+        return new Counts(categories, byName);
+    }
+
+    /** Facet counts for one filter pass. Immutable. */
+    public static final class Counts {
+
+        public static final Counts EMPTY =
+                new Counts(new int[EventCategory.values().length], Collections.emptyMap());
+
+        private final int[] categories;
+        private final Map<String, Integer> locations;
+
+        private Counts(int[] categories, Map<String, Integer> locations) {
+            this.categories = categories;
+            this.locations = Collections.unmodifiableMap(locations);
+        }
+
+        /** Events in the category; {@code OTHER} counts every custom category together. */
+        public int category(EventCategory category) { return categories[category.ordinal()]; }
+
+        /** Non-zero counts keyed by lowercased location. */
+        public Map<String, Integer> locations() { return locations; }
+    }
+}
@@ -0,0 +1,202 @@
+package com.example.ticketreservationapp.search;
+
+import com.example.ticketreservationapp.model.Event;
+import com.example.ticketreservationapp.model.EventDates;
+
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Filters one loaded catalog, remembering the last result so that a narrowing change
+ * (e.g. "con" -> "conc", or adding a category) only rescans the previous matches.
+ * Anything that widens the result falls back to a full scan, which intersects per-field
+ * bit sets; rescans read the catalog's {@link EventCatalogSnapshot} columns rather than
+ * the events. Sorted views of the catalog are built on first use and kept, so
+ * re-sorting a result never re-sorts the events.
+ *
+ * Not thread-safe; confine each instance to one thread.
+ */
+public final class EventFilter {
+
+    private final List<Event> events;
+    private final EventCatalogSnapshot snapshot;
+    private final EventSearchIndex index;
+    private final EventDateIndex dateIndex;
+    private final EventFacets facets;
+    // Built on the first search that needs ranking or typo tolerance.
+    private EventRanker ranker;
+    private final Map<EventSortOrder, EventOrdering> orderings = new EnumMap<>(EventSortOrder.class);
+
+    private FilterCriteria lastCriteria;
+    private int[] lastPositions;
+    private int lastScanCount;
+    private boolean lastQueryFuzzy;
+
+    public EventFilter(List<Event> events) {
+        this.events = Collections.unmodifiableList(events);
+        this.snapshot = EventCatalogSnapshot.build(events);
+        this.index = EventSearchIndex.build(events);
+        this.dateIndex = EventDateIndex.build(snapshot);
+        this.facets = EventFacets.build(snapshot);
+    }
+
+    public List<Event> getEvents() { return events; }
+
+    /** Number of events examined by the last {@link #apply} call. */
+    public int getLastScanCount() { return lastScanCount; }
+
+    /** Whether the last {@link #query} fell back to {@link #fuzzyScan}. */
+    public boolean isLastQueryFuzzy() { return lastQueryFuzzy; }
+
+    /**
+     * One pass of the event list: filters, retries a search that matched nothing with
+     * typo tolerance, then sorts.
+     */
+    public int[] query(FilterCriteria criteria, EventSortOrder sortOrder) {
+        int[] positions = apply(criteria);
+        lastQueryFuzzy = positions.length == 0 && !criteria.getSearchQuery().isEmpty();
+        if (lastQueryFuzzy) positions = fuzzyScan(criteria);
+        return sort(positions, sortOrder, criteria.getSearchQuery());
+    }
+
+    /** Returns the ascending positions of matching events, refining the last result when possible. */
+    public int[] apply(FilterCriteria criteria) {
+        if (criteria == lastCriteria) {
+            // Same criteria object, e.g. only the sort changed; the result can't differ.
+            lastScanCount = 0;
+            return lastPositions;
+        }
+        int[] positions = lastPositions != null && criteria.narrows(lastCriteria)
+                ? refine(lastPositions, criteria)
+                : fullScan(criteria);
+        lastCriteria = criteria;
+        lastPositions = positions;
+        return positions;
+    }
+
+    /** Returns the given positions (e.g. an {@link #apply} result) in the given order. */
+    public int[] sort(int[] positions, EventSortOrder sortOrder) {
+        return sort(positions, sortOrder, "");
+    }
+
+    /**
+     * As {@link #sort(int[], EventSortOrder)}, except that {@link EventSortOrder#RELEVANCE}
+     * ranks the positions against {@code searchQuery}.
+     */
+    public int[] sort(int[] positions, EventSortOrder sortOrder, String searchQuery) {
+        if (sortOrder == EventSortOrder.RELEVANCE) {
+            EventRanker.Query query = ranker().compile(searchQuery);
+            if (!query.isEmpty()) return ranker.top(query, positions, positions.length);
+        }
+        EventOrdering ordering = orderings.get(sortOrder);
+        if (ordering == null) {
+            ordering = EventOrdering.build(snapshot.size(), sortOrder.positionOrder(snapshot));
+            orderings.put(sortOrder, ordering);
+        }
+        return ordering.sort(positions);
+    }
+
+    /**
+     * Answers every filter with bit operations: the search index, the category and
+     * location facets and the date index each give a set of positions, and the result is
+     * their intersection. Only a date that isn't yyyy-MM-dd still checks events one by one.
+     */
+    public int[] fullScan(FilterCriteria criteria) {
+        BitSet candidates = candidates(criteria, false, true, true);
+        int[] days = dayRange(criteria);
+        lastScanCount = days == null ? events.size() : dateIndex.count(days[0], days[1]);
+        return toPositions(candidates);
+    }
+
+    /**
+     * As {@link #fullScan}, but search tokens may also match words a typo or two away
+     * ("concrt" finds "Concert"). Meant for when the exact search finds nothing; returns
+     * nothing when there is no search query.
+     */
+    public int[] fuzzyScan(FilterCriteria criteria) {
+        if (EventSearchIndex.tokenize(criteria.getSearchQuery()).isEmpty()) return new int[0];
+        return toPositions(candidates(criteria, true, true, true));
+    }
+
+    private static int[] toPositions(BitSet candidates) {
+        int[] result = new int[candidates.cardinality()];
+        int count = 0;
+        for (int i = candidates.nextSetBit(0); i >= 0; i = candidates.nextSetBit(i + 1)) {
+            result[count++] = i;
+        }
+        return result;
+    }
+
+    private EventRanker ranker() {
+        if (ranker == null) ranker = EventRanker.build(events);
+        return ranker;
+    }
+
+    /**
+     * How many events each category and location would leave, given the rest of the
+     * criteria. A facet's own filter is left out of its counts, so choosing a value shows
+     * exactly the events counted for it.
+     */
+    public EventFacets.Counts facetCounts(FilterCriteria criteria) {
+        return facetCounts(criteria, false);
+    }
+
+    /** As {@link #facetCounts(FilterCriteria)}, counting {@link #fuzzyScan} matches if {@code fuzzy}. */
+    public EventFacets.Counts facetCounts(FilterCriteria criteria, boolean fuzzy) {
+        return facets.count(candidates(criteria, fuzzy, false, true),
+                candidates(criteria, fuzzy, true, false));
+    }
+
+    private BitSet candidates(FilterCriteria criteria, boolean fuzzy,
+                              boolean byCategory, boolean byLocation) {
+        String query = criteria.getSearchQuery();
+        BitSet candidates = fuzzy
+                ? ranker().matches(ranker.compile(query))
+                : index.search(index.compile(query));
+        if (byCategory) {
+            BitSet category = facets.categorySet(criteria);
+            if (category != null) candidates.and(category);
+        }
+        if (byLocation) {
+            BitSet location = facets.locationSet(criteria.getLocation());
+            if (location != null) candidates.and(location);
+        }
+        int[] days = dayRange(criteria);
+        if (days != null) candidates.and(dateIndex.range(days[0], days[1]));
+        String date = criteria.getDate();
+        if (!date.isEmpty() && criteria.getEpochDay() == EventDates.NO_DATE) {
+            for (int i = candidates.nextSetBit(0); i >= 0; i = candidates.nextSetBit(i + 1)) {
+                if (!date.equals(events.get(i).getDate())) candidates.clear(i);
+            }
+        }
+        return candidates;
+    }
+
+    // The date range combined with a parseable single date, or null when neither is set.
+    private static int[] dayRange(FilterCriteria criteria) {
+        int from = criteria.getFromDay();
+        int to = criteria.getToDay();
+        int day = criteria.getEpochDay();
+        if (day != EventDates.NO_DATE) {
+            from = from == EventDates.NO_DATE ? day : Math.max(from, day);
+            to = to == EventDates.NO_DATE ? day : Math.min(to, day);
+        }
+        if (from == EventDates.NO_DATE && to == EventDates.NO_DATE) return null;
+        return new int[] { from, to };
+    }
+
+    public int[] refine(int[] previous, FilterCriteria criteria) {
+        EventSearchIndex.Query query = index.compile(criteria.getSearchQuery());
+        int[] result = new int[previous.length];
+        int count = 0;
+        for (int position : previous) {
+            if (index.matches(query, position)) result[count++] = position;
+        }
+        lastScanCount = previous.length;
+        return snapshot.select(criteria, Arrays.copyOf(result, count));
+    }
+}
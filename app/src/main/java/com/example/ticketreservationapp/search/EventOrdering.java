@@ -0,0 +1,73 @@
+package com.example.ticketreservationapp.search;
+
+import com.example.ticketreservationapp.model.Event;
+
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Comparator;
+import java.util.List;
+
+/**
+ * One catalog sorted one way, kept as a permutation of catalog positions plus each
+ * position's rank in it. The catalog is sorted once; putting a filter result in that order
+ * afterwards is a walk of the permutation, or a primitive sort of ranks when the result is
+ * small, so neither a new filter nor switching back to this order re-sorts the events.
+ */
+public final class EventOrdering {
+
+    private final int[] order;
+    private final int[] rank;
+    // The catalog already sorted this way; results are ascending positions, so already in order.
+    private final boolean identity;
+
+    private EventOrdering(int[] order, int[] rank, boolean identity) {
+        this.order = order;
+        this.rank = rank;
+        this.identity = identity;
+    }
+
+    public static EventOrdering build(List<Event> events, Comparator<Event> comparator) {
+        return build(events.size(), (a, b) -> comparator.compare(events.get(a), events.get(b)));
+    }
+
+    /** Sorts positions {@code 0..size-1} with a comparator over positions. */
+    public static EventOrdering build(int size, Comparator<Integer> positionOrder) {
+        boolean sorted = true;
+        for (int i = 1; i < size && sorted; i++) {
+            sorted = positionOrder.compare(i - 1, i) <= 0;
+        }
+        if (sorted) return new EventOrdering(null, null, true);
+
+        Integer[] boxed = new Integer[size];
+        for (int i = 0; i < size; i++) boxed[i] = i;
+        // Stable, so equal events keep their catalog order.
+        Arrays.sort(boxed, positionOrder);
+        int[] order = new int[size];
+        int[] rank = new int[size];
+        for (int i = 0; i < size; i++) {
+            order[i] = boxed[i];
+            rank[boxed[i]] = i;
+        }
+        return new EventOrdering(order, rank, false);
+    }
+
+    /** Returns the given catalog positions rearranged into this order. */
+    public int[] sort(int[] positions) {
+        if (identity || positions.length < 2) return positions;
+        int[] result = new int[positions.length];
+        if (positions.length < order.length >>> 3) {
+            // Few matches: sorting their ranks beats walking the whole permutation.
+            for (int i = 0; i < positions.length; i++) result[i] = rank[positions[i]];
+            Arrays.sort(result);
+            for (int i = 0; i < result.length; i++) result[i] = order[result[i]];
+            return result;
+        }
+        BitSet wanted = new BitSet(order.length);
+        for (int position : positions) wanted.set(position);
+        int count = 0;
+        for (int position : order) {
+            if (wanted.get(position)) result[count++] = position;
+        }
+        return result;
+    }
+}
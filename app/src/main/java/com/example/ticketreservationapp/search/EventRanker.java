@@ -0,0 +1,398 @@
+package com.example.ticketreservationapp.search;
+
+import com.example.ticketreservationapp.model.Event;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Relevance ranking over the title, description and location of a list of events, with
+ * typo tolerance. Events are identified by their position in the list, as in
+ * {@link EventSearchIndex}, whose tokenization this shares.
+ *
+ * Each query token expands to the indexed tokens it is a prefix of and, if it is long
+ * enough, to those within one or two edits of it (found through a trigram index of the
+ * vocabulary, then checked with a bounded edit distance). An event scores the BM25 sum over
+ * query tokens of its best expansion, with title and location occurrences weighted above
+ * description ones and fuzzy expansions discounted per edit. A query token's expansions
+ * share one idf, computed from all of them, so a rare word that merely starts with the
+ * token doesn't outrank the word itself.
+ *
+ * Scoring reuses scratch arrays, so an instance is not thread-safe; confine it to one thread.
+ */
+public final class EventRanker {
+
+    private static final float K1 = 1.2f;
+    private static final float B = 0.75f;
+    private static final float TITLE_WEIGHT = 3f;
+    private static final float LOCATION_WEIGHT = 2f;
+    private static final float DESCRIPTION_WEIGHT = 1f;
+    /** A token that only prefixes an indexed token counts a bit less than an exact hit. */
+    private static final float PREFIX_FACTOR = 0.8f;
+    /** Score kept per edit for a fuzzy expansion. */
+    private static final float EDIT_FACTOR = 0.5f;
+    /** Query tokens shorter than this are never fuzzy-matched; every word is an edit away. */
+    static final int MIN_FUZZY_LENGTH = 4;
+    /** Query tokens at least this long may be two edits off. */
+    static final int TWO_EDIT_LENGTH = 8;
+
+    /** Sorted, distinct tokens; a token's position in this array is its ordinal. */
+    private final String[] tokens;
+    private final int[][] postings;
+    /** Field-weighted term frequency, parallel to {@link #postings}. */
+    private final float[][] frequencies;
+    private final float[] lengthNorm;
+    /** Trigram of a padded token -> ascending ordinals of the tokens containing it. */
+    private final Map<String, int[]> trigrams;
+
+    // Scratch space sized to the catalog, cleaned up after each call through the touched list.
+    private final float[] scores;
+    private final float[] tokenBest;
+    private final int[] matched;
+    private final int[] touched;
+
+    private EventRanker(String[] tokens, int[][] postings, float[][] frequencies,
+                        float[] lengthNorm, Map<String, int[]> trigrams) {
+        this.tokens = tokens;
+        this.postings = postings;
+        this.frequencies = frequencies;
+        this.lengthNorm = lengthNorm;
+        this.trigrams = trigrams;
+        int n = lengthNorm.length;
+        this.scores = new float[n];
+        this.tokenBest = new float[n];
+        this.matched = new int[n];
+        this.touched = new int[n];
+    }
+
+    public static EventRanker build(List<Event> events) {
+        int n = events.size();
+        Map<String, Map<Integer, Float>> byToken = new HashMap<>();
+        float[] lengths = new float[n];
+        float totalLength = 0;
+        for (int position = 0; position < n; position++) {
+            Event event = events.get(position);
+            lengths[position] = addTokens(byToken, event.getTitle(), position, TITLE_WEIGHT)
+                    + addTokens(byToken, event.getLocation(), position, LOCATION_WEIGHT)
+                    + addTokens(byToken, event.getDescription(), position, DESCRIPTION_WEIGHT);
+            totalLength += lengths[position];
+        }
+
+        String[] tokens = byToken.keySet().toArray(new String[0]);
+        Arrays.sort(tokens);
+        int[][] postings = new int[tokens.length][];
+        float[][] frequencies = new float[tokens.length][];
+        for (int ordinal = 0; ordinal < tokens.length; ordinal++) {
+            Map<Integer, Float> docs = byToken.get(tokens[ordinal]);
+            int[] list = new int[docs.size()];
+            int i = 0;
+            for (int position : docs.keySet()) list[i++] = position;
+            Arrays.sort(list);
+            float[] tf = new float[list.length];
+            for (i = 0; i < list.length; i++) tf[i] = docs.get(list[i]);
+            postings[ordinal] = list;
+            frequencies[ordinal] = tf;
+        }
+
+        float averageLength = n == 0 || totalLength == 0 ? 1 : totalLength / n;
+        float[] lengthNorm = new float[n];
+        for (int position = 0; position < n; position++) {
+            lengthNorm[position] = K1 * (1 - B + B * lengths[position] / averageLength);
+        }
+        return new EventRanker(tokens, postings, frequencies, lengthNorm, buildTrigrams(tokens));
+    }
+
+    private static float addTokens(Map<String, Map<Integer, Float>> byToken, String text,
+                                   int position, float weight) {
+        List<String> found = EventSearchIndex.tokenize(text);
+        for (String token : found) {
+            Map<Integer, Float> docs = byToken.get(token);
+            if (docs == null) {
+                docs = new HashMap<>();
+                byToken.put(token, docs);
+            }
+            Float tf = docs.get(position);
+            docs.put(position, tf == null ? weight : tf + weight);
+        }
+        return found.size() * weight;
+    }
+
+    private static Map<String, int[]> buildTrigrams(String[] tokens) {
+        Map<String, List<Integer>> lists = new HashMap<>();
+        for (int ordinal = 0; ordinal < tokens.length; ordinal++) {
+            for (String trigram : trigramsOf(tokens[ordinal])) {
+                List<Integer> list = lists.get(trigram);
+                if (list == null) {
+                    list = new ArrayList<>();
+                    lists.put(trigram, list);
+                }
+                if (list.isEmpty() || list.get(list.size() - 1) != ordinal) list.add(ordinal);
+            }
+        }
+        Map<String, int[]> trigrams = new HashMap<>(lists.size() * 2);
+        for (Map.Entry<String, List<Integer>> entry : lists.entrySet()) {
+            List<Integer> list = entry.getValue();
+            int[] ordinals = new int[list.size()];
+            for (int i = 0; i < ordinals.length; i++) ordinals[i] = list.get(i);
+            trigrams.put(entry.getKey(), ordinals);
+        }
+        return trigrams;
+    }
+
+    // Padded so the first and last letters get trigrams of their own.
+    private static List<String> trigramsOf(String token) {
+        String padded = "$" + token + "$";
+        List<String> result = new ArrayList<>(padded.length() - 2);
+        for (int i = 0; i + 3 <= padded.length(); i++) result.add(padded.substring(i, i + 3));
+        return result;
+    }
+
+    /** Number of events the ranker was built from. */
+    public int size() { return lengthNorm.length; }
+
+    /** Expands each query token to the indexed tokens it may stand for. */
+    public Query compile(String query) {
+        List<String> queryTokens = EventSearchIndex.tokenize(query);
+        int[][] ordinals = new int[queryTokens.size()][];
+        float[][] weights = new float[queryTokens.size()][];
+        float[] idf = new float[queryTokens.size()];
+        int n = size();
+        for (int i = 0; i < ordinals.length; i++) {
+            Map<Integer, Float> expansions = expand(queryTokens.get(i));
+            ordinals[i] = new int[expansions.size()];
+            weights[i] = new float[expansions.size()];
+            int j = 0;
+            int documents = 0;
+            for (Map.Entry<Integer, Float> expansion : expansions.entrySet()) {
+                ordinals[i][j] = expansion.getKey();
+                weights[i][j++] = expansion.getValue();
+                documents += postings[expansion.getKey()].length;
+            }
+            // Events holding several expansions are counted more than once; close enough.
+            documents = Math.min(documents, n);
+            idf[i] = (float) Math.log(1 + (n - documents + 0.5) / (documents + 0.5));
+        }
+        return new Query(ordinals, weights, idf);
+    }
+
+    private Map<Integer, Float> expand(String queryToken) {
+        Map<Integer, Float> expansions = new HashMap<>();
+        for (int ordinal = lowerBound(queryToken);
+             ordinal < tokens.length && tokens[ordinal].startsWith(queryToken); ordinal++) {
+            expansions.put(ordinal, tokens[ordinal].length() == queryToken.length() ? 1f : PREFIX_FACTOR);
+        }
+        if (queryToken.length() < MIN_FUZZY_LENGTH) return expansions;
+
+        int maxEdits = queryToken.length() >= TWO_EDIT_LENGTH ? 2 : 1;
+        List<String> queryTrigrams = trigramsOf(queryToken);
+        // An edit breaks at most three trigrams (a transposition four); tokens sharing
+        // fewer than that allows can't be close enough.
+        int minShared = Math.max(1, queryTrigrams.size() - 4 * maxEdits);
+        Map<Integer, Integer> shared = new HashMap<>();
+        for (String trigram : queryTrigrams) {
+            int[] ordinals = trigrams.get(trigram);
+            if (ordinals == null) continue;
+            for (int ordinal : ordinals) {
+                Integer count = shared.get(ordinal);
+                shared.put(ordinal, count == null ? 1 : count + 1);
+            }
+        }
+        for (Map.Entry<Integer, Integer> candidate : shared.entrySet()) {
+            int ordinal = candidate.getKey();
+            if (candidate.getValue() < minShared || expansions.containsKey(ordinal)) continue;
+            String token = tokens[ordinal];
+            int edits = editDistance(queryToken, token, maxEdits);
+            if (token.length() > queryToken.length()) {
+                // Also accept a misspelled prefix of a longer word ("concr" for "concert").
+                edits = Math.min(edits,
+                        editDistance(queryToken, token.substring(0, queryToken.length()), maxEdits));
+            }
+            if (edits <= maxEdits) {
+                expansions.put(ordinal, (float) Math.pow(EDIT_FACTOR, edits));
+            }
+        }
+        return expansions;
+    }
+
+    private int lowerBound(String prefix) {
+        int lo = 0;
+        int hi = tokens.length;
+        while (lo < hi) {
+            int mid = (lo + hi) >>> 1;
+            if (tokens[mid].compareTo(prefix) < 0) lo = mid + 1;
+            else hi = mid;
+        }
+        return lo;
+    }
+
+    /**
+     * Edit distance counting an adjacent transposition as one edit, or {@code max + 1} as
+     * soon as it is known to exceed {@code max}.
+     */
+    static int editDistance(String a, String b, int max) {
+        if (Math.abs(a.length() - b.length()) > max) return max + 1;
+        int[] previous2 = new int[b.length() + 1];
+        int[] previous = new int[b.length() + 1];
+        int[] current = new int[b.length() + 1];
+        for (int j = 0; j <= b.length(); j++) previous[j] = j;
+        for (int i = 1; i <= a.length(); i++) {
+            current[0] = i;
+            int rowMin = i;
+            for (int j = 1; j <= b.length(); j++) {
+                int cost = a.charAt(i - 1) == b.charAt(j - 1) ? 0 : 1;
+                int value = Math.min(Math.min(previous[j] + 1, current[j - 1] + 1), previous[j - 1] + cost);
+                if (i > 1 && j > 1 && a.charAt(i - 1) == b.charAt(j - 2)
+                        && a.charAt(i - 2) == b.charAt(j - 1)) {
+                    value = Math.min(value, previous2[j - 2] + 1);
+                }
+                current[j] = value;
+                rowMin = Math.min(rowMin, value);
+            }
+            if (rowMin > max) return max + 1;
+            int[] recycled = previous2;
+            previous2 = previous;
+            previous = current;
+            current = recycled;
+        }
+        return Math.min(previous[b.length()], max + 1);
+    }
+
+    /** Positions of the events matching every query token through some expansion. */
+    public BitSet matches(Query query) {
+        BitSet result = new BitSet(size());
+        if (query.isEmpty()) {
+            result.set(0, size());
+            return result;
+        }
+        int count = score(query);
+        for (int i = 0; i < count; i++) {
+            int position = touched[i];
+            if (matched[position] == query.ordinals.length) result.set(position);
+        }
+        reset(count);
+        return result;
+    }
+
+    /**
+     * Returns the {@code k} highest-scoring of {@code positions}, best first; equal scores
+     * keep the order the positions were given in. Work grows with the postings of the
+     * query's expansions and with {@code positions}, not with the catalog.
+     */
+    public int[] top(Query query, int[] positions, int k) {
+        k = Math.min(k, positions.length);
+        if (k <= 0) return new int[0];
+        if (query.isEmpty()) return Arrays.copyOf(positions, k);
+        int count = score(query);
+        // Min-heap of indexes into positions, worst of the kept k on top.
+        int[] heap = new int[k];
+        int size = 0;
+        for (int i = 0; i < positions.length; i++) {
+            if (size < k) {
+                heap[size] = i;
+                siftUp(heap, size++, positions);
+            } else if (better(i, heap[0], positions)) {
+                heap[0] = i;
+                siftDown(heap, size, positions);
+            }
+        }
+        int[] result = new int[size];
+        for (int i = size - 1; i >= 0; i--) {
+            result[i] = positions[heap[0]];
+            heap[0] = heap[i];
+            siftDown(heap, i, positions);
+        }
+        reset(count);
+        return result;
+    }
+
+    // Fills scores and matched for every event some expansion reaches; returns how many.
+    private int score(Query query) {
+        int count = 0;
+        for (int t = 0; t < query.ordinals.length; t++) {
+            int[] ordinals = query.ordinals[t];
+            float[] weights = query.weights[t];
+            float idf = query.idf[t];
+            for (int e = 0; e < ordinals.length; e++) {
+                int ordinal = ordinals[e];
+                int[] docs = postings[ordinal];
+                float[] tf = frequencies[ordinal];
+                for (int d = 0; d < docs.length; d++) {
+                    int position = docs[d];
+                    float value = weights[e] * idf * tf[d] * (K1 + 1) / (tf[d] + lengthNorm[position]);
+                    if (matched[position] == 0 && scores[position] == 0 && tokenBest[position] == 0) {
+                        touched[count++] = position;
+                    }
+                    if (value > tokenBest[position]) tokenBest[position] = value;
+                }
+            }
+            // Fold this token's best expansion into each event it reached.
+            for (int i = 0; i < count; i++) {
+                int position = touched[i];
+                if (tokenBest[position] > 0) {
+                    scores[position] += tokenBest[position];
+                    matched[position]++;
+                    tokenBest[position] = 0;
+                }
+            }
+        }
+        return count;
+    }
+
+    private void reset(int count) {
+        for (int i = 0; i < count; i++) {
+            int position = touched[i];
+            scores[position] = 0;
+            matched[position] = 0;
+            tokenBest[position] = 0;
+        }
+    }
+
+    // Index a ranks above index b: a higher score, or an equal score given earlier.
+    private boolean better(int a, int b, int[] positions) {
+        float x = scores[positions[a]];
+        float y = scores[positions[b]];
+        return x != y ? x > y : a < b;
+    }
+
+    private void siftUp(int[] heap, int i, int[] positions) {
+        while (i > 0) {
+            int parent = (i - 1) >>> 1;
+            if (!better(heap[parent], heap[i], positions)) break;
+            int tmp = heap[parent]; heap[parent] = heap[i]; heap[i] = tmp;
+            i = parent;
+        }
+    }
+
+    private void siftDown(int[] heap, int size, int[] positions) {
+        int i = 0;
+        while (true) {
+            int left = 2 * i + 1;
+            if (left >= size) break;
+            int worst = left;
+            int right = left + 1;
+            if (right < size && better(heap[left], heap[right], positions)) worst = right;
+            if (!better(heap[i], heap[worst], positions)) break;
+            int tmp = heap[i]; heap[i] = heap[worst]; heap[worst] = tmp;
+            i = worst;
+        }
+    }
+
+    /** A query compiled against one ranker; not valid for any other. */
+    public static final class Query {
+        private final int[][] ordinals;
+        private final float[][] weights;
+        private final float[] idf;
+
+        private Query(int[][] ordinals, float[][] weights, float[] idf) {
+            this.ordinals = ordinals;
+            this.weights = weights;
+            this.idf = idf;
+        }
+
+        public boolean isEmpty() { return ordinals.length == 0; }
+    }
+}
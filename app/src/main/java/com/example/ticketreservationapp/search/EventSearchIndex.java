@@ -0,0 +1,198 @@
+package com.example.ticketreservationapp.search;
+
+import com.example.ticketreservationapp.model.Event;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Immutable inverted index over the title, description and location of a list of events.
+ * Events are identified by their position in the list the index was built from, so the
+ * index must be rebuilt whenever that list changes.
+ *
+ * A query matches an event when every query token is a prefix of at least one token of
+ * the event ("roc con" matches "Rock Concert"). Tokens are lowercased runs of letters
+ * and digits; everything else is a separator.
+ */
+public final class EventSearchIndex {
+
+    private static final EventSearchIndex EMPTY = build(new ArrayList<>());
+
+    /** Sorted, distinct tokens; a token's position in this array is its ordinal. */
+    private final String[] tokens;
+    /** Token ordinal -> ascending positions of the events containing it. */
+    private final int[][] postings;
+    /** Event position -> ascending ordinals of the tokens it contains. */
+    private final int[][] eventTokens;
+
+    private EventSearchIndex(String[] tokens, int[][] postings, int[][] eventTokens) {
+        this.tokens = tokens;
+        this.postings = postings;
+        this.eventTokens = eventTokens;
+    }
+
+    public static EventSearchIndex empty() { return EMPTY; }
+
+    public static EventSearchIndex build(List<Event> events) {
+        Map<String, List<Integer>> byToken = new HashMap<>();
+        for (int position = 0; position < events.size(); position++) {
+            Event event = events.get(position);
+            addTokens(byToken, event.getTitle(), position);
+            addTokens(byToken, event.getDescription(), position);
+            addTokens(byToken, event.getLocation(), position);
+        }
+
+        String[] tokens = byToken.keySet().toArray(new String[0]);
+        Arrays.sort(tokens);
+        int[][] postings = new int[tokens.length][];
+        int[] tokenCounts = new int[events.size()];
+        for (int ordinal = 0; ordinal < tokens.length; ordinal++) {
+            List<Integer> positions = byToken.get(tokens[ordinal]);
+            int[] list = new int[positions.size()];
+            for (int i = 0; i < list.length; i++) {
+                list[i] = positions.get(i);
+                tokenCounts[list[i]]++;
+            }
+            postings[ordinal] = list;
+        }
+
+        // Walking ordinals in order leaves each event's token list already sorted.
+        int[][] eventTokens = new int[events.size()][];
+        for (int position = 0; position < eventTokens.length; position++) {
+            eventTokens[position] = new int[tokenCounts[position]];
+            tokenCounts[position] = 0;
+        }
+        for (int ordinal = 0; ordinal < postings.length; ordinal++) {
+            for (int position : postings[ordinal]) {
+                eventTokens[position][tokenCounts[position]++] = ordinal;
+            }
+        }
+        return new EventSearchIndex(tokens, postings, eventTokens);
+    }
+
+    private static void addTokens(Map<String, List<Integer>> byToken, String text, int position) {
+        for (String token : tokenize(text)) {
+            List<Integer> positions = byToken.get(token);
+            if (positions == null) {
+                positions = new ArrayList<>();
+                byToken.put(token, positions);
+            }
+            // Positions arrive in ascending order, so a duplicate can only be the last entry.
+            if (positions.isEmpty() || positions.get(positions.size() - 1) != position) {
+                positions.add(position);
+            }
+        }
+    }
+
+    /** Splits text into lowercased runs of letters and digits. Null yields no tokens. */
+    public static List<String> tokenize(String text) {
+        List<String> result = new ArrayList<>();
+        if (text == null) return result;
+        StringBuilder current = new StringBuilder();
+        for (int i = 0; i < text.length(); i++) {
+            char c = text.charAt(i);
+            if (Character.isLetterOrDigit(c)) {
+                current.append(Character.toLowerCase(c));
+            } else if (current.length() > 0) {
+                result.add(current.toString());
+                current.setLength(0);
+            }
+        }
+        if (current.length() > 0) result.add(current.toString());
+        return result;
+    }
+
+    /** Number of events the index was built from. */
+    public int size() { return eventTokens.length; }
+
+    /**
+     * Resolves each query token to the range of indexed tokens it is a prefix of.
+     * A query with no tokens matches every event.
+     */
+    public Query compile(String query) {
+        List<String> queryTokens = tokenize(query);
+        int[] from = new int[queryTokens.size()];
+        int[] to = new int[queryTokens.size()];
+        for (int i = 0; i < from.length; i++) {
+            String prefix = queryTokens.get(i);
+            from[i] = lowerBound(prefix);
+            int end = from[i];
+            while (end < tokens.length && tokens[end].startsWith(prefix)) end++;
+            to[i] = end;
+        }
+        return new Query(from, to);
+    }
+
+    private int lowerBound(String prefix) {
+        int lo = 0;
+        int hi = tokens.length;
+        while (lo < hi) {
+            int mid = (lo + hi) >>> 1;
+            if (tokens[mid].compareTo(prefix) < 0) lo = mid + 1;
+            else hi = mid;
+        }
+        return lo;
+    }
+
+    /** Returns true if the event at {@code position} matches every token of the query. */
+    public boolean matches(Query query, int position) {
+        int[] own = eventTokens[position];
+        for (int i = 0; i < query.from.length; i++) {
+            if (!containsOrdinalIn(own, query.from[i], query.to[i])) return false;
+        }
+        return true;
+    }
+
+    private static boolean containsOrdinalIn(int[] sortedOrdinals, int from, int to) {
+        if (from >= to) return false;
+        int lo = 0;
+        int hi = sortedOrdinals.length;
+        while (lo < hi) {
+            int mid = (lo + hi) >>> 1;
+            if (sortedOrdinals[mid] < from) lo = mid + 1;
+            else hi = mid;
+        }
+        return lo < sortedOrdinals.length && sortedOrdinals[lo] < to;
+    }
+
+    /**
+     * Returns the positions of all matching events. Candidates come from the postings of
+     * the first query token; the remaining tokens are checked per candidate.
+     */
+    public BitSet search(Query query) {
+        BitSet result = new BitSet(size());
+        if (query.isEmpty()) {
+            result.set(0, size());
+            return result;
+        }
+        for (int ordinal = query.from[0]; ordinal < query.to[0]; ordinal++) {
+            for (int position : postings[ordinal]) {
+                result.set(position);
+            }
+        }
+        if (query.from.length > 1) {
+            for (int position = result.nextSetBit(0); position >= 0;
+                 position = result.nextSetBit(position + 1)) {
+                if (!matches(query, position)) result.clear(position);
+            }
+        }
+        return result;
+    }
+
+    /** A query compiled against one index; not valid for any other index. */
+    public static final class Query {
+        private final int[] from;
+        private final int[] to;
+
+        private Query(int[] from, int[] to) {
+            this.from = from;
+            this.to = to;
+        }
+
+        public boolean isEmpty() { return from.length == 0; }
+    }
+}
@@ -0,0 +1,64 @@
+package com.example.ticketreservationapp.search;
+
+import com.example.ticketreservationapp.model.Event;
+import com.example.ticketreservationapp.model.EventFeed;
+
+import java.util.Comparator;
+import java.util.Date;
+
+/**
+ * The orders the event list can be shown in, in the order the sort dropdown lists them.
+ * Ties fall back to the feed order so every sort is total and stable across reloads.
+ */
+public enum EventSortOrder {
+    /**
+     * Best search match first (see {@link EventRanker}); with no search query, the same
+     * as {@link #DATE}. Needs the query, so the comparators below treat it as DATE.
+     */
+    RELEVANCE(EventFeed.ORDER),
+    /** Soonest first; the order the feed is loaded in. */
+    DATE(EventFeed.ORDER),
+    /** Cheapest first. */
+    PRICE(Comparator.comparingDouble(Event::getPrice)),
+    /** Most seats left first. */
+    SEATS_REMAINING((a, b) -> Integer.compare(b.getAvailableSeats(), a.getAvailableSeats())),
+    /** Most recently created first; events the server hasn't timestamped yet go last. */
+    NEWEST(EventSortOrder::compareNewest);
+
+    private final Comparator<Event> comparator;
+
+    EventSortOrder(Comparator<Event> primary) {
+        this.comparator = primary == EventFeed.ORDER ? primary : primary.thenComparing(EventFeed.ORDER);
+    }
+
+    public Comparator<Event> comparator() { return comparator; }
+
+    /**
+     * The same order over catalog positions. Price and seats compare the snapshot's
+     * columns and only look at the events themselves to break ties.
+     */
+    public Comparator<Integer> positionOrder(EventCatalogSnapshot snapshot) {
+        Comparator<Integer> byEvent = (a, b) -> comparator.compare(snapshot.event(a), snapshot.event(b));
+        switch (this) {
+            case PRICE:
+                return (a, b) -> {
+                    int byPrice = Double.compare(snapshot.price(a), snapshot.price(b));
+                    return byPrice != 0 ? byPrice : byEvent.compare(a, b);
+                };
+            case SEATS_REMAINING:
+                return (a, b) -> {
+                    int bySeats = Integer.compare(snapshot.availableSeats(b), snapshot.availableSeats(a));
+                    return bySeats != 0 ? bySeats : byEvent.compare(a, b);
+                };
+            default:
+                return byEvent;
+        }
+    }
+
+    private static int compareNewest(Event a, Event b) {
+        Date x = a.getCreatedAt();
+        Date y = b.getCreatedAt();
+        if (x == null || y == null) return x == null ? (y == null ? 0 : 1) : -1;
+        return y.compareTo(x);
+    }
+}
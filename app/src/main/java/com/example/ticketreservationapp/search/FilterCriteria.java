@@ -0,0 +1,155 @@
+package com.example.ticketreservationapp.search;
+
+import com.example.ticketreservationapp.model.Event;
+import com.example.ticketreservationapp.model.EventCategory;
+import com.example.ticketreservationapp.model.EventDates;
+
+import java.util.List;
+
+/**
+ * Immutable set of filters chosen on the event list screen. Values are normalized once
+ * here so matching only compares precomputed fields.
+ */
+public final class FilterCriteria {
+
+    public static final FilterCriteria NONE = new FilterCriteria("", "", "", "",
+            EventDates.NO_DATE, EventDates.NO_DATE);
+
+    private final String searchQuery;
+    private final List<String> searchTokens;
+    private final String category;
+    private final EventCategory categoryValue;
+    private final String location;
+    private final String date;
+    private final int dateDay;
+    // Inclusive epoch-day bounds; NO_DATE leaves that end open.
+    private final int fromDay;
+    private final int toDay;
+
+    private FilterCriteria(String searchQuery, String category, String location, String date,
+                           int fromDay, int toDay) {
+        this.searchQuery = searchQuery;
+        this.searchTokens = EventSearchIndex.tokenize(searchQuery);
+        this.category = category;
+        this.categoryValue = EventCategory.fromLabel(category);
+        this.location = location;
+        this.date = date;
+        this.dateDay = EventDates.parseEpochDay(date);
+        this.fromDay = fromDay;
+        this.toDay = toDay;
+    }
+
+    public FilterCriteria withSearchQuery(String query) {
+        return new FilterCriteria(query != null ? query.trim().toLowerCase() : "",
+                category, location, date, fromDay, toDay);
+    }
+
+    public FilterCriteria withCategory(String category) {
+        return new FilterCriteria(searchQuery, category != null ? category : "", location, date,
+                fromDay, toDay);
+    }
+
+    public FilterCriteria withLocation(String location) {
+        return new FilterCriteria(searchQuery, category,
+                location != null ? location.trim().toLowerCase() : "", date, fromDay, toDay);
+    }
+
+    public FilterCriteria withDate(String date) {
+        return new FilterCriteria(searchQuery, category, location, date != null ? date : "",
+                fromDay, toDay);
+    }
+
+    /**
+     * Keeps events dated from {@code from} to {@code to}, both inclusive. A null, empty or
+     * unparseable bound leaves that end open.
+     */
+    public FilterCriteria withDateRange(String from, String to) {
+        return new FilterCriteria(searchQuery, category, location, date,
+                EventDates.parseEpochDay(from), EventDates.parseEpochDay(to));
+    }
+
+    public String getSearchQuery() { return searchQuery; }
+    public String getCategory() { return category; }
+    public String getLocation() { return location; }
+    public String getDate() { return date; }
+    /** The category as one of the fixed set; {@code OTHER} for none or a custom one. */
+    public EventCategory getCategoryValue() { return categoryValue; }
+    /** The date filter as an epoch day, or {@link EventDates#NO_DATE}. */
+    public int getEpochDay() { return dateDay; }
+    public int getFromDay() { return fromDay; }
+    public int getToDay() { return toDay; }
+
+    public boolean hasDateRange() {
+        return fromDay != EventDates.NO_DATE || toDay != EventDates.NO_DATE;
+    }
+
+    /** Category, location and date checks; search is answered by the token index. */
+    public boolean matchesFields(Event event) {
+        return matchesCategory(event) && matchesLocation(event) && matchesDate(event);
+    }
+
+    private boolean matchesCategory(Event event) {
+        if (category.isEmpty()) return true;
+        if (categoryValue != EventCategory.OTHER) {
+            return event.normalized().category == categoryValue;
+        }
+        return category.equalsIgnoreCase(event.getCategory());
+    }
+
+    private boolean matchesLocation(Event event) {
+        if (location.isEmpty()) return true;
+        return event.normalized().location.contains(location);
+    }
+
+    private boolean matchesDate(Event event) {
+        if (hasDateRange()) {
+            int day = event.normalized().epochDay;
+            if (day == EventDates.NO_DATE
+                    || (fromDay != EventDates.NO_DATE && day < fromDay)
+                    || (toDay != EventDates.NO_DATE && day > toDay)) {
+                return false;
+            }
+        }
+        if (date.isEmpty()) return true;
+        if (dateDay != EventDates.NO_DATE) {
+            return event.normalized().epochDay == dateDay;
+        }
+        return date.equals(event.getDate());
+    }
+
+    /**
+     * Returns true if every event matching these criteria also matches {@code previous},
+     * i.e. the new result can be found by rescanning the previous one.
+     */
+    public boolean narrows(FilterCriteria previous) {
+        return searchNarrows(previous.searchTokens)
+                && (previous.category.isEmpty() || previous.category.equalsIgnoreCase(category))
+                && location.contains(previous.location)
+                && (previous.date.isEmpty() || previous.date.equals(date))
+                && bound(previous.fromDay, fromDay, true)
+                && bound(previous.toDay, toDay, false);
+    }
+
+    // A new bound keeps the previous range's events only if it is at least as tight.
+    private static boolean bound(int previous, int current, boolean lower) {
+        if (previous == EventDates.NO_DATE) return true;
+        if (current == EventDates.NO_DATE) return false;
+        return lower ? current >= previous : current <= previous;
+    }
+
+    // A previous token is implied when some new token extends it, since an event token
+    // starting with the new token also starts with the old one.
+    private boolean searchNarrows(List<String> previousTokens) {
+        for (String previousToken : previousTokens) {
+            boolean implied = false;
+            for (String token : searchTokens) {
+                if (token.startsWith(previousToken)) {
+                    implied = true;
+                    break;
+                }
+            }
+            if (!implied) return false;
+        }
+        return true;
+    }
+}
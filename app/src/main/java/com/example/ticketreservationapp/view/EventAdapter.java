@@ -6,31 +6,58 @@ import android.view.ViewGroup;
 import android.widget.TextView;
 
 import androidx.annotation.NonNull;
+import androidx.recyclerview.widget.DiffUtil;
+import androidx.recyclerview.widget.ListAdapter;
 import androidx.recyclerview.widget.RecyclerView;
 
 import com.example.ticketreservationapp.R;
 import com.example.ticketreservationapp.model.Event;
+import com.example.ticketreservationapp.model.Prices;
 
 import java.util.ArrayList;
 import java.util.List;
-import java.util.Locale;
+import java.util.Objects;
 
-public class EventAdapter extends RecyclerView.Adapter<EventAdapter.EventViewHolder> {
+/**
+ * Diffs each new list against the current one on a background thread and dispatches
+ * only the resulting inserts, removes and changes.
+ */
+public class EventAdapter extends ListAdapter<Event, EventAdapter.EventViewHolder> {
+
+    static final DiffUtil.ItemCallback<Event> DIFF_CALLBACK = new DiffUtil.ItemCallback<Event>() {
+        @Override
+        public boolean areItemsTheSame(@NonNull Event oldItem, @NonNull Event newItem) {
+            // Unsaved events have no id yet; fall back to identity.
+            return oldItem.getId() != null
+                    ? oldItem.getId().equals(newItem.getId())
+                    : oldItem == newItem;
+        }
+
+        @Override
+        public boolean areContentsTheSame(@NonNull Event oldItem, @NonNull Event newItem) {
+            // Only the fields shown in the row matter.
+            return Objects.equals(oldItem.getTitle(), newItem.getTitle())
+                    && Objects.equals(oldItem.getDate(), newItem.getDate())
+                    && Objects.equals(oldItem.getLocation(), newItem.getLocation())
+                    && Objects.equals(oldItem.getCategory(), newItem.getCategory())
+                    && Double.compare(oldItem.getPrice(), newItem.getPrice()) == 0;
+        }
+    };
 
     public interface OnEventClickListener {
         void onEventClick(Event event);
     }
 
-    private List<Event> events = new ArrayList<>();
     private final OnEventClickListener listener;
 
     public EventAdapter(OnEventClickListener listener) {
+        super(DIFF_CALLBACK);
         this.listener = listener;
     }
 
+    /** The list must not be mutated afterwards; the diff reads it on another thread. */
     public void setEvents(List<Event> events) {
-        this.events = events != null ? events : new ArrayList<>();
-        notifyDataSetChanged();
+        submitList(events != null ? events : new ArrayList<>());
     }
 
     @NonNull
@@ -43,21 +70,16 @@ public class EventAdapter extends RecyclerView.Adapter<EventAdapter.EventViewHol
 
     @Override
     public void onBindViewHolder(@NonNull EventViewHolder holder, int position) {
-        Event event = events.get(position);
+        Event event = getItem(position);
         holder.tvTitle.setText(event.getTitle());
         holder.tvDate.setText(event.getDate());
         holder.tvLocation.setText(event.getLocation());
-        holder.tvPrice.setText(String.format(Locale.US, "$%.2f", event.getPrice()));
+        holder.tvPrice.setText(Prices.format(event.getPrice()));
         holder.tvCategory.setText(event.getCategory());
 
         holder.itemView.setOnClickListener(v -> listener.onEventClick(event));
     }
 
-    @Override
-    public int getItemCount() {
-        return events.size();
-    }
-
     static class EventViewHolder extends RecyclerView.ViewHolder {
         final TextView tvTitle;
         final TextView tvDate;
@@ -12,19 +12,33 @@ import androidx.activity.result.ActivityResultLauncher;
 import androidx.activity.result.contract.ActivityResultContracts;
 import androidx.appcompat.app.AlertDialog;
 import androidx.appcompat.app.AppCompatActivity;
+import androidx.lifecycle.ViewModelProvider;
 
 import com.example.ticketreservationapp.R;
+import com.example.ticketreservationapp.model.Prices;
 import com.example.ticketreservationapp.model.Reservation;
+import com.example.ticketreservationapp.model.SeatHold;
 import com.example.ticketreservationapp.repository.EventRepository;
-import com.example.ticketreservationapp.repository.ReservationRepository;
+import com.example.ticketreservationapp.repository.FirestoreEventRepository;
+import com.example.ticketreservationapp.repository.InstrumentedEventRepository;
+import com.example.ticketreservationapp.viewmodel.EventDetailViewModel;
 import com.google.android.material.button.MaterialButton;
 import com.google.firebase.auth.FirebaseAuth;
 import com.google.firebase.auth.FirebaseUser;
 
-import java.util.Locale;
-
 public class EventDetailActivity extends AppCompatActivity {
 
+    // Saved-state keys of the hold awaiting an answer, for when the process is killed.
+    private static final String STATE_HOLD_ID = "hold_id";
+    private static final String STATE_HOLD_USER_ID = "hold_user_id";
+    private static final String STATE_HOLD_EVENT_ID = "hold_event_id";
+    private static final String STATE_HOLD_TICKETS = "hold_tickets";
+    private static final String STATE_HOLD_CREATED_AT = "hold_created_at";
+    private static final String STATE_HOLD_EXPIRES_AT = "hold_expires_at";
+
+    private EventDetailViewModel viewModel;
+    private AlertDialog holdDialog;
+
     private String eventId, eventTitle, eventDescription, eventDate,
             eventLocation, eventCategory, eventOrganizerName, eventOrganizerId;
     private double eventPrice;
@@ -76,7 +90,7 @@ public class EventDetailActivity extends AppCompatActivity {
         tvCategory.setText(eventCategory);
         tvDescription.setText(eventDescription);
         tvOrganizer.setText(getString(R.string.organized_by, eventOrganizerName));
-        tvPrice.setText(String.format(Locale.US, "$%.2f", eventPrice));
+        tvPrice.setText(Prices.format(eventPrice));
         tvSeats.setText(getString(R.string.seats_available, eventAvailableSeats, eventTotalSeats));
 
         // Show edit/cancel buttons only if current user is the organizer; otherwise show Reserve.
@@ -94,6 +108,64 @@ public class EventDetailActivity extends AppCompatActivity {
         btnCancel.setOnClickListener(v -> confirmCancelEvent());
         btnReserve.setOnClickListener(v -> showReserveDialog());
         findViewById(R.id.btn_back).setOnClickListener(v -> finish());
+
+        viewModel = new ViewModelProvider(this).get(EventDetailViewModel.class);
+        // The extras are a snapshot from the list; follow the live count from here on.
+        if (eventId != null) {
+            viewModel.getAvailableSeats(eventId).observe(this, seats -> {
+                eventAvailableSeats = seats;
+                tvSeats.setText(getString(R.string.seats_available, eventAvailableSeats, eventTotalSeats));
+            });
+        }
+        if (savedInstanceState != null) {
+            viewModel.restoreHold(readHold(savedInstanceState));
+        }
+        viewModel.getHold().observe(this, hold -> {
+            if (hold != null) {
+                showHoldDialog(hold);
+            } else if (holdDialog != null) {
+                holdDialog.dismiss();
+                holdDialog = null;
+            }
+        });
+        viewModel.getReservation().observe(this, reservation -> {
+            // The seat count updates through the live listener.
+            if (reservation != null) showConfirmation(reservation);
+        });
+        viewModel.getErrorMessage().observe(this, msg -> {
+            if (msg != null) Toast.makeText(this, msg, Toast.LENGTH_LONG).show();
+        });
+    }
+
+    @Override
+    protected void onSaveInstanceState(Bundle outState) {
+        super.onSaveInstanceState(outState);
+        SeatHold hold = viewModel.getHold().getValue();
+        if (hold != null) {
+            outState.putString(STATE_HOLD_ID, hold.getId());
+            outState.putString(STATE_HOLD_USER_ID, hold.getUserId());
+            outState.putString(STATE_HOLD_EVENT_ID, hold.getEventId());
+            outState.putInt(STATE_HOLD_TICKETS, hold.getNumberOfTickets());
+            outState.putLong(STATE_HOLD_CREATED_AT, hold.getCreatedAt());
+            outState.putLong(STATE_HOLD_EXPIRES_AT, hold.getExpiresAt());
+        }
+    }
+
+    @Override
+    protected void onDestroy() {
+        // Dismissing doesn't release the hold; the observer shows it again if we come back.
+        if (holdDialog != null) holdDialog.dismiss();
+        super.onDestroy();
+    }
+
+    private static SeatHold readHold(Bundle state) {
+        String id = state.getString(STATE_HOLD_ID);
+        if (id == null) return null;
+        SeatHold hold = new SeatHold(state.getString(STATE_HOLD_USER_ID),
+                state.getString(STATE_HOLD_EVENT_ID), state.getInt(STATE_HOLD_TICKETS),
+                state.getLong(STATE_HOLD_CREATED_AT), state.getLong(STATE_HOLD_EXPIRES_AT));
+        hold.setId(id);
+        return hold;
     }
 
     private void showReserveDialog() {
@@ -137,22 +209,24 @@ public class EventDetailActivity extends AppCompatActivity {
     private void submitReservation(int qty) {
         FirebaseUser currentUser = FirebaseAuth.getInstance().getCurrentUser();
         if (currentUser == null) return;
-        new ReservationRepository().reserveTicket(currentUser.getUid(), eventId, qty,
-                new ReservationRepository.ReservationCallback() {
-                    @Override
-                    public void onSuccess(Reservation reservation) {
-                        eventAvailableSeats -= qty;
-                        TextView tvSeats = findViewById(R.id.tv_detail_seats);
-                        tvSeats.setText(getString(R.string.seats_available,
-                                eventAvailableSeats, eventTotalSeats));
-                        showConfirmation(reservation);
-                    }
+        viewModel.createHold(currentUser.getUid(), eventId, qty);
+    }
 
-                    @Override
-                    public void onError(String message) {
-                        Toast.makeText(EventDetailActivity.this, message, Toast.LENGTH_LONG).show();
-                    }
-                });
+    /** Backing out of the dialog releases the hold just as Cancel does. */
+    private void showHoldDialog(SeatHold hold) {
+        if (holdDialog != null) holdDialog.dismiss();
+        long millisLeft = hold.getExpiresAt() - System.currentTimeMillis();
+        long minutes = Math.max(1, (millisLeft + 59999) / 60000);
+        holdDialog = new AlertDialog.Builder(this)
+                .setTitle(R.string.hold_dialog_title)
+                .setMessage(getString(R.string.hold_dialog_message,
+                        hold.getNumberOfTickets(), eventPrice * hold.getNumberOfTickets(), minutes))
+                .setPositiveButton(R.string.action_confirm, (dialog, which) ->
+                        viewModel.confirmHold())
+                .setNegativeButton(R.string.action_cancel, (dialog, which) ->
+                        viewModel.releaseHold())
+                .setOnCancelListener(dialog -> viewModel.releaseHold())
+                .show();
     }
 
     private void showConfirmation(Reservation r) {
@@ -167,6 +241,7 @@ public class EventDetailActivity extends AppCompatActivity {
                 .setTitle(R.string.reservation_success_title)
                 .setMessage(message)
                 .setPositiveButton(R.string.action_ok, null)
+                .setOnDismissListener(dialog -> viewModel.onConfirmationShown())
                 .show();
     }
 
@@ -195,7 +270,8 @@ public class EventDetailActivity extends AppCompatActivity {
     }
 
     private void deleteEvent() {
-        new EventRepository().deleteEvent(eventId, new EventRepository.EventCallback() {
+        EventRepository events = new InstrumentedEventRepository(new FirestoreEventRepository());
+        events.deleteEvent(eventId, new EventRepository.EventCallback() {
             @Override
             public void onSuccess() {
                 Toast.makeText(EventDetailActivity.this,
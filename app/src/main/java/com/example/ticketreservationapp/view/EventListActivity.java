@@ -1,6 +1,5 @@
 package com.example.ticketreservationapp.view;
 
-import android.app.DatePickerDialog;
 import android.content.Intent;
 import android.os.Bundle;
 import android.text.Editable;
@@ -10,29 +9,44 @@ import android.widget.ArrayAdapter;
 import android.widget.AutoCompleteTextView;
 import android.widget.TextView;
 
+import androidx.annotation.NonNull;
 import androidx.appcompat.app.AppCompatActivity;
+import androidx.core.util.Pair;
 import androidx.lifecycle.ViewModelProvider;
 import androidx.recyclerview.widget.LinearLayoutManager;
 import androidx.recyclerview.widget.RecyclerView;
 
 import com.example.ticketreservationapp.R;
 import com.example.ticketreservationapp.model.Event;
+import com.example.ticketreservationapp.model.EventCategory;
+import com.example.ticketreservationapp.model.EventDates;
+import com.example.ticketreservationapp.search.EventFacets;
+import com.example.ticketreservationapp.search.EventSortOrder;
 import com.example.ticketreservationapp.viewmodel.EventListViewModel;
 import com.google.android.material.chip.Chip;
+import com.google.android.material.datepicker.MaterialDatePicker;
 import com.google.android.material.progressindicator.LinearProgressIndicator;
 import com.google.android.material.textfield.TextInputEditText;
 
-import java.util.Calendar;
-import java.util.Locale;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
 
 public class EventListActivity extends AppCompatActivity {
 
+    // Start fetching the next page when the user is this many rows from the end.
+    private static final int PREFETCH_DISTANCE = 5;
+
     private EventListViewModel viewModel;
     private EventAdapter adapter;
     private TextView tvNoResults;
     private LinearProgressIndicator progressBar;
     private TextInputEditText etSearch;
     private AutoCompleteTextView spinnerCategory;
+    private String[] categories;
+    private ArrayAdapter<String> categoryAdapter;
+    private AutoCompleteTextView spinnerSort;
     private Chip chipDate;
     private Chip chipClearFilters;
 
@@ -48,16 +62,36 @@ public class EventListActivity extends AppCompatActivity {
         progressBar = findViewById(R.id.progress_bar);
         etSearch = findViewById(R.id.et_search);
         spinnerCategory = findViewById(R.id.spinner_category);
+        spinnerSort = findViewById(R.id.spinner_sort);
         chipDate = findViewById(R.id.chip_date);
         chipClearFilters = findViewById(R.id.chip_clear_filters);
 
         findViewById(R.id.btn_back).setOnClickListener(v -> finish());
 
         adapter = new EventAdapter(this::openEventDetail);
-        recyclerView.setLayoutManager(new LinearLayoutManager(this));
+        LinearLayoutManager layoutManager = new LinearLayoutManager(this);
+        recyclerView.setLayoutManager(layoutManager);
         recyclerView.setAdapter(adapter);
+        recyclerView.addOnScrollListener(new RecyclerView.OnScrollListener() {
+            @Override
+            public void onScrolled(@NonNull RecyclerView rv, int dx, int dy) {
+                if (dy > 0 && layoutManager.findLastVisibleItemPosition()
+                        >= adapter.getItemCount() - PREFETCH_DISTANCE) {
+                    viewModel.loadNextPage();
+                }
+            }
+
+            @Override
+            public void onScrollStateChanged(@NonNull RecyclerView rv, int newState) {
+                // A list too short to scroll never reports dy > 0; a drag at its end asks too.
+                if (newState == RecyclerView.SCROLL_STATE_DRAGGING && !rv.canScrollVertically(1)) {
+                    viewModel.loadNextPage();
+                }
+            }
+        });
 
         setupCategoryDropdown();
+        setupSortDropdown();
         setupSearchListener();
         setupDateFilter();
         setupClearFilters();
@@ -67,10 +101,10 @@ public class EventListActivity extends AppCompatActivity {
     }
 
     private void setupCategoryDropdown() {
-        String[] categories = getResources().getStringArray(R.array.event_categories);
-        ArrayAdapter<String> catAdapter = new ArrayAdapter<>(
-                this, android.R.layout.simple_dropdown_item_1line, categories);
-        spinnerCategory.setAdapter(catAdapter);
+        categories = getResources().getStringArray(R.array.event_categories);
+        categoryAdapter = new ArrayAdapter<>(
+                this, android.R.layout.simple_dropdown_item_1line, new ArrayList<>(Arrays.asList(categories)));
+        spinnerCategory.setAdapter(categoryAdapter);
         spinnerCategory.setOnItemClickListener((parent, view, position, id) -> {
             String selected = categories[position];
             if ("All Categories".equals(selected)) {
@@ -81,6 +115,28 @@ public class EventListActivity extends AppCompatActivity {
         });
     }
 
+    /** Relabels the category choices with how many events each would show ("Concerts (42)"). */
+    private void showCategoryCounts(EventFacets.Counts counts) {
+        List<String> labels = new ArrayList<>(categories.length);
+        labels.add(categories[0]);
+        for (int i = 1; i < categories.length; i++) {
+            labels.add(counts == null ? categories[i] : getString(R.string.filter_category_count,
+                    categories[i], counts.category(EventCategory.fromLabel(categories[i]))));
+        }
+        categoryAdapter.clear();
+        categoryAdapter.addAll(labels);
+    }
+
+    private void setupSortDropdown() {
+        String[] sortOrders = getResources().getStringArray(R.array.event_sort_orders);
+        ArrayAdapter<String> sortAdapter = new ArrayAdapter<>(
+                this, android.R.layout.simple_dropdown_item_1line, sortOrders);
+        spinnerSort.setAdapter(sortAdapter);
+        spinnerSort.setText(sortOrders[viewModel.getSortOrder().ordinal()], false);
+        spinnerSort.setOnItemClickListener((parent, view, position, id) ->
+                viewModel.setSortOrder(EventSortOrder.values()[position]));
+    }
+
     private void setupSearchListener() {
         etSearch.addTextChangedListener(new TextWatcher() {
             @Override
@@ -98,13 +154,18 @@ public class EventListActivity extends AppCompatActivity {
 
     private void setupDateFilter() {
         chipDate.setOnClickListener(v -> {
-            Calendar cal = Calendar.getInstance();
-            new DatePickerDialog(this, (view, year, month, dayOfMonth) -> {
-                String date = String.format(Locale.US, "%04d-%02d-%02d", year, month + 1, dayOfMonth);
-                chipDate.setText(date);
-                viewModel.setDateFilter(date);
-            }, cal.get(Calendar.YEAR), cal.get(Calendar.MONTH), cal.get(Calendar.DAY_OF_MONTH))
-                    .show();
+            MaterialDatePicker<Pair<Long, Long>> picker = MaterialDatePicker.Builder.dateRangePicker()
+                    .setTitleText(R.string.filter_date_range_title)
+                    .build();
+            picker.addOnPositiveButtonClickListener(selection -> {
+                // The picker reports UTC midnights, which divide evenly into epoch days.
+                long dayMillis = TimeUnit.DAYS.toMillis(1);
+                String from = EventDates.formatEpochDay((int) (selection.first / dayMillis));
+                String to = EventDates.formatEpochDay((int) (selection.second / dayMillis));
+                chipDate.setText(from.equals(to) ? from : getString(R.string.filter_date_range, from, to));
+                viewModel.setDateRange(from, to);
+            });
+            picker.show(getSupportFragmentManager(), "date_range");
         });
     }
 
@@ -121,8 +182,14 @@ public class EventListActivity extends AppCompatActivity {
         viewModel.getFilteredEvents().observe(this, events -> {
             adapter.setEvents(events);
             tvNoResults.setVisibility(events.isEmpty() ? View.VISIBLE : View.GONE);
+            // A narrow filter may leave too few rows to scroll; page a little to fill it.
+            if (events.size() < PREFETCH_DISTANCE) {
+                viewModel.fillShortList();
+            }
         });
 
+        viewModel.getFacetCounts().observe(this, this::showCategoryCounts);
+
         viewModel.getLoading().observe(this, isLoading ->
                 progressBar.setVisibility(Boolean.TRUE.equals(isLoading) ? View.VISIBLE : View.GONE));
 
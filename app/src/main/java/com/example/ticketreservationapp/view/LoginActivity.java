@@ -12,6 +12,8 @@ import androidx.lifecycle.ViewModelProvider;
 import com.example.ticketreservationapp.MainActivity;
 import com.example.ticketreservationapp.R;
 import com.example.ticketreservationapp.repository.AuthRepository;
+import com.example.ticketreservationapp.repository.FirebaseAuthRepository;
+import com.example.ticketreservationapp.repository.InstrumentedAuthRepository;
 import com.example.ticketreservationapp.viewmodel.LoginViewModel;
 import com.google.android.material.progressindicator.LinearProgressIndicator;
 import com.google.android.material.snackbar.Snackbar;
@@ -27,7 +29,8 @@ import java.util.concurrent.TimeUnit;
 public class LoginActivity extends AppCompatActivity {
 
     private LoginViewModel viewModel;
-    private final AuthRepository authRepository = new AuthRepository();
+    private final AuthRepository authRepository =
+            new InstrumentedAuthRepository(new FirebaseAuthRepository());
     private TextInputLayout tilIdentifier, tilPassword;
     private LinearProgressIndicator progressBar;
 
@@ -13,6 +13,8 @@ import androidx.lifecycle.ViewModelProvider;
 import com.example.ticketreservationapp.MainActivity;
 import com.example.ticketreservationapp.R;
 import com.example.ticketreservationapp.repository.AuthRepository;
+import com.example.ticketreservationapp.repository.FirebaseAuthRepository;
+import com.example.ticketreservationapp.repository.InstrumentedAuthRepository;
 import com.example.ticketreservationapp.viewmodel.RegisterViewModel;
 import com.google.android.material.button.MaterialButtonToggleGroup;
 import com.google.android.material.progressindicator.LinearProgressIndicator;
@@ -29,7 +31,8 @@ import java.util.concurrent.TimeUnit;
 public class RegisterActivity extends AppCompatActivity {
 
     private RegisterViewModel viewModel;
-    private final AuthRepository authRepository = new AuthRepository();
+    private final AuthRepository authRepository =
+            new InstrumentedAuthRepository(new FirebaseAuthRepository());
     private TextInputLayout tilFullName, tilIdentifier, tilPassword, tilConfirmPassword;
     private MaterialButtonToggleGroup toggleRole;
     private LinearProgressIndicator progressBar;
@@ -6,32 +6,53 @@ import android.view.ViewGroup;
 import android.widget.TextView;
 
 import androidx.annotation.NonNull;
+import androidx.recyclerview.widget.DiffUtil;
+import androidx.recyclerview.widget.ListAdapter;
 import androidx.recyclerview.widget.RecyclerView;
 
 import com.example.ticketreservationapp.R;
+import com.example.ticketreservationapp.model.Prices;
 import com.example.ticketreservationapp.model.Reservation;
 import com.google.android.material.button.MaterialButton;
 
 import java.util.ArrayList;
 import java.util.List;
-import java.util.Locale;
+import java.util.Objects;
 
-public class ReservationAdapter extends RecyclerView.Adapter<ReservationAdapter.VH> {
+public class ReservationAdapter extends ListAdapter<Reservation, ReservationAdapter.VH> {
+
+    static final DiffUtil.ItemCallback<Reservation> DIFF_CALLBACK = new DiffUtil.ItemCallback<Reservation>() {
+        @Override
+        public boolean areItemsTheSame(@NonNull Reservation oldItem, @NonNull Reservation newItem) {
+            return oldItem.getId() != null
+                    ? oldItem.getId().equals(newItem.getId())
+                    : oldItem == newItem;
+        }
+
+        @Override
+        public boolean areContentsTheSame(@NonNull Reservation oldItem, @NonNull Reservation newItem) {
+            return Objects.equals(oldItem.getEventTitle(), newItem.getEventTitle())
+                    && Objects.equals(oldItem.getEventDate(), newItem.getEventDate())
+                    && Objects.equals(oldItem.getEventLocation(), newItem.getEventLocation())
+                    && oldItem.getNumberOfTickets() == newItem.getNumberOfTickets()
+                    && Double.compare(oldItem.getTotalPrice(), newItem.getTotalPrice()) == 0
+                    && Objects.equals(oldItem.getConfirmationCode(), newItem.getConfirmationCode());
+        }
+    };
 
     public interface OnCancelClick {
         void onCancel(Reservation reservation);
     }
 
-    private List<Reservation> reservations = new ArrayList<>();
     private final OnCancelClick onCancelClick;
 
     public ReservationAdapter(OnCancelClick onCancelClick) {
+        super(DIFF_CALLBACK);
         this.onCancelClick = onCancelClick;
     }
 
     public void setReservations(List<Reservation> reservations) {
-        this.reservations = reservations == null ? new ArrayList<>() : reservations;
-        notifyDataSetChanged();
+        submitList(reservations == null ? new ArrayList<>() : reservations);
     }
 
     @NonNull
@@ -44,13 +65,13 @@ public class ReservationAdapter extends RecyclerView.Adapter<ReservationAdapter.
 
     @Override
     public void onBindViewHolder(@NonNull VH holder, int position) {
-        Reservation r = reservations.get(position);
+        Reservation r = getItem(position);
         holder.title.setText(r.getEventTitle());
         holder.date.setText(r.getEventDate());
         holder.location.setText(r.getEventLocation());
         holder.tickets.setText(holder.itemView.getContext()
                 .getString(R.string.tickets_count, r.getNumberOfTickets()));
-        holder.total.setText(String.format(Locale.US, "$%.2f", r.getTotalPrice()));
+        holder.total.setText(Prices.format(r.getTotalPrice()));
         holder.code.setText(holder.itemView.getContext()
                 .getString(R.string.confirmation_code_label, r.getConfirmationCode()));
         holder.btnCancel.setOnClickListener(v -> {
@@ -58,11 +79,6 @@ public class ReservationAdapter extends RecyclerView.Adapter<ReservationAdapter.
         });
     }
 
-    @Override
-    public int getItemCount() {
-        return reservations.size();
-    }
-
     static class VH extends RecyclerView.ViewHolder {
         TextView title, date, location, tickets, total, code;
         MaterialButton btnCancel;
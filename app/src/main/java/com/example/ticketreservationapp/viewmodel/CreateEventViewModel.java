@@ -6,9 +6,20 @@ import androidx.lifecycle.ViewModel;
 
 import com.example.ticketreservationapp.model.Event;
 import com.example.ticketreservationapp.repository.EventRepository;
+import com.example.ticketreservationapp.repository.FirestoreEventRepository;
+import com.example.ticketreservationapp.repository.InstrumentedEventRepository;
 
 public class CreateEventViewModel extends ViewModel {
 
+    /**
+     * New events with at least this many seats split their seat counter into
+     * {@link FirestoreEventRepository#HIGH_DEMAND_SEAT_SHARDS} shards. Only large events
+     * draw enough concurrent buyers for a single counter document to become the
+     * bottleneck; smaller ones keep the cheaper single counter. The shard count is fixed
+     * at creation, so editing the capacity later doesn't change it.
+     */
+    public static final int SHARDED_MIN_SEATS = 500;
+
     private final EventRepository repository;
 
     private final MutableLiveData<String> errorMessage = new MutableLiveData<>();
@@ -17,7 +28,7 @@ public class CreateEventViewModel extends ViewModel {
     private final MutableLiveData<Boolean> loading = new MutableLiveData<>(false);
 
     public CreateEventViewModel() {
-        this.repository = new EventRepository();
+        this.repository = new InstrumentedEventRepository(new FirestoreEventRepository());
     }
 
     public CreateEventViewModel(EventRepository repository) {
@@ -81,6 +92,9 @@ public class CreateEventViewModel extends ViewModel {
         Event event = new Event(null, title.trim(), description.trim(), date.trim(),
                 location.trim(), category, price, totalSeats, totalSeats,
                 organizerId, organizerName);
+        if (totalSeats >= SHARDED_MIN_SEATS) {
+            event.setSeatShards(FirestoreEventRepository.HIGH_DEMAND_SEAT_SHARDS);
+        }
 
         loading.setValue(true);
         repository.createEvent(event, new EventRepository.EventCallback() {
@@ -0,0 +1,144 @@
+package com.example.ticketreservationapp.viewmodel;
+
+import androidx.lifecycle.LiveData;
+import androidx.lifecycle.MediatorLiveData;
+import androidx.lifecycle.MutableLiveData;
+import androidx.lifecycle.ViewModel;
+
+import com.example.ticketreservationapp.model.Reservation;
+import com.example.ticketreservationapp.model.SeatHold;
+import com.example.ticketreservationapp.repository.AvailableSeatsLiveData;
+import com.example.ticketreservationapp.repository.EventRepository;
+import com.example.ticketreservationapp.repository.FirestoreEventRepository;
+import com.example.ticketreservationapp.repository.FirestoreReservationRepository;
+import com.example.ticketreservationapp.repository.InstrumentedEventRepository;
+import com.example.ticketreservationapp.repository.InstrumentedReservationRepository;
+import com.example.ticketreservationapp.repository.ReservationRepository;
+
+/**
+ * The buyer's side of the event detail screen: the event's live seat count, and a hold on
+ * seats, kept here so the screen can show it again after rotation, and released if the
+ * screen goes away unconfirmed.
+ */
+public class EventDetailViewModel extends ViewModel {
+
+    private final ReservationRepository repository;
+    private final EventRepository events;
+
+    private final MutableLiveData<SeatHold> hold = new MutableLiveData<>();
+    private final MutableLiveData<Reservation> reservation = new MutableLiveData<>();
+    private final MediatorLiveData<String> errorMessage = new MediatorLiveData<>();
+    private AvailableSeatsLiveData availableSeats;
+
+    // Set once a hold was made or restored here; from then on saved state is older than us.
+    private boolean holdKnown = false;
+
+    public EventDetailViewModel() {
+        this(new InstrumentedReservationRepository(new FirestoreReservationRepository()),
+                new InstrumentedEventRepository(new FirestoreEventRepository()));
+    }
+
+    public EventDetailViewModel(ReservationRepository repository, EventRepository events) {
+        this.repository = repository;
+        this.events = events;
+    }
+
+    /**
+     * The event's remaining seats, following the server while observed. The screen shows
+     * one event, so the first call fixes it. Errors from following the count go to
+     * {@link #getErrorMessage()}; the count keeps its last value.
+     */
+    public LiveData<Integer> getAvailableSeats(String eventId) {
+        if (availableSeats == null) {
+            availableSeats = events.observeAvailableSeats(eventId);
+            errorMessage.addSource(availableSeats.getError(), errorMessage::setValue);
+        }
+        return availableSeats;
+    }
+
+    /** The hold awaiting the buyer's answer, or null. */
+    public LiveData<SeatHold> getHold() { return hold; }
+    /** The reservation just confirmed, until {@link #onConfirmationShown()}. */
+    public LiveData<Reservation> getReservation() { return reservation; }
+    public LiveData<String> getErrorMessage() { return errorMessage; }
+
+    public void createHold(String userId, String eventId, int numberOfTickets) {
+        holdKnown = true;
+        repository.createHold(userId, eventId, numberOfTickets,
+                new ReservationRepository.HoldCallback() {
+                    @Override
+                    public void onSuccess(SeatHold created) {
+                        hold.setValue(created);
+                    }
+
+                    @Override
+                    public void onError(String message) {
+                        errorMessage.setValue(message);
+                    }
+                });
+    }
+
+    /**
+     * Puts back a hold saved before the process was killed. Ignored if this ViewModel
+     * already knows about a hold, and dropped if it has expired, as it can't be confirmed.
+     */
+    public void restoreHold(SeatHold saved) {
+        if (holdKnown) return;
+        holdKnown = true;
+        if (saved != null && !saved.isExpiredAt(System.currentTimeMillis())) {
+            hold.setValue(saved);
+        }
+    }
+
+    /**
+     * Turns the hold into a reservation. The hold is withdrawn while this runs and comes
+     * back only if the failure leaves it confirmable, e.g. a network error.
+     */
+    public void confirmHold() {
+        SeatHold current = hold.getValue();
+        if (current == null) return;
+        hold.setValue(null);
+        repository.confirmHold(current.getId(), new ReservationRepository.ReservationCallback() {
+            @Override
+            public void onSuccess(Reservation confirmed) {
+                reservation.setValue(confirmed);
+            }
+
+            @Override
+            public void onError(String message) {
+                if (!isFinal(message)) hold.setValue(current);
+                errorMessage.setValue(message);
+            }
+        });
+    }
+
+    /** Gives the held seats back; if that fails the hold simply expires. */
+    public void releaseHold() {
+        SeatHold current = hold.getValue();
+        if (current == null) return;
+        hold.setValue(null);
+        repository.releaseHold(current.getId(), new ReservationRepository.SimpleCallback() {
+            @Override
+            public void onSuccess() {}
+
+            @Override
+            public void onError(String message) {}
+        });
+    }
+
+    public void onConfirmationShown() {
+        reservation.setValue(null);
+    }
+
+    /** Leaving the screen with an unanswered hold gives its seats back. */
+    @Override
+    protected void onCleared() {
+        releaseHold();
+    }
+
+    private static boolean isFinal(String message) {
+        return ReservationRepository.HOLD_NOT_FOUND.equals(message)
+                || ReservationRepository.HOLD_EXPIRED.equals(message)
+                || ReservationRepository.EVENT_GONE.equals(message);
+    }
+}
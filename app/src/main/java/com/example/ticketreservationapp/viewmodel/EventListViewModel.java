@@ -5,123 +5,428 @@ import androidx.lifecycle.MutableLiveData;
 import androidx.lifecycle.ViewModel;
 
 import com.example.ticketreservationapp.model.Event;
+import com.example.ticketreservationapp.model.EventDates;
+import com.example.ticketreservationapp.model.EventDelta;
+import com.example.ticketreservationapp.model.EventFeed;
+import com.example.ticketreservationapp.repository.EventQuery;
 import com.example.ticketreservationapp.repository.EventRepository;
+import com.example.ticketreservationapp.repository.FirestoreEventRepository;
+import com.example.ticketreservationapp.repository.InstrumentedEventRepository;
+import com.example.ticketreservationapp.search.EventFacets;
+import com.example.ticketreservationapp.search.EventFilter;
+import com.example.ticketreservationapp.search.EventSortOrder;
+import com.example.ticketreservationapp.search.FilterCriteria;
 
 import java.util.ArrayList;
+import java.util.Date;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicInteger;
 
 public class EventListViewModel extends ViewModel {
 
+    /** Quiet period after the last keystroke before a search pass runs. */
+    static final long SEARCH_DEBOUNCE_MS = 200;
+
+    /** Pages fetched per filter change just because the filtered list is too short to scroll. */
+    static final int MAX_FILL_PAGES = 3;
+
     private final EventRepository repository;
+    private final int pageSize;
+    private final FilterScheduler filterScheduler;
 
     private final MutableLiveData<List<Event>> events = new MutableLiveData<>();
     private final MutableLiveData<List<Event>> filteredEvents = new MutableLiveData<>();
+    private final MutableLiveData<EventFacets.Counts> facetCounts = new MutableLiveData<>();
     private final MutableLiveData<String> errorMessage = new MutableLiveData<>();
     private final MutableLiveData<Boolean> loading = new MutableLiveData<>(false);
 
-    private String currentSearchQuery = "";
-    private String currentCategoryFilter = "";
-    private String currentLocationFilter = "";
-    private String currentDateFilter = "";
+    // Built by the first filter pass over a newly loaded catalog and reused (with its last
+    // result, for narrowing) until the catalog changes. Only touched inside filter passes,
+    // which the scheduler runs one at a time.
+    private EventFilter eventFilter;
+    private List<Event> eventFilterSource;
+    private FilterCriteria criteria = FilterCriteria.NONE;
+    private EventSortOrder sortOrder = EventSortOrder.RELEVANCE;
+    private FilterScheduler.Task pendingFilter;
+    // Incremented per scheduled pass; a pass whose number is no longer current drops its result.
+    private final AtomicInteger filterGeneration = new AtomicInteger();
+
+    private boolean hasMorePages = false;
+    private boolean pageInFlight = false;
+    // The first freshCount events came from the network during the current load; any after
+    // them are still the cached (or previously loaded) feed, awaiting revalidation.
+    private int freshCount = 0;
+
+    // While the feed is only partly loaded, category and date filters run on the server:
+    // the matching events are paged into queryEvents and the remaining filters apply there.
+    private EventQuery activeQuery = EventQuery.ALL;
+    private List<Event> queryEvents;
+    private boolean queryHasMore = false;
+    private boolean queryInFlight = false;
+    private int queryGeneration = 0;
+    // Bumped on every reload so a late page from a previous load is dropped.
+    private int pageGeneration = 0;
+    // Pages fetched by fillShortList since the last reload or filter change.
+    private int fillPages = 0;
 
     public EventListViewModel() {
-        this.repository = new EventRepository();
+        this(new InstrumentedEventRepository(new FirestoreEventRepository()),
+                EventRepository.DEFAULT_PAGE_SIZE, FilterScheduler.background());
     }
 
+    // Visible for unit testing — filters run synchronously on the calling thread
     public EventListViewModel(EventRepository repository) {
+        this(repository, EventRepository.DEFAULT_PAGE_SIZE);
+    }
+
+    public EventListViewModel(EventRepository repository, int pageSize) {
+        this(repository, pageSize, FilterScheduler.immediate());
+    }
+
+    public EventListViewModel(EventRepository repository, int pageSize,
+                              FilterScheduler filterScheduler) {
         this.repository = repository;
+        this.pageSize = pageSize;
+        this.filterScheduler = filterScheduler;
     }
 
     public LiveData<List<Event>> getFilteredEvents() { return filteredEvents; }
     public LiveData<String> getErrorMessage() { return errorMessage; }
     public LiveData<Boolean> getLoading() { return loading; }
 
+    /**
+     * Per-category and per-location counts for the current filters, or null while the
+     * list shows server query results, which only hold the queried category.
+     */
+    public LiveData<EventFacets.Counts> getFacetCounts() { return facetCounts; }
+
+    public boolean hasMorePages() { return activeQuery.isAll() ? hasMorePages : queryHasMore; }
+
+    /**
+     * (Re)loads the feed: shows the cached feed at once, then brings it up to date. A
+     * cache that knows when it was last written syncs only the events changed since;
+     * otherwise it is revalidated page by page, publishing only pages that change
+     * something. Further pages are pulled in by {@link #loadNextPage()} as the list is
+     * scrolled.
+     */
     public void loadEvents() {
+        int generation = ++pageGeneration;
+        hasMorePages = false;
+        freshCount = 0;
+        fillPages = 0;
+        pageInFlight = true;
+        activeQuery = EventQuery.ALL;
+        queryEvents = null;
+        queryGeneration++;
+        loading.setValue(true);
+        repository.getCachedEvents(new EventRepository.EventListCallback() {
+            @Override
+            public void onSuccess(List<Event> cached) {
+                if (generation != pageGeneration) return;
+                if (cached.isEmpty()) {
+                    requestPage(null, generation);
+                    return;
+                }
+                events.setValue(cached);
+                scheduleFilters(0);
+                Date watermark = EventFeed.watermark(cached);
+                if (watermark == null) {
+                    requestPage(null, generation);
+                } else {
+                    syncCached(cached, watermark, generation);
+                }
+            }
+
+            @Override
+            public void onError(String message) {
+                // No usable cache; load from the network.
+                if (generation == pageGeneration) requestPage(null, generation);
+            }
+        });
+    }
+
+    private void syncCached(List<Event> cached, Date watermark, int generation) {
+        repository.syncEvents(watermark, new EventRepository.EventListCallback() {
+            @Override
+            public void onSuccess(List<Event> changes) {
+                if (generation != pageGeneration) return;
+                List<Event> merged = EventFeed.applyChanges(cached, changes);
+                if (merged.isEmpty()) {
+                    requestPage(null, generation);
+                    return;
+                }
+                freshCount = merged.size();
+                // The cache may end before the catalog does; let paging find out.
+                hasMorePages = true;
+                pageInFlight = false;
+                if (!EventDelta.between(cached, merged).isEmpty()) {
+                    events.setValue(merged);
+                    scheduleFilters(0);
+                    repository.cacheEvents(merged);
+                }
+                loading.setValue(false);
+                updateServerQuery();
+            }
+
+            @Override
+            public void onError(String message) {
+                // Sync unavailable; fall back to revalidating page by page.
+                if (generation == pageGeneration) requestPage(null, generation);
+            }
+        });
+    }
+
+    /**
+     * Appends the next page after the last loaded event. No-op while a page is already
+     * in flight or once the feed is exhausted.
+     */
+    public void loadNextPage() {
+        requestNextPage();
+    }
+
+    /**
+     * Like {@link #loadNextPage()}, for a filtered list too short to scroll. Only the first
+     * {@link #MAX_FILL_PAGES} calls after a reload or filter change fetch anything, so a
+     * filter that matches little doesn't pull in the whole catalog; after that, pages
+     * wait for the user to scroll.
+     */
+    public void fillShortList() {
+        if (fillPages >= MAX_FILL_PAGES) return;
+        // Counted before the request, whose answer may come back here synchronously.
+        fillPages++;
+        if (!requestNextPage()) fillPages--;
+    }
+
+    private boolean requestNextPage() {
+        if (!activeQuery.isAll()) {
+            if (queryInFlight || !queryHasMore || queryEvents == null || queryEvents.isEmpty()) {
+                return false;
+            }
+            requestQueryPage(queryEvents.get(queryEvents.size() - 1), queryGeneration);
+            return true;
+        }
+        List<Event> current = events.getValue();
+        if (pageInFlight || !hasMorePages || current == null || freshCount == 0) return false;
+        requestPage(current.get(freshCount - 1), pageGeneration);
+        return true;
+    }
+
+    private void requestPage(Event after, int generation) {
+        pageInFlight = true;
+        loading.setValue(true);
+        repository.getEventsPage(pageSize, after, new EventRepository.EventPageCallback() {
+            @Override
+            public void onSuccess(List<Event> page, boolean hasMore) {
+                if (generation != pageGeneration) return;
+                List<Event> current = events.getValue();
+                List<Event> merged = mergePage(current, after == null ? 0 : freshCount, page, hasMore);
+                freshCount = (after == null ? 0 : freshCount) + page.size();
+                hasMorePages = hasMore;
+                pageInFlight = false;
+                if (current == null || !EventDelta.between(current, merged).isEmpty()) {
+                    events.setValue(merged);
+                    scheduleFilters(0);
+                    repository.cacheEvents(merged);
+                }
+                if (hasMore && freshCount < merged.size()) {
+                    // Stale events remain past this page; keep revalidating.
+                    requestPage(merged.get(freshCount - 1), generation);
+                    return;
+                }
+                loading.setValue(false);
+                updateServerQuery();
+            }
+
+            @Override
+            public void onError(String message) {
+                if (generation != pageGeneration) return;
+                pageInFlight = false;
+                errorMessage.setValue(message);
+                loading.setValue(false);
+            }
+        });
+    }
+
+    /**
+     * Moves category and date filtering to the server when the feed has more pages than
+     * are loaded, since filtering locally would mean downloading them all; once the whole
+     * feed is on the device, filtering stays local and costs no reads.
+     */
+    private void updateServerQuery() {
+        EventQuery wanted = hasMorePages ? serverQueryFor(criteria) : EventQuery.ALL;
+        if (wanted.equals(activeQuery)) return;
+        activeQuery = wanted;
+        queryEvents = null;
+        queryHasMore = false;
+        int generation = ++queryGeneration;
+        if (!wanted.isAll()) requestQueryPage(null, generation);
+    }
+
+    private static EventQuery serverQueryFor(FilterCriteria criteria) {
+        int from = criteria.getFromDay();
+        int to = criteria.getToDay();
+        int day = criteria.getEpochDay();
+        if (day != EventDates.NO_DATE) {
+            from = from == EventDates.NO_DATE ? day : Math.max(from, day);
+            to = to == EventDates.NO_DATE ? day : Math.min(to, day);
+        }
+        return EventQuery.ALL.withCategory(criteria.getCategory()).withDateRange(from, to);
+    }
+
+    private void requestQueryPage(Event after, int generation) {
+        queryInFlight = true;
         loading.setValue(true);
-        repository.getAllEvents(new EventRepository.EventListCallback() {
+        repository.getEventsPage(activeQuery, pageSize, after, new EventRepository.EventPageCallback() {
             @Override
-            public void onSuccess(List<Event> eventList) {
-                events.setValue(eventList);
-                applyFilters();
+            public void onSuccess(List<Event> page, boolean hasMore) {
+                if (generation != queryGeneration) return;
+                List<Event> merged = new ArrayList<>();
+                if (after != null && queryEvents != null) merged.addAll(queryEvents);
+                merged.addAll(page);
+                queryEvents = merged;
+                queryHasMore = hasMore;
+                queryInFlight = false;
+                scheduleFilters(0);
                 loading.setValue(false);
             }
 
             @Override
             public void onError(String message) {
+                if (generation != queryGeneration) return;
+                queryInFlight = false;
                 errorMessage.setValue(message);
                 loading.setValue(false);
             }
         });
     }
 
+    /**
+     * Replaces the stale events the page covers with the page. Stale events ordered after
+     * the page's last event are kept until a later page reaches them; once the feed is
+     * exhausted, nothing stale remains.
+     */
+    private static List<Event> mergePage(List<Event> current, int freshCount,
+                                         List<Event> page, boolean hasMore) {
+        List<Event> merged = new ArrayList<>();
+        if (current != null) merged.addAll(current.subList(0, freshCount));
+        merged.addAll(page);
+        if (current == null || !hasMore || page.isEmpty()) return merged;
+
+        Event last = page.get(page.size() - 1);
+        Set<String> ids = new HashSet<>();
+        for (Event event : merged) ids.add(event.getId());
+        for (Event event : current.subList(freshCount, current.size())) {
+            if (EventFeed.ORDER.compare(event, last) > 0 && !ids.contains(event.getId())) {
+                merged.add(event);
+            }
+        }
+        return merged;
+    }
+
     public void setSearchQuery(String query) {
-        this.currentSearchQuery = query != null ? query.trim().toLowerCase() : "";
-        applyFilters();
+        criteria = criteria.withSearchQuery(query);
+        fillPages = 0;
+        scheduleFilters(SEARCH_DEBOUNCE_MS);
     }
 
     public void setCategoryFilter(String category) {
-        this.currentCategoryFilter = category != null ? category : "";
-        applyFilters();
+        criteria = criteria.withCategory(category);
+        fillPages = 0;
+        updateServerQuery();
+        scheduleFilters(0);
     }
 
     public void setLocationFilter(String location) {
-        this.currentLocationFilter = location != null ? location.trim().toLowerCase() : "";
-        applyFilters();
+        criteria = criteria.withLocation(location);
+        fillPages = 0;
+        scheduleFilters(0);
     }
 
     public void setDateFilter(String date) {
-        this.currentDateFilter = date != null ? date : "";
-        applyFilters();
+        criteria = criteria.withDate(date);
+        fillPages = 0;
+        updateServerQuery();
+        scheduleFilters(0);
     }
 
-    public void clearFilters() {
-        this.currentSearchQuery = "";
-        this.currentCategoryFilter = "";
-        this.currentLocationFilter = "";
-        this.currentDateFilter = "";
-        applyFilters();
+    /** Keeps events dated from {@code from} to {@code to} inclusive; null leaves an end open. */
+    public void setDateRange(String from, String to) {
+        criteria = criteria.withDateRange(from, to);
+        fillPages = 0;
+        updateServerQuery();
+        scheduleFilters(0);
     }
 
-    private void applyFilters() {
-        List<Event> allEvents = events.getValue();
-        if (allEvents == null) {
-            filteredEvents.setValue(new ArrayList<>());
-            return;
-        }
-
-        List<Event> result = new ArrayList<>();
-        for (Event event : allEvents) {
-            if (matchesSearch(event) && matchesCategory(event)
-                    && matchesLocation(event) && matchesDate(event)) {
-                result.add(event);
-            }
-        }
-        filteredEvents.setValue(result);
+    /**
+     * Orders the list; sorts only what is loaded, so later pages merge into it as they
+     * arrive. Leaves the filters, and therefore any server query, as they are.
+     */
+    public void setSortOrder(EventSortOrder sortOrder) {
+        if (sortOrder == this.sortOrder) return;
+        this.sortOrder = sortOrder;
+        scheduleFilters(0);
     }
 
-    private boolean matchesSearch(Event event) {
-        if (currentSearchQuery.isEmpty()) return true;
-        String title = event.getTitle() != null ? event.getTitle().toLowerCase() : "";
-        String desc = event.getDescription() != null ? event.getDescription().toLowerCase() : "";
-        String location = event.getLocation() != null ? event.getLocation().toLowerCase() : "";
-        return title.contains(currentSearchQuery)
-                || desc.contains(currentSearchQuery)
-                || location.contains(currentSearchQuery);
+    public EventSortOrder getSortOrder() { return sortOrder; }
+
+    public void clearFilters() {
+        criteria = FilterCriteria.NONE;
+        fillPages = 0;
+        updateServerQuery();
+        scheduleFilters(0);
     }
 
-    private boolean matchesCategory(Event event) {
-        if (currentCategoryFilter.isEmpty()) return true;
-        return currentCategoryFilter.equalsIgnoreCase(event.getCategory());
+    @Override
+    protected void onCleared() {
+        if (pendingFilter != null) pendingFilter.cancel();
+        filterScheduler.shutdown();
     }
 
-    private boolean matchesLocation(Event event) {
-        if (currentLocationFilter.isEmpty()) return true;
-        String location = event.getLocation() != null ? event.getLocation().toLowerCase() : "";
-        return location.contains(currentLocationFilter);
+    /**
+     * Replaces any pass that has not started yet with one over the current catalog,
+     * criteria and sort order. All are captured here so the pass never reads main-thread
+     * state; the catalog list is never mutated after it is published to {@code events}.
+     */
+    private void scheduleFilters(long delayMillis) {
+        if (pendingFilter != null) pendingFilter.cancel();
+        List<Event> catalog = activeQuery.isAll() ? events.getValue() : queryEvents;
+        FilterCriteria snapshot = criteria;
+        EventSortOrder order = sortOrder;
+        boolean wholeFeed = activeQuery.isAll();
+        int generation = filterGeneration.incrementAndGet();
+        if (catalog == null && !activeQuery.isAll()) {
+            // Server results still on the way; keep showing the current list until then.
+            return;
+        }
+        if (catalog == null) {
+            facetCounts.setValue(EventFacets.Counts.EMPTY);
+            filteredEvents.setValue(new ArrayList<>());
+            return;
+        }
+        pendingFilter = filterScheduler.schedule(() -> {
+            if (generation != filterGeneration.get()) return;
+            List<Event> result = applyFilters(catalog, snapshot, order);
+            EventFacets.Counts counts = wholeFeed ? eventFilter.facetCounts(snapshot, eventFilter.isLastQueryFuzzy()) : null;
+            if (generation == filterGeneration.get()) {
+                facetCounts.postValue(counts);
+                filteredEvents.postValue(result);
+            }
+        }, delayMillis);
     }
 
-    private boolean matchesDate(Event event) {
-        if (currentDateFilter.isEmpty()) return true;
-        return currentDateFilter.equals(event.getDate());
+    private List<Event> applyFilters(List<Event> catalog, FilterCriteria criteria,
+                                     EventSortOrder order) {
+        if (eventFilterSource != catalog) {
+            eventFilter = new EventFilter(catalog);
+            eventFilterSource = catalog;
+        }
+        int[] positions = eventFilter.query(criteria, order);
+        List<Event> result = new ArrayList<>(positions.length);
+        for (int position : positions) {
+            result.add(catalog.get(position));
+        }
+        return result;
     }
 }
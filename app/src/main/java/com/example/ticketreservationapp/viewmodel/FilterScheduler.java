@@ -0,0 +1,59 @@
+package com.example.ticketreservationapp.viewmodel;
+
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Runs filter passes for {@link EventListViewModel}, optionally after a delay so rapid
+ * keystrokes can be coalesced by cancelling the previous pass.
+ */
+public interface FilterScheduler {
+
+    interface Task {
+        void cancel();
+    }
+
+    Task schedule(Runnable work, long delayMillis);
+
+    void shutdown();
+
+    /** Runs work inline on the calling thread, ignoring the delay. Used by JVM tests. */
+    static FilterScheduler immediate() {
+        return new FilterScheduler() {
+            @Override
+            public Task schedule(Runnable work, long delayMillis) {
+                work.run();
+                return () -> {};
+            }
+
+            @Override
+            public void shutdown() {}
+        };
+    }
+
+    /**
+     * Runs work on a single background thread, so passes execute in submission order and
+     * never overlap.
+     */
+    static FilterScheduler background() {
+        ScheduledThreadPoolExecutor executor = new ScheduledThreadPoolExecutor(1, runnable -> {
+            Thread thread = new Thread(runnable, "event-filter");
+            thread.setDaemon(true);
+            return thread;
+        });
+        executor.setRemoveOnCancelPolicy(true);
+        return new FilterScheduler() {
+            @Override
+            public Task schedule(Runnable work, long delayMillis) {
+                ScheduledFuture<?> future = executor.schedule(work, delayMillis, TimeUnit.MILLISECONDS);
+                return () -> future.cancel(false);
+            }
+
+            @Override
+            public void shutdown() {
+                executor.shutdownNow();
+            }
+        };
+    }
+}
@@ -5,6 +5,8 @@ import androidx.lifecycle.MutableLiveData;
 import androidx.lifecycle.ViewModel;
 
 import com.example.ticketreservationapp.repository.AuthRepository;
+import com.example.ticketreservationapp.repository.FirebaseAuthRepository;
+import com.example.ticketreservationapp.repository.InstrumentedAuthRepository;
 
 import java.util.regex.Pattern;
 
@@ -16,7 +18,7 @@ public class LoginViewModel extends ViewModel {
     private final AuthRepository authRepository;
 
     public LoginViewModel() {
-        this.authRepository = new AuthRepository();
+        this.authRepository = new InstrumentedAuthRepository(new FirebaseAuthRepository());
     }
 
     // Visible for unit testing — allows injecting a mock repository
@@ -6,6 +6,8 @@ import androidx.lifecycle.ViewModel;
 
 import com.example.ticketreservationapp.model.Event;
 import com.example.ticketreservationapp.repository.EventRepository;
+import com.example.ticketreservationapp.repository.FirestoreEventRepository;
+import com.example.ticketreservationapp.repository.InstrumentedEventRepository;
 
 import java.util.List;
 
@@ -19,7 +21,7 @@ public class MyEventsViewModel extends ViewModel {
     private final MutableLiveData<Boolean> deleteSuccess = new MutableLiveData<>();
 
     public MyEventsViewModel() {
-        this.repository = new EventRepository();
+        this.repository = new InstrumentedEventRepository(new FirestoreEventRepository());
     }
 
     public MyEventsViewModel(EventRepository repository) {
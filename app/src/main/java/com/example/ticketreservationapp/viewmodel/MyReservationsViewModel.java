@@ -5,6 +5,8 @@ import androidx.lifecycle.MutableLiveData;
 import androidx.lifecycle.ViewModel;
 
 import com.example.ticketreservationapp.model.Reservation;
+import com.example.ticketreservationapp.repository.FirestoreReservationRepository;
+import com.example.ticketreservationapp.repository.InstrumentedReservationRepository;
 import com.example.ticketreservationapp.repository.ReservationRepository;
 
 import java.util.List;
@@ -19,7 +21,8 @@ public class MyReservationsViewModel extends ViewModel {
     private final MutableLiveData<Boolean> cancelSuccess = new MutableLiveData<>();
 
     public MyReservationsViewModel() {
-        this.repository = new ReservationRepository();
+        this.repository =
+                new InstrumentedReservationRepository(new FirestoreReservationRepository());
     }
 
     public MyReservationsViewModel(ReservationRepository repository) {
@@ -5,6 +5,8 @@ import androidx.lifecycle.MutableLiveData;
 import androidx.lifecycle.ViewModel;
 
 import com.example.ticketreservationapp.repository.AuthRepository;
+import com.example.ticketreservationapp.repository.FirebaseAuthRepository;
+import com.example.ticketreservationapp.repository.InstrumentedAuthRepository;
 import com.google.firebase.auth.PhoneAuthCredential;
 import com.google.firebase.auth.PhoneAuthProvider;
 
@@ -13,7 +15,7 @@ public class OtpViewModel extends ViewModel {
     private final AuthRepository authRepository;
 
     public OtpViewModel() {
-        this.authRepository = new AuthRepository();
+        this.authRepository = new InstrumentedAuthRepository(new FirebaseAuthRepository());
     }
 
     // Visible for unit testing — allows injecting a mock repository
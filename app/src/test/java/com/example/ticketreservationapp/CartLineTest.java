@@ -0,0 +1,52 @@
+package com.example.ticketreservationapp;
+
+import com.example.ticketreservationapp.model.CartLine;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class CartLineTest {
+
+    @Test
+    void constructor_setsFields() {
+        CartLine line = new CartLine("e1", 3);
+        assertEquals("e1", line.getEventId());
+        assertEquals(3, line.getNumberOfTickets());
+    }
+
+    @Test
+    void merge_sumsDuplicateEventsInFirstSeenOrder() {
+        List<CartLine> merged = CartLine.merge(Arrays.asList(
+                new CartLine("concert", 2),
+                new CartLine("parking", 1),
+                new CartLine("concert", 3)));
+
+        assertEquals(2, merged.size());
+        assertEquals("concert", merged.get(0).getEventId());
+        assertEquals(5, merged.get(0).getNumberOfTickets());
+        assertEquals("parking", merged.get(1).getEventId());
+        assertEquals(1, merged.get(1).getNumberOfTickets());
+    }
+
+    @Test
+    void merge_emptyCart_returnsEmpty() {
+        assertTrue(CartLine.merge(Collections.emptyList()).isEmpty());
+    }
+
+    @Test
+    void merge_rejectsNonPositiveCount() {
+        assertThrows(IllegalArgumentException.class,
+                () -> CartLine.merge(Collections.singletonList(new CartLine("e1", 0))));
+    }
+
+    @Test
+    void merge_rejectsMissingEvent() {
+        assertThrows(IllegalArgumentException.class,
+                () -> CartLine.merge(Collections.singletonList(new CartLine(null, 1))));
+    }
+}
@@ -0,0 +1,183 @@
+package com.example.ticketreservationapp;
+
+import com.example.ticketreservationapp.repository.Confirmation;
+import com.example.ticketreservationapp.repository.ConfirmationOutbox;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.File;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ConfirmationOutboxTest {
+
+    private ScheduledExecutorService executor;
+
+    @BeforeEach
+    void setUp() {
+        executor = Executors.newSingleThreadScheduledExecutor();
+    }
+
+    @AfterEach
+    void tearDown() {
+        executor.shutdownNow();
+    }
+
+    private static Confirmation confirmation(String id) {
+        return new Confirmation(id, id + "@example.com", null, "Subject " + id, "Text " + id);
+    }
+
+    /**
+     * Fails the first {@code failures} sends, then succeeds; a batch holding a
+     * {@code rejected} id always fails for good.
+     */
+    private static class FakeTransport implements ConfirmationOutbox.Transport {
+        final List<List<String>> batches = Collections.synchronizedList(new ArrayList<>());
+        final Set<String> rejected = new HashSet<>();
+        int failures;
+
+        FakeTransport(int failures) {
+            this.failures = failures;
+        }
+
+        @Override
+        public void send(List<Confirmation> batch, ConfirmationOutbox.SendCallback callback) {
+            List<String> ids = new ArrayList<>();
+            for (Confirmation c : batch) ids.add(c.getReservationId());
+            batches.add(ids);
+            if (!Collections.disjoint(ids, rejected)) {
+                callback.onError("invalid", false);
+            } else if (failures > 0) {
+                failures--;
+                callback.onError("offline", true);
+            } else {
+                callback.onSuccess();
+            }
+        }
+    }
+
+    /** Records saves and counts down once the outbox saves an empty queue. */
+    private static class DrainedStore extends ConfirmationOutbox.InMemoryStore {
+        final CountDownLatch drained = new CountDownLatch(1);
+        final List<Integer> savedSizes = Collections.synchronizedList(new ArrayList<>());
+
+        @Override
+        public void save(List<Confirmation> pending) {
+            super.save(pending);
+            savedSizes.add(pending.size());
+            if (pending.isEmpty()) drained.countDown();
+        }
+    }
+
+    @Test
+    void enqueue_persistsBeforeSending() throws Exception {
+        DrainedStore store = new DrainedStore();
+        FakeTransport transport = new FakeTransport(0);
+        ConfirmationOutbox outbox = new ConfirmationOutbox(store, transport, executor, 1);
+
+        outbox.enqueue(confirmation("r1"));
+
+        assertTrue(store.drained.await(5, TimeUnit.SECONDS));
+        assertEquals(Arrays.asList(1, 0), store.savedSizes);
+        assertEquals(Collections.singletonList(Collections.singletonList("r1")), transport.batches);
+    }
+
+    @Test
+    void failedSend_retriesUntilDelivered() throws Exception {
+        DrainedStore store = new DrainedStore();
+        FakeTransport transport = new FakeTransport(3);
+        ConfirmationOutbox outbox = new ConfirmationOutbox(store, transport, executor, 1);
+
+        outbox.enqueue(confirmation("r1"));
+
+        assertTrue(store.drained.await(5, TimeUnit.SECONDS));
+        assertEquals(4, transport.batches.size());
+    }
+
+    @Test
+    void permanentFailure_dropsTheConfirmation() throws Exception {
+        DrainedStore store = new DrainedStore();
+        FakeTransport transport = new FakeTransport(0);
+        transport.rejected.add("r1");
+        ConfirmationOutbox outbox = new ConfirmationOutbox(store, transport, executor, 1);
+
+        outbox.enqueue(confirmation("r1"));
+
+        assertTrue(store.drained.await(5, TimeUnit.SECONDS));
+        assertEquals(Collections.singletonList(Collections.singletonList("r1")), transport.batches);
+    }
+
+    @Test
+    void permanentBatchFailure_stillDeliversTheOthers() throws Exception {
+        DrainedStore store = new DrainedStore();
+        store.save(Arrays.asList(confirmation("r1"), confirmation("r2"), confirmation("r3")));
+        FakeTransport transport = new FakeTransport(0);
+        transport.rejected.add("r2");
+
+        new ConfirmationOutbox(store, transport, executor, 1);
+
+        assertTrue(store.drained.await(5, TimeUnit.SECONDS));
+        assertEquals(Arrays.asList(
+                Arrays.asList("r1", "r2", "r3"),
+                Collections.singletonList("r1"),
+                Collections.singletonList("r2"),
+                Collections.singletonList("r3")), transport.batches);
+    }
+
+    @Test
+    void constructor_replaysPendingFromStore() throws Exception {
+        DrainedStore store = new DrainedStore();
+        store.save(Arrays.asList(confirmation("r1"), confirmation("r2")));
+        FakeTransport transport = new FakeTransport(0);
+
+        new ConfirmationOutbox(store, transport, executor, 1);
+
+        assertTrue(store.drained.await(5, TimeUnit.SECONDS));
+        assertEquals(Collections.singletonList(Arrays.asList("r1", "r2")), transport.batches);
+    }
+
+    @Test
+    void enqueue_withoutRecipient_isDropped() throws Exception {
+        DrainedStore store = new DrainedStore();
+        FakeTransport transport = new FakeTransport(0);
+        ConfirmationOutbox outbox = new ConfirmationOutbox(store, transport, executor, 1);
+
+        outbox.enqueue(new Confirmation("r1", null, "", "s", "t"));
+        executor.submit(() -> {}).get(5, TimeUnit.SECONDS);
+
+        assertTrue(transport.batches.isEmpty());
+        assertTrue(store.load().isEmpty());
+    }
+
+    @Test
+    void fileStore_roundTripsConfirmations(@TempDir File dir) throws Exception {
+        ConfirmationOutbox.FileStore store =
+                new ConfirmationOutbox.FileStore(new File(dir, "outbox"));
+        assertTrue(store.load().isEmpty());
+
+        store.save(Arrays.asList(confirmation("r1"),
+                new Confirmation("r2", null, "+15145550000", "s", "line1\nline2")));
+        List<Confirmation> loaded = store.load();
+
+        assertEquals(2, loaded.size());
+        assertEquals("r1", loaded.get(0).getReservationId());
+        assertEquals("r1@example.com", loaded.get(0).getEmail());
+        assertNull(loaded.get(0).getPhone());
+        assertNull(loaded.get(1).getEmail());
+        assertEquals("+15145550000", loaded.get(1).getPhone());
+        assertEquals("line1\nline2", loaded.get(1).getText());
+    }
+}
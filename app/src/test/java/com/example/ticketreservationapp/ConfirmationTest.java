@@ -0,0 +1,63 @@
+package com.example.ticketreservationapp;
+
+import com.example.ticketreservationapp.model.Reservation;
+import com.example.ticketreservationapp.repository.Confirmation;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ConfirmationTest {
+
+    private static Reservation reservation() {
+        Reservation r = new Reservation("u1", "e1", "Concert", "2026-05-01",
+                "Montreal", 2, 100.0, 0L, "ABC123");
+        r.setId("r1");
+        return r;
+    }
+
+    @Test
+    void forReservation_formatsSubjectAndText() {
+        Confirmation c = Confirmation.forReservation(reservation(), "a@b.com", null);
+
+        assertEquals("r1", c.getReservationId());
+        assertEquals("Reservation confirmed: Concert", c.getSubject());
+        assertTrue(c.getText().contains("Tickets: 2"));
+        assertTrue(c.getText().contains("Total: $100.00"));
+        assertTrue(c.getText().contains("Confirmation code: ABC123"));
+    }
+
+    @Test
+    void mailDocument_addressedToEmail() {
+        Confirmation c = Confirmation.forReservation(reservation(), "a@b.com", null);
+
+        Map<String, Object> mail = c.mailDocument();
+        assertNotNull(mail);
+        assertEquals("a@b.com", mail.get("to"));
+        assertEquals("r1", mail.get("reservationId"));
+        @SuppressWarnings("unchecked")
+        Map<String, Object> message = (Map<String, Object>) mail.get("message");
+        assertEquals(c.getSubject(), message.get("subject"));
+        assertEquals(c.getText(), message.get("text"));
+        assertNull(c.smsDocument());
+    }
+
+    @Test
+    void smsDocument_addressedToPhone() {
+        Confirmation c = Confirmation.forReservation(reservation(), "", "+15145550000");
+
+        Map<String, Object> sms = c.smsDocument();
+        assertNotNull(sms);
+        assertEquals("+15145550000", sms.get("to"));
+        assertEquals(c.getText(), sms.get("body"));
+        assertNull(c.mailDocument());
+    }
+
+    @Test
+    void hasRecipient_falseWithoutEmailOrPhone() {
+        assertFalse(Confirmation.forReservation(reservation(), "", null).hasRecipient());
+        assertTrue(Confirmation.forReservation(reservation(), null, "+1").hasRecipient());
+    }
+}
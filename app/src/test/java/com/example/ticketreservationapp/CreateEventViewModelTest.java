@@ -3,7 +3,8 @@ package com.example.ticketreservationapp;
 import androidx.lifecycle.LiveData;
 
 import com.example.ticketreservationapp.model.Event;
-import com.example.ticketreservationapp.repository.EventRepository;
+import com.example.ticketreservationapp.repository.FirestoreEventRepository;
+import com.example.ticketreservationapp.repository.InMemoryEventRepository;
 import com.example.ticketreservationapp.viewmodel.CreateEventViewModel;
 
 import org.junit.jupiter.api.BeforeEach;
@@ -19,7 +20,7 @@ import static org.junit.jupiter.api.Assertions.*;
 class CreateEventViewModelTest {
 
     /** Hand-rolled fake — avoids Mockito/ByteBuddy JDK compatibility issues. */
-    private static class FakeEventRepository extends EventRepository {
+    private static class FakeEventRepository extends InMemoryEventRepository {
         int createCalls = 0;
         int updateCalls = 0;
         Event lastCreatedEvent;
@@ -28,8 +29,6 @@ class CreateEventViewModelTest {
         String errorMessage = "boom";
         boolean invokeCallback = true;
 
-        FakeEventRepository() { super(null); }
-
         @Override
         public void createEvent(Event event, EventCallback callback) {
             createCalls++;
@@ -226,6 +225,23 @@ class CreateEventViewModelTest {
         assertEquals(0.0, fakeRepo.lastCreatedEvent.getPrice(), 0.001);
     }
 
+    @Test
+    void createEvent_belowShardingThreshold_keepsSingleCounter() {
+        viewModel.createEvent("Concert", "Great show", "2026-06-01", "Montreal", "Concerts",
+                "25.0", String.valueOf(CreateEventViewModel.SHARDED_MIN_SEATS - 1),
+                "org1", "Organizer");
+        assertEquals(0, fakeRepo.lastCreatedEvent.getSeatShards());
+    }
+
+    @Test
+    void createEvent_largeEvent_shardsItsSeatCounter() {
+        viewModel.createEvent("Stadium", "Great show", "2026-06-01", "Montreal", "Concerts",
+                "25.0", String.valueOf(CreateEventViewModel.SHARDED_MIN_SEATS),
+                "org1", "Organizer");
+        assertEquals(FirestoreEventRepository.HIGH_DEMAND_SEAT_SHARDS,
+                fakeRepo.lastCreatedEvent.getSeatShards());
+    }
+
     // updateEvent validation ──────────────────────────────────────────────
 
     @Test
@@ -0,0 +1,53 @@
+package com.example.ticketreservationapp;
+
+import com.example.ticketreservationapp.repository.DocumentSize;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class DocumentSizeTest {
+
+    // Name of "events/abc": "events" (7) + "abc" (4) + 16.
+    private static final long NAME = 7 + 4 + 16;
+    private static final long OVERHEAD = 32;
+
+    @Test
+    void of_emptyDocument_isNameAndOverhead() {
+        assertEquals(NAME + OVERHEAD, DocumentSize.of("events/abc", new HashMap<>()));
+    }
+
+    @Test
+    void of_countsFieldNamesAndValues() {
+        Map<String, Object> data = new LinkedHashMap<>();
+        data.put("title", "Jazz");         // 6 + 5
+        data.put("price", 25.0);           // 6 + 8
+        data.put("totalSeats", 100L);      // 11 + 8
+        data.put("deleted", false);        // 8 + 1
+        data.put("updatedAt", new Date()); // 10 + 8
+        data.put("note", null);            // 5 + 1
+        assertEquals(NAME + OVERHEAD + 11 + 14 + 19 + 9 + 18 + 6,
+                DocumentSize.of("events/abc", data));
+    }
+
+    @Test
+    void of_nestedMapsAndArrays() {
+        Map<String, Object> data = new HashMap<>();
+        data.put("tags", Arrays.asList("a", "bc"));                 // 5 + (2 + 3)
+        data.put("venue", Collections.singletonMap("city", "Oslo")); // 6 + (5 + 5)
+        assertEquals(NAME + OVERHEAD + 10 + 16, DocumentSize.of("events/abc", data));
+    }
+
+    @Test
+    void of_multiByteStrings_countUtf8Bytes() {
+        Map<String, Object> data = Collections.singletonMap("t", "café"); // 2 + (5 + 1)
+        assertEquals(NAME + OVERHEAD + 8, DocumentSize.of("events/abc", data));
+    }
+}
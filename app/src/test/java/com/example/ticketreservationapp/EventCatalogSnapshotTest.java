@@ -0,0 +1,94 @@
+package com.example.ticketreservationapp;
+
+import com.example.ticketreservationapp.model.Event;
+import com.example.ticketreservationapp.model.EventCategory;
+import com.example.ticketreservationapp.search.EventCatalogSnapshot;
+import com.example.ticketreservationapp.search.FilterCriteria;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class EventCatalogSnapshotTest {
+
+    // Includes a custom category and a date that isn't yyyy-MM-dd, which the columns can't answer.
+    private static final String[] CATEGORIES = { "Concerts", "Movies", "sports", "Workshops", null };
+    private static final String[] LOCATIONS = { "Montreal, QC", "Toronto, ON", "Ottawa, ON", null };
+    private static final String[] DATES = { "2026-06-01", "2026-06-02", "2026-07-15", "TBA", null };
+
+    private List<Event> randomCatalog(Random random, int size) {
+        List<Event> events = new ArrayList<>();
+        for (int i = 0; i < size; i++) {
+            events.add(new Event("e" + i, "Event " + i, "",
+                    DATES[random.nextInt(DATES.length)],
+                    LOCATIONS[random.nextInt(LOCATIONS.length)],
+                    CATEGORIES[random.nextInt(CATEGORIES.length)],
+                    random.nextInt(100), random.nextInt(50), 50, "org1", "Organizer"));
+        }
+        return events;
+    }
+
+    private FilterCriteria randomCriteria(Random random) {
+        FilterCriteria criteria = FilterCriteria.NONE;
+        if (random.nextBoolean()) {
+            String category = CATEGORIES[random.nextInt(CATEGORIES.length)];
+            criteria = criteria.withCategory(category == null ? "" : category.toUpperCase());
+        }
+        if (random.nextBoolean()) criteria = criteria.withLocation(random.nextBoolean() ? "on" : "montreal");
+        if (random.nextBoolean()) criteria = criteria.withDate(DATES[random.nextInt(DATES.length)]);
+        if (random.nextBoolean()) criteria = criteria.withDateRange("2026-06-02", random.nextBoolean() ? null : "2026-07-01");
+        return criteria;
+    }
+
+    @Test
+    void select_randomCriteria_matchesFieldChecks() {
+        Random random = new Random(11);
+        List<Event> events = randomCatalog(random, 300);
+        EventCatalogSnapshot snapshot = EventCatalogSnapshot.build(events);
+        BitSet all = new BitSet();
+        all.set(0, events.size());
+        for (int run = 0; run < 200; run++) {
+            FilterCriteria criteria = randomCriteria(random);
+            List<Integer> expected = new ArrayList<>();
+            for (int i = 0; i < events.size(); i++) {
+                if (criteria.matchesFields(events.get(i))) expected.add(i);
+            }
+            int[] selected = snapshot.select(criteria, all);
+            assertEquals(expected.size(), selected.length, criteria.getCategory() + criteria.getLocation());
+            for (int i = 0; i < selected.length; i++) assertEquals((int) expected.get(i), selected[i]);
+        }
+    }
+
+    @Test
+    void select_fromPositions_keepsOnlyMatchesInGivenOrder() {
+        List<Event> events = Arrays.asList(
+            new Event("a", "A", "", "2026-06-01", "Montreal", "Concerts", 10, 1, 1, "", ""),
+            new Event("b", "B", "", "2026-06-01", "Toronto", "Movies", 10, 1, 1, "", ""),
+            new Event("c", "C", "", "2026-06-01", "Montreal", "Concerts", 10, 1, 1, "", ""));
+        EventCatalogSnapshot snapshot = EventCatalogSnapshot.build(events);
+        assertArrayEquals(new int[] { 2, 0 },
+                snapshot.select(FilterCriteria.NONE.withCategory("Concerts"), new int[] { 2, 1, 0 }));
+    }
+
+    @Test
+    void build_copiesColumnsAndSharesRepeatedLocations() {
+        Event concert = new Event("a", "A", "", "1970-01-11", "Montreal", "Concerts", 42.5, 7, 10, "", "");
+        Event other = new Event("b", "B", "", null, "MONTREAL", "Workshops", 0, 0, 10, "", "");
+        EventCatalogSnapshot snapshot = EventCatalogSnapshot.build(Arrays.asList(concert, other));
+
+        assertEquals(2, snapshot.size());
+        assertEquals(42.5, snapshot.price(0));
+        assertEquals(7, snapshot.availableSeats(0));
+        assertEquals(10, snapshot.epochDay(0));
+        assertEquals(EventCategory.CONCERTS, snapshot.category(0));
+        assertEquals(EventCategory.OTHER, snapshot.category(1));
+        assertSame(other, snapshot.event(1));
+        assertEquals(1, snapshot.distinctLocations());
+    }
+}
@@ -0,0 +1,60 @@
+package com.example.ticketreservationapp;
+
+import com.example.ticketreservationapp.model.Event;
+import com.example.ticketreservationapp.model.EventDates;
+import com.example.ticketreservationapp.search.EventDateIndex;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class EventDateIndexTest {
+
+    private static Event dated(String date) {
+        return new Event(null, "T", "D", date, "L", "Concerts", 1, 1, 1, "o", "O");
+    }
+
+    private final List<Event> events = Arrays.asList(
+            dated("2026-06-15"), dated("2026-06-01"), dated("tbd"),
+            dated("2026-07-01"), dated("2026-06-01"), dated("1969-12-31"));
+    private final EventDateIndex index = EventDateIndex.build(events);
+
+    private static int day(String date) {
+        return EventDates.parseEpochDay(date);
+    }
+
+    private static BitSet bits(int... positions) {
+        BitSet bits = new BitSet();
+        for (int p : positions) bits.set(p);
+        return bits;
+    }
+
+    @Test
+    void range_isInclusiveOnBothEnds() {
+        assertEquals(bits(0, 1, 4), index.range(day("2026-06-01"), day("2026-06-15")));
+        assertEquals(3, index.count(day("2026-06-01"), day("2026-06-15")));
+    }
+
+    @Test
+    void range_openEnds() {
+        assertEquals(bits(0, 3), index.range(day("2026-06-02"), EventDates.NO_DATE));
+        assertEquals(bits(1, 4, 5), index.range(EventDates.NO_DATE, day("2026-06-01")));
+        assertEquals(bits(0, 1, 3, 4, 5), index.range(EventDates.NO_DATE, EventDates.NO_DATE));
+    }
+
+    @Test
+    void range_emptyOrInverted_matchesNothing() {
+        assertTrue(index.range(day("2026-06-02"), day("2026-06-14")).isEmpty());
+        assertTrue(index.range(day("2026-07-01"), day("2026-06-01")).isEmpty());
+        assertEquals(0, index.count(day("2026-07-01"), day("2026-06-01")));
+    }
+
+    @Test
+    void range_beforeEpoch_isSupported() {
+        assertEquals(bits(5), index.range(day("1969-01-01"), day("1969-12-31")));
+    }
+}
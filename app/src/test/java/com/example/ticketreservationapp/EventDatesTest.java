@@ -0,0 +1,68 @@
+package com.example.ticketreservationapp;
+
+import com.example.ticketreservationapp.model.EventDates;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class EventDatesTest {
+
+    @Test
+    void parseEpochDay_unixEpoch_isZero() {
+        assertEquals(0, EventDates.parseEpochDay("1970-01-01"));
+    }
+
+    @Test
+    void parseEpochDay_knownDates() {
+        assertEquals(20605, EventDates.parseEpochDay("2026-06-01"));
+        assertEquals(-1, EventDates.parseEpochDay("1969-12-31"));
+        assertEquals(11016, EventDates.parseEpochDay("2000-02-29"));
+    }
+
+    @Test
+    void parseEpochDay_consecutiveDaysDifferByOne() {
+        assertEquals(EventDates.parseEpochDay("2026-03-01") - 1,
+                EventDates.parseEpochDay("2026-02-28"));
+        assertEquals(EventDates.parseEpochDay("2027-01-01") - 1,
+                EventDates.parseEpochDay("2026-12-31"));
+    }
+
+    @Test
+    void parseEpochDay_acceptsUnpaddedMonthAndDay() {
+        assertEquals(EventDates.parseEpochDay("2026-06-01"), EventDates.parseEpochDay("2026-6-1"));
+    }
+
+    @Test
+    void parseEpochDay_rejectsMalformedInput() {
+        assertEquals(EventDates.NO_DATE, EventDates.parseEpochDay(null));
+        assertEquals(EventDates.NO_DATE, EventDates.parseEpochDay(""));
+        assertEquals(EventDates.NO_DATE, EventDates.parseEpochDay("June 1st"));
+        assertEquals(EventDates.NO_DATE, EventDates.parseEpochDay("26-06-01"));
+        assertEquals(EventDates.NO_DATE, EventDates.parseEpochDay("2026-06"));
+        assertEquals(EventDates.NO_DATE, EventDates.parseEpochDay("2026-06-01T10:00"));
+    }
+
+    @Test
+    void parseEpochDay_rejectsImpossibleDates() {
+        assertEquals(EventDates.NO_DATE, EventDates.parseEpochDay("2026-13-01"));
+        assertEquals(EventDates.NO_DATE, EventDates.parseEpochDay("2026-02-29"));
+        assertEquals(EventDates.NO_DATE, EventDates.parseEpochDay("2026-04-31"));
+        assertEquals(EventDates.NO_DATE, EventDates.parseEpochDay("2026-00-10"));
+    }
+
+    @Test
+    void formatEpochDay_producesPaddedIsoDate() {
+        assertEquals("1970-01-01", EventDates.formatEpochDay(0));
+        assertEquals("2026-06-01", EventDates.formatEpochDay(EventDates.parseEpochDay("2026-6-1")));
+        assertEquals("2024-02-29", EventDates.formatEpochDay(EventDates.parseEpochDay("2024-02-29")));
+        assertEquals("1969-12-31", EventDates.formatEpochDay(-1));
+    }
+
+    @Test
+    void formatEpochDay_roundTripsWithParse() {
+        for (int day = -800; day < 40000; day += 37) {
+            assertEquals(day, EventDates.parseEpochDay(EventDates.formatEpochDay(day)));
+        }
+    }
+}
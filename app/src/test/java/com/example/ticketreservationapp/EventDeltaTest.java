@@ -0,0 +1,58 @@
+package com.example.ticketreservationapp;
+
+import com.example.ticketreservationapp.model.Event;
+import com.example.ticketreservationapp.model.EventDelta;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.Collections;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class EventDeltaTest {
+
+    private static Event event(String id, String title, int seats) {
+        return new Event(id, title, "desc", "2026-06-01", "Montreal", "Concerts",
+                10.0, seats, 100, "org1", "Organizer");
+    }
+
+    @Test
+    void between_identicalFeeds_isEmpty() {
+        EventDelta delta = EventDelta.between(
+                Arrays.asList(event("a", "A", 5), event("b", "B", 5)),
+                Arrays.asList(event("a", "A", 5), event("b", "B", 5)));
+        assertTrue(delta.isEmpty());
+    }
+
+    @Test
+    void between_reportsAddedChangedAndRemoved() {
+        EventDelta delta = EventDelta.between(
+                Arrays.asList(event("a", "A", 5), event("b", "B", 5)),
+                Arrays.asList(event("a", "A", 4), event("c", "C", 5)));
+
+        assertEquals(1, delta.getAdded().size());
+        assertEquals("c", delta.getAdded().get(0).getId());
+        assertEquals(1, delta.getChanged().size());
+        assertEquals(4, delta.getChanged().get(0).getAvailableSeats());
+        assertEquals(Collections.singletonList("b"), delta.getRemovedIds());
+        assertFalse(delta.isEmpty());
+    }
+
+    @Test
+    void between_reorderOnly_isNotEmpty() {
+        EventDelta delta = EventDelta.between(
+                Arrays.asList(event("a", "A", 5), event("b", "B", 5)),
+                Arrays.asList(event("b", "B", 5), event("a", "A", 5)));
+
+        assertTrue(delta.getAdded().isEmpty());
+        assertTrue(delta.getChanged().isEmpty());
+        assertTrue(delta.getRemovedIds().isEmpty());
+        assertFalse(delta.isEmpty());
+    }
+
+    @Test
+    void between_emptyFeeds_isEmpty() {
+        assertTrue(EventDelta.between(Collections.emptyList(), Collections.emptyList()).isEmpty());
+    }
+}
@@ -0,0 +1,175 @@
+package com.example.ticketreservationapp;
+
+import com.example.ticketreservationapp.model.Event;
+import com.example.ticketreservationapp.model.SeatHold;
+import com.example.ticketreservationapp.repository.EventRepository;
+import com.example.ticketreservationapp.repository.InMemoryEventRepository;
+import com.example.ticketreservationapp.repository.InMemoryReservationRepository;
+import com.example.ticketreservationapp.repository.ReservationRepository;
+import com.example.ticketreservationapp.viewmodel.EventDetailViewModel;
+import com.google.firebase.firestore.ListenerRegistration;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@ExtendWith(InstantTaskExecutorExtension.class)
+class EventDetailViewModelTest {
+
+    /** Fails confirms with a programmable message instead of confirming. */
+    private static class FailingConfirmRepository extends InMemoryReservationRepository {
+        String confirmError;
+
+        FailingConfirmRepository(InMemoryEventRepository events) {
+            super(events);
+        }
+
+        @Override
+        public void confirmHold(String holdId, ReservationCallback callback) {
+            if (confirmError != null) callback.onError(confirmError);
+            else super.confirmHold(holdId, callback);
+        }
+    }
+
+    private InMemoryEventRepository events;
+    private FailingConfirmRepository reservations;
+    private EventDetailViewModel viewModel;
+    private String eventId;
+
+    @BeforeEach
+    void setUp() {
+        events = new InMemoryEventRepository();
+        reservations = new FailingConfirmRepository(events);
+        viewModel = new EventDetailViewModel(reservations, events);
+        Event event = new Event(null, "Gala", "", "2026-05-01", "Montreal", "Concerts", 10.0,
+                10, 10, "org-1", "Org");
+        events.createEvent(event, new EventRepository.EventCallback() {
+            @Override public void onSuccess() {}
+            @Override public void onError(String message) { fail(message); }
+        });
+        eventId = event.getId();
+    }
+
+    private static SeatHold savedHold(long expiresAt) {
+        SeatHold hold = new SeatHold("user-1", "event-1", 2, 0, expiresAt);
+        hold.setId("hold-saved");
+        return hold;
+    }
+
+    @Test
+    void createHold_publishesHold() {
+        viewModel.createHold("user-1", eventId, 3);
+
+        assertEquals(3, viewModel.getHold().getValue().getNumberOfTickets());
+        assertEquals(7, events.availableSeats(eventId));
+    }
+
+    @Test
+    void createHold_failure_setsError() {
+        viewModel.createHold("user-1", eventId, 11);
+
+        assertNull(viewModel.getHold().getValue());
+        assertEquals(ReservationRepository.NOT_ENOUGH_SEATS, viewModel.getErrorMessage().getValue());
+    }
+
+    @Test
+    void confirmHold_publishesReservationAndClearsHold() {
+        viewModel.createHold("user-1", eventId, 3);
+
+        viewModel.confirmHold();
+
+        assertNull(viewModel.getHold().getValue());
+        assertEquals(3, viewModel.getReservation().getValue().getNumberOfTickets());
+        viewModel.onConfirmationShown();
+        assertNull(viewModel.getReservation().getValue());
+    }
+
+    @Test
+    void confirmHold_retryableFailure_keepsHold() {
+        viewModel.createHold("user-1", eventId, 3);
+        reservations.confirmError = "Network unavailable";
+
+        viewModel.confirmHold();
+
+        assertNotNull(viewModel.getHold().getValue());
+        assertEquals("Network unavailable", viewModel.getErrorMessage().getValue());
+    }
+
+    @Test
+    void confirmHold_expired_dropsHold() {
+        viewModel.createHold("user-1", eventId, 3);
+        reservations.confirmError = ReservationRepository.HOLD_EXPIRED;
+
+        viewModel.confirmHold();
+
+        assertNull(viewModel.getHold().getValue());
+    }
+
+    @Test
+    void releaseHold_returnsSeatsOnce() {
+        viewModel.createHold("user-1", eventId, 3);
+
+        viewModel.releaseHold();
+        viewModel.releaseHold();
+
+        assertNull(viewModel.getHold().getValue());
+        assertEquals(10, events.availableSeats(eventId));
+    }
+
+    @Test
+    void restoreHold_unexpired_isShownAgain() {
+        viewModel.restoreHold(savedHold(System.currentTimeMillis() + 60_000));
+        assertEquals("hold-saved", viewModel.getHold().getValue().getId());
+    }
+
+    @Test
+    void restoreHold_expired_isDropped() {
+        viewModel.restoreHold(savedHold(System.currentTimeMillis() - 1));
+        assertNull(viewModel.getHold().getValue());
+    }
+
+    @Test
+    void restoreHold_afterViewModelKnowsHold_isIgnored() {
+        viewModel.createHold("user-1", eventId, 3);
+        viewModel.releaseHold();
+
+        viewModel.restoreHold(savedHold(System.currentTimeMillis() + 60_000));
+
+        assertNull(viewModel.getHold().getValue());
+    }
+
+    @Test
+    void getAvailableSeats_followsTheEventWhileObserved() {
+        List<Integer> seen = new ArrayList<>();
+        viewModel.getAvailableSeats(eventId).observeForever(seen::add);
+
+        viewModel.createHold("user-1", eventId, 3);
+
+        assertEquals(List.of(10, 7), seen);
+        assertSame(viewModel.getAvailableSeats(eventId), viewModel.getAvailableSeats(eventId));
+    }
+
+    @Test
+    void getAvailableSeats_listenerError_isReportedAndCountKept() {
+        InMemoryEventRepository failing = new InMemoryEventRepository() {
+            @Override
+            public ListenerRegistration listenToAvailableSeats(String id, SeatsListener listener) {
+                listener.onSeatsChanged(4);
+                listener.onError("permission denied");
+                return () -> {};
+            }
+        };
+        EventDetailViewModel failingViewModel = new EventDetailViewModel(reservations, failing);
+        failingViewModel.getErrorMessage().observeForever(message -> {});
+
+        failingViewModel.getAvailableSeats(eventId).observeForever(seats -> {});
+
+        assertEquals(4, failingViewModel.getAvailableSeats(eventId).getValue());
+        assertEquals("permission denied", failingViewModel.getErrorMessage().getValue());
+    }
+}
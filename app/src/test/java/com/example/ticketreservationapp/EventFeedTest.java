@@ -0,0 +1,111 @@
+package com.example.ticketreservationapp;
+
+import com.example.ticketreservationapp.model.Event;
+import com.example.ticketreservationapp.model.EventFeed;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Date;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class EventFeedTest {
+
+    private static Event event(String id, String date, Long updatedAt) {
+        Event event = new Event(id, "Title " + id, "desc", date, "Montreal", "Concerts",
+                10.0, 5, 10, "org1", "Organizer");
+        if (updatedAt != null) event.setUpdatedAt(new Date(updatedAt));
+        return event;
+    }
+
+    private static List<String> ids(List<Event> events) {
+        List<String> ids = new ArrayList<>();
+        for (Event event : events) ids.add(event.getId());
+        return ids;
+    }
+
+    @Test
+    void order_sortsByDateThenId() {
+        List<Event> events = new ArrayList<>(Arrays.asList(
+                event("b", "2026-06-02", null),
+                event("c", "2026-06-01", null),
+                event("a", "2026-06-02", null)));
+        Collections.sort(events, EventFeed.ORDER);
+        assertEquals(Arrays.asList("c", "a", "b"), ids(events));
+    }
+
+    @Test
+    void order_followsParsedDateNotTheDateString() {
+        List<Event> events = new ArrayList<>(Arrays.asList(
+                event("a", "2026-6-10", null),
+                event("b", "2026-06-09", null),
+                event("c", "someday", null)));
+        Collections.sort(events, EventFeed.ORDER);
+        assertEquals(Arrays.asList("c", "b", "a"), ids(events));
+    }
+
+    @Test
+    void watermark_isNewestUpdatedAt() {
+        assertEquals(new Date(30), EventFeed.watermark(Arrays.asList(
+                event("a", "2026-06-01", 10L),
+                event("b", "2026-06-01", 30L),
+                event("c", "2026-06-01", null))));
+    }
+
+    @Test
+    void watermark_noTimestamps_isNull() {
+        assertNull(EventFeed.watermark(Collections.singletonList(event("a", "2026-06-01", null))));
+    }
+
+    @Test
+    void applyChanges_replacesRemovesAndInsertsInOrder() {
+        List<Event> feed = Arrays.asList(
+                event("a", "2026-06-01", 1L),
+                event("b", "2026-06-02", 1L),
+                event("d", "2026-06-04", 1L));
+        Event changedB = event("b", "2026-06-02", 2L);
+        changedB.setTitle("Changed");
+        Event deletedD = event("d", "2026-06-04", 2L);
+        deletedD.setDeleted(true);
+        Event newC = event("c", "2026-06-03", 2L);
+
+        List<Event> merged = EventFeed.applyChanges(feed, Arrays.asList(changedB, deletedD, newC));
+
+        assertEquals(Arrays.asList("a", "b", "c"), ids(merged));
+        assertEquals("Changed", merged.get(1).getTitle());
+    }
+
+    @Test
+    void applyChanges_leavesEventsPastTheFeedForPaging() {
+        List<Event> feed = Arrays.asList(event("a", "2026-06-01", 1L), event("b", "2026-06-02", 1L));
+        Event moved = event("a", "2026-07-01", 2L);
+        Event later = event("z", "2026-08-01", 2L);
+
+        List<Event> merged = EventFeed.applyChanges(feed, Arrays.asList(moved, later));
+
+        assertEquals(Collections.singletonList("b"), ids(merged));
+    }
+
+    @Test
+    void applyChanges_newestCopyWins() {
+        List<Event> feed = Collections.singletonList(event("a", "2026-06-01", 1L));
+        Event older = event("a", "2026-06-01", 2L);
+        older.setTitle("Older");
+        Event newer = event("a", "2026-06-01", 3L);
+        newer.setTitle("Newer");
+
+        List<Event> merged = EventFeed.applyChanges(feed, Arrays.asList(newer, older));
+
+        assertEquals("Newer", merged.get(0).getTitle());
+    }
+
+    @Test
+    void applyChanges_emptyFeed_staysEmpty() {
+        assertTrue(EventFeed.applyChanges(Collections.emptyList(),
+                Collections.singletonList(event("a", "2026-06-01", 1L))).isEmpty());
+    }
+}
@@ -0,0 +1,284 @@
+package com.example.ticketreservationapp;
+
+import com.example.ticketreservationapp.model.Event;
+import com.example.ticketreservationapp.model.EventCategory;
+import com.example.ticketreservationapp.search.EventFacets;
+import com.example.ticketreservationapp.search.EventFilter;
+import com.example.ticketreservationapp.search.FilterCriteria;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class EventFilterTest {
+
+    private static final String[] TITLES = {
+        "Rock Concert", "Jazz Night", "Concert Hall Gala", "Movie Marathon",
+        "Hockey Game", "Road Trip", "Comedy Show", "Classical Concerto"
+    };
+    private static final String[] CATEGORIES = { "Concerts", "Movies", "Sports", "Travel" };
+    private static final String[] LOCATIONS = { "Montreal, QC", "Toronto, ON", "Ottawa, ON", "Quebec City" };
+    private static final String[] DATES = { "2026-06-01", "2026-06-02", "2026-07-15" };
+    private static final String[] QUERIES = { "", "c", "co", "con", "conc", "concert", "r", "ro", "rock", "jazz n" };
+
+    private List<Event> randomCatalog(Random random, int size) {
+        List<Event> events = new ArrayList<>();
+        for (int i = 0; i < size; i++) {
+            events.add(new Event("e" + i,
+                    TITLES[random.nextInt(TITLES.length)],
+                    "Description " + i,
+                    DATES[random.nextInt(DATES.length)],
+                    LOCATIONS[random.nextInt(LOCATIONS.length)],
+                    CATEGORIES[random.nextInt(CATEGORIES.length)],
+                    10.0 + i, 50, 100, "org1", "Organizer"));
+        }
+        return events;
+    }
+
+    private FilterCriteria randomStep(Random random, FilterCriteria criteria) {
+        switch (random.nextInt(6)) {
+            case 0: return criteria.withSearchQuery(QUERIES[random.nextInt(QUERIES.length)]);
+            case 1: return criteria.withCategory(random.nextBoolean() ? "" : CATEGORIES[random.nextInt(CATEGORIES.length)]);
+            case 2: return criteria.withLocation(random.nextBoolean() ? "" : LOCATIONS[random.nextInt(LOCATIONS.length)].substring(0, 3));
+            case 3: return criteria.withDate(random.nextBoolean() ? "" : DATES[random.nextInt(DATES.length)]);
+            case 4: return criteria.withDateRange(randomBound(random), randomBound(random));
+            default: return FilterCriteria.NONE;
+        }
+    }
+
+    private String randomBound(Random random) {
+        return random.nextInt(3) == 0 ? null : DATES[random.nextInt(DATES.length)];
+    }
+
+    // Equivalence with a full scan ─────────────────────────────────────────
+
+    @Test
+    void apply_randomFilterSequences_matchFullScan() {
+        Random random = new Random(42);
+        for (int run = 0; run < 50; run++) {
+            List<Event> catalog = randomCatalog(random, 200);
+            EventFilter incremental = new EventFilter(catalog);
+            EventFilter reference = new EventFilter(catalog);
+            FilterCriteria criteria = FilterCriteria.NONE;
+            for (int step = 0; step < 40; step++) {
+                criteria = randomStep(random, criteria);
+                assertArrayEquals(reference.fullScan(criteria), incremental.apply(criteria),
+                        "run " + run + " step " + step);
+            }
+        }
+    }
+
+    @Test
+    void apply_typingQueryOneCharAtATime_matchesFullScan() {
+        List<Event> catalog = randomCatalog(new Random(7), 500);
+        EventFilter incremental = new EventFilter(catalog);
+        EventFilter reference = new EventFilter(catalog);
+        String query = "concerto";
+        for (int i = 0; i <= query.length(); i++) {
+            FilterCriteria criteria = FilterCriteria.NONE.withSearchQuery(query.substring(0, i));
+            assertArrayEquals(reference.fullScan(criteria), incremental.apply(criteria));
+        }
+        for (int i = query.length(); i >= 0; i--) {
+            FilterCriteria criteria = FilterCriteria.NONE.withSearchQuery(query.substring(0, i));
+            assertArrayEquals(reference.fullScan(criteria), incremental.apply(criteria));
+        }
+    }
+
+    // Reuse of the previous result ─────────────────────────────────────────
+
+    @Test
+    void apply_narrowingQuery_onlyRescansPreviousResult() {
+        List<Event> catalog = randomCatalog(new Random(1), 300);
+        EventFilter filter = new EventFilter(catalog);
+        int[] first = filter.apply(FilterCriteria.NONE.withSearchQuery("con"));
+        assertEquals(300, filter.getLastScanCount());
+
+        filter.apply(FilterCriteria.NONE.withSearchQuery("conc"));
+        assertEquals(first.length, filter.getLastScanCount());
+    }
+
+    @Test
+    void apply_addingCategory_onlyRescansPreviousResult() {
+        List<Event> catalog = randomCatalog(new Random(2), 300);
+        EventFilter filter = new EventFilter(catalog);
+        FilterCriteria located = FilterCriteria.NONE.withLocation("montreal");
+        int[] first = filter.apply(located);
+
+        filter.apply(located.withCategory("Concerts"));
+        assertEquals(first.length, filter.getLastScanCount());
+    }
+
+    @Test
+    void apply_wideningQuery_fallsBackToFullScan() {
+        List<Event> catalog = randomCatalog(new Random(3), 300);
+        EventFilter filter = new EventFilter(catalog);
+        filter.apply(FilterCriteria.NONE.withSearchQuery("conc"));
+        filter.apply(FilterCriteria.NONE.withSearchQuery("con"));
+        assertEquals(300, filter.getLastScanCount());
+    }
+
+    @Test
+    void apply_switchingCategory_fallsBackToFullScan() {
+        List<Event> catalog = randomCatalog(new Random(4), 300);
+        EventFilter filter = new EventFilter(catalog);
+        filter.apply(FilterCriteria.NONE.withCategory("Movies"));
+        filter.apply(FilterCriteria.NONE.withCategory("Sports"));
+        assertEquals(300, filter.getLastScanCount());
+    }
+
+    // FilterCriteria.narrows ───────────────────────────────────────────────
+
+    @Test
+    void narrows_extendedQueryToken() {
+        FilterCriteria con = FilterCriteria.NONE.withSearchQuery("con");
+        assertTrue(con.withSearchQuery("conc").narrows(con));
+        assertTrue(con.withSearchQuery("con hall").narrows(con));
+        assertFalse(con.withSearchQuery("co").narrows(con));
+        assertFalse(con.withSearchQuery("rock").narrows(con));
+    }
+
+    @Test
+    void narrows_addingFilters() {
+        FilterCriteria none = FilterCriteria.NONE;
+        assertTrue(none.withCategory("Movies").narrows(none));
+        assertTrue(none.withDate("2026-06-01").narrows(none));
+        assertTrue(none.withLocation("mont").narrows(none));
+        assertTrue(none.withLocation("montreal").narrows(none.withLocation("mont")));
+    }
+
+    @Test
+    void narrows_removingOrChangingFilters_isFalse() {
+        FilterCriteria movies = FilterCriteria.NONE.withCategory("Movies");
+        assertFalse(FilterCriteria.NONE.narrows(movies));
+        assertFalse(movies.withCategory("Sports").narrows(movies));
+        FilterCriteria dated = FilterCriteria.NONE.withDate("2026-06-01");
+        assertFalse(dated.withDate("2026-06-02").narrows(dated));
+        assertFalse(FilterCriteria.NONE.withLocation("mont")
+                .narrows(FilterCriteria.NONE.withLocation("montreal")));
+    }
+
+    @Test
+    void narrows_sameCriteria_isTrue() {
+        FilterCriteria criteria = FilterCriteria.NONE.withSearchQuery("rock")
+                .withCategory("Concerts").withLocation("montreal").withDate("2026-06-01");
+        assertTrue(criteria.narrows(criteria));
+    }
+
+    @Test
+    void withSearchQuery_trimsAndLowercases() {
+        assertEquals("rock", FilterCriteria.NONE.withSearchQuery("  ROCK ").getSearchQuery());
+        assertEquals("", FilterCriteria.NONE.withSearchQuery(null).getSearchQuery());
+    }
+
+    // Date ranges ─────────────────────────────────────────────────────────
+
+    private int[] linearScan(List<Event> catalog, FilterCriteria criteria) {
+        List<Integer> matches = new ArrayList<>();
+        for (int i = 0; i < catalog.size(); i++) {
+            if (criteria.matchesFields(catalog.get(i))) matches.add(i);
+        }
+        int[] result = new int[matches.size()];
+        for (int i = 0; i < result.length; i++) result[i] = matches.get(i);
+        return result;
+    }
+
+    @Test
+    void fullScan_dateRange_matchesLinearScan() {
+        List<Event> catalog = randomCatalog(new Random(3), 300);
+        catalog.get(0).setDate("someday");
+        EventFilter filter = new EventFilter(catalog);
+        String[][] ranges = {
+            {"2026-06-01", "2026-06-02"}, {"2026-06-02", null}, {null, "2026-06-01"},
+            {"2026-06-03", "2026-07-14"}, {"2026-07-15", "2026-06-01"}
+        };
+        for (String[] range : ranges) {
+            FilterCriteria criteria = FilterCriteria.NONE.withDateRange(range[0], range[1]);
+            assertArrayEquals(linearScan(catalog, criteria), filter.fullScan(criteria),
+                    range[0] + ".." + range[1]);
+        }
+    }
+
+    @Test
+    void fullScan_dateRange_onlyScansEventsInRange() {
+        List<Event> catalog = randomCatalog(new Random(5), 300);
+        EventFilter filter = new EventFilter(catalog);
+        int[] july = filter.fullScan(FilterCriteria.NONE.withDateRange("2026-07-01", "2026-07-31"));
+        assertEquals(july.length, filter.getLastScanCount());
+        assertTrue(july.length < 300);
+    }
+
+    @Test
+    void withDateRange_excludesUndatedEvents() {
+        Event undated = new Event("x", "T", "D", "soon", "L", "Concerts", 1, 1, 1, "o", "O");
+        assertFalse(FilterCriteria.NONE.withDateRange(null, "2030-01-01").matchesFields(undated));
+        assertTrue(FilterCriteria.NONE.withDateRange(null, null).matchesFields(undated));
+    }
+
+    @Test
+    void narrows_tighterDateRange() {
+        FilterCriteria june = FilterCriteria.NONE.withDateRange("2026-06-01", "2026-06-30");
+        assertTrue(june.narrows(FilterCriteria.NONE));
+        assertTrue(FilterCriteria.NONE.withDateRange("2026-06-10", "2026-06-20").narrows(june));
+        assertFalse(FilterCriteria.NONE.withDateRange("2026-05-10", "2026-06-20").narrows(june));
+        assertFalse(FilterCriteria.NONE.withDateRange("2026-06-10", null).narrows(june));
+        assertFalse(FilterCriteria.NONE.narrows(june));
+    }
+
+    // Facets ──────────────────────────────────────────────────────────────
+
+    @Test
+    void fullScan_randomFieldFilters_matchLinearScan() {
+        Random random = new Random(19);
+        List<Event> catalog = randomCatalog(random, 300);
+        catalog.get(0).setCategory("Workshops");
+        catalog.get(1).setDate("someday");
+        EventFilter filter = new EventFilter(catalog);
+        FilterCriteria criteria = FilterCriteria.NONE;
+        for (int step = 0; step < 200; step++) {
+            criteria = randomStep(random, criteria).withSearchQuery("");
+            if (step % 25 == 0) criteria = criteria.withCategory("WORKSHOPS");
+            if (step % 30 == 0) criteria = criteria.withDate("someday");
+            assertArrayEquals(linearScan(catalog, criteria), filter.fullScan(criteria), "step " + step);
+        }
+    }
+
+    @Test
+    void facetCounts_matchResultOfChoosingEachValue() {
+        Random random = new Random(23);
+        List<Event> catalog = randomCatalog(random, 300);
+        EventFilter filter = new EventFilter(catalog);
+        FilterCriteria criteria = FilterCriteria.NONE;
+        for (int step = 0; step < 60; step++) {
+            criteria = randomStep(random, criteria);
+            EventFacets.Counts counts = filter.facetCounts(criteria);
+            for (String category : CATEGORIES) {
+                assertEquals(filter.fullScan(criteria.withCategory(category)).length,
+                        counts.category(EventCategory.fromLabel(category)), category);
+            }
+            int[] anyLocation = filter.fullScan(criteria.withLocation(""));
+            int counted = 0;
+            for (String location : LOCATIONS) {
+                int expected = 0;
+                for (int position : anyLocation) {
+                    if (catalog.get(position).getLocation().equals(location)) expected++;
+                }
+                assertEquals(expected, (int) counts.locations().getOrDefault(location.toLowerCase(), 0));
+                counted += expected;
+            }
+            assertEquals(anyLocation.length, counted);
+        }
+    }
+
+    @Test
+    void facetCounts_customCategoriesCountAsOther() {
+        List<Event> catalog = randomCatalog(new Random(29), 50);
+        catalog.get(0).setCategory("Workshops");
+        catalog.get(1).setCategory("Theatre");
+        EventFacets.Counts counts = new EventFilter(catalog).facetCounts(FilterCriteria.NONE);
+        assertEquals(2, counts.category(EventCategory.OTHER));
+    }
+}
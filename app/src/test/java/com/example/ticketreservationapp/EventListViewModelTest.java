@@ -3,8 +3,15 @@ package com.example.ticketreservationapp;
 import androidx.lifecycle.LiveData;
 
 import com.example.ticketreservationapp.model.Event;
-import com.example.ticketreservationapp.repository.EventRepository;
+import com.example.ticketreservationapp.model.EventCategory;
+import com.example.ticketreservationapp.model.EventDates;
+import com.example.ticketreservationapp.model.EventFeed;
+import com.example.ticketreservationapp.repository.EventQuery;
+import com.example.ticketreservationapp.repository.InMemoryEventRepository;
+import com.example.ticketreservationapp.search.EventFacets;
+import com.example.ticketreservationapp.search.EventSortOrder;
 import com.example.ticketreservationapp.viewmodel.EventListViewModel;
+import com.example.ticketreservationapp.viewmodel.FilterScheduler;
 
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -13,28 +20,87 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collections;
+import java.util.Date;
 import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
 
 import static org.junit.jupiter.api.Assertions.*;
 
 @ExtendWith(InstantTaskExecutorExtension.class)
 class EventListViewModelTest {
 
-    private static class FakeEventRepository extends EventRepository {
+    private static class FakeEventRepository extends InMemoryEventRepository {
         int loadCalls = 0;
         boolean shouldSucceed = true;
         List<Event> resultList = Collections.emptyList();
         String errorMessage = "boom";
         boolean invokeCallback = true;
 
-        FakeEventRepository() { super(null); }
+        Event lastCursor;
+        int answeredCalls = Integer.MAX_VALUE;
 
         @Override
-        public void getAllEvents(EventListCallback callback) {
+        public void getEventsPage(int pageSize, Event after, EventPageCallback callback) {
             loadCalls++;
-            if (!invokeCallback) return;
-            if (shouldSucceed) callback.onSuccess(resultList);
-            else callback.onError(errorMessage);
+            lastCursor = after;
+            if (!invokeCallback || loadCalls > answeredCalls) return;
+            if (!shouldSucceed) {
+                callback.onError(errorMessage);
+                return;
+            }
+            int start = after == null ? 0 : resultList.indexOf(after) + 1;
+            int end = Math.min(start + pageSize, resultList.size());
+            callback.onSuccess(new ArrayList<>(resultList.subList(start, end)), end < resultList.size());
+        }
+
+        int queryCalls = 0;
+        EventQuery lastQuery;
+
+        @Override
+        public void getEventsPage(EventQuery query, int pageSize, Event after,
+                                  EventPageCallback callback) {
+            queryCalls++;
+            lastQuery = query;
+            List<Event> matching = new ArrayList<>();
+            for (Event event : resultList) {
+                if (query.matches(event)) matching.add(event);
+            }
+            int start = after == null ? 0 : matching.indexOf(after) + 1;
+            int end = Math.min(start + pageSize, matching.size());
+            callback.onSuccess(new ArrayList<>(matching.subList(start, end)), end < matching.size());
+        }
+
+        @Override
+        public void getAllEvents(EventListCallback callback) {}
+
+        List<Event> cached = Collections.emptyList();
+        List<Event> savedCache;
+        int cacheSaves = 0;
+
+        @Override
+        public void getCachedEvents(EventListCallback callback) {
+            callback.onSuccess(new ArrayList<>(cached));
+        }
+
+        List<Event> changes = Collections.emptyList();
+        Date syncedSince;
+        boolean syncFails = false;
+
+        @Override
+        public void syncEvents(Date since, EventListCallback callback) {
+            syncedSince = since;
+            if (syncFails) {
+                callback.onError("no index");
+                return;
+            }
+            callback.onSuccess(new ArrayList<>(changes));
+        }
+
+        @Override
+        public void cacheEvents(List<Event> events) {
+            cacheSaves++;
+            savedCache = new ArrayList<>(events);
         }
 
         @Override
@@ -47,6 +113,32 @@ class EventListViewModelTest {
         public void deleteEvent(String eventId, EventCallback callback) {}
     }
 
+    /** Queues passes so tests decide when (and whether) each one runs. */
+    private static class ManualFilterScheduler implements FilterScheduler {
+        final List<Runnable> queued = new ArrayList<>();
+        final List<Long> delays = new ArrayList<>();
+        final List<Boolean> cancelled = new ArrayList<>();
+        boolean shutDown = false;
+
+        @Override
+        public Task schedule(Runnable work, long delayMillis) {
+            int index = queued.size();
+            queued.add(work);
+            delays.add(delayMillis);
+            cancelled.add(false);
+            return () -> cancelled.set(index, true);
+        }
+
+        @Override
+        public void shutdown() { shutDown = true; }
+
+        void runPending() {
+            for (int i = 0; i < queued.size(); i++) {
+                if (!cancelled.get(i)) queued.get(i).run();
+            }
+        }
+    }
+
     private FakeEventRepository fakeRepo;
     private EventListViewModel viewModel;
 
@@ -118,6 +210,589 @@ class EventListViewModelTest {
         assertEquals(Boolean.FALSE, viewModel.getLoading().getValue());
     }
 
+    // Pagination ──────────────────────────────────────────────────────────
+
+    @Test
+    void loadEvents_firstPageOnly() {
+        viewModel = new EventListViewModel(fakeRepo, 2);
+        fakeRepo.resultList = Arrays.asList(
+            makeEvent("A", "Concerts", "Montreal", "2026-06-01"),
+            makeEvent("B", "Concerts", "Montreal", "2026-06-02"),
+            makeEvent("C", "Concerts", "Montreal", "2026-06-03")
+        );
+        viewModel.loadEvents();
+
+        assertEquals(2, viewModel.getFilteredEvents().getValue().size());
+        assertNull(fakeRepo.lastCursor);
+        assertTrue(viewModel.hasMorePages());
+    }
+
+    @Test
+    void loadNextPage_appendsAfterLastLoadedEvent() {
+        viewModel = new EventListViewModel(fakeRepo, 2);
+        Event b = makeEvent("B", "Concerts", "Montreal", "2026-06-02");
+        fakeRepo.resultList = Arrays.asList(
+            makeEvent("A", "Concerts", "Montreal", "2026-06-01"), b,
+            makeEvent("C", "Concerts", "Montreal", "2026-06-03")
+        );
+        viewModel.loadEvents();
+        viewModel.loadNextPage();
+
+        List<Event> filtered = viewModel.getFilteredEvents().getValue();
+        assertEquals(3, filtered.size());
+        assertEquals("C", filtered.get(2).getTitle());
+        assertSame(b, fakeRepo.lastCursor);
+        assertFalse(viewModel.hasMorePages());
+    }
+
+    @Test
+    void loadNextPage_noMorePages_doesNotCallRepository() {
+        fakeRepo.resultList = Arrays.asList(makeEvent("A", "Concerts", "Montreal", "2026-06-01"));
+        viewModel.loadEvents();
+        viewModel.loadNextPage();
+        assertEquals(1, fakeRepo.loadCalls);
+    }
+
+    @Test
+    void loadNextPage_whilePageInFlight_isIgnored() {
+        viewModel = new EventListViewModel(fakeRepo, 1);
+        fakeRepo.resultList = Arrays.asList(
+            makeEvent("A", "Concerts", "Montreal", "2026-06-01"),
+            makeEvent("B", "Concerts", "Montreal", "2026-06-02"),
+            makeEvent("C", "Concerts", "Montreal", "2026-06-03")
+        );
+        viewModel.loadEvents();
+        fakeRepo.invokeCallback = false;
+        viewModel.loadNextPage();
+        viewModel.loadNextPage();
+        assertEquals(2, fakeRepo.loadCalls);
+    }
+
+    @Test
+    void loadNextPage_appliesActiveFiltersToNewPage() {
+        viewModel = new EventListViewModel(fakeRepo, 1);
+        fakeRepo.resultList = Arrays.asList(
+            makeEvent("Rock Concert", "Concerts", "Montreal", "2026-06-01"),
+            makeEvent("Movie Night", "Movies", "Toronto", "2026-06-02")
+        );
+        viewModel.loadEvents();
+        viewModel.setLocationFilter("Toronto");
+        assertTrue(viewModel.getFilteredEvents().getValue().isEmpty());
+
+        viewModel.loadNextPage();
+        assertEquals(1, viewModel.getFilteredEvents().getValue().size());
+    }
+
+    /** Does what the list screen does: fill while the filtered list is too short to scroll. */
+    private void fillWhileShort() {
+        viewModel.getFilteredEvents().observeForever(events -> {
+            if (events.size() < 5) viewModel.fillShortList();
+        });
+    }
+
+    private void loadLongCatalogInSinglePages() {
+        viewModel = new EventListViewModel(fakeRepo, 1);
+        List<Event> catalog = new ArrayList<>();
+        for (int i = 0; i < 20; i++) {
+            catalog.add(makeEvent("Event " + i, "Concerts", "Montreal", "2026-06-" + (10 + i)));
+        }
+        fakeRepo.resultList = catalog;
+        fillWhileShort();
+        viewModel.loadEvents();
+    }
+
+    @Test
+    void fillShortList_stopsAfterThreePagesPerLoad() {
+        loadLongCatalogInSinglePages();
+
+        assertEquals(1 + 3, fakeRepo.loadCalls);
+        assertEquals(4, viewModel.getFilteredEvents().getValue().size());
+        assertTrue(viewModel.hasMorePages());
+    }
+
+    @Test
+    void fillShortList_searchMatchingNothing_doesNotDownloadCatalog() {
+        loadLongCatalogInSinglePages();
+
+        viewModel.setSearchQuery("zzzz");
+
+        assertEquals(1 + 3 + 3, fakeRepo.loadCalls);
+        assertTrue(viewModel.getFilteredEvents().getValue().isEmpty());
+        assertTrue(viewModel.hasMorePages());
+    }
+
+    @Test
+    void loadNextPage_afterFillLimit_stillFetches() {
+        loadLongCatalogInSinglePages();
+        viewModel.setSearchQuery("zzzz");
+
+        viewModel.loadNextPage();
+
+        assertEquals(1 + 3 + 3 + 1, fakeRepo.loadCalls);
+    }
+
+    // Cached feed ─────────────────────────────────────────────────────────
+
+    private Event makeEvent(String id, String title, String date) {
+        Event event = makeEvent(title, "Concerts", "Montreal", date);
+        event.setId(id);
+        return event;
+    }
+
+    @Test
+    void loadEvents_showsCachedFeedBeforeNetworkAnswers() {
+        fakeRepo.cached = Arrays.asList(makeEvent("a", "Cached", "2026-06-01"));
+        fakeRepo.invokeCallback = false;
+        viewModel.loadEvents();
+
+        List<Event> filtered = viewModel.getFilteredEvents().getValue();
+        assertEquals(1, filtered.size());
+        assertEquals("Cached", filtered.get(0).getTitle());
+        assertTrue(viewModel.getLoading().getValue());
+    }
+
+    @Test
+    void loadEvents_revalidationReplacesCachedFeedAndSavesIt() {
+        fakeRepo.cached = Arrays.asList(
+            makeEvent("a", "Old title", "2026-06-01"),
+            makeEvent("gone", "Removed", "2026-06-02"));
+        fakeRepo.resultList = Arrays.asList(makeEvent("a", "New title", "2026-06-01"));
+        viewModel.loadEvents();
+
+        List<Event> filtered = viewModel.getFilteredEvents().getValue();
+        assertEquals(1, filtered.size());
+        assertEquals("New title", filtered.get(0).getTitle());
+        assertEquals(1, fakeRepo.savedCache.size());
+        assertFalse(viewModel.getLoading().getValue());
+    }
+
+    @Test
+    void loadEvents_unchangedFeed_isNotRepublished() {
+        fakeRepo.cached = Arrays.asList(makeEvent("a", "Same", "2026-06-01"));
+        fakeRepo.resultList = Arrays.asList(makeEvent("a", "Same", "2026-06-01"));
+        List<List<Event>> values = collectValues(viewModel.getFilteredEvents());
+        viewModel.loadEvents();
+
+        assertEquals(1, values.size());
+        assertEquals(0, fakeRepo.cacheSaves);
+    }
+
+    @Test
+    void loadEvents_revalidatesEveryCachedPage() {
+        viewModel = new EventListViewModel(fakeRepo, 1);
+        fakeRepo.cached = Arrays.asList(
+            makeEvent("a", "A", "2026-06-01"),
+            makeEvent("b", "B", "2026-06-02"),
+            makeEvent("c", "C", "2026-06-03"));
+        fakeRepo.resultList = Arrays.asList(
+            makeEvent("a", "A", "2026-06-01"),
+            makeEvent("b", "B2", "2026-06-02"),
+            makeEvent("c", "C", "2026-06-03"),
+            makeEvent("d", "D", "2026-06-04"));
+        viewModel.loadEvents();
+
+        List<Event> filtered = viewModel.getFilteredEvents().getValue();
+        assertEquals(3, fakeRepo.loadCalls);
+        assertEquals(3, filtered.size());
+        assertEquals("B2", filtered.get(1).getTitle());
+        assertTrue(viewModel.hasMorePages());
+        assertFalse(viewModel.getLoading().getValue());
+
+        viewModel.loadNextPage();
+        assertEquals(4, viewModel.getFilteredEvents().getValue().size());
+    }
+
+    @Test
+    void loadEvents_staleTailKeptWhilePageInFlight() {
+        viewModel = new EventListViewModel(fakeRepo, 1);
+        fakeRepo.cached = Arrays.asList(
+            makeEvent("a", "A", "2026-06-01"),
+            makeEvent("b", "B", "2026-06-02"));
+        fakeRepo.resultList = Arrays.asList(
+            makeEvent("a", "A2", "2026-06-01"),
+            makeEvent("b", "B", "2026-06-02"));
+        fakeRepo.answeredCalls = 1;
+        viewModel.loadEvents();
+
+        List<Event> filtered = viewModel.getFilteredEvents().getValue();
+        assertEquals("A2", filtered.get(0).getTitle());
+        assertEquals("B", filtered.get(1).getTitle());
+        assertEquals(2, viewModel.getFilteredEvents().getValue().size());
+        assertTrue(viewModel.getLoading().getValue());
+    }
+
+    // Delta sync ──────────────────────────────────────────────────────────
+
+    private Event makeSyncedEvent(String id, String title, String date, long updatedAt) {
+        Event event = makeEvent(id, title, date);
+        event.setUpdatedAt(new Date(updatedAt));
+        return event;
+    }
+
+    @Test
+    void loadEvents_cacheWithWatermark_syncsChangesInsteadOfPaging() {
+        fakeRepo.cached = Arrays.asList(
+            makeSyncedEvent("a", "A", "2026-06-01", 1000),
+            makeSyncedEvent("b", "B", "2026-06-02", 2000));
+        fakeRepo.changes = Arrays.asList(makeSyncedEvent("a", "A2", "2026-06-01", 3000));
+        viewModel.loadEvents();
+
+        assertEquals(new Date(2000), fakeRepo.syncedSince);
+        assertEquals(0, fakeRepo.loadCalls);
+        List<Event> filtered = viewModel.getFilteredEvents().getValue();
+        assertEquals(2, filtered.size());
+        assertEquals("A2", filtered.get(0).getTitle());
+        assertEquals(new Date(3000), EventFeed.watermark(fakeRepo.savedCache));
+        assertTrue(viewModel.hasMorePages());
+        assertFalse(viewModel.getLoading().getValue());
+    }
+
+    @Test
+    void loadEvents_syncedTombstone_removesEvent() {
+        fakeRepo.cached = Arrays.asList(
+            makeSyncedEvent("a", "A", "2026-06-01", 1000),
+            makeSyncedEvent("b", "B", "2026-06-02", 1000));
+        Event tombstone = makeSyncedEvent("a", "A", "2026-06-01", 2000);
+        tombstone.setDeleted(true);
+        fakeRepo.changes = Collections.singletonList(tombstone);
+        viewModel.loadEvents();
+
+        List<Event> filtered = viewModel.getFilteredEvents().getValue();
+        assertEquals(1, filtered.size());
+        assertEquals("b", filtered.get(0).getId());
+    }
+
+    @Test
+    void loadEvents_noChanges_doesNotRewriteCache() {
+        fakeRepo.cached = Arrays.asList(makeSyncedEvent("a", "A", "2026-06-01", 1000));
+        viewModel.loadEvents();
+
+        assertEquals(0, fakeRepo.cacheSaves);
+        assertEquals(1, viewModel.getFilteredEvents().getValue().size());
+    }
+
+    @Test
+    void loadEvents_syncFails_fallsBackToPaging() {
+        fakeRepo.cached = Arrays.asList(makeSyncedEvent("a", "A", "2026-06-01", 1000));
+        fakeRepo.syncFails = true;
+        fakeRepo.resultList = Arrays.asList(makeEvent("a", "Fresh", "2026-06-01"));
+        viewModel.loadEvents();
+
+        assertEquals(1, fakeRepo.loadCalls);
+        assertEquals("Fresh", viewModel.getFilteredEvents().getValue().get(0).getTitle());
+    }
+
+    @Test
+    void loadNextPage_afterSync_continuesFromLastCachedEvent() {
+        Event b = makeSyncedEvent("b", "B", "2026-06-02", 1000);
+        fakeRepo.cached = Arrays.asList(makeSyncedEvent("a", "A", "2026-06-01", 1000), b);
+        fakeRepo.resultList = Arrays.asList(
+            makeEvent("a", "A", "2026-06-01"), b, makeEvent("c", "C", "2026-06-03"));
+        viewModel.loadEvents();
+        viewModel.loadNextPage();
+
+        assertEquals("b", fakeRepo.lastCursor.getId());
+        assertEquals(3, viewModel.getFilteredEvents().getValue().size());
+    }
+
+    // Server-side filtering ────────────────────────────────────────────────
+
+    @Test
+    void setCategoryFilter_partialFeed_queriesServer() {
+        viewModel = new EventListViewModel(fakeRepo, 1);
+        fakeRepo.resultList = Arrays.asList(
+            makeEvent("Rock Concert", "Concerts", "Montreal", "2026-06-01"),
+            makeEvent("Movie Night", "Movies", "Toronto", "2026-06-02"),
+            makeEvent("Film Fest", "Movies", "Toronto", "2026-06-03")
+        );
+        viewModel.loadEvents();
+        viewModel.setCategoryFilter("movies");
+
+        assertEquals(1, fakeRepo.queryCalls);
+        assertEquals("movies", fakeRepo.lastQuery.getCategoryKey());
+        List<Event> filtered = viewModel.getFilteredEvents().getValue();
+        assertEquals(1, filtered.size());
+        assertEquals("Movie Night", filtered.get(0).getTitle());
+        assertTrue(viewModel.hasMorePages());
+
+        viewModel.loadNextPage();
+        assertEquals(2, viewModel.getFilteredEvents().getValue().size());
+        assertFalse(viewModel.hasMorePages());
+        assertEquals(1, fakeRepo.loadCalls);
+    }
+
+    @Test
+    void setCategoryFilter_wholeFeedLoaded_filtersLocally() {
+        fakeRepo.resultList = Arrays.asList(
+            makeEvent("Rock Concert", "Concerts", "Montreal", "2026-06-01"),
+            makeEvent("Movie Night", "Movies", "Toronto", "2026-06-02")
+        );
+        viewModel.loadEvents();
+        viewModel.setCategoryFilter("Movies");
+
+        assertEquals(0, fakeRepo.queryCalls);
+        assertEquals(1, viewModel.getFilteredEvents().getValue().size());
+    }
+
+    @Test
+    void setDateFilter_partialFeed_sendsPaddedDayRange() {
+        viewModel = new EventListViewModel(fakeRepo, 1);
+        fakeRepo.resultList = Arrays.asList(
+            makeEvent("A", "Concerts", "Montreal", "2026-06-01"),
+            makeEvent("B", "Concerts", "Montreal", "2026-06-02")
+        );
+        viewModel.loadEvents();
+        viewModel.setDateFilter("2026-6-2");
+
+        assertEquals(EventDates.parseEpochDay("2026-06-02"), fakeRepo.lastQuery.getFromDay());
+        assertEquals(EventDates.parseEpochDay("2026-06-02"), fakeRepo.lastQuery.getToDay());
+        assertEquals("B", viewModel.getFilteredEvents().getValue().get(0).getTitle());
+    }
+
+    @Test
+    void setDateRange_filtersInclusiveRange() {
+        fakeRepo.resultList = Arrays.asList(
+            makeEvent("A", "Concerts", "Montreal", "2026-06-01"),
+            makeEvent("B", "Concerts", "Montreal", "2026-06-15"),
+            makeEvent("C", "Concerts", "Montreal", "2026-07-01")
+        );
+        viewModel.loadEvents();
+        viewModel.setDateRange("2026-06-01", "2026-06-30");
+
+        List<Event> filtered = viewModel.getFilteredEvents().getValue();
+        assertEquals(2, filtered.size());
+        assertEquals("B", filtered.get(1).getTitle());
+        assertEquals(0, fakeRepo.queryCalls);
+    }
+
+    // Facet counts ────────────────────────────────────────────────────────
+
+    @Test
+    void facetCounts_countOtherFiltersButNotCategory() {
+        fakeRepo.resultList = Arrays.asList(
+            makeEvent("A", "Concerts", "Montreal", "2026-06-01"),
+            makeEvent("B", "Concerts", "Toronto", "2026-06-01"),
+            makeEvent("C", "Movies", "Montreal", "2026-06-01")
+        );
+        viewModel.loadEvents();
+        viewModel.setLocationFilter("montreal");
+        viewModel.setCategoryFilter("Concerts");
+
+        EventFacets.Counts counts = viewModel.getFacetCounts().getValue();
+        assertEquals(1, counts.category(EventCategory.CONCERTS));
+        assertEquals(1, counts.category(EventCategory.MOVIES));
+        assertEquals(Integer.valueOf(1), counts.locations().get("toronto"));
+    }
+
+    @Test
+    void facetCounts_serverQueryResults_areNotCounted() {
+        viewModel = new EventListViewModel(fakeRepo, 1);
+        fakeRepo.resultList = Arrays.asList(
+            makeEvent("A", "Concerts", "Montreal", "2026-06-01"),
+            makeEvent("B", "Movies", "Montreal", "2026-06-02")
+        );
+        viewModel.loadEvents();
+        assertNotNull(viewModel.getFacetCounts().getValue());
+
+        viewModel.setCategoryFilter("Movies");
+
+        assertEquals(1, fakeRepo.queryCalls);
+        assertNull(viewModel.getFacetCounts().getValue());
+    }
+
+    // Sorting ─────────────────────────────────────────────────────────────
+
+    @Test
+    void setSortOrder_byPrice_ordersFilteredEvents() {
+        Event pricey = new Event(null, "A", "", "2026-06-01", "Montreal", "Concerts", 80.0, 10, 10, "org1", "");
+        Event cheap = new Event(null, "B", "", "2026-06-02", "Montreal", "Concerts", 20.0, 10, 10, "org1", "");
+        Event movie = new Event(null, "C", "", "2026-06-03", "Montreal", "Movies", 5.0, 10, 10, "org1", "");
+        fakeRepo.resultList = Arrays.asList(pricey, cheap, movie);
+        viewModel.loadEvents();
+        viewModel.setCategoryFilter("Concerts");
+
+        viewModel.setSortOrder(EventSortOrder.PRICE);
+
+        List<Event> filtered = viewModel.getFilteredEvents().getValue();
+        assertEquals(Arrays.asList(cheap, pricey), filtered);
+    }
+
+    @Test
+    void setSortOrder_keptAcrossFilterChanges() {
+        Event few = new Event(null, "Rock A", "", "2026-06-01", "Montreal", "Concerts", 10.0, 1, 10, "org1", "");
+        Event many = new Event(null, "Rock B", "", "2026-06-02", "Toronto", "Concerts", 10.0, 9, 10, "org1", "");
+        fakeRepo.resultList = Arrays.asList(few, many);
+        viewModel.loadEvents();
+        viewModel.setSortOrder(EventSortOrder.SEATS_REMAINING);
+
+        viewModel.setSearchQuery("rock");
+
+        assertEquals(Arrays.asList(many, few), viewModel.getFilteredEvents().getValue());
+        assertEquals(EventSortOrder.SEATS_REMAINING, viewModel.getSortOrder());
+    }
+
+    @Test
+    void setSortOrder_backToDate_restoresFeedOrder() {
+        Event first = new Event(null, "A", "", "2026-06-01", "Montreal", "Concerts", 50.0, 10, 10, "org1", "");
+        Event second = new Event(null, "B", "", "2026-06-02", "Montreal", "Concerts", 10.0, 10, 10, "org1", "");
+        fakeRepo.resultList = Arrays.asList(first, second);
+        viewModel.loadEvents();
+
+        viewModel.setSortOrder(EventSortOrder.PRICE);
+        viewModel.setSortOrder(EventSortOrder.DATE);
+
+        assertEquals(Arrays.asList(first, second), viewModel.getFilteredEvents().getValue());
+        assertEquals(0, fakeRepo.queryCalls);
+    }
+
+    @Test
+    void setDateRange_partialFeed_sendsRangeToServer() {
+        viewModel = new EventListViewModel(fakeRepo, 1);
+        fakeRepo.resultList = Arrays.asList(
+            makeEvent("A", "Concerts", "Montreal", "2026-06-01"),
+            makeEvent("B", "Concerts", "Montreal", "2026-06-15"),
+            makeEvent("C", "Concerts", "Montreal", "2026-07-01")
+        );
+        viewModel.loadEvents();
+        viewModel.setDateRange("2026-6-10", null);
+
+        assertEquals(EventDates.parseEpochDay("2026-06-10"), fakeRepo.lastQuery.getFromDay());
+        assertEquals(EventDates.NO_DATE, fakeRepo.lastQuery.getToDay());
+        assertEquals("B", viewModel.getFilteredEvents().getValue().get(0).getTitle());
+    }
+
+    @Test
+    void setCategoryFilter_customCategory_queriesServerByKey() {
+        viewModel = new EventListViewModel(fakeRepo, 1);
+        fakeRepo.resultList = Arrays.asList(
+            makeEvent("A", "Theatre", "Montreal", "2026-06-01"),
+            makeEvent("B", "Concerts", "Montreal", "2026-06-02")
+        );
+        viewModel.loadEvents();
+        viewModel.setCategoryFilter("THEATRE");
+
+        assertEquals(1, fakeRepo.queryCalls);
+        assertEquals("theatre", fakeRepo.lastQuery.getCategoryKey());
+        assertEquals(1, viewModel.getFilteredEvents().getValue().size());
+    }
+
+    @Test
+    void clearFilters_afterServerQuery_returnsToFeed() {
+        viewModel = new EventListViewModel(fakeRepo, 1);
+        fakeRepo.resultList = Arrays.asList(
+            makeEvent("Rock Concert", "Concerts", "Montreal", "2026-06-01"),
+            makeEvent("Movie Night", "Movies", "Toronto", "2026-06-02")
+        );
+        viewModel.loadEvents();
+        viewModel.setCategoryFilter("Movies");
+        viewModel.clearFilters();
+
+        List<Event> filtered = viewModel.getFilteredEvents().getValue();
+        assertEquals(1, filtered.size());
+        assertEquals("Rock Concert", filtered.get(0).getTitle());
+        assertTrue(viewModel.hasMorePages());
+    }
+
+    @Test
+    void setSearchQuery_onServerResults_filtersLocally() {
+        viewModel = new EventListViewModel(fakeRepo, 2);
+        fakeRepo.resultList = Arrays.asList(
+            makeEvent("Rock Concert", "Concerts", "Montreal", "2026-06-01"),
+            makeEvent("Movie Night", "Movies", "Toronto", "2026-06-02"),
+            makeEvent("Film Fest", "Movies", "Toronto", "2026-06-03")
+        );
+        viewModel.loadEvents();
+        viewModel.setCategoryFilter("Movies");
+        viewModel.setSearchQuery("film");
+
+        List<Event> filtered = viewModel.getFilteredEvents().getValue();
+        assertEquals(1, filtered.size());
+        assertEquals("Film Fest", filtered.get(0).getTitle());
+        assertEquals(1, fakeRepo.queryCalls);
+    }
+
+    // Debounced pipeline ──────────────────────────────────────────────────
+
+    @Test
+    void setSearchQuery_isDebounced() {
+        ManualFilterScheduler scheduler = new ManualFilterScheduler();
+        viewModel = new EventListViewModel(fakeRepo, 25, scheduler);
+        fakeRepo.resultList = Arrays.asList(makeEvent("Rock Concert", "Concerts", "Montreal", "2026-06-01"));
+        viewModel.loadEvents();
+        viewModel.setSearchQuery("rock");
+
+        assertEquals(0L, (long) scheduler.delays.get(0));
+        assertTrue(scheduler.delays.get(1) > 0);
+    }
+
+    @Test
+    void setSearchQuery_rapidKeystrokes_onlyLatestPassRuns() {
+        ManualFilterScheduler scheduler = new ManualFilterScheduler();
+        viewModel = new EventListViewModel(fakeRepo, 25, scheduler);
+        fakeRepo.resultList = Arrays.asList(
+            makeEvent("Rock Concert", "Concerts", "Montreal", "2026-06-01"),
+            makeEvent("Jazz Night", "Concerts", "Toronto", "2026-06-02")
+        );
+        viewModel.loadEvents();
+        List<List<Event>> posted = collectValues(viewModel.getFilteredEvents());
+
+        viewModel.setSearchQuery("r");
+        viewModel.setSearchQuery("ro");
+        viewModel.setSearchQuery("jazz");
+        scheduler.runPending();
+
+        assertEquals(1, posted.size());
+        assertEquals("Jazz Night", posted.get(0).get(0).getTitle());
+        assertEquals(Arrays.asList(true, true, true, false), scheduler.cancelled);
+    }
+
+    @Test
+    void stalePass_thatRunsAnyway_doesNotPostResult() {
+        ManualFilterScheduler scheduler = new ManualFilterScheduler();
+        viewModel = new EventListViewModel(fakeRepo, 25, scheduler);
+        fakeRepo.resultList = Arrays.asList(makeEvent("Rock Concert", "Concerts", "Montreal", "2026-06-01"));
+        viewModel.loadEvents();
+        viewModel.setSearchQuery("rock");
+        viewModel.setSearchQuery("jazz");
+        List<List<Event>> posted = collectValues(viewModel.getFilteredEvents());
+
+        // Simulate a pass that had already started when it was cancelled.
+        scheduler.queued.get(1).run();
+        assertTrue(posted.isEmpty());
+
+        scheduler.queued.get(2).run();
+        assertEquals(1, posted.size());
+        assertTrue(posted.get(0).isEmpty());
+    }
+
+    @Test
+    void filterChipChange_runsWithoutDelay() {
+        ManualFilterScheduler scheduler = new ManualFilterScheduler();
+        viewModel = new EventListViewModel(fakeRepo, 25, scheduler);
+        fakeRepo.resultList = Arrays.asList(makeEvent("Rock Concert", "Concerts", "Montreal", "2026-06-01"));
+        viewModel.loadEvents();
+        viewModel.setCategoryFilter("Concerts");
+        assertEquals(0L, (long) scheduler.delays.get(1));
+    }
+
+    @Test
+    void backgroundScheduler_postsLatestResult() throws InterruptedException {
+        viewModel = new EventListViewModel(fakeRepo, 25, FilterScheduler.background());
+        fakeRepo.resultList = Arrays.asList(
+            makeEvent("Rock Concert", "Concerts", "Montreal", "2026-06-01"),
+            makeEvent("Jazz Night", "Concerts", "Toronto", "2026-06-02")
+        );
+        CountDownLatch jazzPosted = new CountDownLatch(1);
+        viewModel.getFilteredEvents().observeForever(list -> {
+            if (list.size() == 1 && "Jazz Night".equals(list.get(0).getTitle())) jazzPosted.countDown();
+        });
+        viewModel.loadEvents();
+        viewModel.setSearchQuery("jaz");
+        viewModel.setSearchQuery("jazz");
+
+        assertTrue(jazzPosted.await(5, TimeUnit.SECONDS));
+    }
+
     // Search filter ───────────────────────────────────────────────────────
 
     @Test
@@ -196,6 +871,35 @@ class EventListViewModelTest {
         assertEquals(1, viewModel.getFilteredEvents().getValue().size());
     }
 
+    @Test
+    void setSearchQuery_matchesWordPrefixes() {
+        fakeRepo.resultList = Arrays.asList(
+            makeEvent("Rock Concert", "Concerts", "Montreal", "2026-06-01"),
+            makeEvent("Jazz Night", "Concerts", "Toronto", "2026-06-02")
+        );
+        viewModel.loadEvents();
+        viewModel.setSearchQuery("roc conc");
+
+        List<Event> filtered = viewModel.getFilteredEvents().getValue();
+        assertEquals(1, filtered.size());
+        assertEquals("Rock Concert", filtered.get(0).getTitle());
+    }
+
+    @Test
+    void setSearchQuery_afterNextPage_searchesNewEvents() {
+        viewModel = new EventListViewModel(fakeRepo, 1);
+        fakeRepo.resultList = Arrays.asList(
+            makeEvent("Rock Concert", "Concerts", "Montreal", "2026-06-01"),
+            makeEvent("Jazz Night", "Concerts", "Toronto", "2026-06-02")
+        );
+        viewModel.loadEvents();
+        viewModel.setSearchQuery("jazz");
+        assertTrue(viewModel.getFilteredEvents().getValue().isEmpty());
+
+        viewModel.loadNextPage();
+        assertEquals(1, viewModel.getFilteredEvents().getValue().size());
+    }
+
     @Test
     void setSearchQuery_noMatchReturnsEmpty() {
         fakeRepo.resultList = Arrays.asList(makeEvent("Concert", "Concerts", "Montreal", "2026-06-01"));
@@ -204,6 +908,37 @@ class EventListViewModelTest {
         assertTrue(viewModel.getFilteredEvents().getValue().isEmpty());
     }
 
+    @Test
+    void setSearchQuery_typo_fallsBackToFuzzyMatch() {
+        fakeRepo.resultList = Arrays.asList(
+            makeEvent("Rock Concert", "Concerts", "Montreal", "2026-06-01"),
+            makeEvent("Comedy Show", "Movies", "Montreal", "2026-06-02")
+        );
+        viewModel.loadEvents();
+        viewModel.setSearchQuery("concrt");
+
+        List<Event> filtered = viewModel.getFilteredEvents().getValue();
+        assertEquals(1, filtered.size());
+        assertEquals("Rock Concert", filtered.get(0).getTitle());
+        assertEquals(1, viewModel.getFacetCounts().getValue().category(EventCategory.CONCERTS));
+    }
+
+    @Test
+    void setSearchQuery_ranksByRelevance() {
+        Event inDescription = new Event(null, "Jazz Night", "A concert of jazz", "2026-06-01",
+                "Toronto", "Concerts", 10.0, 10, 10, "org1", "");
+        Event inTitle = new Event(null, "Rock Concert", "Guitars", "2026-06-02",
+                "Montreal", "Concerts", 10.0, 10, 10, "org1", "");
+        fakeRepo.resultList = Arrays.asList(inDescription, inTitle);
+        viewModel.loadEvents();
+
+        viewModel.setSearchQuery("concert");
+        assertEquals(Arrays.asList(inTitle, inDescription), viewModel.getFilteredEvents().getValue());
+
+        viewModel.setSortOrder(EventSortOrder.DATE);
+        assertEquals(Arrays.asList(inDescription, inTitle), viewModel.getFilteredEvents().getValue());
+    }
+
     // Category filter ─────────────────────────────────────────────────────
 
     @Test
@@ -230,6 +965,20 @@ class EventListViewModelTest {
         assertEquals(1, viewModel.getFilteredEvents().getValue().size());
     }
 
+    @Test
+    void setCategoryFilter_customCategory_matchesIgnoringCase() {
+        fakeRepo.resultList = Arrays.asList(
+            makeEvent("Hamlet", "Theatre", "Montreal", "2026-06-01"),
+            makeEvent("Concert", "Concerts", "Montreal", "2026-06-01")
+        );
+        viewModel.loadEvents();
+        viewModel.setCategoryFilter("theatre");
+
+        List<Event> filtered = viewModel.getFilteredEvents().getValue();
+        assertEquals(1, filtered.size());
+        assertEquals("Hamlet", filtered.get(0).getTitle());
+    }
+
     @Test
     void setCategoryFilter_emptyString_showsAll() {
         fakeRepo.resultList = Arrays.asList(
@@ -302,6 +1051,31 @@ class EventListViewModelTest {
         assertEquals("Event A", filtered.get(0).getTitle());
     }
 
+    @Test
+    void setDateFilter_matchesSameDayWrittenWithoutPadding() {
+        fakeRepo.resultList = Arrays.asList(
+            makeEvent("Event A", "Concerts", "Montreal", "2026-6-1"),
+            makeEvent("Event B", "Movies", "Toronto", "2026-06-02")
+        );
+        viewModel.loadEvents();
+        viewModel.setDateFilter("2026-06-01");
+
+        List<Event> filtered = viewModel.getFilteredEvents().getValue();
+        assertEquals(1, filtered.size());
+        assertEquals("Event A", filtered.get(0).getTitle());
+    }
+
+    @Test
+    void setDateFilter_unparseableDate_fallsBackToExactMatch() {
+        fakeRepo.resultList = Arrays.asList(
+            makeEvent("Event A", "Concerts", "Montreal", "TBA"),
+            makeEvent("Event B", "Movies", "Toronto", "2026-06-02")
+        );
+        viewModel.loadEvents();
+        viewModel.setDateFilter("TBA");
+        assertEquals(1, viewModel.getFilteredEvents().getValue().size());
+    }
+
     @Test
     void setDateFilter_emptyString_showsAll() {
         fakeRepo.resultList = Arrays.asList(
@@ -0,0 +1,121 @@
+package com.example.ticketreservationapp;
+
+import com.example.ticketreservationapp.model.Event;
+import com.example.ticketreservationapp.search.EventFilter;
+import com.example.ticketreservationapp.search.EventOrdering;
+import com.example.ticketreservationapp.search.EventSortOrder;
+import com.example.ticketreservationapp.search.FilterCriteria;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Date;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class EventOrderingTest {
+
+    private List<Event> randomCatalog(Random random, int size) {
+        List<Event> events = new ArrayList<>();
+        for (int i = 0; i < size; i++) {
+            Event event = new Event("e" + i, "Event " + i, "", "2026-06-0" + (1 + random.nextInt(9)),
+                    "Montreal", "Concerts", random.nextInt(5) * 10.0, random.nextInt(20), 20,
+                    "org1", "Organizer");
+            if (random.nextInt(4) != 0) event.setCreatedAt(new Date(random.nextInt(1000)));
+            events.add(event);
+        }
+        return events;
+    }
+
+    private int[] randomSubset(Random random, int size, int count) {
+        int[] all = new int[size];
+        for (int i = 0; i < size; i++) all[i] = i;
+        for (int i = size - 1; i > 0; i--) {
+            int j = random.nextInt(i + 1);
+            int tmp = all[i]; all[i] = all[j]; all[j] = tmp;
+        }
+        int[] subset = Arrays.copyOf(all, count);
+        Arrays.sort(subset);
+        return subset;
+    }
+
+    private int[] referenceSort(List<Event> events, int[] positions, EventSortOrder sortOrder) {
+        Integer[] boxed = new Integer[positions.length];
+        for (int i = 0; i < positions.length; i++) boxed[i] = positions[i];
+        Arrays.sort(boxed, (a, b) -> sortOrder.comparator().compare(events.get(a), events.get(b)));
+        int[] result = new int[boxed.length];
+        for (int i = 0; i < boxed.length; i++) result[i] = boxed[i];
+        return result;
+    }
+
+    @Test
+    void sort_randomSubsets_matchComparatorSort() {
+        Random random = new Random(7);
+        List<Event> events = randomCatalog(random, 200);
+        for (EventSortOrder sortOrder : EventSortOrder.values()) {
+            EventOrdering ordering = EventOrdering.build(events, sortOrder.comparator());
+            // Small subsets take the rank sort, large ones the permutation walk.
+            for (int count : new int[] { 0, 1, 5, 20, 100, 200 }) {
+                int[] subset = randomSubset(random, events.size(), count);
+                assertArrayEquals(referenceSort(events, subset, sortOrder), ordering.sort(subset),
+                        sortOrder + " / " + count);
+            }
+        }
+    }
+
+    @Test
+    void sort_catalogAlreadyInOrder_returnsPositionsUnchanged() {
+        List<Event> events = Arrays.asList(
+            new Event("a", "A", "", "2026-06-01", "", "", 0, 1, 1, "", ""),
+            new Event("b", "B", "", "2026-06-02", "", "", 0, 1, 1, "", ""));
+        int[] positions = { 0, 1 };
+        assertSame(positions, EventOrdering.build(events, EventSortOrder.DATE.comparator()).sort(positions));
+    }
+
+    @Test
+    void comparators_orderAsDocumented() {
+        Event cheapFull = new Event("a", "A", "", "2026-06-02", "", "", 5, 0, 10, "", "");
+        Event priceyEmpty = new Event("b", "B", "", "2026-06-01", "", "", 50, 10, 10, "", "");
+        cheapFull.setCreatedAt(new Date(2000));
+        priceyEmpty.setCreatedAt(new Date(1000));
+        assertTrue(EventSortOrder.DATE.comparator().compare(priceyEmpty, cheapFull) < 0);
+        assertTrue(EventSortOrder.PRICE.comparator().compare(cheapFull, priceyEmpty) < 0);
+        assertTrue(EventSortOrder.SEATS_REMAINING.comparator().compare(priceyEmpty, cheapFull) < 0);
+        assertTrue(EventSortOrder.NEWEST.comparator().compare(cheapFull, priceyEmpty) < 0);
+    }
+
+    @Test
+    void newest_eventsWithoutTimestampGoLast() {
+        Event unsynced = new Event("a", "A", "", "2026-06-01", "", "", 0, 1, 1, "", "");
+        Event synced = new Event("b", "B", "", "2026-06-01", "", "", 0, 1, 1, "", "");
+        synced.setCreatedAt(new Date(0));
+        assertTrue(EventSortOrder.NEWEST.comparator().compare(synced, unsynced) < 0);
+    }
+
+    // An edit moves updatedAt but must not move the event up the NEWEST order.
+    @Test
+    void newest_ignoresEdits() {
+        Event older = new Event("a", "A", "", "2026-06-01", "", "", 0, 1, 1, "", "");
+        Event newer = new Event("b", "B", "", "2026-06-01", "", "", 0, 1, 1, "", "");
+        older.setCreatedAt(new Date(1000));
+        older.setUpdatedAt(new Date(3000));
+        newer.setCreatedAt(new Date(2000));
+        newer.setUpdatedAt(new Date(2000));
+        assertTrue(EventSortOrder.NEWEST.comparator().compare(newer, older) < 0);
+    }
+
+    @Test
+    void filterSort_appliesOrderToFilterResult() {
+        List<Event> events = Arrays.asList(
+            new Event("a", "Rock", "", "2026-06-01", "", "Concerts", 30, 1, 1, "", ""),
+            new Event("b", "Jazz", "", "2026-06-02", "", "Movies", 10, 1, 1, "", ""),
+            new Event("c", "Rock Two", "", "2026-06-03", "", "Concerts", 20, 1, 1, "", ""));
+        EventFilter filter = new EventFilter(events);
+        int[] concerts = filter.apply(FilterCriteria.NONE.withCategory("Concerts"));
+        assertArrayEquals(new int[] { 2, 0 }, filter.sort(concerts, EventSortOrder.PRICE));
+        assertArrayEquals(new int[] { 0, 2 }, filter.sort(concerts, EventSortOrder.DATE));
+    }
+}
@@ -0,0 +1,151 @@
+package com.example.ticketreservationapp;
+
+import com.example.ticketreservationapp.model.Event;
+import com.example.ticketreservationapp.search.EventRanker;
+import com.example.ticketreservationapp.search.EventSearchIndex;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class EventRankerTest {
+
+    private static Event event(String title, String description, String location) {
+        return new Event(null, title, description, "2026-06-01", location, "Concerts",
+                10.0, 10, 10, "org1", "Organizer");
+    }
+
+    private final List<Event> events = Arrays.asList(
+        event("Rock Concert", "Loud guitars", "Montreal"),
+        event("Jazz Night", "A concert of smooth jazz", "Toronto"),
+        event("Philharmonic Evening", "Orchestra", "Ottawa"),
+        event("Comedy Show", "Stand-up", "Montreal"),
+        event("Concerto for Two", "Strings", "Quebec City")
+    );
+    private final EventRanker ranker = EventRanker.build(events);
+
+    private int[] all() {
+        int[] positions = new int[events.size()];
+        for (int i = 0; i < positions.length; i++) positions[i] = i;
+        return positions;
+    }
+
+    private BitSet bits(int... positions) {
+        BitSet bits = new BitSet();
+        for (int position : positions) bits.set(position);
+        return bits;
+    }
+
+    // Matching ────────────────────────────────────────────────────────────
+
+    @Test
+    void matches_typo_findsIntendedWord() {
+        assertEquals(bits(0, 1), ranker.matches(ranker.compile("concrt")));
+        assertEquals(bits(3), ranker.matches(ranker.compile("comdey")));
+    }
+
+    @Test
+    void matches_misspelledPrefix_findsLongerWord() {
+        assertTrue(ranker.matches(ranker.compile("concre")).get(0));
+    }
+
+    @Test
+    void matches_longWord_allowsTwoEdits() {
+        assertEquals(bits(2), ranker.matches(ranker.compile("filharmonic")));
+    }
+
+    @Test
+    void matches_shortToken_isNotFuzzy() {
+        assertEquals(bits(1), ranker.matches(ranker.compile("jaz")));
+        assertTrue(ranker.matches(ranker.compile("jzz")).isEmpty());
+    }
+
+    @Test
+    void matches_tooManyEdits_findsNothing() {
+        assertTrue(ranker.matches(ranker.compile("cnocrte")).isEmpty());
+    }
+
+    @Test
+    void matches_everyTokenMustMatch() {
+        assertEquals(bits(0), ranker.matches(ranker.compile("rock montrael")));
+    }
+
+    @Test
+    void matches_emptyQuery_matchesAll() {
+        assertEquals(events.size(), ranker.matches(ranker.compile("  ")).cardinality());
+    }
+
+    @Test
+    void matches_coverEveryExactSearchMatch() {
+        EventSearchIndex index = EventSearchIndex.build(events);
+        for (String query : new String[] { "c", "con", "concert", "jazz n", "mont", "o", "strings" }) {
+            BitSet exact = index.search(index.compile(query));
+            BitSet fuzzy = ranker.matches(ranker.compile(query));
+            exact.andNot(fuzzy);
+            assertTrue(exact.isEmpty(), query);
+        }
+    }
+
+    // Ranking ─────────────────────────────────────────────────────────────
+
+    @Test
+    void top_titleHitOutranksDescriptionHit() {
+        int[] ranked = ranker.top(ranker.compile("concert"), new int[] { 0, 1 }, 2);
+        assertArrayEquals(new int[] { 0, 1 }, ranked);
+        ranked = ranker.top(ranker.compile("jazz"), new int[] { 1 }, 1);
+        assertArrayEquals(new int[] { 1 }, ranked);
+    }
+
+    @Test
+    void top_exactWordOutranksPrefixAndTypo() {
+        // "concert" is exact for 0, a prefix of 4's "concerto", and absent from 3.
+        int[] ranked = ranker.top(ranker.compile("concert"), new int[] { 4, 3, 0 }, 3);
+        assertEquals(0, ranked[0]);
+        assertEquals(4, ranked[1]);
+    }
+
+    @Test
+    void top_limitsToBestK() {
+        int[] best = ranker.top(ranker.compile("concert"), all(), 1);
+        assertArrayEquals(new int[] { 0 }, best);
+    }
+
+    @Test
+    void top_emptyQuery_keepsGivenOrder() {
+        assertArrayEquals(new int[] { 3, 1 }, ranker.top(ranker.compile(""), new int[] { 3, 1, 0 }, 2));
+    }
+
+    @Test
+    void top_randomCatalog_eachPrefixOfFullRanking() {
+        Random random = new Random(5);
+        String[] words = { "rock", "jazz", "concert", "night", "gala", "hall", "montreal", "show" };
+        List<Event> catalog = new ArrayList<>();
+        for (int i = 0; i < 500; i++) {
+            catalog.add(event(words[random.nextInt(words.length)] + " " + words[random.nextInt(words.length)],
+                    words[random.nextInt(words.length)], words[random.nextInt(words.length)]));
+        }
+        EventRanker big = EventRanker.build(catalog);
+        int[] positions = new int[catalog.size()];
+        for (int i = 0; i < positions.length; i++) positions[i] = i;
+        for (String query : new String[] { "rock", "concrt night", "mont", "gala hall" }) {
+            EventRanker.Query compiled = big.compile(query);
+            int[] full = big.top(compiled, positions, positions.length);
+            for (int k : new int[] { 1, 7, 50 }) {
+                assertArrayEquals(Arrays.copyOf(full, k), big.top(compiled, positions, k), query + " k=" + k);
+            }
+        }
+    }
+
+    @Test
+    void build_emptyCatalog() {
+        EventRanker empty = EventRanker.build(new ArrayList<>());
+        assertTrue(empty.matches(empty.compile("rock")).isEmpty());
+        assertEquals(0, empty.top(empty.compile("rock"), new int[0], 10).length);
+    }
+}
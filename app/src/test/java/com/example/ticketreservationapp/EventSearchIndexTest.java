@@ -0,0 +1,124 @@
+package com.example.ticketreservationapp;
+
+import com.example.ticketreservationapp.model.Event;
+import com.example.ticketreservationapp.search.EventSearchIndex;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class EventSearchIndexTest {
+
+    private Event makeEvent(String title, String description, String location) {
+        return new Event(null, title, description, "2026-06-01",
+                location, "Concerts", 25.0, 100, 100, "org1", "Organizer");
+    }
+
+    private final List<Event> events = Arrays.asList(
+        makeEvent("Rock Concert", "Loud guitars all night", "Montreal, QC"),
+        makeEvent("Jazz Night", "Smooth jazz trio", "Toronto, ON"),
+        makeEvent("Movie Marathon", "Classic rockumentaries", "Montreal, QC")
+    );
+
+    private BitSet search(EventSearchIndex index, String query) {
+        return index.search(index.compile(query));
+    }
+
+    // tokenize ─────────────────────────────────────────────────────────────
+
+    @Test
+    void tokenize_lowercasesAndSplitsOnNonAlphanumerics() {
+        assertEquals(Arrays.asList("rock", "n", "roll", "2026"),
+                EventSearchIndex.tokenize("Rock-N-Roll, 2026!"));
+    }
+
+    @Test
+    void tokenize_null_returnsEmpty() {
+        assertTrue(EventSearchIndex.tokenize(null).isEmpty());
+    }
+
+    // search ───────────────────────────────────────────────────────────────
+
+    @Test
+    void search_prefixMatchesTitleToken() {
+        BitSet result = search(EventSearchIndex.build(events), "conc");
+        assertEquals(1, result.cardinality());
+        assertTrue(result.get(0));
+    }
+
+    @Test
+    void search_matchesDescriptionAndLocation() {
+        EventSearchIndex index = EventSearchIndex.build(events);
+        assertTrue(search(index, "trio").get(1));
+        assertEquals(2, search(index, "montreal").cardinality());
+    }
+
+    @Test
+    void search_prefixSpansSeveralTokens() {
+        // "rock" is a prefix of both "rock" and "rockumentaries".
+        BitSet result = search(EventSearchIndex.build(events), "rock");
+        assertTrue(result.get(0));
+        assertTrue(result.get(2));
+        assertFalse(result.get(1));
+    }
+
+    @Test
+    void search_allQueryTokensMustMatch() {
+        BitSet result = search(EventSearchIndex.build(events), "rock mon");
+        assertEquals(2, result.cardinality());
+        assertTrue(search(EventSearchIndex.build(events), "rock tor").isEmpty());
+    }
+
+    @Test
+    void search_tokenOrderDoesNotMatter() {
+        EventSearchIndex index = EventSearchIndex.build(events);
+        assertEquals(search(index, "night jazz"), search(index, "jazz night"));
+    }
+
+    @Test
+    void search_middleOfTokenDoesNotMatch() {
+        assertTrue(search(EventSearchIndex.build(events), "cert").isEmpty());
+    }
+
+    @Test
+    void search_unknownToken_returnsEmpty() {
+        assertTrue(search(EventSearchIndex.build(events), "opera").isEmpty());
+    }
+
+    @Test
+    void search_emptyQuery_matchesEverything() {
+        assertEquals(3, search(EventSearchIndex.build(events), "").cardinality());
+        assertEquals(3, search(EventSearchIndex.build(events), "  -- ").cardinality());
+    }
+
+    @Test
+    void search_nullFields_areSkipped() {
+        List<Event> withNulls = new ArrayList<>(events);
+        withNulls.add(new Event());
+        EventSearchIndex index = EventSearchIndex.build(withNulls);
+        assertEquals(4, index.size());
+        assertFalse(search(index, "rock").get(3));
+    }
+
+    @Test
+    void matches_agreesWithSearch() {
+        EventSearchIndex index = EventSearchIndex.build(events);
+        EventSearchIndex.Query query = index.compile("mont cl");
+        BitSet result = index.search(query);
+        for (int i = 0; i < events.size(); i++) {
+            assertEquals(result.get(i), index.matches(query, i));
+        }
+    }
+
+    @Test
+    void empty_hasNoEvents() {
+        EventSearchIndex index = EventSearchIndex.empty();
+        assertEquals(0, index.size());
+        assertTrue(search(index, "rock").isEmpty());
+    }
+}
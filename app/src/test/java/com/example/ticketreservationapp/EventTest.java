@@ -1,9 +1,13 @@
 package com.example.ticketreservationapp;
 
 import com.example.ticketreservationapp.model.Event;
+import com.example.ticketreservationapp.model.EventCategory;
+import com.example.ticketreservationapp.model.EventDates;
 
 import org.junit.jupiter.api.Test;
 
+import java.util.Date;
+
 import static org.junit.jupiter.api.Assertions.*;
 
 class EventTest {
@@ -86,4 +90,78 @@ class EventTest {
                 "Montreal", "Concerts", 0.0, 100, 100, "org1", "Org");
         assertEquals(0.0, event.getPrice(), 0.001);
     }
+
+    @Test
+    void normalized_lowercasesTextAndParsesCategoryAndDate() {
+        Event event = new Event("e1", "Rock CONCERT", "Loud", "2026-06-01",
+                "Montreal, QC", "concerts", 25.0, 100, 100, "org1", "Org");
+        Event.Normalized n = event.normalized();
+        assertEquals("rock concert", n.title);
+        assertEquals("loud", n.description);
+        assertEquals("montreal, qc", n.location);
+        assertEquals(EventCategory.CONCERTS, n.category);
+        assertEquals(EventDates.parseEpochDay("2026-06-01"), n.epochDay);
+    }
+
+    @Test
+    void normalized_isComputedOnce() {
+        Event event = new Event("e1", "Show", "desc", "2026-06-01",
+                "Montreal", "Concerts", 25.0, 100, 100, "org1", "Org");
+        assertSame(event.normalized(), event.normalized());
+    }
+
+    @Test
+    void normalized_nullFields_becomeEmptyAndOther() {
+        Event.Normalized n = new Event().normalized();
+        assertEquals("", n.title);
+        assertEquals("", n.location);
+        assertEquals(EventCategory.OTHER, n.category);
+        assertEquals(EventDates.NO_DATE, n.epochDay);
+    }
+
+    @Test
+    void normalized_isRecomputedAfterSetter() {
+        Event event = new Event("e1", "Show", "desc", "2026-06-01",
+                "Montreal", "Concerts", 25.0, 100, 100, "org1", "Org");
+        event.normalized();
+        event.setLocation("Toronto");
+        event.setCategory("Sports");
+        assertEquals("toronto", event.normalized().location);
+        assertEquals(EventCategory.SPORTS, event.normalized().category);
+    }
+
+    @Test
+    void eventCategory_fromLabel_isCaseInsensitive() {
+        assertEquals(EventCategory.MOVIES, EventCategory.fromLabel("MOVIES"));
+        assertEquals(EventCategory.TRAVEL, EventCategory.fromLabel("travel"));
+        assertEquals(EventCategory.OTHER, EventCategory.fromLabel("Theatre"));
+        assertEquals(EventCategory.OTHER, EventCategory.fromLabel(null));
+    }
+
+    @Test
+    void syncFields_defaultToUnsetAndLive() {
+        Event event = new Event();
+        assertNull(event.getCreatedAt());
+        assertNull(event.getUpdatedAt());
+        assertFalse(event.isDeleted());
+
+        event.setUpdatedAt(new Date(42L));
+        event.setDeleted(true);
+        assertEquals(new Date(42L), event.getUpdatedAt());
+        assertTrue(event.isDeleted());
+    }
+
+    @Test
+    void dateEpochDay_followsDate() {
+        Event event = new Event("e1", "T", "D", "1970-01-02", "L", "Concerts", 1, 1, 1, "o", "O");
+        assertEquals(1, event.getDateEpochDay());
+
+        event.setDate("1970-1-11");
+        assertEquals(10, event.getDateEpochDay());
+        assertEquals(10, event.normalized().epochDay);
+
+        event.setDate("whenever");
+        assertEquals(EventDates.NO_DATE, event.getDateEpochDay());
+        assertEquals(EventDates.NO_DATE, new Event().getDateEpochDay());
+    }
 }
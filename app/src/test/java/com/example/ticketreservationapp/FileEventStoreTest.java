@@ -0,0 +1,80 @@
+package com.example.ticketreservationapp;
+
+import com.example.ticketreservationapp.model.Event;
+import com.example.ticketreservationapp.repository.FileEventStore;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Date;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class FileEventStoreTest {
+
+    @Test
+    void load_missingFile_isEmpty(@TempDir File dir) throws Exception {
+        assertTrue(new FileEventStore(new File(dir, "events")).load().isEmpty());
+    }
+
+    @Test
+    void save_thenLoad_roundTripsAllFields(@TempDir File dir) throws Exception {
+        FileEventStore store = new FileEventStore(new File(dir, "events"));
+        Event full = new Event("e1", "Concert", "Live music", "2026-06-01", "Montreal",
+                "Concerts", 49.99, 80, 100, "org1", "Organizer");
+        full.setSeatShards(10);
+        full.setCreatedAt(new Date(1000L));
+        full.setUpdatedAt(new Date(1234L));
+        full.setDeleted(true);
+        Event sparse = new Event();
+        sparse.setId("e2");
+
+        store.save(Arrays.asList(full, sparse));
+        List<Event> loaded = store.load();
+
+        assertEquals(2, loaded.size());
+        Event e = loaded.get(0);
+        assertEquals("e1", e.getId());
+        assertEquals("Concert", e.getTitle());
+        assertEquals("Live music", e.getDescription());
+        assertEquals("2026-06-01", e.getDate());
+        assertEquals("Montreal", e.getLocation());
+        assertEquals("Concerts", e.getCategory());
+        assertEquals(49.99, e.getPrice(), 0.0001);
+        assertEquals(80, e.getAvailableSeats());
+        assertEquals(100, e.getTotalSeats());
+        assertEquals("org1", e.getOrganizerId());
+        assertEquals("Organizer", e.getOrganizerName());
+        assertEquals(10, e.getSeatShards());
+        assertEquals(new Date(1000L), e.getCreatedAt());
+        assertEquals(new Date(1234L), e.getUpdatedAt());
+        assertTrue(e.isDeleted());
+        assertNull(loaded.get(1).getCreatedAt());
+        assertNull(loaded.get(1).getUpdatedAt());
+        assertFalse(loaded.get(1).isDeleted());
+        assertEquals("e2", loaded.get(1).getId());
+        assertNull(loaded.get(1).getTitle());
+    }
+
+    @Test
+    void save_replacesPreviousContents(@TempDir File dir) throws Exception {
+        FileEventStore store = new FileEventStore(new File(dir, "events"));
+        store.save(Arrays.asList(new Event(), new Event()));
+        store.save(Collections.singletonList(new Event()));
+        assertEquals(1, store.load().size());
+    }
+
+    @Test
+    void load_otherFormatVersion_isEmpty(@TempDir File dir) throws Exception {
+        File file = new File(dir, "events");
+        try (FileOutputStream out = new FileOutputStream(file)) {
+            out.write(new byte[] {0, 0, 0, 99, 0, 0, 0, 1});
+        }
+        assertTrue(new FileEventStore(file).load().isEmpty());
+    }
+}
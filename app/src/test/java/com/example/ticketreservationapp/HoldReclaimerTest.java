@@ -0,0 +1,125 @@
+package com.example.ticketreservationapp;
+
+import com.example.ticketreservationapp.model.Event;
+import com.example.ticketreservationapp.model.SeatHold;
+import com.example.ticketreservationapp.repository.EventRepository;
+import com.example.ticketreservationapp.repository.HoldReclaimer;
+import com.example.ticketreservationapp.repository.InMemoryEventRepository;
+import com.example.ticketreservationapp.repository.InMemoryReservationRepository;
+import com.example.ticketreservationapp.repository.ReservationRepository;
+import com.example.ticketreservationapp.repository.TransactionMetrics;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class HoldReclaimerTest {
+
+    private ScheduledExecutorService executor;
+
+    @BeforeEach
+    void setUp() {
+        executor = Executors.newSingleThreadScheduledExecutor();
+    }
+
+    @AfterEach
+    void tearDown() {
+        executor.shutdownNow();
+    }
+
+    /** Collects what the reclaimer reports and counts down on each report. */
+    private static class RecordingListener implements HoldReclaimer.Listener {
+        final List<Integer> reclaimed = Collections.synchronizedList(new ArrayList<>());
+        final List<String> errors = Collections.synchronizedList(new ArrayList<>());
+        final CountDownLatch reports;
+
+        RecordingListener(int expectedReports) {
+            reports = new CountDownLatch(expectedReports);
+        }
+
+        @Override
+        public void onReclaimed(int holds) {
+            reclaimed.add(holds);
+            reports.countDown();
+        }
+
+        @Override
+        public void onError(String message) {
+            errors.add(message);
+            reports.countDown();
+        }
+    }
+
+    @Test
+    void start_reclaimsExpiredHolds() throws Exception {
+        InMemoryEventRepository events = new InMemoryEventRepository();
+        InMemoryReservationRepository reservations =
+                new InMemoryReservationRepository(events, TransactionMetrics.NONE, 0);
+        Event event = new Event(null, "Gala", "", "2026-05-01", "Montreal", "Concerts", 10.0,
+                5, 5, "org-1", "Org");
+        events.createEvent(event, new EventRepository.EventCallback() {
+            @Override public void onSuccess() {}
+            @Override public void onError(String message) { fail(message); }
+        });
+        reservations.createHold("user-1", event.getId(), 3, new ReservationRepository.HoldCallback() {
+            @Override public void onSuccess(SeatHold hold) {}
+            @Override public void onError(String message) { fail(message); }
+        });
+        RecordingListener listener = new RecordingListener(1);
+
+        new HoldReclaimer(reservations, listener, executor, 0, 10).start();
+
+        assertTrue(listener.reports.await(5, TimeUnit.SECONDS));
+        assertEquals(List.of(1), listener.reclaimed);
+        assertEquals(5, events.availableSeats(event.getId()));
+    }
+
+    @Test
+    void failures_areReportedAndRetried() throws Exception {
+        ReservationRepository failing = new InMemoryReservationRepository(new InMemoryEventRepository()) {
+            @Override
+            public void reclaimExpiredHolds(ReclaimCallback callback) {
+                callback.onError("offline");
+            }
+        };
+        RecordingListener listener = new RecordingListener(2);
+
+        HoldReclaimer reclaimer = new HoldReclaimer(failing, listener, executor, 0, 10);
+        reclaimer.start();
+        reclaimer.start();
+
+        assertTrue(listener.reports.await(5, TimeUnit.SECONDS));
+        assertEquals(List.of("offline", "offline"), listener.errors.subList(0, 2));
+        assertTrue(listener.reclaimed.isEmpty());
+    }
+
+    @Test
+    void fullBatch_isFollowedByAnotherRunWithoutWaiting() throws Exception {
+        AtomicInteger calls = new AtomicInteger();
+        ReservationRepository busy = new InMemoryReservationRepository(new InMemoryEventRepository()) {
+            @Override
+            public void reclaimExpiredHolds(ReclaimCallback callback) {
+                callback.onSuccess(calls.incrementAndGet() == 1 ? RECLAIM_BATCH_SIZE : 1);
+            }
+        };
+        RecordingListener listener = new RecordingListener(2);
+
+        // An interval no test would wait out: the second run must not wait for it.
+        new HoldReclaimer(busy, listener, executor, 0, TimeUnit.HOURS.toMillis(1)).start();
+
+        assertTrue(listener.reports.await(5, TimeUnit.SECONDS));
+        assertEquals(List.of(ReservationRepository.RECLAIM_BATCH_SIZE, 1),
+                listener.reclaimed.subList(0, 2));
+    }
+}
@@ -0,0 +1,306 @@
+package com.example.ticketreservationapp;
+
+import com.example.ticketreservationapp.model.Event;
+import com.example.ticketreservationapp.model.EventDates;
+import com.example.ticketreservationapp.repository.EventQuery;
+import com.example.ticketreservationapp.repository.EventRepository;
+import com.example.ticketreservationapp.repository.InMemoryEventRepository;
+import com.example.ticketreservationapp.search.FilterCriteria;
+import com.google.firebase.firestore.ListenerRegistration;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Date;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class InMemoryEventRepositoryTest {
+
+    private final InMemoryEventRepository repository = new InMemoryEventRepository();
+
+    private Event create(String title, String date, String category, int seats) {
+        Event event = new Event(null, title, "", date, "Montreal", category, 10.0,
+                seats, seats, "org-1", "Org");
+        repository.createEvent(event, new EventRepository.EventCallback() {
+            @Override public void onSuccess() {}
+            @Override public void onError(String message) { fail(message); }
+        });
+        return event;
+    }
+
+    private List<Event> all() {
+        List<Event> result = new ArrayList<>();
+        repository.getAllEvents(new EventRepository.EventListCallback() {
+            @Override public void onSuccess(List<Event> events) { result.addAll(events); }
+            @Override public void onError(String message) { fail(message); }
+        });
+        return result;
+    }
+
+    private List<Event> page(EventQuery filter, int size, Event after, boolean[] hasMore) {
+        List<Event> result = new ArrayList<>();
+        repository.getEventsPage(filter, size, after, new EventRepository.EventPageCallback() {
+            @Override
+            public void onSuccess(List<Event> events, boolean more) {
+                result.addAll(events);
+                hasMore[0] = more;
+            }
+
+            @Override public void onError(String message) { fail(message); }
+        });
+        return result;
+    }
+
+    private static List<String> titles(List<Event> events) {
+        List<String> titles = new ArrayList<>();
+        for (Event event : events) titles.add(event.getTitle());
+        return titles;
+    }
+
+    // Writes ──────────────────────────────────────────────────────────────
+
+    @Test
+    void createEvent_assignsIdAndStoresACopy() {
+        Event event = create("Gala", "2026-05-01", "Concerts", 50);
+        assertNotNull(event.getId());
+
+        event.setTitle("Changed after create");
+        assertEquals(List.of("Gala"), titles(all()));
+    }
+
+    @Test
+    void returnedEvents_areCopies() {
+        create("Gala", "2026-05-01", "Concerts", 50);
+        all().get(0).setAvailableSeats(0);
+        assertEquals(50, all().get(0).getAvailableSeats());
+    }
+
+    @Test
+    void updateEvent_keepsOrganizerAndMovesInDateOrder() {
+        Event first = create("First", "2026-01-01", "Concerts", 10);
+        create("Second", "2026-02-01", "Concerts", 10);
+
+        Event edit = all().stream().filter(e -> e.getId().equals(first.getId())).findFirst().get();
+        edit.setDate("2026-03-01");
+        edit.setOrganizerId("someone-else");
+        assertNotNull(edit.getCreatedAt());
+        repository.updateEvent(edit, new EventRepository.EventCallback() {
+            @Override public void onSuccess() {}
+            @Override public void onError(String message) { fail(message); }
+        });
+
+        List<Event> page = page(EventQuery.ALL, 10, null, new boolean[1]);
+        assertEquals(List.of("Second", "First"), titles(page));
+        assertEquals("org-1", page.get(1).getOrganizerId());
+        assertEquals(edit.getCreatedAt(), page.get(1).getCreatedAt());
+    }
+
+    @Test
+    void updateEvent_unknownId_reportsError() {
+        Event ghost = new Event("missing", "Ghost", "", "2026-01-01", "", "Concerts", 0, 0, 0,
+                "org-1", "Org");
+        String[] error = new String[1];
+        repository.updateEvent(ghost, new EventRepository.EventCallback() {
+            @Override public void onSuccess() { fail(); }
+            @Override public void onError(String message) { error[0] = message; }
+        });
+        assertNotNull(error[0]);
+    }
+
+    private String update(Event event) {
+        String[] error = new String[1];
+        repository.updateEvent(event, new EventRepository.EventCallback() {
+            @Override public void onSuccess() {}
+            @Override public void onError(String message) { error[0] = message; }
+        });
+        return error[0];
+    }
+
+    @Test
+    void updateEvent_capacityChange_movesRemainingSeatsBySameAmount() {
+        Event event = create("Gala", "2026-05-01", "Concerts", 10);
+        Event edit = all().get(0);
+        edit.setAvailableSeats(3);
+        edit.setTotalSeats(15);
+
+        assertNull(update(edit));
+
+        assertEquals(15, repository.availableSeats(event.getId()));
+        assertEquals(15, all().get(0).getTotalSeats());
+    }
+
+    @Test
+    void updateEvent_belowSeatsSold_isRefused() {
+        Event event = create("Gala", "2026-05-01", "Concerts", 10);
+        Event edit = all().get(0);
+        edit.setTotalSeats(-1);
+
+        assertEquals(EventRepository.SEATS_ALREADY_SOLD, update(edit));
+        assertEquals(10, repository.availableSeats(event.getId()));
+        assertEquals(10, all().get(0).getTotalSeats());
+    }
+
+    @Test
+    void deleteEvent_hidesEventButSyncStillSeesIt() {
+        Date before = new Date(System.currentTimeMillis() - 1000);
+        Event event = create("Gala", "2026-05-01", "Concerts", 50);
+        repository.deleteEvent(event.getId(), new EventRepository.EventCallback() {
+            @Override public void onSuccess() {}
+            @Override public void onError(String message) { fail(message); }
+        });
+
+        assertTrue(all().isEmpty());
+        assertTrue(page(EventQuery.ALL, 10, null, new boolean[1]).isEmpty());
+        List<Event> changed = new ArrayList<>();
+        repository.syncEvents(before, new EventRepository.EventListCallback() {
+            @Override public void onSuccess(List<Event> events) { changed.addAll(events); }
+            @Override public void onError(String message) { fail(message); }
+        });
+        assertEquals(1, changed.size());
+        assertTrue(changed.get(0).isDeleted());
+    }
+
+    // Paging ──────────────────────────────────────────────────────────────
+
+    @Test
+    void getEventsPage_followsDateOrderAcrossPages() {
+        create("C", "2026-03-01", "Concerts", 10);
+        create("A", "2026-01-01", "Concerts", 10);
+        create("B", "2026-02-01", "Concerts", 10);
+
+        boolean[] hasMore = new boolean[1];
+        List<Event> first = page(EventQuery.ALL, 2, null, hasMore);
+        assertEquals(List.of("A", "B"), titles(first));
+        assertTrue(hasMore[0]);
+
+        List<Event> second = page(EventQuery.ALL, 2, first.get(1), hasMore);
+        assertEquals(List.of("C"), titles(second));
+        assertFalse(hasMore[0]);
+    }
+
+    // Firestore pages by dateEpochDay, so "2026-9-15" comes before "2026-10-01".
+    @Test
+    void getEventsPage_followsParsedDateNotTheDateString() {
+        create("October", "2026-10-01", "Concerts", 10);
+        create("September", "2026-9-15", "Concerts", 10);
+        create("Someday", "someday", "Concerts", 10);
+
+        boolean[] hasMore = new boolean[1];
+        List<Event> first = page(EventQuery.ALL, 2, null, hasMore);
+        assertEquals(List.of("Someday", "September"), titles(first));
+        assertEquals(List.of("October"), titles(page(EventQuery.ALL, 2, first.get(1), hasMore)));
+    }
+
+    @Test
+    void getEventsPage_hasMoreIsFalseWhenPageEndsExactly() {
+        create("A", "2026-01-01", "Concerts", 10);
+        create("B", "2026-02-01", "Concerts", 10);
+
+        boolean[] hasMore = {true};
+        assertEquals(2, page(EventQuery.ALL, 2, null, hasMore).size());
+        assertFalse(hasMore[0]);
+    }
+
+    @Test
+    void getEventsPage_appliesFilter() {
+        create("Show", "2026-01-15", "Concerts", 10);
+        create("Match", "2026-01-20", "Sports", 10);
+        create("Late show", "2026-03-01", "Concerts", 10);
+
+        EventQuery filter = EventQuery.ALL.withCategory("Concerts").withDateRange(
+                EventDates.parseEpochDay("2026-01-01"), EventDates.parseEpochDay("2026-01-31"));
+        assertEquals(List.of("Show"), titles(page(filter, 10, null, new boolean[1])));
+    }
+
+    // The stored label's case and unpadded dates used to slip past the server filter.
+    @Test
+    void getEventsPage_filterAgreesWithLocalCriteria() {
+        create("Lowercase label", "2026-01-15", "concerts", 10);
+        create("Unpadded date", "2026-1-5", "Concerts", 10);
+        create("Custom label", "2026-01-20", "THEATRE", 10);
+        create("Undated", "soon", "Concerts", 10);
+        create("Late show", "2026-03-01", "Concerts", 10);
+
+        FilterCriteria[] cases = {
+                FilterCriteria.NONE.withCategory("Concerts"),
+                FilterCriteria.NONE.withCategory("theatre"),
+                FilterCriteria.NONE.withDateRange("2026-01-01", "2026-01-31"),
+                FilterCriteria.NONE.withDateRange(null, "2026-02-01"),
+                FilterCriteria.NONE.withCategory("CONCERTS").withDateRange("2026-01-01", null),
+        };
+        for (FilterCriteria criteria : cases) {
+            EventQuery query = EventQuery.ALL.withCategory(criteria.getCategory())
+                    .withDateRange(criteria.getFromDay(), criteria.getToDay());
+            List<String> local = new ArrayList<>();
+            for (Event event : all()) {
+                if (criteria.matchesFields(event)) local.add(event.getTitle());
+            }
+            List<String> server = titles(page(query, 10, null, new boolean[1]));
+            Collections.sort(local);
+            Collections.sort(server);
+            assertEquals(local, server, criteria.getCategory() + " " + criteria.getFromDay());
+        }
+    }
+
+    @Test
+    void getEventsByOrganizer_returnsOnlyTheirEvents() {
+        create("Mine", "2026-01-01", "Concerts", 10);
+        Event other = new Event(null, "Theirs", "", "2026-01-02", "", "Concerts", 0, 5, 5,
+                "org-2", "Other");
+        repository.createEvent(other, new EventRepository.EventCallback() {
+            @Override public void onSuccess() {}
+            @Override public void onError(String message) { fail(message); }
+        });
+
+        List<Event> result = new ArrayList<>();
+        repository.getEventsByOrganizer("org-2", new EventRepository.EventListCallback() {
+            @Override public void onSuccess(List<Event> events) { result.addAll(events); }
+            @Override public void onError(String message) { fail(message); }
+        });
+        assertEquals(List.of("Theirs"), titles(result));
+    }
+
+    // Seat listener ───────────────────────────────────────────────────────
+
+    @Test
+    void listenToAvailableSeats_reportsCurrentCountThenChanges() {
+        Event event = create("Gala", "2026-05-01", "Concerts", 50);
+        List<Integer> seen = new ArrayList<>();
+        ListenerRegistration registration = repository.listenToAvailableSeats(event.getId(),
+                new EventRepository.SeatsListener() {
+                    @Override public void onSeatsChanged(int seats) { seen.add(seats); }
+                    @Override public void onError(String message) { fail(message); }
+                });
+
+        repository.deleteEvent(event.getId(), new EventRepository.EventCallback() {
+            @Override public void onSuccess() {}
+            @Override public void onError(String message) { fail(message); }
+        });
+        registration.remove();
+        repository.deleteEvent(event.getId(), new EventRepository.EventCallback() {
+            @Override public void onSuccess() {}
+            @Override public void onError(String message) { fail(message); }
+        });
+
+        assertEquals(List.of(50, 0), seen);
+    }
+
+    // Cache ───────────────────────────────────────────────────────────────
+
+    @Test
+    void cacheEvents_roundTrips() {
+        Event event = new Event("e1", "Cached", "", "2026-01-01", "", "Concerts", 0, 1, 1,
+                "org-1", "Org");
+        repository.cacheEvents(List.of(event));
+
+        List<Event> cached = new ArrayList<>();
+        repository.getCachedEvents(new EventRepository.EventListCallback() {
+            @Override public void onSuccess(List<Event> events) { cached.addAll(events); }
+            @Override public void onError(String message) { fail(message); }
+        });
+        assertEquals(List.of(event), cached);
+    }
+}
@@ -0,0 +1,354 @@
+package com.example.ticketreservationapp;
+
+import com.example.ticketreservationapp.model.CartLine;
+import com.example.ticketreservationapp.model.Event;
+import com.example.ticketreservationapp.model.Reservation;
+import com.example.ticketreservationapp.model.SeatHold;
+import com.example.ticketreservationapp.repository.EventRepository;
+import com.example.ticketreservationapp.repository.InMemoryEventRepository;
+import com.example.ticketreservationapp.repository.InMemoryReservationRepository;
+import com.example.ticketreservationapp.repository.ReservationRepository;
+import com.example.ticketreservationapp.repository.TransactionMetrics.Failure;
+import com.example.ticketreservationapp.repository.TransactionMetrics.Operation;
+import com.example.ticketreservationapp.repository.TransactionStats;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class InMemoryReservationRepositoryTest {
+
+    private final InMemoryEventRepository events = new InMemoryEventRepository();
+    private final TransactionStats stats = new TransactionStats();
+    private final InMemoryReservationRepository repository =
+            new InMemoryReservationRepository(events, stats);
+
+    private String createEvent(int seats) {
+        Event event = new Event(null, "Gala", "", "2026-05-01", "Montreal", "Concerts", 12.5,
+                seats, seats, "org-1", "Org");
+        events.createEvent(event, new EventRepository.EventCallback() {
+            @Override public void onSuccess() {}
+            @Override public void onError(String message) { fail(message); }
+        });
+        return event.getId();
+    }
+
+    /** Result of one call: the value on success, the message on failure. */
+    private static final class Result<T> {
+        T value;
+        String error;
+    }
+
+    private Result<Reservation> reserve(String eventId, int tickets) {
+        Result<Reservation> result = new Result<>();
+        repository.reserveTicket("user-1", eventId, tickets,
+                new ReservationRepository.ReservationCallback() {
+                    @Override public void onSuccess(Reservation r) { result.value = r; }
+                    @Override public void onError(String message) { result.error = message; }
+                });
+        return result;
+    }
+
+    private String cancel(String reservationId) {
+        Result<Void> result = new Result<>();
+        repository.cancelReservation(reservationId, new ReservationRepository.SimpleCallback() {
+            @Override public void onSuccess() {}
+            @Override public void onError(String message) { result.error = message; }
+        });
+        return result.error;
+    }
+
+    private Result<SeatHold> hold(String eventId, int tickets) {
+        Result<SeatHold> result = new Result<>();
+        repository.createHold("user-1", eventId, tickets, new ReservationRepository.HoldCallback() {
+            @Override public void onSuccess(SeatHold h) { result.value = h; }
+            @Override public void onError(String message) { result.error = message; }
+        });
+        return result;
+    }
+
+    private List<Reservation> reservationsOf(String userId) {
+        List<Reservation> result = new ArrayList<>();
+        repository.getReservationsByUser(userId, new ReservationRepository.ReservationListCallback() {
+            @Override public void onSuccess(List<Reservation> r) { result.addAll(r); }
+            @Override public void onError(String message) { fail(message); }
+        });
+        return result;
+    }
+
+    // Reserve and cancel ──────────────────────────────────────────────────
+
+    @Test
+    void reserveTicket_takesSeatsAndStoresReservation() {
+        String eventId = createEvent(10);
+
+        Result<Reservation> result = reserve(eventId, 3);
+
+        assertNull(result.error);
+        assertEquals(7, events.availableSeats(eventId));
+        assertEquals(37.5, result.value.getTotalPrice(), 1e-9);
+        assertEquals("Gala", result.value.getEventTitle());
+        assertEquals(1, reservationsOf("user-1").size());
+    }
+
+    @Test
+    void reserveTicket_notEnoughSeats_changesNothing() {
+        String eventId = createEvent(2);
+
+        assertEquals(ReservationRepository.NOT_ENOUGH_SEATS, reserve(eventId, 3).error);
+        assertEquals(2, events.availableSeats(eventId));
+        assertTrue(reservationsOf("user-1").isEmpty());
+        assertEquals(1, stats.summary(Operation.RESERVE).getFailures(Failure.SOLD_OUT));
+    }
+
+    @Test
+    void reserveTicket_unknownOrDeletedEvent_reportsEventGone() {
+        assertEquals(ReservationRepository.EVENT_GONE, reserve("missing", 1).error);
+
+        String eventId = createEvent(5);
+        events.deleteEvent(eventId, new EventRepository.EventCallback() {
+            @Override public void onSuccess() {}
+            @Override public void onError(String message) { fail(message); }
+        });
+        assertEquals(ReservationRepository.EVENT_GONE, reserve(eventId, 1).error);
+    }
+
+    @Test
+    void reserveTicket_nonPositiveCount_isRejected() {
+        String eventId = createEvent(5);
+        assertEquals(ReservationRepository.INVALID_TICKET_COUNT, reserve(eventId, 0).error);
+    }
+
+    @Test
+    void cancelReservation_restoresSeatsOnce() {
+        String eventId = createEvent(10);
+        Reservation reservation = reserve(eventId, 4).value;
+
+        assertNull(cancel(reservation.getId()));
+        assertEquals(10, events.availableSeats(eventId));
+        assertTrue(reservationsOf("user-1").isEmpty());
+
+        assertEquals(ReservationRepository.RESERVATION_NOT_FOUND, cancel(reservation.getId()));
+        assertEquals(10, events.availableSeats(eventId));
+    }
+
+    @Test
+    void concurrentReserves_neverOversell() throws Exception {
+        int seats = 100;
+        int buyers = 16;
+        int attemptsPerBuyer = 50;
+        String eventId = createEvent(seats);
+        AtomicInteger sold = new AtomicInteger();
+        CountDownLatch start = new CountDownLatch(1);
+        ExecutorService pool = Executors.newFixedThreadPool(buyers);
+        for (int b = 0; b < buyers; b++) {
+            pool.execute(() -> {
+                try {
+                    start.await();
+                } catch (InterruptedException e) {
+                    return;
+                }
+                for (int i = 0; i < attemptsPerBuyer; i++) {
+                    Result<Reservation> result = reserve(eventId, 1 + i % 3);
+                    if (result.value != null) sold.addAndGet(result.value.getNumberOfTickets());
+                }
+            });
+        }
+        start.countDown();
+        pool.shutdown();
+        assertTrue(pool.awaitTermination(30, TimeUnit.SECONDS));
+
+        assertEquals(seats - sold.get(), events.availableSeats(eventId));
+        assertTrue(events.availableSeats(eventId) >= 0);
+        int reserved = 0;
+        for (Reservation r : reservationsOf("user-1")) reserved += r.getNumberOfTickets();
+        assertEquals(sold.get(), reserved);
+    }
+
+    @Test
+    void concurrentReservesAndCancels_keepSeatsConsistent() throws Exception {
+        String eventId = createEvent(20);
+        CountDownLatch start = new CountDownLatch(1);
+        ExecutorService pool = Executors.newFixedThreadPool(8);
+        for (int t = 0; t < 8; t++) {
+            pool.execute(() -> {
+                try {
+                    start.await();
+                } catch (InterruptedException e) {
+                    return;
+                }
+                for (int i = 0; i < 200; i++) {
+                    Result<Reservation> result = reserve(eventId, 2);
+                    if (result.value != null) cancel(result.value.getId());
+                }
+            });
+        }
+        start.countDown();
+        pool.shutdown();
+        assertTrue(pool.awaitTermination(30, TimeUnit.SECONDS));
+
+        assertEquals(20, events.availableSeats(eventId));
+        assertTrue(reservationsOf("user-1").isEmpty());
+    }
+
+    // Carts ───────────────────────────────────────────────────────────────
+
+    @Test
+    void reserveTickets_oneLineShort_reservesNothing() {
+        String roomy = createEvent(10);
+        String tight = createEvent(1);
+        Result<List<Reservation>> result = new Result<>();
+
+        repository.reserveTickets("user-1",
+                List.of(new CartLine(roomy, 2), new CartLine(tight, 2)),
+                new ReservationRepository.ReservationListCallback() {
+                    @Override public void onSuccess(List<Reservation> r) { result.value = r; }
+                    @Override public void onError(String message) { result.error = message; }
+                });
+
+        assertEquals(ReservationRepository.NOT_ENOUGH_SEATS, result.error);
+        assertEquals(10, events.availableSeats(roomy));
+        assertEquals(1, events.availableSeats(tight));
+    }
+
+    @Test
+    void reserveTickets_mergesLinesForOneEvent() {
+        String eventId = createEvent(10);
+        Result<List<Reservation>> result = new Result<>();
+
+        repository.reserveTickets("user-1",
+                List.of(new CartLine(eventId, 2), new CartLine(eventId, 3)),
+                new ReservationRepository.ReservationListCallback() {
+                    @Override public void onSuccess(List<Reservation> r) { result.value = r; }
+                    @Override public void onError(String message) { result.error = message; }
+                });
+
+        assertEquals(1, result.value.size());
+        assertEquals(5, result.value.get(0).getNumberOfTickets());
+        assertEquals(5, events.availableSeats(eventId));
+    }
+
+    // Holds ───────────────────────────────────────────────────────────────
+
+    @Test
+    void confirmHold_keepsSeatsTakenAndCreatesReservation() {
+        String eventId = createEvent(10);
+        SeatHold hold = hold(eventId, 4).value;
+        assertEquals(6, events.availableSeats(eventId));
+
+        Result<Reservation> result = new Result<>();
+        repository.confirmHold(hold.getId(), new ReservationRepository.ReservationCallback() {
+            @Override public void onSuccess(Reservation r) { result.value = r; }
+            @Override public void onError(String message) { result.error = message; }
+        });
+
+        assertEquals(4, result.value.getNumberOfTickets());
+        assertEquals(6, events.availableSeats(eventId));
+
+        Result<Reservation> again = new Result<>();
+        repository.confirmHold(hold.getId(), new ReservationRepository.ReservationCallback() {
+            @Override public void onSuccess(Reservation r) { again.value = r; }
+            @Override public void onError(String message) { again.error = message; }
+        });
+        assertEquals(ReservationRepository.HOLD_NOT_FOUND, again.error);
+    }
+
+    @Test
+    void releaseHold_returnsSeats() {
+        String eventId = createEvent(10);
+        SeatHold hold = hold(eventId, 4).value;
+
+        repository.releaseHold(hold.getId(), new ReservationRepository.SimpleCallback() {
+            @Override public void onSuccess() {}
+            @Override public void onError(String message) { fail(message); }
+        });
+
+        assertEquals(10, events.availableSeats(eventId));
+    }
+
+    private int reclaim(ReservationRepository repository) {
+        int[] reclaimed = {-1};
+        repository.reclaimExpiredHolds(new ReservationRepository.ReclaimCallback() {
+            @Override public void onSuccess(int holds) { reclaimed[0] = holds; }
+            @Override public void onError(String message) { fail(message); }
+        });
+        return reclaimed[0];
+    }
+
+    @Test
+    void reclaimExpiredHolds_leavesUnexpiredHolds() {
+        String eventId = createEvent(10);
+        hold(eventId, 4);
+
+        assertEquals(0, reclaim(repository));
+        assertEquals(6, events.availableSeats(eventId));
+    }
+
+    // Purchases don't reclaim; the seats of an expired hold wait for the reclaim job.
+    @Test
+    void createHold_leavesExpiredHoldsToReclaiming() {
+        InMemoryReservationRepository expiring =
+                new InMemoryReservationRepository(events, stats, 0);
+        String eventId = createEvent(5);
+        expiring.createHold("user-2", eventId, 5, new ReservationRepository.HoldCallback() {
+            @Override public void onSuccess(SeatHold h) {}
+            @Override public void onError(String message) { fail(message); }
+        });
+
+        Result<Reservation> result = new Result<>();
+        expiring.reserveTicket("user-1", eventId, 2,
+                new ReservationRepository.ReservationCallback() {
+                    @Override public void onSuccess(Reservation r) { result.value = r; }
+                    @Override public void onError(String message) { result.error = message; }
+                });
+
+        assertEquals(ReservationRepository.NOT_ENOUGH_SEATS, result.error);
+        assertEquals(1, reclaim(expiring));
+        assertEquals(5, events.availableSeats(eventId));
+    }
+
+    @Test
+    void reclaimExpiredHolds_returnsSeatsOnEveryEventOnce() {
+        InMemoryReservationRepository expiring =
+                new InMemoryReservationRepository(events, stats, 0);
+        String first = createEvent(5);
+        String second = createEvent(5);
+        for (String eventId : new String[] {first, second, first}) {
+            expiring.createHold("user-2", eventId, 2, new ReservationRepository.HoldCallback() {
+                @Override public void onSuccess(SeatHold h) {}
+                @Override public void onError(String message) { fail(message); }
+            });
+        }
+
+        assertEquals(3, reclaim(expiring));
+        assertEquals(0, reclaim(expiring));
+        assertEquals(5, events.availableSeats(first));
+        assertEquals(5, events.availableSeats(second));
+    }
+
+    @Test
+    void reclaimExpiredHolds_stopsAtTheBatchSize() {
+        InMemoryReservationRepository expiring =
+                new InMemoryReservationRepository(events, stats, 0);
+        int holds = ReservationRepository.RECLAIM_BATCH_SIZE + 5;
+        String eventId = createEvent(holds);
+        for (int i = 0; i < holds; i++) {
+            expiring.createHold("user-2", eventId, 1, new ReservationRepository.HoldCallback() {
+                @Override public void onSuccess(SeatHold h) {}
+                @Override public void onError(String message) { fail(message); }
+            });
+        }
+
+        assertEquals(ReservationRepository.RECLAIM_BATCH_SIZE, reclaim(expiring));
+        assertEquals(5, reclaim(expiring));
+        assertEquals(holds, events.availableSeats(eventId));
+    }
+}
@@ -0,0 +1,146 @@
+package com.example.ticketreservationapp;
+
+import com.example.ticketreservationapp.model.Event;
+import com.example.ticketreservationapp.model.Reservation;
+import com.example.ticketreservationapp.repository.AuthRepository;
+import com.example.ticketreservationapp.repository.EventRepository;
+import com.example.ticketreservationapp.repository.InMemoryAuthRepository;
+import com.example.ticketreservationapp.repository.InMemoryEventRepository;
+import com.example.ticketreservationapp.repository.InMemoryReservationRepository;
+import com.example.ticketreservationapp.repository.InstrumentedAuthRepository;
+import com.example.ticketreservationapp.repository.InstrumentedEventRepository;
+import com.example.ticketreservationapp.repository.InstrumentedReservationRepository;
+import com.example.ticketreservationapp.repository.RepositoryMetrics;
+import com.example.ticketreservationapp.repository.RepositoryStats;
+import com.example.ticketreservationapp.repository.ReservationRepository;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class InstrumentedRepositoriesTest {
+
+    private final RepositoryStats stats = new RepositoryStats();
+    private final InMemoryEventRepository inMemoryEvents = new InMemoryEventRepository();
+    private final EventRepository events = new InstrumentedEventRepository(inMemoryEvents);
+    private final ReservationRepository reservations = new InstrumentedReservationRepository(
+            new InMemoryReservationRepository(inMemoryEvents));
+
+    @BeforeEach
+    void setUp() {
+        RepositoryMetrics.setSink(stats);
+    }
+
+    @AfterEach
+    void tearDown() {
+        RepositoryMetrics.setSink(RepositoryMetrics.NONE);
+    }
+
+    private Event createEvent(String title) {
+        Event event = new Event(null, title, "", "2026-05-01", "Montreal", "Concerts", 10.0,
+                5, 5, "org-1", "Org");
+        events.createEvent(event, new EventRepository.EventCallback() {
+            @Override public void onSuccess() {}
+            @Override public void onError(String message) { fail(message); }
+        });
+        return event;
+    }
+
+    @Test
+    void reads_countTheDocumentsAndBytesTheyReturn() {
+        createEvent("Gala");
+        createEvent("Recital");
+
+        events.getAllEvents(new EventRepository.EventListCallback() {
+            @Override public void onSuccess(List<Event> result) { assertEquals(2, result.size()); }
+            @Override public void onError(String message) { fail(message); }
+        });
+
+        RepositoryStats.Summary all = stats.summary("EventRepository.getAllEvents");
+        assertEquals(1, all.getCalls());
+        assertEquals(2, all.getDocuments());
+        assertTrue(all.getBytes() > 0);
+    }
+
+    @Test
+    void writes_countTheDocumentsTheyWrite() {
+        Event event = createEvent("Gala");
+
+        events.deleteEvent(event.getId(), new EventRepository.EventCallback() {
+            @Override public void onSuccess() {}
+            @Override public void onError(String message) { fail(message); }
+        });
+
+        assertEquals(1, stats.summary("EventRepository.createEvent").getDocuments());
+        RepositoryStats.Summary delete = stats.summary("EventRepository.deleteEvent");
+        assertEquals(1, delete.getCalls());
+        assertEquals(1, delete.getDocuments());
+        assertEquals(0, delete.getBytes());
+    }
+
+    @Test
+    void failures_areReportedAndStillReachTheCaller() {
+        String[] error = new String[1];
+
+        reservations.cancelReservation("missing", new ReservationRepository.SimpleCallback() {
+            @Override public void onSuccess() { fail(); }
+            @Override public void onError(String message) { error[0] = message; }
+        });
+
+        assertEquals(ReservationRepository.RESERVATION_NOT_FOUND, error[0]);
+        RepositoryStats.Summary cancel = stats.summary("ReservationRepository.cancelReservation");
+        assertEquals(1, cancel.getCalls());
+        assertEquals(1, cancel.getFailures());
+    }
+
+    @Test
+    void transactions_reportLatencyButNoDocuments() {
+        Event event = createEvent("Gala");
+
+        reservations.reserveTicket("user-1", event.getId(), 2,
+                new ReservationRepository.ReservationCallback() {
+                    @Override public void onSuccess(Reservation reservation) {}
+                    @Override public void onError(String message) { fail(message); }
+                });
+
+        RepositoryStats.Summary reserve = stats.summary("ReservationRepository.reserveTicket");
+        assertEquals(1, reserve.getCalls());
+        assertEquals(0, reserve.getFailures());
+        assertEquals(0, reserve.getDocuments());
+    }
+
+    @Test
+    void seatsListener_reportsEachDeliveryAsASnapshot() {
+        Event event = createEvent("Gala");
+        events.listenToAvailableSeats(event.getId(), new EventRepository.SeatsListener() {
+            @Override public void onSeatsChanged(int availableSeats) {}
+            @Override public void onError(String message) { fail(message); }
+        });
+
+        reservations.reserveTicket("user-1", event.getId(), 1,
+                new ReservationRepository.ReservationCallback() {
+                    @Override public void onSuccess(Reservation reservation) {}
+                    @Override public void onError(String message) { fail(message); }
+                });
+
+        RepositoryStats.Summary seats = stats.summary("EventRepository.listenToAvailableSeats");
+        assertEquals(0, seats.getCalls());
+        assertEquals(2, seats.getSnapshots());
+    }
+
+    @Test
+    void authCalls_areTimed() {
+        AuthRepository auth = new InstrumentedAuthRepository(new InMemoryAuthRepository());
+
+        auth.loginWithEmail("nobody@example.com", "secret", new AuthRepository.AuthCallback() {
+            @Override public void onSuccess() { fail(); }
+            @Override public void onError(String message) {}
+        });
+
+        assertEquals(1, stats.summary("AuthRepository.loginWithEmail").getFailures());
+    }
+}
@@ -2,7 +2,7 @@ package com.example.ticketreservationapp;
 
 import androidx.lifecycle.LiveData;
 
-import com.example.ticketreservationapp.repository.AuthRepository;
+import com.example.ticketreservationapp.repository.InMemoryAuthRepository;
 import com.example.ticketreservationapp.viewmodel.LoginViewModel;
 
 import org.junit.jupiter.api.BeforeEach;
@@ -17,7 +17,7 @@ import static org.junit.jupiter.api.Assertions.*;
 @ExtendWith(InstantTaskExecutorExtension.class)
 class LoginViewModelTest {
 
-    private static class FakeAuthRepository extends AuthRepository {
+    private static class FakeAuthRepository extends InMemoryAuthRepository {
         String lastLoginEmail;
         String lastLoginPassword;
         String lastResetEmail;
@@ -28,8 +28,6 @@ class LoginViewModelTest {
         String errorMessage = "boom";
         boolean invokeCallback = true;
 
-        FakeAuthRepository() { super(null, null); }
-
         @Override
         public void loginWithEmail(String email, String password, AuthCallback callback) {
             loginCalls++;
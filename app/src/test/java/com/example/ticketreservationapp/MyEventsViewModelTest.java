@@ -3,7 +3,7 @@ package com.example.ticketreservationapp;
 import androidx.lifecycle.LiveData;
 
 import com.example.ticketreservationapp.model.Event;
-import com.example.ticketreservationapp.repository.EventRepository;
+import com.example.ticketreservationapp.repository.InMemoryEventRepository;
 import com.example.ticketreservationapp.viewmodel.MyEventsViewModel;
 
 import org.junit.jupiter.api.BeforeEach;
@@ -21,7 +21,7 @@ import static org.junit.jupiter.api.Assertions.*;
 class MyEventsViewModelTest {
 
     /** Hand-rolled fake — avoids Mockito/ByteBuddy JDK compatibility issues. */
-    private static class FakeEventRepository extends EventRepository {
+    private static class FakeEventRepository extends InMemoryEventRepository {
         String lastOrganizerId;
         String lastDeletedEventId;
         int loadCalls = 0;
@@ -32,8 +32,6 @@ class MyEventsViewModelTest {
         String errorMessage = "boom";
         boolean invokeCallback = true;
 
-        FakeEventRepository() { super(null); }
-
         @Override
         public void getEventsByOrganizer(String organizerId, EventListCallback callback) {
             loadCalls++;
@@ -3,7 +3,8 @@ package com.example.ticketreservationapp;
 import androidx.lifecycle.LiveData;
 
 import com.example.ticketreservationapp.model.Reservation;
-import com.example.ticketreservationapp.repository.ReservationRepository;
+import com.example.ticketreservationapp.repository.InMemoryEventRepository;
+import com.example.ticketreservationapp.repository.InMemoryReservationRepository;
 import com.example.ticketreservationapp.viewmodel.MyReservationsViewModel;
 
 import org.junit.jupiter.api.BeforeEach;
@@ -21,7 +22,7 @@ import static org.junit.jupiter.api.Assertions.*;
 class MyReservationsViewModelTest {
 
     /** Hand-rolled fake — sidesteps Mockito/ByteBuddy JDK compatibility issues. */
-    private static class FakeReservationRepository extends ReservationRepository {
+    private static class FakeReservationRepository extends InMemoryReservationRepository {
         String lastUserId;
         String lastCancelledId;
         int loadCalls = 0;
@@ -34,8 +35,7 @@ class MyReservationsViewModelTest {
         boolean invokeCallback = true;
 
         FakeReservationRepository() {
-            // Pass null Firestore so we don't touch Firebase from JVM tests.
-            super(null);
+            super(new InMemoryEventRepository());
         }
 
         @Override
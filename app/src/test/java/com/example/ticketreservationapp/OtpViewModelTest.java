@@ -2,7 +2,7 @@ package com.example.ticketreservationapp;
 
 import androidx.lifecycle.LiveData;
 
-import com.example.ticketreservationapp.repository.AuthRepository;
+import com.example.ticketreservationapp.repository.InMemoryAuthRepository;
 import com.example.ticketreservationapp.viewmodel.OtpViewModel;
 import com.google.firebase.auth.PhoneAuthCredential;
 
@@ -18,7 +18,7 @@ import static org.junit.jupiter.api.Assertions.*;
 @ExtendWith(InstantTaskExecutorExtension.class)
 class OtpViewModelTest {
 
-    private static class FakeAuthRepository extends AuthRepository {
+    private static class FakeAuthRepository extends InMemoryAuthRepository {
         PhoneAuthCredential lastCredential;
         String lastFullName;
         String lastPhone;
@@ -30,8 +30,6 @@ class OtpViewModelTest {
         String errorMessage = "boom";
         boolean invokeCallback = true;
 
-        FakeAuthRepository() { super(null, null); }
-
         @Override
         public void signInWithPhoneCredential(PhoneAuthCredential credential,
                                               String fullName, String phone, String role,
@@ -2,7 +2,7 @@ package com.example.ticketreservationapp;
 
 import androidx.lifecycle.LiveData;
 
-import com.example.ticketreservationapp.repository.AuthRepository;
+import com.example.ticketreservationapp.repository.InMemoryAuthRepository;
 import com.example.ticketreservationapp.viewmodel.RegisterViewModel;
 
 import org.junit.jupiter.api.BeforeEach;
@@ -17,7 +17,7 @@ import static org.junit.jupiter.api.Assertions.*;
 @ExtendWith(InstantTaskExecutorExtension.class)
 class RegisterViewModelTest {
 
-    private static class FakeAuthRepository extends AuthRepository {
+    private static class FakeAuthRepository extends InMemoryAuthRepository {
         String lastFullName;
         String lastEmail;
         String lastPassword;
@@ -29,8 +29,6 @@ class RegisterViewModelTest {
         String errorMessage = "boom";
         boolean invokeCallback = true;
 
-        FakeAuthRepository() { super(null, null); }
-
         @Override
         public void registerWithEmail(String fullName, String email, String password,
                                       String phone, String role, AuthCallback callback) {
@@ -0,0 +1,92 @@
+package com.example.ticketreservationapp;
+
+import com.example.ticketreservationapp.repository.RepositoryStats;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class RepositoryStatsTest {
+
+    private final RepositoryStats stats = new RepositoryStats();
+
+    private static long millis(long ms) {
+        return TimeUnit.MILLISECONDS.toNanos(ms);
+    }
+
+    @Test
+    void onCall_totalsPerOperation() {
+        stats.onCall("EventRepository.getAllEvents", millis(40), 120, 36_000, false);
+        stats.onCall("EventRepository.getAllEvents", millis(60), 0, 0, true);
+        stats.onCall("EventRepository.updateEvent", millis(20), 1, 0, false);
+
+        RepositoryStats.Summary all = stats.summary("EventRepository.getAllEvents");
+        assertEquals(2, all.getCalls());
+        assertEquals(1, all.getFailures());
+        assertEquals(120, all.getDocuments());
+        assertEquals(36_000, all.getBytes());
+        assertEquals(1, stats.summary("EventRepository.updateEvent").getDocuments());
+    }
+
+    @Test
+    void onSnapshot_countsDocumentsButNotCalls() {
+        stats.onSnapshot("EventRepository.listenToAvailableSeats", 1, 300);
+        stats.onSnapshot("EventRepository.listenToAvailableSeats", 10, 900);
+
+        RepositoryStats.Summary seats = stats.summary("EventRepository.listenToAvailableSeats");
+        assertEquals(0, seats.getCalls());
+        assertEquals(2, seats.getSnapshots());
+        assertEquals(11, seats.getDocuments());
+        assertEquals(1200, seats.getBytes());
+        assertEquals(0, seats.latencyMillis(50));
+    }
+
+    @Test
+    void summaries_mostDocumentsFirst() {
+        stats.onCall("a", millis(1), 5, 0, false);
+        stats.onCall("b", millis(1), 50, 0, false);
+        stats.onSnapshot("c", 20, 0);
+
+        List<RepositoryStats.Summary> summaries = stats.summaries();
+        assertEquals(3, summaries.size());
+        assertEquals("b", summaries.get(0).getOperation());
+        assertEquals("c", summaries.get(1).getOperation());
+        assertEquals("a", summaries.get(2).getOperation());
+    }
+
+    @Test
+    void summary_unknownOperation_isEmpty() {
+        RepositoryStats.Summary summary = stats.summary("nothing");
+        assertEquals(0, summary.getCalls());
+        assertEquals(0, summary.getDocuments());
+        assertEquals(0, summary.latencyMillis(99));
+    }
+
+    @Test
+    void summary_isACopy() {
+        stats.onCall("a", millis(1), 1, 0, false);
+        RepositoryStats.Summary before = stats.summary("a");
+        stats.onCall("a", millis(1), 1, 0, false);
+        assertEquals(1, before.getCalls());
+    }
+
+    @Test
+    void latencyMillis_withinAQuarterOfTheTruePercentile() {
+        for (int ms = 1; ms <= 100; ms++) stats.onCall("a", millis(ms), 0, 0, false);
+        RepositoryStats.Summary summary = stats.summary("a");
+        assertTrue(summary.latencyMillis(50) >= 50);
+        assertEquals(50, summary.latencyMillis(50), 50 * 0.25);
+        assertTrue(summary.latencyMillis(99) >= 99);
+        assertEquals(99, summary.latencyMillis(99), 99 * 0.25);
+    }
+
+    @Test
+    void reset_forgetsOperations() {
+        stats.onCall("a", millis(1), 1, 0, false);
+        stats.reset();
+        assertTrue(stats.summaries().isEmpty());
+    }
+}
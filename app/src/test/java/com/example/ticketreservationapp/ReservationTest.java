@@ -60,4 +60,21 @@ class ReservationTest {
         assertEquals(999L, r.getCreatedAt());
         assertEquals("XYZ789", r.getConfirmationCode());
     }
+
+    @Test
+    void forTickets_pricesTicketsAndDefaultsMissingDetails() {
+        long before = System.currentTimeMillis();
+        Reservation r = Reservation.forTickets("u1", "e1", "Movie", null, null, 12.5, 3);
+
+        assertEquals("u1", r.getUserId());
+        assertEquals("e1", r.getEventId());
+        assertEquals("Movie", r.getEventTitle());
+        assertEquals("", r.getEventDate());
+        assertEquals("", r.getEventLocation());
+        assertEquals(3, r.getNumberOfTickets());
+        assertEquals(37.5, r.getTotalPrice(), 0.0001);
+        assertTrue(r.getCreatedAt() >= before);
+        assertEquals(8, r.getConfirmationCode().length());
+        assertEquals(r.getConfirmationCode().toUpperCase(), r.getConfirmationCode());
+    }
 }
@@ -0,0 +1,57 @@
+package com.example.ticketreservationapp;
+
+import com.example.ticketreservationapp.model.SeatHold;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SeatHoldTest {
+
+    @Test
+    void defaultConstructor_createsEmptyInstance() {
+        SeatHold h = new SeatHold();
+        assertNull(h.getId());
+        assertNull(h.getUserId());
+        assertNull(h.getEventId());
+        assertEquals(0, h.getNumberOfTickets());
+        assertEquals(0L, h.getExpiresAt());
+    }
+
+    @Test
+    void parameterizedConstructor_setsAllFields() {
+        SeatHold h = new SeatHold("user1", "event1", 2, 1000L, 301000L);
+
+        assertEquals("user1", h.getUserId());
+        assertEquals("event1", h.getEventId());
+        assertEquals(2, h.getNumberOfTickets());
+        assertEquals(1000L, h.getCreatedAt());
+        assertEquals(301000L, h.getExpiresAt());
+    }
+
+    @Test
+    void setters_updateFields() {
+        SeatHold h = new SeatHold();
+        h.setId("h1");
+        h.setUserId("u2");
+        h.setEventId("e2");
+        h.setNumberOfTickets(4);
+        h.setCreatedAt(5L);
+        h.setExpiresAt(10L);
+
+        assertEquals("h1", h.getId());
+        assertEquals("u2", h.getUserId());
+        assertEquals("e2", h.getEventId());
+        assertEquals(4, h.getNumberOfTickets());
+        assertEquals(5L, h.getCreatedAt());
+        assertEquals(10L, h.getExpiresAt());
+    }
+
+    @Test
+    void isExpiredAt_trueFromExpiryOnwards() {
+        SeatHold h = new SeatHold("u", "e", 1, 0L, 100L);
+        assertFalse(h.isExpiredAt(99L));
+        assertTrue(h.isExpiredAt(100L));
+        assertTrue(h.isExpiredAt(101L));
+    }
+}
@@ -0,0 +1,130 @@
+package com.example.ticketreservationapp;
+
+import com.example.ticketreservationapp.repository.TransactionMetrics;
+import com.example.ticketreservationapp.repository.TransactionMetrics.Failure;
+import com.example.ticketreservationapp.repository.TransactionMetrics.Operation;
+import com.example.ticketreservationapp.repository.TransactionStats;
+import com.google.firebase.firestore.FirebaseFirestoreException;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TransactionStatsTest {
+
+    private final TransactionStats stats = new TransactionStats();
+
+    private static long millis(double ms) {
+        return (long) (ms * TimeUnit.MILLISECONDS.toNanos(1));
+    }
+
+    // Totals ──────────────────────────────────────────────────────────────
+
+    @Test
+    void summary_countsAttemptsRetriesAndFailures() {
+        stats.record(Operation.RESERVE, 1, millis(10), null);
+        stats.record(Operation.RESERVE, 3, millis(10), null);
+        stats.record(Operation.RESERVE, 5, millis(10), Failure.CONTENTION);
+        stats.record(Operation.RESERVE, 1, millis(10), Failure.SOLD_OUT);
+
+        TransactionStats.Summary summary = stats.summary(Operation.RESERVE);
+        assertEquals(4, summary.getCalls());
+        assertEquals(10, summary.getAttempts());
+        assertEquals(6, summary.getRetries());
+        assertEquals(2, summary.getCommits());
+        assertEquals(1, summary.getFailures(Failure.CONTENTION));
+        assertEquals(1, summary.getFailures(Failure.SOLD_OUT));
+        assertEquals(0, summary.getFailures(Failure.MISSING));
+        assertEquals(0.25, summary.getAbortRate(), 1e-9);
+    }
+
+    @Test
+    void summary_keepsOperationsApart() {
+        stats.record(Operation.CANCEL, 2, millis(1), Failure.MISSING);
+        assertEquals(0, stats.summary(Operation.RESERVE).getCalls());
+        assertEquals(1, stats.summary(Operation.CANCEL).getFailures(Failure.MISSING));
+    }
+
+    @Test
+    void summary_isACopy() {
+        TransactionStats.Summary before = stats.summary(Operation.RESERVE);
+        stats.record(Operation.RESERVE, 1, millis(1), null);
+        assertEquals(0, before.getCalls());
+        assertEquals(0, before.latencyMillis(99));
+    }
+
+    @Test
+    void reset_clearsTotals() {
+        stats.record(Operation.RESERVE, 2, millis(5), Failure.OTHER);
+        stats.reset();
+        TransactionStats.Summary summary = stats.summary(Operation.RESERVE);
+        assertEquals(0, summary.getCalls());
+        assertEquals(0, summary.getRetries());
+        assertEquals(0, summary.getFailures(Failure.OTHER));
+    }
+
+    @Test
+    void record_concurrentCallers_loseNothing() throws InterruptedException {
+        List<Thread> threads = new ArrayList<>();
+        for (int t = 0; t < 8; t++) {
+            Thread thread = new Thread(() -> {
+                for (int i = 0; i < 10_000; i++) stats.record(Operation.RESERVE, 2, millis(1), null);
+            });
+            threads.add(thread);
+            thread.start();
+        }
+        for (Thread thread : threads) thread.join();
+        assertEquals(80_000, stats.summary(Operation.RESERVE).getCalls());
+        assertEquals(80_000, stats.summary(Operation.RESERVE).getRetries());
+    }
+
+    // Latency ─────────────────────────────────────────────────────────────
+
+    @Test
+    void latencyMillis_withinAQuarterOfTheTruePercentile() {
+        for (int ms = 1; ms <= 100; ms++) stats.record(Operation.RESERVE, 1, millis(ms), null);
+        TransactionStats.Summary summary = stats.summary(Operation.RESERVE);
+        assertEquals(50, summary.latencyMillis(50), 50 * 0.25);
+        assertTrue(summary.latencyMillis(50) >= 50);
+        assertEquals(99, summary.latencyMillis(99), 99 * 0.25);
+        assertTrue(summary.latencyMillis(99) >= 99);
+        assertTrue(summary.latencyMillis(100) >= 100);
+    }
+
+    @Test
+    void latencyMillis_noCalls_isZero() {
+        assertEquals(0, stats.summary(Operation.CANCEL).latencyMillis(50));
+    }
+
+    @Test
+    void latencyMillis_subMicrosecondAndHugeValues() {
+        stats.record(Operation.RESERVE, 1, 0, null);
+        stats.record(Operation.RESERVE, 1, Long.MAX_VALUE, null);
+        TransactionStats.Summary summary = stats.summary(Operation.RESERVE);
+        assertEquals(0, summary.latencyMillis(50));
+        assertTrue(summary.latencyMillis(100) >= Long.MAX_VALUE / 1e6);
+    }
+
+    // Classification ──────────────────────────────────────────────────────
+
+    @Test
+    void classify_mapsRepositoryAndFirestoreErrors() {
+        assertEquals(Failure.SOLD_OUT, TransactionMetrics.classify(
+                new IllegalStateException("Not enough seats available")));
+        assertEquals(Failure.MISSING, TransactionMetrics.classify(
+                new IllegalStateException("Event no longer exists")));
+        assertEquals(Failure.MISSING, TransactionMetrics.classify(
+                new IllegalStateException("Reservation not found")));
+        assertEquals(Failure.CONTENTION, TransactionMetrics.classify(new FirebaseFirestoreException(
+                "Transaction failed all retries", FirebaseFirestoreException.Code.ABORTED)));
+        assertEquals(Failure.CONTENTION, TransactionMetrics.classify(new FirebaseFirestoreException(
+                "Document changed", FirebaseFirestoreException.Code.FAILED_PRECONDITION)));
+        assertEquals(Failure.OTHER, TransactionMetrics.classify(new FirebaseFirestoreException(
+                "Denied", FirebaseFirestoreException.Code.PERMISSION_DENIED)));
+        assertEquals(Failure.OTHER, TransactionMetrics.classify(new RuntimeException("boom")));
+    }
+}
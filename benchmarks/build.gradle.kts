@@ -0,0 +1,37 @@
+plugins {
+    java
+    alias(libs.plugins.jmh)
+}
+
+java {
+    sourceCompatibility = JavaVersion.VERSION_11
+    targetCompatibility = JavaVersion.VERSION_11
+}
+
+// The app's model and search packages are plain Java, free of Android and Firebase types and
+// annotations, so they are compiled straight from the app's sources and measured on the JVM.
+sourceSets {
+    main {
+        java {
+            srcDir("../app/src/main/java")
+            include("com/example/ticketreservationapp/model/**")
+            include("com/example/ticketreservationapp/search/**")
+        }
+    }
+}
+
+dependencies {
+    compileOnly(libs.androidx.annotation)
+}
+
+jmh {
+    jmhVersion.set(libs.versions.jmh)
+    fork.set(1)
+    warmupIterations.set(3)
+    iterations.set(5)
+    // Keep the JSON so runs can be diffed against each other to catch regressions.
+    resultFormat.set("JSON")
+    resultsFile.set(layout.buildDirectory.file("results/jmh/results.json"))
+    // ./gradlew :benchmarks:jmh -PjmhIncludes=Search runs a subset.
+    providers.gradleProperty("jmhIncludes").orNull?.let { includes.set(listOf(it)) }
+}
@@ -0,0 +1,64 @@
+package com.example.ticketreservationapp.benchmarks;
+
+import com.example.ticketreservationapp.model.Event;
+import com.example.ticketreservationapp.model.EventDates;
+import com.example.ticketreservationapp.model.EventFeed;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Date;
+import java.util.List;
+import java.util.Random;
+
+/** Seeded synthetic catalogs, so every run and every benchmark sees the same events. */
+final class Catalogs {
+
+    static final String[] CATEGORIES = { "Movies", "Concerts", "Travel", "Sports", "Workshops" };
+    static final String[] WORDS = {
+        "rock", "jazz", "concert", "night", "gala", "hall", "festival", "marathon", "hockey",
+        "comedy", "show", "trip", "road", "symphony", "orchestra", "live", "summer", "winter",
+        "classic", "opera", "cinema", "premiere", "derby", "cup", "final", "tour", "market"
+    };
+    static final String[] CITIES = {
+        "Montreal, QC", "Toronto, ON", "Ottawa, ON", "Quebec City, QC", "Vancouver, BC",
+        "Calgary, AB", "Halifax, NS", "Winnipeg, MB", "Edmonton, AB", "Victoria, BC"
+    };
+    // 2026-01-01; events spread over the following two years.
+    private static final int FIRST_DAY = 20454;
+
+    private Catalogs() {}
+
+    /** {@code size} events in feed order, the same for a given size on every call. */
+    static List<Event> events(int size) {
+        Random random = new Random(size);
+        List<Event> events = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            Event event = new Event(String.format("ev%07d", i),
+                    title(random),
+                    words(random, 12),
+                    EventDates.formatEpochDay(FIRST_DAY + random.nextInt(730)),
+                    CITIES[random.nextInt(CITIES.length)],
+                    CATEGORIES[random.nextInt(CATEGORIES.length)],
+                    5 + random.nextInt(200) + random.nextInt(100) / 100.0,
+                    random.nextInt(500), 500, "org" + random.nextInt(50), "Organizer");
+            event.setUpdatedAt(new Date(1_760_000_000_000L + random.nextInt(1_000_000_000)));
+            events.add(event);
+        }
+        Collections.sort(events, EventFeed.ORDER);
+        return events;
+    }
+
+    private static String title(Random random) {
+        String title = words(random, 2 + random.nextInt(3));
+        return Character.toUpperCase(title.charAt(0)) + title.substring(1);
+    }
+
+    private static String words(Random random, int count) {
+        StringBuilder text = new StringBuilder();
+        for (int i = 0; i < count; i++) {
+            if (i > 0) text.append(' ');
+            text.append(WORDS[random.nextInt(WORDS.length)]);
+        }
+        return text.toString();
+    }
+}
@@ -0,0 +1,106 @@
+package com.example.ticketreservationapp.benchmarks;
+
+import com.example.ticketreservationapp.model.Event;
+import com.example.ticketreservationapp.search.EventFacets;
+import com.example.ticketreservationapp.search.EventFilter;
+import com.example.ticketreservationapp.search.EventSortOrder;
+import com.example.ticketreservationapp.search.FilterCriteria;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The event list's filter pass ({@link EventFilter#query}, which is what
+ * EventListViewModel runs off the main thread) over synthetic catalogs, next to the plain
+ * per-event predicate loop it replaced.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@State(Scope.Benchmark)
+public class FilterBenchmark {
+
+    private static final String[] TYPING = { "c", "co", "con", "conc", "conce", "concer", "concert" };
+
+    @Param({"1000", "10000", "100000"})
+    public int size;
+
+    private List<Event> events;
+    private EventFilter filter;
+    private FilterCriteria concerts;
+    private FilterCriteria sportsInOntario;
+    private FilterCriteria summer;
+    private boolean toggle;
+
+    @Setup
+    public void setUp() {
+        events = Catalogs.events(size);
+        filter = new EventFilter(events);
+        concerts = FilterCriteria.NONE.withCategory("Concerts");
+        sportsInOntario = FilterCriteria.NONE.withCategory("Sports").withLocation("on");
+        summer = FilterCriteria.NONE.withDateRange("2026-06-01", "2026-08-31");
+        // Build every sorted view up front so sorting measures the steady state.
+        for (EventSortOrder order : EventSortOrder.values()) filter.sort(new int[0], order);
+    }
+
+    /** Building the per-catalog indexes, paid once each time a page or sync lands. */
+    @Benchmark
+    public EventFilter buildFilter() {
+        return new EventFilter(events);
+    }
+
+    /** Switching between two filters that don't narrow each other: a full scan every time. */
+    @Benchmark
+    public int[] categoryAndLocation() {
+        toggle = !toggle;
+        return filter.query(toggle ? concerts : sportsInOntario, EventSortOrder.DATE);
+    }
+
+    @Benchmark
+    public int[] dateRange() {
+        toggle = !toggle;
+        return filter.query(toggle ? summer : concerts, EventSortOrder.DATE);
+    }
+
+    @Benchmark
+    public int[] dateRangeByPrice() {
+        toggle = !toggle;
+        return filter.query(toggle ? summer : concerts, EventSortOrder.PRICE);
+    }
+
+    /** A query typed one character at a time, each keystroke refining the last result. */
+    @Benchmark
+    public void typeQuery(Blackhole blackhole) {
+        blackhole.consume(filter.query(FilterCriteria.NONE, EventSortOrder.RELEVANCE));
+        for (String query : TYPING) {
+            blackhole.consume(filter.query(FilterCriteria.NONE.withSearchQuery(query),
+                    EventSortOrder.RELEVANCE));
+        }
+    }
+
+    @Benchmark
+    public EventFacets.Counts facetCounts() {
+        return filter.facetCounts(sportsInOntario);
+    }
+
+    /** The per-event predicate loop, for comparison with {@link #categoryAndLocation}. */
+    @Benchmark
+    public int linearScan() {
+        toggle = !toggle;
+        FilterCriteria criteria = toggle ? concerts : sportsInOntario;
+        int count = 0;
+        for (Event event : events) {
+            if (criteria.matchesFields(event)) count++;
+        }
+        return count;
+    }
+}
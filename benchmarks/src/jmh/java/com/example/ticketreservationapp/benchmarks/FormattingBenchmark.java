@@ -0,0 +1,76 @@
+package com.example.ticketreservationapp.benchmarks;
+
+import com.example.ticketreservationapp.model.Event;
+import com.example.ticketreservationapp.model.Prices;
+import com.example.ticketreservationapp.model.Reservation;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The per-row work the list adapters do when binding, and building a reservation as both
+ * ReservationRepository implementations do, through the same model helpers they call.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@State(Scope.Benchmark)
+public class FormattingBenchmark {
+
+    // About one screen of rows plus the adapter's prefetch.
+    private static final int PAGE = 25;
+
+    private List<Event> page;
+    private List<Reservation> reservations;
+
+    @Setup
+    public void setUp() {
+        page = Catalogs.events(PAGE);
+        reservations = new ArrayList<>(PAGE);
+        for (Event event : page) reservations.add(reservation(event, 2));
+    }
+
+    /** EventAdapter.onBindViewHolder's text for one page of rows. */
+    @Benchmark
+    public void bindEventPage(Blackhole blackhole) {
+        for (Event event : page) {
+            blackhole.consume(event.getTitle());
+            blackhole.consume(event.getDate());
+            blackhole.consume(event.getLocation());
+            blackhole.consume(Prices.format(event.getPrice()));
+            blackhole.consume(event.getCategory());
+        }
+    }
+
+    /** ReservationAdapter.onBindViewHolder's text, less the Android resource lookups. */
+    @Benchmark
+    public void bindReservationPage(Blackhole blackhole) {
+        for (Reservation reservation : reservations) {
+            blackhole.consume(reservation.getEventTitle());
+            blackhole.consume(String.valueOf(reservation.getNumberOfTickets()));
+            blackhole.consume(Prices.format(reservation.getTotalPrice()));
+            blackhole.consume(reservation.getConfirmationCode());
+        }
+    }
+
+    @Benchmark
+    public Reservation buildReservation() {
+        return reservation(page.get(0), 2);
+    }
+
+    private static Reservation reservation(Event event, int tickets) {
+        Reservation reservation = Reservation.forTickets("user1", event.getId(),
+                event.getTitle(), event.getDate(), event.getLocation(), event.getPrice(), tickets);
+        reservation.setId(event.getId() + "-user1");
+        return reservation;
+    }
+}
@@ -0,0 +1,67 @@
+package com.example.ticketreservationapp.benchmarks;
+
+import com.example.ticketreservationapp.model.Event;
+import com.example.ticketreservationapp.search.EventRanker;
+import com.example.ticketreservationapp.search.EventSearchIndex;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.BitSet;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Search on its own: the exact prefix index, and the ranker's typo-tolerant matching and
+ * top-10 ranking. The ranker's cost follows the postings a query touches, not the catalog,
+ * so comparing {@code rankTop10} across sizes against how many events match shows whether
+ * it still does.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@State(Scope.Benchmark)
+public class SearchBenchmark {
+
+    @Param({"1000", "10000", "100000"})
+    public int size;
+
+    private List<Event> events;
+    private EventSearchIndex index;
+    private EventRanker ranker;
+    private int[] hallMatches;
+
+    @Setup
+    public void setUp() {
+        events = Catalogs.events(size);
+        index = EventSearchIndex.build(events);
+        ranker = EventRanker.build(events);
+        BitSet hall = index.search(index.compile("hall"));
+        hallMatches = hall.stream().toArray();
+    }
+
+    @Benchmark
+    public BitSet prefixSearch() {
+        return index.search(index.compile("jazz ni"));
+    }
+
+    @Benchmark
+    public BitSet typoSearch() {
+        return ranker.matches(ranker.compile("symphny orchestr"));
+    }
+
+    @Benchmark
+    public int[] rankTop10() {
+        return ranker.top(ranker.compile("hall"), hallMatches, 10);
+    }
+
+    @Benchmark
+    public EventRanker buildRanker() {
+        return EventRanker.build(events);
+    }
+}
@@ -21,3 +21,4 @@ dependencyResolutionManagement {
 
 rootProject.name = "TicketReservationApp"
 include(":app")
+include(":benchmarks")